@@ -1,11 +1,21 @@
 package com.cisco.ise.ai.ai.service.impl;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.cisco.ise.ai.ai.model.PolicyRecommendation;
 import com.cisco.ise.ai.ai.model.RiskAssessment;
 import com.cisco.ise.ai.ai.model.ThreatDetection;
 import com.cisco.ise.ai.ai.service.PolicyRecommendationService;
+import com.cisco.ise.ai.engine.CompiledPolicy;
+import com.cisco.ise.ai.engine.PolicyCompilationException;
+import com.cisco.ise.ai.engine.PolicyDecisionEngine;
+import com.cisco.ise.ai.engine.PolicyDocuments;
+import com.cisco.ise.ai.engine.analysis.PolicyConflictAnalyzer;
+import com.cisco.ise.ai.engine.model.PolicyAnalysis;
 import com.cisco.ise.ai.model.Policy;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -16,12 +26,21 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Mock implementation of Policy Recommendation Service with simulated AI logic
+ * Mock implementation of Policy Recommendation Service with simulated AI logic.
+ * Optimization recommendations come from static analysis of the supplied policies.
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class MockPolicyRecommendationService implements PolicyRecommendationService {
     
+    private static final int MAX_FINDINGS = 25;
+    
+    private final PolicyDecisionEngine decisionEngine;
+    private final PolicyConflictAnalyzer conflictAnalyzer;
+    private final ObjectMapper objectMapper;
+    private final PolicyDocuments policyDocuments;
+    
     private final Map<String, PolicyRecommendation> recommendationCache = new ConcurrentHashMap<>();
     private final String currentModelVersion = "PolicyAI-v1.5.0";
     
@@ -142,13 +161,31 @@ public class MockPolicyRecommendationService implements PolicyRecommendationServ
         
         List<PolicyRecommendation> recommendations = new ArrayList<>();
         
-        // Simulate policy optimization analysis
-        if (currentPolicies.size() > 10) {
-            recommendations.add(createPolicyConsolidationRecommendation(currentPolicies));
+        // Compile and analyze the policies in evaluation order; policies without an id are keyed by position
+        Map<String, Policy> policiesByKey = new HashMap<>();
+        List<CompiledPolicy> compiled = new ArrayList<>();
+        for (int i = 0; i < currentPolicies.size(); i++) {
+            Policy policy = currentPolicies.get(i);
+            String key = policy.getPolicyId() != null ? policy.getPolicyId() : "policy-" + i;
+            try {
+                compiled.add(decisionEngine.compile(policy, false).toBuilder().policyId(key).build());
+                policiesByKey.put(key, policy);
+            } catch (PolicyCompilationException e) {
+                log.warn("Skipping policy {} in optimization analysis: {}", key, e.getMessage());
+            }
         }
+        compiled.sort(Comparator.comparingInt(CompiledPolicy::getPriority));
+        PolicyAnalysis analysis = conflictAnalyzer.analyze(compiled);
         
-        // Check for conflicting policies
-        recommendations.add(createConflictResolutionRecommendation(currentPolicies));
+        // Policies that can never match
+        analysis.getDeadPolicies().stream()
+                .limit(MAX_FINDINGS)
+                .forEach(dead -> recommendations.add(createConflictResolutionRecommendation(dead, policiesByKey)));
+        
+        // Policies that can be merged
+        analysis.getMergeGroups().stream()
+                .limit(MAX_FINDINGS)
+                .forEach(group -> recommendations.add(createPolicyConsolidationRecommendation(group, policiesByKey)));
         
         // Performance optimization
         recommendations.add(createPerformanceOptimizationRecommendation(currentPolicies));
@@ -467,50 +504,98 @@ public class MockPolicyRecommendationService implements PolicyRecommendationServ
     }
     
     // Policy optimization helpers
-    private PolicyRecommendation createPolicyConsolidationRecommendation(List<Policy> policies) {
+    private PolicyRecommendation createPolicyConsolidationRecommendation(PolicyAnalysis.MergeGroup group,
+                                                                         Map<String, Policy> policies) {
+        List<Policy> members = group.getPolicyIds().stream().map(policies::get).toList();
+        ArrayNode alternatives = objectMapper.createArrayNode();
+        List<String> evidence = new ArrayList<>();
+        for (Policy member : members) {
+            alternatives.add(readConditions(member));
+            evidence.add("'" + member.getName() + "' (priority " + member.getPriority() + "): " + member.getConditions());
+        }
+        Policy first = members.get(0);
+        
         return PolicyRecommendation.builder()
                 .recommendationId("consolidate-rec-" + UUID.randomUUID().toString().substring(0, 8))
                 .triggeredBy("policy-optimizer")
                 .type(PolicyRecommendation.RecommendationType.OPTIMIZATION)
-                .confidence(0.80)
+                .confidence(1.0)
                 .priority(PolicyRecommendation.Priority.MEDIUM)
                 .generatedAt(LocalDateTime.now())
                 .aiModelVersion(currentModelVersion)
-                .reasoning("Multiple similar policies detected - consolidation recommended")
-                .recommendedPolicyName("Policy Consolidation")
-                .recommendedDescription("Consolidate " + policies.size() + " similar policies")
-                .recommendedPolicyType(Policy.PolicyType.AUTHORIZATION)
-                .recommendedConditions("{\"consolidate\": true}")
-                .recommendedActions("{\"action\": \"merge_policies\", \"count\": " + policies.size() + "}")
-                .recommendedPriority(6)
+                .reasoning(members.size() + " policies with identical actions can be merged into one without changing " +
+                        "the actions applied to any session")
+                .evidencePoints(evidence)
+                .context(Map.of("policyIds", group.getPolicyIds()))
+                .recommendedPolicyName("Merged: " + first.getName())
+                .recommendedDescription("Consolidate " + members.size() + " policies with identical actions")
+                .recommendedPolicyType(first.getType())
+                .recommendedConditions(objectMapper.createObjectNode().set("anyOf", alternatives).toString())
+                .recommendedActions(first.getActions())
+                .recommendedPriority(group.getPriority())
                 .expectedImpact(0.70)
                 .riskReduction(0.0)
-                .complexity(PolicyRecommendation.ImplementationComplexity.COMPLEX)
+                .complexity(PolicyRecommendation.ImplementationComplexity.MODERATE)
+                .prerequisites(List.of("Deactivate the merged policies once the consolidated policy is active"))
                 .build();
     }
     
-    private PolicyRecommendation createConflictResolutionRecommendation(List<Policy> policies) {
+    private PolicyRecommendation createConflictResolutionRecommendation(PolicyAnalysis.DeadPolicy dead,
+                                                                        Map<String, Policy> policies) {
+        Policy policy = policies.get(dead.getPolicyId());
+        List<String> evidence = new ArrayList<>();
+        String reasoning;
+        if (dead.getReason() == PolicyAnalysis.DeadReason.UNSATISFIABLE) {
+            reasoning = "Policy '" + policy.getName() + "' can never match: its conditions contradict each other";
+            evidence.add("No session satisfies " + policy.getConditions());
+        } else {
+            reasoning = dead.isConflicting()
+                    ? "Policy '" + policy.getName() + "' never takes effect: every session it matches is decided " +
+                      "first by higher-priority policies with different actions"
+                    : "Policy '" + policy.getName() + "' is redundant: every session it matches is decided " +
+                      "first by higher-priority policies with the same actions";
+            for (String shadowerId : dead.getShadowedBy()) {
+                Policy shadower = policies.get(shadowerId);
+                evidence.add("Shadowed by '" + shadower.getName() + "' (priority " + shadower.getPriority() + "): " +
+                        shadower.getConditions() + " -> " + shadower.getActions());
+            }
+        }
+        
         return PolicyRecommendation.builder()
                 .recommendationId("conflict-res-rec-" + UUID.randomUUID().toString().substring(0, 8))
                 .triggeredBy("policy-analyzer")
-                .type(PolicyRecommendation.RecommendationType.POLICY_MODIFICATION)
-                .confidence(0.88)
-                .priority(PolicyRecommendation.Priority.HIGH)
+                .type(PolicyRecommendation.RecommendationType.POLICY_DEACTIVATION)
+                .confidence(1.0)
+                .priority(dead.isConflicting() ? PolicyRecommendation.Priority.HIGH : PolicyRecommendation.Priority.MEDIUM)
                 .generatedAt(LocalDateTime.now())
                 .aiModelVersion(currentModelVersion)
-                .reasoning("Potential policy conflicts detected")
-                .recommendedPolicyName("Conflict Resolution")
-                .recommendedDescription("Resolve conflicts between policies")
-                .recommendedPolicyType(Policy.PolicyType.AUTHORIZATION)
-                .recommendedConditions("{\"resolve_conflicts\": true}")
-                .recommendedActions("{\"action\": \"resolve_conflicts\", \"method\": \"priority_based\"}")
-                .recommendedPriority(3)
-                .expectedImpact(0.85)
-                .riskReduction(2.5)
-                .complexity(PolicyRecommendation.ImplementationComplexity.MODERATE)
+                .reasoning(reasoning)
+                .evidencePoints(evidence)
+                .context(Map.of("policyId", dead.getPolicyId(), "reason", dead.getReason().name(),
+                        "shadowedBy", dead.getShadowedBy()))
+                .recommendedPolicyName(policy.getName())
+                .recommendedDescription("Deactivate a policy that can never match")
+                .recommendedPolicyType(policy.getType())
+                .recommendedConditions(policy.getConditions())
+                .recommendedActions(objectMapper.createObjectNode()
+                        .put("action", "deactivate_policy")
+                        .put("policyId", dead.getPolicyId())
+                        .toString())
+                .recommendedPriority(policy.getPriority())
+                .expectedImpact(dead.isConflicting() ? 0.85 : 0.50)
+                .riskReduction(dead.isConflicting() ? 2.5 : 0.0)
+                .complexity(PolicyRecommendation.ImplementationComplexity.SIMPLE)
+                .potentialSideEffects(dead.isConflicting()
+                        ? List.of("If this policy's actions were intended, raise its priority above the shadowing policies instead")
+                        : List.of("None: no session's actions change"))
                 .build();
     }
     
+    private JsonNode readConditions(Policy policy) {
+        JsonNode conditions = policyDocuments.get(policy).getConditions();
+        return conditions != null ? conditions : objectMapper.createObjectNode();
+    }
+    
     private PolicyRecommendation createPerformanceOptimizationRecommendation(List<Policy> policies) {
         return PolicyRecommendation.builder()
                 .recommendationId("perf-opt-rec-" + UUID.randomUUID().toString().substring(0, 8))
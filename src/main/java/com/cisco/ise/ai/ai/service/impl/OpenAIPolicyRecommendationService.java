@@ -2,6 +2,8 @@ package com.cisco.ise.ai.ai.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import com.theokanning.openai.completion.chat.ChatMessageRole;
@@ -12,6 +14,9 @@ import com.cisco.ise.ai.ai.model.PolicyRecommendation;
 import com.cisco.ise.ai.ai.model.RiskAssessment;
 import com.cisco.ise.ai.ai.model.ThreatDetection;
 import com.cisco.ise.ai.ai.service.PolicyRecommendationService;
+import com.cisco.ise.ai.engine.PolicyCompilationException;
+import com.cisco.ise.ai.engine.PolicyDocument;
+import com.cisco.ise.ai.engine.PolicyDocuments;
 import com.cisco.ise.ai.model.Policy;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -38,6 +43,7 @@ public class OpenAIPolicyRecommendationService implements PolicyRecommendationSe
     private final OpenAiService openAiService;
     private final MockPolicyRecommendationService fallbackService;
     private final ObjectMapper objectMapper;
+    private final PolicyDocuments policyDocuments;
     
     private final Map<String, PolicyRecommendation> recommendationCache = new ConcurrentHashMap<>();
     private final String currentModelVersion = "OpenAI-GPT4-PolicyRecommendation-v1.0";
@@ -249,7 +255,7 @@ public class OpenAIPolicyRecommendationService implements PolicyRecommendationSe
     
     private String buildOptimizationRecommendationPrompt(List<Policy> policies) {
         try {
-            String policiesJson = objectMapper.writeValueAsString(policies);
+            String policiesJson = objectMapper.writeValueAsString(promptPolicies(policies));
             
             return String.format("""
                 Analyze these existing policies and recommend optimizations:
@@ -272,6 +278,36 @@ public class OpenAIPolicyRecommendationService implements PolicyRecommendationSe
         }
     }
     
+    /**
+     * Policies with their conditions and actions embedded as JSON rather than as escaped strings,
+     * taken from the parsed documents instead of re-parsed for every prompt
+     */
+    private ArrayNode promptPolicies(List<Policy> policies) {
+        ArrayNode array = objectMapper.createArrayNode();
+        for (Policy policy : policies) {
+            ObjectNode node = array.addObject()
+                    .put("policyId", policy.getPolicyId())
+                    .put("name", policy.getName())
+                    .put("description", policy.getDescription())
+                    .put("type", policy.getType() != null ? policy.getType().name() : null)
+                    .put("status", policy.getStatus() != null ? policy.getStatus().name() : null)
+                    .put("priority", policy.getPriority())
+                    .put("riskScore", policy.getRiskScore());
+            PolicyDocument document = policyDocuments.get(policy);
+            try {
+                node.set("conditions", document.getConditions());
+            } catch (PolicyCompilationException e) {
+                node.put("conditions", policy.getConditions());
+            }
+            try {
+                node.set("actions", objectMapper.valueToTree(document.getActions()));
+            } catch (PolicyCompilationException e) {
+                node.put("actions", policy.getActions());
+            }
+        }
+        return array;
+    }
+    
     private String buildEmergencyRecommendationPrompt(Map<String, Object> emergencyContext) {
         try {
             String contextJson = objectMapper.writeValueAsString(emergencyContext);
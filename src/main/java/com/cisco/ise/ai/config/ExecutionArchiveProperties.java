@@ -0,0 +1,44 @@
+package com.cisco.ise.ai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for archiving aged policy execution history to local files
+ */
+@Configuration
+@ConfigurationProperties(prefix = "policy.executions.archive")
+@Data
+public class ExecutionArchiveProperties {
+
+    /**
+     * Move aged executions out of the table into archive files (default: true)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Directory holding the archive files (default: data/execution-archive)
+     */
+    private String directory = "data/execution-archive";
+
+    /**
+     * Age in days after which executions are archived; keep below the retention window (default: 30)
+     */
+    private int archiveAfterDays = 30;
+
+    /**
+     * Most executions written to one archive file (default: 100000)
+     */
+    private int rowsPerFile = 100_000;
+
+    /**
+     * Executions per compressed block; a block is the unit read from a file (default: 4096)
+     */
+    private int blockRows = 4096;
+
+    /**
+     * Time between archive runs; the first run is at startup (default: 3600000)
+     */
+    private long intervalMs = 3_600_000;
+}
@@ -0,0 +1,39 @@
+package com.cisco.ise.ai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for partition maintenance and retention of policy execution history
+ */
+@Configuration
+@ConfigurationProperties(prefix = "policy.executions.retention")
+@Data
+public class ExecutionRetentionProperties {
+
+    /**
+     * Maintain partitions and expire old execution history (default: true)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Days of execution history kept (default: 90)
+     */
+    private int retentionDays = 90;
+
+    /**
+     * Daily partitions created ahead of today when the table is partitioned (default: 7)
+     */
+    private int partitionsAhead = 7;
+
+    /**
+     * Time between maintenance runs; the first run is at startup (default: 3600000)
+     */
+    private long intervalMs = 3_600_000;
+
+    /**
+     * Rows removed per DELETE when expired history has to be deleted row by row (default: 10000)
+     */
+    private int deleteBatchSize = 10_000;
+}
@@ -0,0 +1,34 @@
+package com.cisco.ise.ai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the per-policy execution rollups
+ */
+@Configuration
+@ConfigurationProperties(prefix = "policy.executions.rollups")
+@Data
+public class ExecutionRollupProperties {
+
+    /**
+     * Maintain rollups as executions are written (default: true)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Width of one rollup bucket in minutes (default: 60)
+     */
+    private int bucketMinutes = 60;
+
+    /**
+     * Buckets kept per policy; executions older than the oldest bucket are not rolled up (default: 48)
+     */
+    private int retainedBuckets = 48;
+
+    /**
+     * Fold the stored executions of the retained window into the rollups at startup (default: true)
+     */
+    private boolean rebuildOnStartup = true;
+}
@@ -0,0 +1,64 @@
+package com.cisco.ise.ai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for write-behind persistence of policy execution records
+ */
+@Configuration
+@ConfigurationProperties(prefix = "policy.executions")
+@Data
+public class ExecutionWriterProperties {
+
+    public enum OverflowPolicy {
+        /**
+         * Wait up to {@code offer-timeout-ms} for space, then write the record on the caller's thread
+         */
+        BLOCK,
+        /**
+         * Write the record on the caller's thread straight away
+         */
+        CALLER_RUNS,
+        /**
+         * Discard the record and count it as dropped
+         */
+        DROP
+    }
+
+    /**
+     * Buffer executions and write them in batches; when false every record is written immediately (default: true)
+     */
+    private boolean writeBehind = true;
+
+    /**
+     * Executions buffered before the overflow policy applies (default: 10000)
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Executions written per batch; a full batch is flushed immediately (default: 500)
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest time a buffered execution waits for its batch to fill (default: 200)
+     */
+    private long flushIntervalMs = 200;
+
+    /**
+     * What to do with an execution when the buffer is full (default: BLOCK)
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    /**
+     * How long BLOCK waits for space (default: 1000)
+     */
+    private long offerTimeoutMs = 1000;
+
+    /**
+     * Attempts to write a batch before falling back to writing its records one at a time (default: 3)
+     */
+    private int maxAttempts = 3;
+}
@@ -0,0 +1,110 @@
+package com.cisco.ise.ai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the ISE REST client (ERS, MnT and OpenAPI endpoints)
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ise")
+@Data
+public class ISEClientProperties {
+
+    /**
+     * ISEClient implementation: mock keeps policies and sessions in memory, webclient calls the ISE
+     * node at base-url (default: mock)
+     */
+    private String client = "mock";
+
+    /**
+     * ISE node serving the ERS, MnT and OpenAPI endpoints
+     */
+    private String baseUrl;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Longest wait for a response once the request is sent, in milliseconds (default: 30000)
+     */
+    private long timeout = 30_000;
+
+    /**
+     * Retries of idempotent calls that failed with a connection error, 429 or 5xx (default: 3)
+     */
+    private int retryAttempts = 3;
+
+    /**
+     * First retry delay; later retries back off exponentially with jitter (default: 200)
+     */
+    private long retryBackoffMs = 200;
+
+    /**
+     * Longest wait to open a TCP connection, in milliseconds (default: 5000)
+     */
+    private int connectTimeoutMs = 5000;
+
+    /**
+     * Negotiate HTTP/2 via ALPN on https base URLs so calls multiplex over pooled connections;
+     * plain http base URLs always use HTTP/1.1 (default: true)
+     */
+    private boolean http2 = true;
+
+    /**
+     * Largest single JSON value or XML element buffered while decoding; session lists are decoded one
+     * session at a time, so only one session has to fit (default: 262144)
+     */
+    private int maxInMemorySize = 256 * 1024;
+
+    /**
+     * ISE node name used in MnT CoA requests; defaults to the base-url host
+     */
+    private String mntNode;
+
+    private Pool pool = new Pool();
+
+    @Data
+    public static class Pool {
+
+        /**
+         * Connections kept open to each ISE host; with HTTP/1.1 this is also the number of calls in
+         * flight per host (default: 50)
+         */
+        private int maxConnections = 50;
+
+        /**
+         * Concurrent streams per HTTP/2 connection (default: 100)
+         */
+        private int maxConcurrentStreams = 100;
+
+        /**
+         * Calls waiting for a free connection before new calls fail fast (default: 1000)
+         */
+        private int pendingAcquireMaxCount = 1000;
+
+        /**
+         * Longest wait for a free connection, in milliseconds (default: 10000)
+         */
+        private long pendingAcquireTimeoutMs = 10_000;
+
+        /**
+         * Idle time after which a pooled connection is closed; keep below the ISE side keep-alive
+         * timeout so a connection is never reused as the server closes it (default: 30000)
+         */
+        private long maxIdleTimeMs = 30_000;
+
+        /**
+         * Age after which a connection is retired, so connections rebalance across ISE nodes behind a
+         * load balancer (default: 300000)
+         */
+        private long maxLifeTimeMs = 300_000;
+
+        /**
+         * How often idle and expired connections are closed in the background (default: 30000)
+         */
+        private long evictIntervalMs = 30_000;
+    }
+}
@@ -0,0 +1,86 @@
+package com.cisco.ise.ai.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Connection pool and WebClient used to call the ISE node.
+ *
+ * The pool is dedicated to ISE so its per-host limit bounds only ISE calls: at most
+ * {@code ise.pool.max-connections} connections per host, each kept alive until idle for
+ * {@code max-idle-time-ms} and retired after {@code max-life-time-ms}. Calls beyond the limit wait
+ * in a bounded queue instead of opening more connections. On https base URLs HTTP/2 is negotiated
+ * and calls multiplex up to {@code max-concurrent-streams} per connection.
+ *
+ * Requests accept JSON by default for the OpenAPI and ERS endpoints; MnT calls ask for XML per request.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "ise", name = "client", havingValue = "webclient")
+public class ISEWebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider iseConnectionProvider(ISEClientProperties properties) {
+        ISEClientProperties.Pool pool = properties.getPool();
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("ise")
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(Duration.ofMillis(pool.getPendingAcquireTimeoutMs()))
+                .maxIdleTime(Duration.ofMillis(pool.getMaxIdleTimeMs()))
+                .maxLifeTime(Duration.ofMillis(pool.getMaxLifeTimeMs()))
+                .evictInBackground(Duration.ofMillis(pool.getEvictIntervalMs()))
+                .metrics(true);
+        if (usesHttp2(properties)) {
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(pool.getMaxConnections())
+                    .minConnections(1)
+                    .maxConcurrentStreams(pool.getMaxConcurrentStreams())
+                    .build());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public WebClient iseWebClient(WebClient.Builder webClientBuilder, ISEClientProperties properties,
+                                  @Qualifier("iseConnectionProvider") ConnectionProvider connectionProvider) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, properties.getConnectTimeoutMs())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .compress(true)
+                .responseTimeout(Duration.ofMillis(properties.getTimeout()))
+                .protocol(usesHttp2(properties)
+                        ? new HttpProtocol[] {HttpProtocol.H2, HttpProtocol.HTTP11}
+                        : new HttpProtocol[] {HttpProtocol.HTTP11});
+
+        return webClientBuilder
+                .baseUrl(properties.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(properties.getMaxInMemorySize()))
+                .defaultHeaders(headers -> {
+                    headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+                    if (properties.getUsername() != null) {
+                        headers.setBasicAuth(properties.getUsername(), properties.getPassword());
+                    }
+                })
+                .build();
+    }
+
+    // HTTP/2 needs ALPN, so it is only negotiated over TLS
+    private static boolean usesHttp2(ISEClientProperties properties) {
+        return properties.isHttp2() && properties.getBaseUrl() != null
+                && properties.getBaseUrl().regionMatches(true, 0, "https:", 0, 6);
+    }
+}
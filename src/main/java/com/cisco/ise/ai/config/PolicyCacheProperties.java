@@ -0,0 +1,30 @@
+package com.cisco.ise.ai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the read-through policy cache
+ */
+@Configuration
+@ConfigurationProperties(prefix = "policy.cache")
+@Data
+public class PolicyCacheProperties {
+
+    /**
+     * Serve policy reads from the cache; when false every read goes to the store (default: true)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Policies kept by policyId before the least recently used are evicted (default: 10000)
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long an entry is served after it was loaded; bounds staleness from writes that bypass the
+     * orchestrator (default: 300000)
+     */
+    private long ttlMs = 300_000;
+}
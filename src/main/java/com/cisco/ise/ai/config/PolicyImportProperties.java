@@ -0,0 +1,62 @@
+package com.cisco.ise.ai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for streaming policy imports
+ */
+@Configuration
+@ConfigurationProperties(prefix = "policy.import")
+@Data
+public class PolicyImportProperties {
+
+    /**
+     * Accept import jobs (default: true)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Policies validated together and committed in one transaction (default: 1000)
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Threads validating and compiling policies, shared by all jobs, 0 for one per available processor (default: 0)
+     */
+    private int parallelism = 0;
+
+    /**
+     * Jobs importing at the same time; further jobs wait in the queue (default: 2)
+     */
+    private int maxConcurrentImports = 2;
+
+    /**
+     * Rejected records reported per job with their reason; further rejections are only counted (default: 100)
+     */
+    private int maxReportedErrors = 100;
+
+    /**
+     * Finished jobs kept for reporting before the oldest are discarded (default: 100)
+     */
+    private int retainedJobs = 100;
+
+    /**
+     * Directory uploaded import files are spooled to until their job finishes (default: data/policy-imports)
+     */
+    private String directory = "data/policy-imports";
+
+    /**
+     * Files imported at startup, waiting for each to finish; CSV when the name ends in .csv, JSON otherwise (default: none)
+     */
+    private List<String> files = new ArrayList<>();
+
+    /**
+     * How often a startup import logs its progress (default: 5000)
+     */
+    private long progressIntervalMs = 5000;
+}
@@ -0,0 +1,19 @@
+package com.cisco.ise.ai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for policy version history
+ */
+@Configuration
+@ConfigurationProperties(prefix = "policy.versions")
+@Data
+public class PolicyVersionProperties {
+
+    /**
+     * Revisions per full snapshot; rebuilding any version reads at most this many revisions (default: 10)
+     */
+    private int snapshotInterval = 10;
+}
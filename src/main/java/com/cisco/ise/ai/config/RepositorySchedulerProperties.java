@@ -0,0 +1,29 @@
+package com.cisco.ise.ai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the scheduler that runs blocking repository calls
+ */
+@Configuration
+@ConfigurationProperties(prefix = "policy.repository")
+@Data
+public class RepositorySchedulerProperties {
+
+    /**
+     * Threads running repository calls; keep at or below the JDBC pool size (default: 10)
+     */
+    private int threads = 10;
+
+    /**
+     * Calls waiting for a thread before new calls are rejected (default: 1000)
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Rows read per round trip when streaming a listing (default: 500)
+     */
+    private int streamFetchSize = 500;
+}
@@ -0,0 +1,39 @@
+package com.cisco.ise.ai.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for write-behind persistence of live ISE sessions
+ */
+@Configuration
+@ConfigurationProperties(prefix = "policy.sessions")
+@Data
+public class SessionWriterProperties {
+
+    /**
+     * Persist sessions at all; when false live sessions are kept in memory only (default: true)
+     */
+    private boolean enabled = true;
+
+    /**
+     * How often changed sessions are written; updates to a session between flushes become one write (default: 5000)
+     */
+    private long flushIntervalMs = 5000;
+
+    /**
+     * Sessions upserted per transaction (default: 500)
+     */
+    private int batchSize = 500;
+
+    /**
+     * Changed sessions that trigger a flush before the interval is up (default: 50000)
+     */
+    private int maxPending = 50_000;
+
+    /**
+     * Attempts to write a batch before falling back to writing its sessions one at a time (default: 3)
+     */
+    private int maxAttempts = 3;
+}
@@ -0,0 +1,70 @@
+package com.cisco.ise.ai.engine;
+
+import com.cisco.ise.ai.engine.codegen.GeneratedCondition;
+import com.cisco.ise.ai.engine.condition.Condition;
+import com.cisco.ise.ai.engine.plan.AdaptiveCondition;
+import com.cisco.ise.ai.ise.model.ISESession;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Immutable, evaluation-ready form of an ACTIVE policy.
+ *
+ * Conditions and actions are parsed once when the policy is compiled; evaluation
+ * never touches the JSON again. {@code condition} is the predicate tree used for
+ * indexing and analysis, {@code evaluator} is what actually runs: the tree itself,
+ * an adaptively ordered form of it, or generated bytecode equivalent to it.
+ */
+@Value
+public class CompiledPolicy {
+
+    Long id;
+    // Entity version as compiled; lets a detached Policy reference built from this be attached to new executions
+    Long version;
+    String policyId;
+    String name;
+    int priority;
+    Condition condition;
+    Condition evaluator;
+    Map<String, Object> actions;
+
+    @Builder(toBuilder = true)
+    private CompiledPolicy(Long id, Long version, String policyId, String name, int priority,
+                           Condition condition, Condition evaluator, Map<String, Object> actions) {
+        this.id = id;
+        this.version = version;
+        this.policyId = policyId;
+        this.name = name;
+        this.priority = priority;
+        this.condition = condition;
+        this.evaluator = evaluator != null ? evaluator : condition;
+        this.actions = actions;
+    }
+
+    public boolean matches(ISESession session) {
+        // Direct call on the final class keeps this call site monomorphic in generated mode
+        if (evaluator instanceof GeneratedCondition generated) {
+            return generated.test(session);
+        }
+        return evaluator.test(session);
+    }
+
+    /**
+     * Evaluates like {@link #matches}, recording selectivity statistics when the evaluator is adaptive
+     */
+    public boolean profile(ISESession session) {
+        if (evaluator instanceof AdaptiveCondition adaptive) {
+            return adaptive.profile(session);
+        }
+        return matches(session);
+    }
+
+    /**
+     * True when the evaluator is generated code rather than the interpreted tree
+     */
+    public boolean isGenerated() {
+        return evaluator instanceof GeneratedCondition;
+    }
+}
@@ -0,0 +1,113 @@
+package com.cisco.ise.ai.engine;
+
+import com.cisco.ise.ai.engine.model.PolicyDecision;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Evaluates a newline-delimited JSON stream of sessions and writes one decision per line.
+ *
+ * Sessions are parsed, evaluated and written one at a time, so memory use does not grow
+ * with the size of the stream. All sessions in a stream are evaluated against the snapshot
+ * that was current when the stream started. Output is flushed every {@value #FLUSH_INTERVAL}
+ * decisions and whenever reading the next session would block, so slow producers still see
+ * their decisions promptly.
+ */
+@Component
+@Slf4j
+public class DecisionStreamEvaluator {
+
+    private static final int FLUSH_INTERVAL = 256;
+
+    private final PolicyDecisionEngine decisionEngine;
+    private final ObjectReader sessionReader;
+    private final ObjectWriter decisionWriter;
+    private final ObjectMapper objectMapper;
+
+    public DecisionStreamEvaluator(PolicyDecisionEngine decisionEngine, ObjectMapper objectMapper) {
+        this.decisionEngine = decisionEngine;
+        this.objectMapper = objectMapper;
+        this.sessionReader = objectMapper.readerFor(ISESession.class);
+        this.decisionWriter = objectMapper.writerFor(PolicyDecision.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Evaluates every session in the input and returns the number of decisions written.
+     * A malformed session ends the stream with a final {@code {"error": ..., "record": ...}} line.
+     */
+    public long evaluate(InputStream sessions, OutputStream decisions) throws IOException {
+        PolicySnapshot snapshot = decisionEngine.getSnapshot();
+        long count = 0;
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(decisions)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+             MappingIterator<ISESession> iterator = sessionReader.readValues(new FlushBeforeBlocking(sessions, generator))) {
+            while (true) {
+                ISESession session;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    session = iterator.nextValue();
+                } catch (JsonProcessingException e) {
+                    writeError(generator, e, count + 1);
+                    log.warn("Stopped decision stream after {} sessions: {}", count, e.getOriginalMessage());
+                    break;
+                }
+
+                decisionWriter.writeValue(generator, decisionEngine.evaluate(snapshot, session));
+                generator.writeRaw('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        log.debug("Evaluated {} streamed sessions against snapshot epoch {}", count, snapshot.getEpoch());
+        return count;
+    }
+
+    private void writeError(JsonGenerator generator, JsonProcessingException e, long record) throws IOException {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("error", e.getOriginalMessage());
+        error.put("record", record);
+        objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE).writeValue(generator, error);
+        generator.writeRaw('\n');
+    }
+
+    /**
+     * Flushes pending decisions before the parser blocks waiting for more input
+     */
+    private static final class FlushBeforeBlocking extends FilterInputStream {
+
+        private final JsonGenerator generator;
+
+        FlushBeforeBlocking(InputStream in, JsonGenerator generator) {
+            super(in);
+            this.generator = generator;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (in.available() == 0) {
+                generator.flush();
+            }
+            return in.read(buffer, offset, length);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.cisco.ise.ai.engine;
+
+/**
+ * Thrown when a policy's conditions or actions cannot be compiled
+ */
+public class PolicyCompilationException extends RuntimeException {
+
+    public PolicyCompilationException(String message) {
+        super(message);
+    }
+
+    public PolicyCompilationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,250 @@
+package com.cisco.ise.ai.engine;
+
+import com.cisco.ise.ai.engine.codegen.ConditionCodeGenerator;
+import com.cisco.ise.ai.engine.condition.Condition;
+import com.cisco.ise.ai.engine.condition.ConditionCompiler;
+import com.cisco.ise.ai.engine.condition.SessionAttribute;
+import com.cisco.ise.ai.engine.config.PolicyEngineProperties;
+import com.cisco.ise.ai.engine.model.PolicyDecision;
+import com.cisco.ise.ai.engine.plan.AdaptiveCondition;
+import com.cisco.ise.ai.engine.plan.AttributeStatistics;
+import com.cisco.ise.ai.engine.plan.PolicyPlanner;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.repository.PolicyStore;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory policy decision engine.
+ *
+ * ACTIVE policies are compiled once, when they are activated, into an immutable
+ * {@link PolicySnapshot} held behind a single atomic reference. Lifecycle transitions
+ * build the next snapshot on the writer's thread and publish it with one compare-and-set;
+ * decisions read the current snapshot without locking and never touch the database.
+ * Every published snapshot is announced with a {@link PolicySnapshotChangedEvent}.
+ * With {@code policy.engine.codegen.enabled} conditions are additionally compiled to bytecode;
+ * otherwise, with {@code policy.engine.planning.enabled}, a sample of decisions is profiled so
+ * the {@link PolicyPlanner} can re-order conditions and re-choose index anchors.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PolicyDecisionEngine {
+
+    private final PolicyStore policyStore;
+    private final ConditionCompiler conditionCompiler;
+    private final ConditionCodeGenerator codeGenerator;
+    private final PolicyEngineProperties properties;
+    private final PolicyDocuments policyDocuments;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AttributeStatistics attributeStatistics;
+
+    private final AtomicReference<PolicySnapshot> snapshot = new AtomicReference<>(PolicySnapshot.empty());
+
+    /**
+     * Loads and compiles all ACTIVE policies; policies that fail to compile are skipped
+     */
+    @PostConstruct
+    public void reload() {
+        List<CompiledPolicy> compiled = new ArrayList<>();
+        for (Policy policy : policyStore.findByStatusOrderByPriorityAsc(Policy.PolicyStatus.ACTIVE).collectList().block()) {
+            try {
+                compiled.add(compile(policy, false));
+            } catch (PolicyCompilationException e) {
+                log.error("Skipping active policy {} that failed to compile: {}", policy.getPolicyId(), e.getMessage());
+            }
+        }
+        List<CompiledPolicy> loadable = properties.getCodegen().isEnabled() ? withGeneratedEvaluators(compiled) : compiled;
+        PolicySnapshot loaded = swap(current -> current.replaceAll(loadable), null);
+        log.info("Policy decision engine loaded {} active policies at epoch {} ({} unindexed)",
+                loaded.size(), loaded.getEpoch(), loaded.getIndex().getUnanchoredCount());
+    }
+
+    /**
+     * Compiles a policy's conditions and actions
+     */
+    public CompiledPolicy compile(Policy policy) {
+        return compile(policy, properties.getCodegen().isEnabled());
+    }
+
+    /**
+     * Compiles a policy, generating bytecode for its conditions only when asked to
+     */
+    public CompiledPolicy compile(Policy policy, boolean generate) {
+        try {
+            PolicyDocument document = policyDocuments.get(policy);
+            Condition condition = conditionCompiler.compile(document.getConditions());
+            return CompiledPolicy.builder()
+                    .id(policy.getId())
+                    .version(policy.getVersion())
+                    .policyId(policy.getPolicyId())
+                    .name(policy.getName())
+                    .priority(policy.getPriority() != null ? policy.getPriority() : Integer.MAX_VALUE)
+                    .condition(condition)
+                    .evaluator(generate ? codeGenerator.generate(condition) : plannable(condition))
+                    .actions(document.getActions())
+                    .build();
+        } catch (PolicyCompilationException e) {
+            throw new PolicyCompilationException("Policy " + policy.getPolicyId() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Adds or replaces a compiled policy; deferred until commit when called inside a transaction
+     */
+    public void publish(CompiledPolicy policy) {
+        apply(List.of(policy), List.of());
+    }
+
+    /**
+     * Removes a policy from the active set; deferred until commit when called inside a transaction
+     */
+    public void remove(String policyId) {
+        apply(List.of(), List.of(policyId));
+    }
+
+    /**
+     * Applies a set of upserts and removals as a single snapshot transition;
+     * deferred until commit when called inside a transaction
+     */
+    public void apply(Collection<CompiledPolicy> upserts, Collection<String> removals) {
+        afterCommit(() -> {
+            Set<String> changed = new HashSet<>(removals);
+            upserts.forEach(policy -> changed.add(policy.getPolicyId()));
+            PolicySnapshot published = swap(current -> current.apply(upserts, removals), changed);
+            log.debug("Published policy snapshot epoch {} with {} active policies", published.getEpoch(), published.size());
+        });
+    }
+
+    /**
+     * Re-indexes the active policies under new preferred anchors; decisions are unchanged
+     */
+    public PolicySnapshot applyAnchorPreferences(Map<String, SessionAttribute> preferences) {
+        return swap(current -> current.withAnchorPreferences(preferences), Set.of());
+    }
+
+    /**
+     * Leaves dead policies out of the index, provided the active set is still the one they
+     * were found dead in; decisions are unchanged
+     */
+    public PolicySnapshot prune(PolicySnapshot analyzed, Set<String> deadPolicyIds) {
+        return swap(current -> current.hasSamePolicies(analyzed) && !current.getPrunedPolicyIds().equals(deadPolicyIds)
+                ? current.withPrunedPolicies(deadPolicyIds) : current, Set.of());
+    }
+
+    /**
+     * Evaluates a session against the active policies and returns the first match by priority
+     */
+    public PolicyDecision evaluate(ISESession session) {
+        return evaluate(snapshot.get(), session);
+    }
+
+    /**
+     * Evaluates a session against a specific snapshot
+     */
+    public PolicyDecision evaluate(PolicySnapshot policies, ISESession session) {
+        long start = System.nanoTime();
+        boolean profile = isSampled();
+        if (profile) {
+            attributeStatistics.record(session);
+        }
+        PolicyIndex.Match result = policies.getIndex().firstMatch(session, profile);
+        CompiledPolicy match = result.getPolicy();
+
+        PolicyDecision.PolicyDecisionBuilder decision = PolicyDecision.builder()
+                .sessionId(session.getSessionId())
+                .matched(match != null)
+                .snapshotEpoch(policies.getEpoch())
+                .policiesEvaluated(result.getEvaluated())
+                .decidedAt(LocalDateTime.now());
+        if (match != null) {
+            decision.policyId(match.getPolicyId())
+                    .policyName(match.getName())
+                    .priority(match.getPriority())
+                    .actions(match.getActions());
+        }
+        return decision.evaluationTimeNanos(System.nanoTime() - start).build();
+    }
+
+    /**
+     * Current snapshot of the active policy set
+     */
+    public PolicySnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Active compiled policies in evaluation order
+     */
+    public List<CompiledPolicy> getActivePolicies() {
+        return snapshot.get().getPolicies();
+    }
+
+    private Condition plannable(Condition condition) {
+        return properties.getPlanning().isEnabled() ? AdaptiveCondition.of(condition) : condition;
+    }
+
+    private boolean isSampled() {
+        PolicyEngineProperties.Planning planning = properties.getPlanning();
+        return planning.isEnabled() && ThreadLocalRandom.current().nextInt(Math.max(1, planning.getSampleRate())) == 0;
+    }
+
+    /**
+     * Generates code for a batch of policies at once so their conditions share blocks
+     */
+    private List<CompiledPolicy> withGeneratedEvaluators(List<CompiledPolicy> policies) {
+        List<Condition> evaluators = codeGenerator.generate(policies.stream().map(CompiledPolicy::getCondition).toList());
+        List<CompiledPolicy> generated = new ArrayList<>(policies.size());
+        for (int i = 0; i < policies.size(); i++) {
+            generated.add(policies.get(i).toBuilder().evaluator(evaluators.get(i)).build());
+        }
+        return generated;
+    }
+
+    /**
+     * Publishes the next snapshot and announces it with a {@link PolicySnapshotChangedEvent}
+     */
+    private PolicySnapshot swap(UnaryOperator<PolicySnapshot> transition, Set<String> changedPolicyIds) {
+        while (true) {
+            PolicySnapshot current = snapshot.get();
+            PolicySnapshot next = transition.apply(current);
+            if (next == current) {
+                return current;
+            }
+            if (snapshot.compareAndSet(current, next)) {
+                eventPublisher.publishEvent(new PolicySnapshotChangedEvent(current, next, changedPolicyIds));
+                return next;
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
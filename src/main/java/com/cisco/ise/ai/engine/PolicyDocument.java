@@ -0,0 +1,63 @@
+package com.cisco.ise.ai.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A policy's conditions and actions, parsed once and shared by every reader of that version.
+ *
+ * The trees and maps are shared and must be treated as read-only. A part that failed to parse
+ * throws its {@link PolicyCompilationException} when it is read, so a policy with broken actions
+ * can still have its conditions read.
+ */
+public final class PolicyDocument {
+
+    private final String conditionsJson;
+    private final String actionsJson;
+    private final JsonNode conditions;
+    private final Map<String, Object> actions;
+    private final PolicyCompilationException conditionsError;
+    private final PolicyCompilationException actionsError;
+
+    PolicyDocument(String conditionsJson, String actionsJson,
+                   JsonNode conditions, PolicyCompilationException conditionsError,
+                   Map<String, Object> actions, PolicyCompilationException actionsError) {
+        this.conditionsJson = conditionsJson;
+        this.actionsJson = actionsJson;
+        this.conditions = conditions;
+        this.conditionsError = conditionsError;
+        this.actions = actions;
+        this.actionsError = actionsError;
+    }
+
+    /**
+     * The conditions object, or null when the policy has none
+     */
+    public JsonNode getConditions() {
+        if (conditionsError != null) {
+            throw new PolicyCompilationException(conditionsError.getMessage(), conditionsError.getCause());
+        }
+        return conditions;
+    }
+
+    /**
+     * The actions, empty when the policy has none
+     */
+    public Map<String, Object> getActions() {
+        if (actionsError != null) {
+            throw new PolicyCompilationException(actionsError.getMessage(), actionsError.getCause());
+        }
+        return actions;
+    }
+
+    /**
+     * Whether this was parsed from the given JSON; a policy edited but not yet saved keeps its
+     * version while its JSON changes
+     */
+    boolean isParsedFrom(String conditionsJson, String actionsJson) {
+        return Objects.equals(this.conditionsJson, conditionsJson)
+                && Objects.equals(this.actionsJson, actionsJson);
+    }
+}
@@ -0,0 +1,118 @@
+package com.cisco.ise.ai.engine;
+
+import com.cisco.ise.ai.engine.config.PolicyEngineProperties;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyDocumentCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Parsed conditions and actions of policies, keyed by policy and version.
+ *
+ * A policy's JSON is parsed the first time any reader asks for it after a change, from its stored
+ * binary form when it has one, and every later reader of that version shares the result. Policies
+ * not yet saved are not cached, and since a policy edited in memory keeps its version until it is
+ * saved, a cached document is only returned for the JSON it was parsed from. Parses are
+ * counted as {@code policy.documents.parsed} tagged by the form read; cache hits and misses are
+ * published tagged {@code cache=policy-documents}.
+ */
+@Component
+public class PolicyDocuments {
+
+    private static final TypeReference<Map<String, Object>> ACTIONS = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, PolicyDocument> documents;
+    private final Counter parsedBinary;
+    private final Counter parsedJson;
+
+    public PolicyDocuments(ObjectMapper objectMapper, PolicyEngineProperties properties, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(properties.getDocuments().getMaximumSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, documents, "policy-documents");
+        this.parsedBinary = Counter.builder("policy.documents.parsed")
+                .description("Policy conditions and actions parsed")
+                .tag("form", "binary")
+                .register(meterRegistry);
+        this.parsedJson = Counter.builder("policy.documents.parsed")
+                .description("Policy conditions and actions parsed")
+                .tag("form", "json")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The parsed conditions and actions of the policy as it is now
+     */
+    public PolicyDocument get(Policy policy) {
+        if (policy.getId() == null || policy.getVersion() == null) {
+            return parse(policy);
+        }
+        Key key = new Key(policy.getId(), policy.getVersion());
+        PolicyDocument document = documents.get(key, ignored -> parse(policy));
+        if (document.isParsedFrom(policy.getConditions(), policy.getActions())) {
+            return document;
+        }
+        return parse(policy);
+    }
+
+    private PolicyDocument parse(Policy policy) {
+        JsonNode conditions = null;
+        PolicyCompilationException conditionsError = null;
+        try {
+            conditions = read(policy.getConditions(), policy.getConditionsBinary());
+        } catch (JsonProcessingException e) {
+            conditionsError = new PolicyCompilationException("Conditions are not valid JSON: " + e.getOriginalMessage(), e);
+        }
+
+        Map<String, Object> actions = Map.of();
+        PolicyCompilationException actionsError = null;
+        try {
+            JsonNode node = read(policy.getActions(), policy.getActionsBinary());
+            if (node != null && !node.isNull()) {
+                if (!node.isObject()) {
+                    throw new PolicyCompilationException("Actions are not a valid JSON object");
+                }
+                actions = Collections.unmodifiableMap(objectMapper.convertValue(node, ACTIONS));
+            }
+        } catch (JsonProcessingException e) {
+            actionsError = new PolicyCompilationException("Actions are not a valid JSON object: " + e.getOriginalMessage(), e);
+        } catch (PolicyCompilationException e) {
+            actionsError = e;
+        }
+        return new PolicyDocument(policy.getConditions(), policy.getActions(),
+                conditions, conditionsError, actions, actionsError);
+    }
+
+    private JsonNode read(String json, byte[] binary) throws JsonProcessingException {
+        if (binary != null) {
+            parsedBinary.increment();
+            return PolicyDocumentCodec.decode(binary);
+        }
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        parsedJson.increment();
+        return objectMapper.readTree(json);
+    }
+
+    @Value
+    private static class Key {
+        long id;
+        long version;
+    }
+}
@@ -0,0 +1,260 @@
+package com.cisco.ise.ai.engine;
+
+import com.cisco.ise.ai.engine.condition.AllOf;
+import com.cisco.ise.ai.engine.condition.AttributePredicate;
+import com.cisco.ise.ai.engine.condition.Condition;
+import com.cisco.ise.ai.engine.condition.EqualsPredicate;
+import com.cisco.ise.ai.engine.condition.InPredicate;
+import com.cisco.ise.ai.engine.condition.SessionAttribute;
+import com.cisco.ise.ai.ise.model.ISESession;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Discrimination index over the compiled ACTIVE policies.
+ *
+ * Every policy is anchored on one equality or set-membership conjunct over an indexed
+ * session attribute and filed under each literal value of that conjunct. A lookup only
+ * probes the posting lists selected by the session's own attribute values, plus the
+ * policies that have no indexable conjunct. Posting lists hold positions in priority
+ * order, so merging them preserves first-match-by-priority semantics while the number
+ * of candidates evaluated tracks the matching policies rather than the total rule count.
+ * Where a policy has several indexable conjuncts, a preferred anchor attribute may be
+ * supplied per policy, typically chosen from observed attribute value frequencies.
+ */
+public final class PolicyIndex {
+
+    /**
+     * Session attributes eligible as anchors, in tie-break order
+     */
+    public static final List<SessionAttribute> INDEXED_ATTRIBUTES = List.of(
+            SessionAttribute.SSID,
+            SessionAttribute.LOCATION,
+            SessionAttribute.DEVICE_TYPE,
+            SessionAttribute.SECURITY_GROUP,
+            SessionAttribute.AUTHENTICATION_METHOD,
+            SessionAttribute.POSTURE_STATUS);
+
+    private static final PolicyIndex EMPTY = build(List.of());
+
+    private final CompiledPolicy[] policies;
+    private final SessionAttribute[] attributes;
+    private final Map<Object, int[]>[] postings;
+    private final int[] unanchored;
+
+    private PolicyIndex(CompiledPolicy[] policies, SessionAttribute[] attributes,
+                        Map<Object, int[]>[] postings, int[] unanchored) {
+        this.policies = policies;
+        this.attributes = attributes;
+        this.postings = postings;
+        this.unanchored = unanchored;
+    }
+
+    public static PolicyIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds an index over policies that are already in evaluation (priority) order
+     */
+    public static PolicyIndex build(List<CompiledPolicy> orderedPolicies) {
+        return build(orderedPolicies, Map.of());
+    }
+
+    /**
+     * Builds an index anchoring policies on their preferred attribute (by policyId) where
+     * they have an indexable conjunct over it, and on the default choice otherwise
+     */
+    @SuppressWarnings("unchecked")
+    public static PolicyIndex build(List<CompiledPolicy> orderedPolicies, Map<String, SessionAttribute> preferredAnchors) {
+        Map<SessionAttribute, Map<Object, List<Integer>>> buckets = new HashMap<>();
+        List<Integer> unanchored = new ArrayList<>();
+
+        for (int position = 0; position < orderedPolicies.size(); position++) {
+            CompiledPolicy policy = orderedPolicies.get(position);
+            Anchor anchor = anchorOf(policy.getCondition(), preferredAnchors.get(policy.getPolicyId()));
+            if (anchor == null) {
+                unanchored.add(position);
+                continue;
+            }
+            Map<Object, List<Integer>> byValue = buckets.computeIfAbsent(anchor.getAttribute(), a -> new HashMap<>());
+            for (Object value : anchor.getValues()) {
+                byValue.computeIfAbsent(value, v -> new ArrayList<>()).add(position);
+            }
+        }
+
+        List<SessionAttribute> attributes = new ArrayList<>();
+        List<Map<Object, int[]>> postings = new ArrayList<>();
+        for (SessionAttribute attribute : INDEXED_ATTRIBUTES) {
+            Map<Object, List<Integer>> byValue = buckets.get(attribute);
+            if (byValue == null) {
+                continue;
+            }
+            Map<Object, int[]> compact = new HashMap<>(byValue.size() * 2);
+            byValue.forEach((value, positions) -> compact.put(value, toArray(positions)));
+            attributes.add(attribute);
+            postings.add(compact);
+        }
+
+        return new PolicyIndex(
+                orderedPolicies.toArray(new CompiledPolicy[0]),
+                attributes.toArray(new SessionAttribute[0]),
+                postings.toArray(new Map[0]),
+                toArray(unanchored));
+    }
+
+    /**
+     * Returns the highest-priority policy matching the session, or null
+     */
+    public Match firstMatch(ISESession session) {
+        return firstMatch(session, false);
+    }
+
+    /**
+     * As {@link #firstMatch(ISESession)}; when profiling, adaptive conditions record
+     * per-conjunct statistics for the candidates they evaluate
+     */
+    public Match firstMatch(ISESession session, boolean profile) {
+        int lists = attributes.length + 1;
+        int[][] candidates = new int[lists][];
+        int count = 0;
+        for (int i = 0; i < attributes.length; i++) {
+            Object value = attributes[i].valueOf(session);
+            if (value != null) {
+                int[] positions = postings[i].get(value);
+                if (positions != null) {
+                    candidates[count++] = positions;
+                }
+            }
+        }
+        if (unanchored.length > 0) {
+            candidates[count++] = unanchored;
+        }
+
+        // k-way merge of ascending posting lists, evaluating candidates in priority order
+        int[] cursors = new int[count];
+        int evaluated = 0;
+        while (true) {
+            int best = -1;
+            int bestPosition = Integer.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                if (cursors[i] < candidates[i].length && candidates[i][cursors[i]] < bestPosition) {
+                    best = i;
+                    bestPosition = candidates[i][cursors[i]];
+                }
+            }
+            if (best < 0) {
+                return new Match(null, evaluated);
+            }
+            cursors[best]++;
+            evaluated++;
+            CompiledPolicy policy = policies[bestPosition];
+            if (profile ? policy.profile(session) : policy.matches(session)) {
+                return new Match(policy, evaluated);
+            }
+        }
+    }
+
+    /**
+     * Policies in evaluation order
+     */
+    public List<CompiledPolicy> getPolicies() {
+        return List.of(policies);
+    }
+
+    public int size() {
+        return policies.length;
+    }
+
+    /**
+     * Number of policies that could not be anchored and are probed for every session
+     */
+    public int getUnanchoredCount() {
+        return unanchored.length;
+    }
+
+    /**
+     * The conjunct a condition is filed under, or null when it has no indexable conjunct.
+     * A session can only satisfy the condition if its value for the anchor attribute is
+     * one of the anchor values.
+     */
+    public static Anchor anchorOf(Condition condition) {
+        return anchorOf(condition, null);
+    }
+
+    /**
+     * The anchor over the preferred attribute if the condition has one, otherwise the
+     * conjunct with the fewest values, ties broken by attribute order
+     */
+    public static Anchor anchorOf(Condition condition, SessionAttribute preferred) {
+        Anchor anchor = null;
+        for (Anchor candidate : anchorCandidates(condition)) {
+            if (candidate.getAttribute().equals(preferred)) {
+                return candidate;
+            }
+            if (anchor == null || isBetterAnchor(candidate, anchor)) {
+                anchor = candidate;
+            }
+        }
+        return anchor;
+    }
+
+    /**
+     * Every equality or set-membership conjunct over an indexed attribute
+     */
+    public static List<Anchor> anchorCandidates(Condition condition) {
+        List<Condition> conjuncts = condition instanceof AllOf allOf ? allOf.getConditions() : List.of(condition);
+
+        List<Anchor> candidates = new ArrayList<>();
+        for (Condition conjunct : conjuncts) {
+            if (!(conjunct instanceof EqualsPredicate || conjunct instanceof InPredicate)) {
+                continue;
+            }
+            AttributePredicate predicate = (AttributePredicate) conjunct;
+            if (INDEXED_ATTRIBUTES.contains(predicate.getAttribute())) {
+                candidates.add(new Anchor(predicate.getAttribute(), anchorValues(predicate)));
+            }
+        }
+        return candidates;
+    }
+
+    private static boolean isBetterAnchor(Anchor candidate, Anchor current) {
+        int candidateValues = candidate.getValues().size();
+        int currentValues = current.getValues().size();
+        if (candidateValues != currentValues) {
+            return candidateValues < currentValues;
+        }
+        return INDEXED_ATTRIBUTES.indexOf(candidate.getAttribute()) < INDEXED_ATTRIBUTES.indexOf(current.getAttribute());
+    }
+
+    private static Set<Object> anchorValues(AttributePredicate predicate) {
+        return predicate instanceof InPredicate in ? in.getValues() : Set.of(((EqualsPredicate) predicate).getValue());
+    }
+
+    private static int[] toArray(List<Integer> positions) {
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Indexed attribute and the literal values a matching session must have for it
+     */
+    @Value
+    public static class Anchor {
+        SessionAttribute attribute;
+        Set<Object> values;
+    }
+
+    /**
+     * Lookup result: the matching policy (null when none) and the number of candidates evaluated
+     */
+    @Value
+    public static class Match {
+        CompiledPolicy policy;
+        int evaluated;
+    }
+}
@@ -0,0 +1,172 @@
+package com.cisco.ise.ai.engine;
+
+import com.cisco.ise.ai.engine.condition.SessionAttribute;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, versioned view of the compiled ACTIVE policy set.
+ *
+ * A snapshot is never modified after construction; lifecycle changes derive a new
+ * snapshot with the next epoch, so a reader holding a snapshot always sees one
+ * consistent rule set and index.
+ */
+public final class PolicySnapshot {
+
+    static final Comparator<CompiledPolicy> PRIORITY_ORDER = Comparator
+            .comparingInt(CompiledPolicy::getPriority)
+            .thenComparing(CompiledPolicy::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final PolicySnapshot EMPTY = new PolicySnapshot(0L, List.of(), Map.of(), Set.of());
+
+    private final long epoch;
+    private final List<CompiledPolicy> policies;
+    private final PolicyIndex index;
+    private final Map<String, CompiledPolicy> policiesById;
+    private final Map<String, SessionAttribute> anchorPreferences;
+    private final Set<String> prunedPolicyIds;
+    private final LocalDateTime createdAt;
+
+    private PolicySnapshot(long epoch, List<CompiledPolicy> orderedPolicies,
+                           Map<String, SessionAttribute> anchorPreferences, Set<String> prunedPolicyIds) {
+        Map<String, CompiledPolicy> byId = new LinkedHashMap<>();
+        orderedPolicies.forEach(policy -> byId.put(policy.getPolicyId(), policy));
+
+        // Preferences only apply to policies in this snapshot
+        Map<String, SessionAttribute> preferences = new HashMap<>(anchorPreferences);
+        preferences.keySet().retainAll(byId.keySet());
+
+        List<CompiledPolicy> indexed = prunedPolicyIds.isEmpty() ? orderedPolicies : orderedPolicies.stream()
+                .filter(policy -> !prunedPolicyIds.contains(policy.getPolicyId()))
+                .toList();
+
+        this.epoch = epoch;
+        this.policies = List.copyOf(orderedPolicies);
+        this.index = PolicyIndex.build(indexed, preferences);
+        this.policiesById = Collections.unmodifiableMap(byId);
+        this.anchorPreferences = Collections.unmodifiableMap(preferences);
+        this.prunedPolicyIds = Set.copyOf(prunedPolicyIds);
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public static PolicySnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Derives the next snapshot containing exactly the given policies
+     */
+    public PolicySnapshot replaceAll(Collection<CompiledPolicy> policies) {
+        List<CompiledPolicy> ordered = new ArrayList<>(policies);
+        ordered.sort(PRIORITY_ORDER);
+        // Pruning was proven for the previous policy set only
+        return new PolicySnapshot(epoch + 1, ordered, anchorPreferences, Set.of());
+    }
+
+    /**
+     * Derives the next snapshot with the same policies indexed under the given preferred anchors
+     */
+    public PolicySnapshot withAnchorPreferences(Map<String, SessionAttribute> preferences) {
+        return new PolicySnapshot(epoch + 1, policies, preferences, prunedPolicyIds);
+    }
+
+    /**
+     * Derives the next snapshot with the same policies, leaving the given ones out of the index.
+     * Only policies that can never be the first match may be pruned; any later change to the
+     * policy set brings them back.
+     */
+    public PolicySnapshot withPrunedPolicies(Set<String> policyIds) {
+        return new PolicySnapshot(epoch + 1, policies, anchorPreferences, policyIds);
+    }
+
+    /**
+     * Whether both snapshots hold the same compiled policies, regardless of indexing
+     */
+    public boolean hasSamePolicies(PolicySnapshot other) {
+        if (policies.size() != other.policies.size()) {
+            return false;
+        }
+        for (int i = 0; i < policies.size(); i++) {
+            if (policies.get(i) != other.policies.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Derives the next snapshot with policies added or replaced by policyId and others removed
+     */
+    public PolicySnapshot apply(Collection<CompiledPolicy> upserts, Collection<String> removals) {
+        Set<String> dropped = new HashSet<>(removals);
+        upserts.forEach(policy -> dropped.add(policy.getPolicyId()));
+
+        List<CompiledPolicy> policies = new ArrayList<>(policiesById.size() + upserts.size());
+        for (CompiledPolicy policy : this.policies) {
+            if (!dropped.contains(policy.getPolicyId())) {
+                policies.add(policy);
+            }
+        }
+        policies.addAll(upserts);
+        return replaceAll(policies);
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public PolicyIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Policies in evaluation order, including pruned ones
+     */
+    public List<CompiledPolicy> getPolicies() {
+        return policies;
+    }
+
+    public CompiledPolicy getPolicy(String policyId) {
+        return policiesById.get(policyId);
+    }
+
+    public int size() {
+        return policiesById.size();
+    }
+
+    /**
+     * Preferred anchor attribute by policyId, for policies not using the default anchor
+     */
+    public Map<String, SessionAttribute> getAnchorPreferences() {
+        return anchorPreferences;
+    }
+
+    /**
+     * The anchor a policy is indexed under, or null when it is unanchored or not in this snapshot
+     */
+    public PolicyIndex.Anchor getAnchor(String policyId) {
+        CompiledPolicy policy = policiesById.get(policyId);
+        return policy != null ? PolicyIndex.anchorOf(policy.getCondition(), anchorPreferences.get(policyId)) : null;
+    }
+
+    /**
+     * Policies left out of the index because they can never be the first match
+     */
+    public Set<String> getPrunedPolicyIds() {
+        return prunedPolicyIds;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
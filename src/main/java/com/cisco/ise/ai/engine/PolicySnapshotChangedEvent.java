@@ -0,0 +1,29 @@
+package com.cisco.ise.ai.engine;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Published after a new policy snapshot replaces the previous one.
+ *
+ * {@code changedPolicyIds} lists the policies added, replaced or removed; it is null
+ * when the whole set was reloaded and empty when the same policies were only re-indexed.
+ */
+@Value
+public class PolicySnapshotChangedEvent {
+    PolicySnapshot previous;
+    PolicySnapshot current;
+    Set<String> changedPolicyIds;
+
+    public boolean isReload() {
+        return changedPolicyIds == null;
+    }
+
+    /**
+     * True when no policy changed, so no decision can have changed either
+     */
+    public boolean isReindex() {
+        return changedPolicyIds != null && changedPolicyIds.isEmpty();
+    }
+}
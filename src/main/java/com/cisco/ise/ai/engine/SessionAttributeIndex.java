@@ -0,0 +1,127 @@
+package com.cisco.ise.ai.engine;
+
+import com.cisco.ise.ai.engine.condition.SessionAttribute;
+import com.cisco.ise.ai.ise.model.ISESession;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse index from indexed session attribute values to session ids.
+ *
+ * The counterpart of {@link PolicyIndex}: a policy anchored on an attribute can only
+ * match sessions filed under one of its anchor values, so the sessions whose decision
+ * a policy change can affect are found by looking up the anchors of the old and new
+ * versions of each changed policy instead of re-evaluating every session.
+ */
+public final class SessionAttributeIndex {
+
+    private static final SessionAttribute[] ATTRIBUTES = PolicyIndex.INDEXED_ATTRIBUTES.toArray(new SessionAttribute[0]);
+
+    private final Map<SessionAttribute, Map<Object, Set<String>>> sessionsByValue = new ConcurrentHashMap<>();
+    private final Map<String, Object[]> indexedValues = new ConcurrentHashMap<>();
+
+    /**
+     * Files the session under its current attribute values, replacing any previous entry
+     */
+    public void put(ISESession session) {
+        String sessionId = session.getSessionId();
+        Object[] values = new Object[ATTRIBUTES.length];
+        for (int i = 0; i < ATTRIBUTES.length; i++) {
+            values[i] = ATTRIBUTES[i].valueOf(session);
+        }
+        indexedValues.compute(sessionId, (id, previous) -> {
+            for (int i = 0; i < ATTRIBUTES.length; i++) {
+                Object before = previous != null ? previous[i] : null;
+                if (before != null && !before.equals(values[i])) {
+                    unfile(ATTRIBUTES[i], before, id);
+                }
+                if (values[i] != null && !values[i].equals(before)) {
+                    file(ATTRIBUTES[i], values[i], id);
+                }
+            }
+            return values;
+        });
+    }
+
+    public void remove(String sessionId) {
+        indexedValues.computeIfPresent(sessionId, (id, values) -> {
+            for (int i = 0; i < ATTRIBUTES.length; i++) {
+                if (values[i] != null) {
+                    unfile(ATTRIBUTES[i], values[i], id);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Sessions whose value for the anchor attribute is one of the anchor values
+     */
+    public Set<String> sessionsMatching(PolicyIndex.Anchor anchor) {
+        Map<Object, Set<String>> byValue = sessionsByValue.get(anchor.getAttribute());
+        Set<String> sessionIds = new HashSet<>();
+        if (byValue != null) {
+            for (Object value : anchor.getValues()) {
+                Set<String> filed = byValue.get(value);
+                if (filed != null) {
+                    sessionIds.addAll(filed);
+                }
+            }
+        }
+        return sessionIds;
+    }
+
+    /**
+     * Sessions whose first match can differ between the two snapshots, or null when
+     * any session can be affected (a reload, or a changed policy with no anchor).
+     *
+     * Only a changed policy can change a decision, and only for sessions matching its
+     * old or new version; every other policy keeps its relative order.
+     */
+    public Set<String> affectedBy(PolicySnapshot previous, PolicySnapshot current, Collection<String> changedPolicyIds) {
+        if (changedPolicyIds == null) {
+            return null;
+        }
+        Set<String> affected = new HashSet<>();
+        for (String policyId : changedPolicyIds) {
+            for (PolicySnapshot snapshot : new PolicySnapshot[]{previous, current}) {
+                if (snapshot.getPolicy(policyId) == null) {
+                    continue;
+                }
+                PolicyIndex.Anchor anchor = snapshot.getAnchor(policyId);
+                if (anchor == null) {
+                    return null;
+                }
+                affected.addAll(sessionsMatching(anchor));
+            }
+        }
+        return affected;
+    }
+
+    public int size() {
+        return indexedValues.size();
+    }
+
+    private void file(SessionAttribute attribute, Object value, String sessionId) {
+        sessionsByValue.computeIfAbsent(attribute, a -> new ConcurrentHashMap<>())
+                .compute(value, (v, sessionIds) -> {
+                    Set<String> filed = sessionIds != null ? sessionIds : ConcurrentHashMap.newKeySet();
+                    filed.add(sessionId);
+                    return filed;
+                });
+    }
+
+    private void unfile(SessionAttribute attribute, Object value, String sessionId) {
+        Map<Object, Set<String>> byValue = sessionsByValue.get(attribute);
+        if (byValue != null) {
+            byValue.computeIfPresent(value, (v, sessionIds) -> {
+                sessionIds.remove(sessionId);
+                return sessionIds.isEmpty() ? null : sessionIds;
+            });
+        }
+    }
+}
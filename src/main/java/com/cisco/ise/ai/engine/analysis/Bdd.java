@@ -0,0 +1,256 @@
+package com.cisco.ise.ai.engine.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Reduced ordered binary decision diagrams over a fixed set of boolean variables.
+ *
+ * Nodes live in parallel int arrays and are hash-consed through a unique table, so two
+ * functions are equal exactly when their node ids are equal. Operation results are memoized
+ * in a lossy computed table. Nodes are never freed; a {@code Bdd} is built for one analysis
+ * and then discarded. Not thread-safe.
+ */
+final class Bdd {
+
+    static final int FALSE = 0;
+    static final int TRUE = 1;
+
+    private static final int TERMINAL_LEVEL = Integer.MAX_VALUE;
+
+    private static final int OP_AND = 1;
+    private static final int OP_OR = 2;
+    private static final int OP_NOT = 3;
+    private static final int OP_IMPLIES = 4;
+    private static final int OP_INTERSECTS = 5;
+
+    private int[] level;
+    private int[] low;
+    private int[] high;
+    private int size;
+
+    private int[] unique;
+    private int uniqueMask;
+
+    private final int[] cacheOp;
+    private final int[] cacheA;
+    private final int[] cacheB;
+    private final int[] cacheResult;
+    private final int cacheMask;
+
+    Bdd(int expectedNodes) {
+        int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, expectedNodes - 1)) << 1);
+        level = new int[capacity];
+        low = new int[capacity];
+        high = new int[capacity];
+        level[FALSE] = TERMINAL_LEVEL;
+        level[TRUE] = TERMINAL_LEVEL;
+        size = 2;
+
+        unique = new int[capacity * 2];
+        Arrays.fill(unique, -1);
+        uniqueMask = unique.length - 1;
+
+        int cacheSize = Math.max(capacity, 1 << 18);
+        cacheOp = new int[cacheSize];
+        cacheA = new int[cacheSize];
+        cacheB = new int[cacheSize];
+        cacheResult = new int[cacheSize];
+        cacheMask = cacheSize - 1;
+    }
+
+    /**
+     * The function that is true exactly when variable {@code var} is
+     */
+    int variable(int var) {
+        return node(var, FALSE, TRUE);
+    }
+
+    int and(int a, int b) {
+        if (a == FALSE || b == FALSE) {
+            return FALSE;
+        }
+        if (a == TRUE || a == b) {
+            return b;
+        }
+        if (b == TRUE) {
+            return a;
+        }
+        if (a > b) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        int cached = lookup(OP_AND, a, b);
+        if (cached >= 0) {
+            return cached;
+        }
+        int top = Math.min(level[a], level[b]);
+        int result = node(top, and(cofactor(a, top, false), cofactor(b, top, false)),
+                and(cofactor(a, top, true), cofactor(b, top, true)));
+        store(OP_AND, a, b, result);
+        return result;
+    }
+
+    int or(int a, int b) {
+        if (a == TRUE || b == TRUE) {
+            return TRUE;
+        }
+        if (a == FALSE || a == b) {
+            return b;
+        }
+        if (b == FALSE) {
+            return a;
+        }
+        if (a > b) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        int cached = lookup(OP_OR, a, b);
+        if (cached >= 0) {
+            return cached;
+        }
+        int top = Math.min(level[a], level[b]);
+        int result = node(top, or(cofactor(a, top, false), cofactor(b, top, false)),
+                or(cofactor(a, top, true), cofactor(b, top, true)));
+        store(OP_OR, a, b, result);
+        return result;
+    }
+
+    int not(int a) {
+        if (a == FALSE) {
+            return TRUE;
+        }
+        if (a == TRUE) {
+            return FALSE;
+        }
+        int cached = lookup(OP_NOT, a, 0);
+        if (cached >= 0) {
+            return cached;
+        }
+        int result = node(level[a], not(low[a]), not(high[a]));
+        store(OP_NOT, a, 0, result);
+        return result;
+    }
+
+    /**
+     * Whether every assignment satisfying {@code a} satisfies {@code b}, without building {@code a AND NOT b}
+     */
+    boolean implies(int a, int b) {
+        if (a == FALSE || b == TRUE || a == b) {
+            return true;
+        }
+        if (a == TRUE || b == FALSE) {
+            return false;
+        }
+        int cached = lookup(OP_IMPLIES, a, b);
+        if (cached >= 0) {
+            return cached == TRUE;
+        }
+        int top = Math.min(level[a], level[b]);
+        boolean result = implies(cofactor(a, top, false), cofactor(b, top, false))
+                && implies(cofactor(a, top, true), cofactor(b, top, true));
+        store(OP_IMPLIES, a, b, result ? TRUE : FALSE);
+        return result;
+    }
+
+    /**
+     * Whether some assignment satisfies both, without building {@code a AND b}
+     */
+    boolean intersects(int a, int b) {
+        if (a == FALSE || b == FALSE) {
+            return false;
+        }
+        if (a == TRUE || b == TRUE || a == b) {
+            return true;
+        }
+        if (a > b) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        int cached = lookup(OP_INTERSECTS, a, b);
+        if (cached >= 0) {
+            return cached == TRUE;
+        }
+        int top = Math.min(level[a], level[b]);
+        boolean result = intersects(cofactor(a, top, false), cofactor(b, top, false))
+                || intersects(cofactor(a, top, true), cofactor(b, top, true));
+        store(OP_INTERSECTS, a, b, result ? TRUE : FALSE);
+        return result;
+    }
+
+    /**
+     * Nodes allocated so far, including the two terminals
+     */
+    int size() {
+        return size;
+    }
+
+    private int cofactor(int node, int var, boolean value) {
+        if (level[node] != var) {
+            return node;
+        }
+        return value ? high[node] : low[node];
+    }
+
+    private int node(int var, int lowChild, int highChild) {
+        if (lowChild == highChild) {
+            return lowChild;
+        }
+        int slot = hash(var, lowChild, highChild) & uniqueMask;
+        while (unique[slot] >= 0) {
+            int candidate = unique[slot];
+            if (level[candidate] == var && low[candidate] == lowChild && high[candidate] == highChild) {
+                return candidate;
+            }
+            slot = (slot + 1) & uniqueMask;
+        }
+        if (size == level.length) {
+            grow();
+            return node(var, lowChild, highChild);
+        }
+        int created = size++;
+        level[created] = var;
+        low[created] = lowChild;
+        high[created] = highChild;
+        unique[slot] = created;
+        return created;
+    }
+
+    private void grow() {
+        int capacity = level.length * 2;
+        level = Arrays.copyOf(level, capacity);
+        low = Arrays.copyOf(low, capacity);
+        high = Arrays.copyOf(high, capacity);
+
+        unique = new int[capacity * 2];
+        Arrays.fill(unique, -1);
+        uniqueMask = unique.length - 1;
+        for (int n = 2; n < size; n++) {
+            int slot = hash(level[n], low[n], high[n]) & uniqueMask;
+            while (unique[slot] >= 0) {
+                slot = (slot + 1) & uniqueMask;
+            }
+            unique[slot] = n;
+        }
+    }
+
+    private int lookup(int op, int a, int b) {
+        int slot = hash(op, a, b) & cacheMask;
+        return cacheOp[slot] == op && cacheA[slot] == a && cacheB[slot] == b ? cacheResult[slot] : -1;
+    }
+
+    private void store(int op, int a, int b, int result) {
+        int slot = hash(op, a, b) & cacheMask;
+        cacheOp[slot] = op;
+        cacheA[slot] = a;
+        cacheB[slot] = b;
+        cacheResult[slot] = result;
+    }
+
+    private static int hash(int x, int y, int z) {
+        int h = x * 0x9E3779B1 + y * 0x85EBCA77 + z * 0xC2B2AE3D;
+        return h ^ (h >>> 15);
+    }
+}
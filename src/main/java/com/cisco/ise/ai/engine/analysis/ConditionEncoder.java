@@ -0,0 +1,250 @@
+package com.cisco.ise.ai.engine.analysis;
+
+import com.cisco.ise.ai.engine.condition.AllOf;
+import com.cisco.ise.ai.engine.condition.AnyOf;
+import com.cisco.ise.ai.engine.condition.AttributePredicate;
+import com.cisco.ise.ai.engine.condition.Condition;
+import com.cisco.ise.ai.engine.condition.ContainsPredicate;
+import com.cisco.ise.ai.engine.condition.EqualsPredicate;
+import com.cisco.ise.ai.engine.condition.InPredicate;
+import com.cisco.ise.ai.engine.condition.MatchAll;
+import com.cisco.ise.ai.engine.condition.Not;
+import com.cisco.ise.ai.engine.condition.RangePredicate;
+import com.cisco.ise.ai.engine.condition.SessionAttribute;
+import com.cisco.ise.ai.engine.condition.SubnetPredicate;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Encodes condition trees as BDDs over finite domains derived from the literals they use.
+ *
+ * Each attribute's value space is partitioned into the cells the conditions can tell apart:
+ * one cell per literal compared for equality plus "anything else" for text, and the points
+ * and open intervals between the literal bounds plus "not a number" for numbers. A cell index
+ * is binary-encoded, so one session value is always exactly one cell. Text and numeric
+ * comparisons on the same custom attribute, substring matches and unrecognized conditions
+ * become independent variables; that admits combinations no session can produce, so a
+ * policy may be reported live when it is in fact dead, but never the reverse.
+ */
+final class ConditionEncoder {
+
+    private final Bdd bdd;
+    private final Map<SessionAttribute, TextDomain> textDomains = new HashMap<>();
+    private final Map<SessionAttribute, NumberDomain> numberDomains = new HashMap<>();
+    private final Map<Object, Integer> freeVariables = new HashMap<>();
+    private final Map<Condition, Integer> opaque = new IdentityHashMap<>();
+    private int nextVariable;
+
+    /**
+     * Builds the domains for every literal in the conditions; attributes used by more
+     * conditions get earlier (higher) variables, which keeps the shared diagrams small
+     */
+    ConditionEncoder(Bdd bdd, Collection<Condition> conditions) {
+        this.bdd = bdd;
+
+        Map<SessionAttribute, TreeSet<String>> text = new LinkedHashMap<>();
+        Map<SessionAttribute, TreeSet<Double>> numbers = new LinkedHashMap<>();
+        Map<DomainKey, Integer> usage = new HashMap<>();
+        for (Condition condition : conditions) {
+            collect(condition, text, numbers, usage);
+        }
+
+        List<DomainKey> domains = new ArrayList<>();
+        text.keySet().forEach(attribute -> domains.add(new DomainKey(attribute, false)));
+        numbers.keySet().forEach(attribute -> domains.add(new DomainKey(attribute, true)));
+        domains.sort(Comparator.comparingInt((DomainKey key) -> -usage.getOrDefault(key, 0)));
+
+        for (DomainKey domain : domains) {
+            if (domain.isNumeric()) {
+                numberDomains.put(domain.getAttribute(), new NumberDomain(numbers.get(domain.getAttribute())));
+            } else {
+                textDomains.put(domain.getAttribute(), new TextDomain(text.get(domain.getAttribute())));
+            }
+        }
+    }
+
+    /**
+     * The BDD of a condition tree
+     */
+    int encode(Condition condition) {
+        if (condition instanceof MatchAll) {
+            return Bdd.TRUE;
+        }
+        if (condition instanceof AllOf allOf) {
+            int result = Bdd.TRUE;
+            for (Condition child : allOf.getConditions()) {
+                result = bdd.and(result, encode(child));
+            }
+            return result;
+        }
+        if (condition instanceof AnyOf anyOf) {
+            int result = Bdd.FALSE;
+            for (Condition child : anyOf.getConditions()) {
+                result = bdd.or(result, encode(child));
+            }
+            return result;
+        }
+        if (condition instanceof Not not) {
+            return bdd.not(encode(not.getCondition()));
+        }
+        if (condition instanceof EqualsPredicate equals) {
+            return member(equals.getAttribute(), List.of(equals.getValue()));
+        }
+        if (condition instanceof InPredicate in) {
+            return member(in.getAttribute(), in.getValues());
+        }
+        if (condition instanceof RangePredicate range) {
+            NumberDomain domain = numberDomains.get(range.getAttribute());
+            return domain.between(range.getLower(), range.isLowerInclusive(), range.getUpper(), range.isUpperInclusive());
+        }
+        if (condition instanceof ContainsPredicate contains) {
+            return bdd.variable(freeVariables.computeIfAbsent(
+                    List.of(contains.getAttribute(), contains.getSubstring()), key -> nextVariable++));
+        }
+        if (condition instanceof SubnetPredicate subnet) {
+            // Identical prefix sets share a variable; overlap between different sets is not modelled
+            return bdd.variable(freeVariables.computeIfAbsent(
+                    List.of(subnet.getAttribute(), "subnet", subnet.getPrefixes()), key -> nextVariable++));
+        }
+        // Anything else is treated as an unknown, independent test
+        return bdd.variable(opaque.computeIfAbsent(condition, key -> nextVariable++));
+    }
+
+    private int member(SessionAttribute attribute, Collection<Object> values) {
+        int result = Bdd.FALSE;
+        for (Object value : values) {
+            result = bdd.or(result, value instanceof Double number
+                    ? numberDomains.get(attribute).point(number)
+                    : textDomains.get(attribute).equalTo(value));
+        }
+        return result;
+    }
+
+    private static void collect(Condition condition, Map<SessionAttribute, TreeSet<String>> text,
+                                Map<SessionAttribute, TreeSet<Double>> numbers, Map<DomainKey, Integer> usage) {
+        if (condition instanceof AllOf allOf) {
+            allOf.getConditions().forEach(child -> collect(child, text, numbers, usage));
+        } else if (condition instanceof AnyOf anyOf) {
+            anyOf.getConditions().forEach(child -> collect(child, text, numbers, usage));
+        } else if (condition instanceof Not not) {
+            collect(not.getCondition(), text, numbers, usage);
+        } else if (condition instanceof EqualsPredicate || condition instanceof InPredicate) {
+            AttributePredicate predicate = (AttributePredicate) condition;
+            Collection<Object> values = condition instanceof InPredicate in
+                    ? in.getValues() : List.of(((EqualsPredicate) condition).getValue());
+            for (Object value : values) {
+                if (value instanceof Double number) {
+                    numbers.computeIfAbsent(predicate.getAttribute(), a -> new TreeSet<>()).add(number);
+                    usage.merge(new DomainKey(predicate.getAttribute(), true), 1, Integer::sum);
+                } else {
+                    text.computeIfAbsent(predicate.getAttribute(), a -> new TreeSet<>()).add(value.toString());
+                    usage.merge(new DomainKey(predicate.getAttribute(), false), 1, Integer::sum);
+                }
+            }
+        } else if (condition instanceof RangePredicate range) {
+            TreeSet<Double> bounds = numbers.computeIfAbsent(range.getAttribute(), a -> new TreeSet<>());
+            if (!Double.isInfinite(range.getLower())) {
+                bounds.add(range.getLower());
+            }
+            if (!Double.isInfinite(range.getUpper())) {
+                bounds.add(range.getUpper());
+            }
+            usage.merge(new DomainKey(range.getAttribute(), true), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * BDD of "the binary-encoded cell index lies in [from, to]"
+     */
+    private int cellsBetween(int[] variables, int from, int to) {
+        if (from > to) {
+            return Bdd.FALSE;
+        }
+        int atLeast = Bdd.TRUE;
+        int atMost = Bdd.TRUE;
+        // Least significant bit first; variables[0] is the most significant bit
+        for (int bit = 0; bit < variables.length; bit++) {
+            int var = bdd.variable(variables[variables.length - 1 - bit]);
+            atLeast = ((from >>> bit) & 1) == 1 ? bdd.and(var, atLeast) : bdd.or(var, atLeast);
+            atMost = ((to >>> bit) & 1) == 0 ? bdd.and(bdd.not(var), atMost) : bdd.or(bdd.not(var), atMost);
+        }
+        return bdd.and(atLeast, atMost);
+    }
+
+    private int[] allocate(int cells) {
+        int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(cells - 1));
+        int[] variables = new int[bits];
+        for (int i = 0; i < bits; i++) {
+            variables[i] = nextVariable++;
+        }
+        return variables;
+    }
+
+    @Value
+    private static class DomainKey {
+        SessionAttribute attribute;
+        boolean numeric;
+    }
+
+    /**
+     * Cell 0 is every value other than the literals (including none); literal i is cell i + 1
+     */
+    private final class TextDomain {
+
+        private final Map<String, Integer> cells = new HashMap<>();
+        private final int[] variables;
+
+        TextDomain(TreeSet<String> literals) {
+            int cell = 1;
+            for (String literal : literals) {
+                cells.put(literal, cell++);
+            }
+            variables = allocate(cell);
+        }
+
+        int equalTo(Object value) {
+            int cell = cells.get(value.toString());
+            return cellsBetween(variables, cell, cell);
+        }
+    }
+
+    /**
+     * Cell 0 is "not a number"; then for sorted bounds b1 < ... < bn the cells are
+     * (-inf, b1), [b1], (b1, b2), [b2], ..., [bn], (bn, +inf)
+     */
+    private final class NumberDomain {
+
+        private final double[] bounds;
+        private final int[] variables;
+
+        NumberDomain(TreeSet<Double> bounds) {
+            this.bounds = bounds.stream().mapToDouble(Double::doubleValue).toArray();
+            this.variables = allocate(2 * this.bounds.length + 2);
+        }
+
+        int point(double value) {
+            int cell = pointCell(value);
+            return cellsBetween(variables, cell, cell);
+        }
+
+        int between(double lower, boolean lowerInclusive, double upper, boolean upperInclusive) {
+            int from = Double.isInfinite(lower) ? 1 : pointCell(lower) + (lowerInclusive ? 0 : 1);
+            int to = Double.isInfinite(upper) ? 2 * bounds.length + 1 : pointCell(upper) - (upperInclusive ? 0 : 1);
+            return cellsBetween(variables, from, to);
+        }
+
+        private int pointCell(double value) {
+            return 2 * (Arrays.binarySearch(bounds, value) + 1);
+        }
+    }
+}
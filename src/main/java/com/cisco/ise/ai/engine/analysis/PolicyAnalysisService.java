@@ -0,0 +1,75 @@
+package com.cisco.ise.ai.engine.analysis;
+
+import com.cisco.ise.ai.engine.PolicyDecisionEngine;
+import com.cisco.ise.ai.engine.PolicySnapshot;
+import com.cisco.ise.ai.engine.PolicySnapshotChangedEvent;
+import com.cisco.ise.ai.engine.config.PolicyEngineProperties;
+import com.cisco.ise.ai.engine.model.PolicyAnalysis;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Analyzes the active policy snapshot and prunes the policies that can never match.
+ *
+ * With {@code policy.engine.analysis.prune-dead-policies} the active set is re-analyzed in
+ * the background after every policy change; otherwise pruning happens on request.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PolicyAnalysisService {
+
+    private final PolicyDecisionEngine decisionEngine;
+    private final PolicyConflictAnalyzer analyzer;
+    private final PolicyEngineProperties properties;
+
+    /**
+     * Analyzes the current snapshot
+     */
+    public PolicyAnalysis analyzeActive() {
+        return analyze(decisionEngine.getSnapshot());
+    }
+
+    /**
+     * Analyzes the current snapshot and leaves its dead policies out of the index
+     */
+    public PolicyAnalysis pruneActive() {
+        PolicySnapshot snapshot = decisionEngine.getSnapshot();
+        PolicyAnalysis analysis = analyze(snapshot);
+        Set<String> dead = analysis.getDeadPolicies().stream()
+                .map(PolicyAnalysis.DeadPolicy::getPolicyId)
+                .collect(Collectors.toSet());
+
+        PolicySnapshot published = decisionEngine.prune(snapshot, dead);
+        if (published != snapshot) {
+            log.info("Pruned {} dead policies from snapshot epoch {}, {} indexed",
+                    dead.size(), published.getEpoch(), published.getIndex().getPolicies().size());
+        }
+        return analysis;
+    }
+
+    @Async
+    @EventListener
+    public void onPolicySnapshotChanged(PolicySnapshotChangedEvent event) {
+        if (!properties.getAnalysis().isPruneDeadPolicies() || event.isReindex()) {
+            return;
+        }
+        try {
+            pruneActive();
+        } catch (Exception e) {
+            log.warn("Could not analyze policy snapshot epoch {}: {}", event.getCurrent().getEpoch(), e.getMessage());
+        }
+    }
+
+    private PolicyAnalysis analyze(PolicySnapshot snapshot) {
+        PolicyAnalysis analysis = analyzer.analyze(snapshot.getPolicies());
+        analysis.setSnapshotEpoch(snapshot.getEpoch());
+        return analysis;
+    }
+}
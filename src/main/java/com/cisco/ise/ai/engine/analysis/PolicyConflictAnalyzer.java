@@ -0,0 +1,223 @@
+package com.cisco.ise.ai.engine.analysis;
+
+import com.cisco.ise.ai.engine.CompiledPolicy;
+import com.cisco.ise.ai.engine.PolicyIndex;
+import com.cisco.ise.ai.engine.condition.Condition;
+import com.cisco.ise.ai.engine.condition.SessionAttribute;
+import com.cisco.ise.ai.engine.model.PolicyAnalysis;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Finds dead and mergeable policies by comparing their conditions as BDDs.
+ *
+ * Policies are visited in evaluation order while accumulating the union of everything
+ * matched so far; a policy whose BDD implies that union can never be the first match.
+ * Two policies with equal actions are mergeable when every policy with different actions
+ * between them is disjoint from the later one, so moving it up changes no session's actions.
+ * The encoding over-approximates what sessions can look like (see {@link ConditionEncoder}),
+ * so a policy reported dead is always dead.
+ */
+@Component
+@Slf4j
+public class PolicyConflictAnalyzer {
+
+    private static final int MAX_SHADOWERS = 10;
+    private static final int MERGE_WINDOW = 64;
+
+    /**
+     * Analyzes policies that are already in evaluation order
+     */
+    public PolicyAnalysis analyze(List<CompiledPolicy> orderedPolicies) {
+        long start = System.nanoTime();
+        int count = orderedPolicies.size();
+        List<Condition> conditions = orderedPolicies.stream().map(CompiledPolicy::getCondition).toList();
+
+        Bdd bdd = new Bdd(count * 32);
+        ConditionEncoder encoder = new ConditionEncoder(bdd, conditions);
+        int[] functions = new int[count];
+        for (int i = 0; i < count; i++) {
+            functions[i] = encoder.encode(conditions.get(i));
+        }
+
+        // Sweep in evaluation order; dead policies add nothing to the union
+        PolicyAnalysis.DeadReason[] dead = new PolicyAnalysis.DeadReason[count];
+        int covered = Bdd.FALSE;
+        for (int i = 0; i < count; i++) {
+            if (functions[i] == Bdd.FALSE) {
+                dead[i] = PolicyAnalysis.DeadReason.UNSATISFIABLE;
+            } else if (bdd.implies(functions[i], covered)) {
+                dead[i] = PolicyAnalysis.DeadReason.SHADOWED;
+            } else {
+                covered = bdd.or(covered, functions[i]);
+            }
+        }
+
+        List<PolicyAnalysis.DeadPolicy> deadPolicies = new ArrayList<>();
+        CandidateIndex candidates = new CandidateIndex(orderedPolicies, dead);
+        for (int i = 0; i < count; i++) {
+            if (dead[i] != null) {
+                deadPolicies.add(describeDead(orderedPolicies, functions, bdd, candidates, i, dead[i]));
+            }
+        }
+        List<PolicyAnalysis.MergeGroup> mergeGroups = findMergeGroups(orderedPolicies, functions, dead, bdd);
+
+        PolicyAnalysis analysis = PolicyAnalysis.builder()
+                .analyzedPolicies(count)
+                .deadPolicies(deadPolicies)
+                .mergeGroups(mergeGroups)
+                .bddNodes(bdd.size())
+                .analysisTimeMillis((System.nanoTime() - start) / 1_000_000)
+                .analyzedAt(LocalDateTime.now())
+                .build();
+        log.info("Analyzed {} policies in {} ms: {} dead, {} merge groups, {} BDD nodes",
+                count, analysis.getAnalysisTimeMillis(), deadPolicies.size(), mergeGroups.size(), bdd.size());
+        return analysis;
+    }
+
+    private PolicyAnalysis.DeadPolicy describeDead(List<CompiledPolicy> policies, int[] functions, Bdd bdd,
+                                                   CandidateIndex candidates, int position,
+                                                   PolicyAnalysis.DeadReason reason) {
+        CompiledPolicy policy = policies.get(position);
+        List<String> shadowedBy = new ArrayList<>();
+        boolean conflicting = false;
+        if (reason == PolicyAnalysis.DeadReason.SHADOWED) {
+            // Smallest prefix of intersecting higher-priority policies that covers this one
+            int cover = Bdd.FALSE;
+            BitSet overlapping = candidates.overlapping(policy.getCondition());
+            for (int candidate = overlapping.nextSetBit(0); candidate >= 0 && candidate < position;
+                 candidate = overlapping.nextSetBit(candidate + 1)) {
+                if (!bdd.intersects(functions[candidate], functions[position])) {
+                    continue;
+                }
+                CompiledPolicy shadower = policies.get(candidate);
+                shadowedBy.add(shadower.getPolicyId());
+                conflicting |= !Objects.equals(shadower.getActions(), policy.getActions());
+                cover = bdd.or(cover, functions[candidate]);
+                if (shadowedBy.size() == MAX_SHADOWERS || bdd.implies(functions[position], cover)) {
+                    break;
+                }
+            }
+        }
+        return PolicyAnalysis.DeadPolicy.builder()
+                .policyId(policy.getPolicyId())
+                .policyName(policy.getName())
+                .priority(policy.getPriority())
+                .reason(reason)
+                .shadowedBy(shadowedBy)
+                .conflicting(conflicting)
+                .build();
+    }
+
+    /**
+     * Groups live policies with equal actions that can be moved up to the group's first member
+     */
+    private List<PolicyAnalysis.MergeGroup> findMergeGroups(List<CompiledPolicy> policies, int[] functions,
+                                                           PolicyAnalysis.DeadReason[] dead, Bdd bdd) {
+        int[] live = IntStream.range(0, policies.size()).filter(i -> dead[i] == null).toArray();
+        int[] groupHead = new int[live.length];
+        Map<Integer, List<Integer>> groups = new HashMap<>();
+
+        for (int j = 0; j < live.length; j++) {
+            groupHead[j] = j;
+            CompiledPolicy policy = policies.get(live[j]);
+            int joined = -1;
+            boolean joinable = false;
+            // Walk back to the head of the nearest group with equal actions, unless a policy
+            // with different actions that overlaps this one is in the way
+            for (int k = j - 1; k >= Math.max(0, j - MERGE_WINDOW); k--) {
+                CompiledPolicy other = policies.get(live[k]);
+                if (Objects.equals(other.getActions(), policy.getActions())) {
+                    if (joined < 0) {
+                        joined = groupHead[k];
+                    }
+                    if (k == joined) {
+                        joinable = true;
+                        break;
+                    }
+                } else if (bdd.intersects(functions[live[k]], functions[live[j]])) {
+                    break;
+                }
+            }
+            if (joinable) {
+                groupHead[j] = joined;
+                groups.computeIfAbsent(joined, head -> new ArrayList<>(List.of(head))).add(j);
+            }
+        }
+
+        List<PolicyAnalysis.MergeGroup> mergeGroups = new ArrayList<>();
+        groups.keySet().stream().sorted().forEach(head -> {
+            List<Integer> members = groups.get(head);
+            CompiledPolicy first = policies.get(live[members.get(0)]);
+            mergeGroups.add(PolicyAnalysis.MergeGroup.builder()
+                    .policyIds(members.stream().map(member -> policies.get(live[member]).getPolicyId()).toList())
+                    .priority(first.getPriority())
+                    .actions(first.getActions())
+                    .build());
+        });
+        return mergeGroups;
+    }
+
+    /**
+     * Live policies by index anchor, used to find the higher-priority policies that can
+     * overlap a dead one without testing every policy above it
+     */
+    private static final class CandidateIndex {
+
+        private final Map<SessionAttribute, Map<Object, BitSet>> anchored = new HashMap<>();
+        private final Map<SessionAttribute, BitSet> byAttribute = new HashMap<>();
+        private final BitSet unanchored = new BitSet();
+
+        CandidateIndex(List<CompiledPolicy> policies, PolicyAnalysis.DeadReason[] dead) {
+            for (int i = 0; i < policies.size(); i++) {
+                if (dead[i] != null) {
+                    continue;
+                }
+                PolicyIndex.Anchor anchor = PolicyIndex.anchorOf(policies.get(i).getCondition());
+                if (anchor == null) {
+                    unanchored.set(i);
+                    continue;
+                }
+                byAttribute.computeIfAbsent(anchor.getAttribute(), a -> new BitSet()).set(i);
+                for (Object value : anchor.getValues()) {
+                    anchored.computeIfAbsent(anchor.getAttribute(), a -> new HashMap<>())
+                            .computeIfAbsent(value, v -> new BitSet()).set(i);
+                }
+            }
+        }
+
+        /**
+         * Positions of live policies whose anchor does not rule out an overlap with the condition
+         */
+        BitSet overlapping(Condition condition) {
+            Map<SessionAttribute, PolicyIndex.Anchor> constraints = new HashMap<>();
+            PolicyIndex.anchorCandidates(condition).forEach(anchor -> constraints.putIfAbsent(anchor.getAttribute(), anchor));
+
+            BitSet positions = (BitSet) unanchored.clone();
+            byAttribute.forEach((attribute, all) -> {
+                PolicyIndex.Anchor constraint = constraints.get(attribute);
+                if (constraint == null) {
+                    positions.or(all);
+                } else {
+                    Map<Object, BitSet> byValue = anchored.get(attribute);
+                    constraint.getValues().forEach(value -> {
+                        BitSet matching = byValue.get(value);
+                        if (matching != null) {
+                            positions.or(matching);
+                        }
+                    });
+                }
+            });
+            return positions;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.cisco.ise.ai.engine.codegen;
+
+import com.cisco.ise.ai.ise.model.ISESession;
+
+/**
+ * Base class of generated classes; each one evaluates a block of conditions selected by slot.
+ *
+ * Packing many conditions into one method keeps its invocation profile hot, so the JIT compiles
+ * it early instead of leaving thousands of rarely-called per-policy classes interpreted.
+ */
+public abstract class ConditionBlock {
+
+    public abstract boolean test(int slot, ISESession session);
+}
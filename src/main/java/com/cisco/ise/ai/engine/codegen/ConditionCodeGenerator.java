@@ -0,0 +1,315 @@
+package com.cisco.ise.ai.engine.codegen;
+
+import com.cisco.ise.ai.engine.condition.AllOf;
+import com.cisco.ise.ai.engine.condition.AnyOf;
+import com.cisco.ise.ai.engine.condition.Condition;
+import com.cisco.ise.ai.engine.condition.ContainsPredicate;
+import com.cisco.ise.ai.engine.condition.EqualsPredicate;
+import com.cisco.ise.ai.engine.condition.InPredicate;
+import com.cisco.ise.ai.engine.condition.MatchAll;
+import com.cisco.ise.ai.engine.condition.Not;
+import com.cisco.ise.ai.engine.condition.RangePredicate;
+import com.cisco.ise.ai.engine.condition.SessionAttribute;
+import com.cisco.ise.ai.ise.model.ISESession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates hidden classes evaluating compiled predicate trees.
+ *
+ * Attribute reads become direct {@link ISESession} getter calls and literals become
+ * constants, so the JIT can inline the whole condition. Conditions are packed into
+ * {@link ConditionBlock} classes that dispatch on a slot number, each block kept below
+ * the JIT's huge-method limit. Constructs without a native translation (custom attributes,
+ * numeric set membership, ranges over text fields, unknown node types) are embedded as
+ * interpreted sub-conditions.
+ */
+@Component
+@Slf4j
+public class ConditionCodeGenerator implements Opcodes {
+
+    private static final String BASE_CLASS = Type.getInternalName(ConditionBlock.class);
+    private static final String CLASS_NAME = BASE_CLASS + "$Generated";
+    private static final String SESSION = Type.getInternalName(ISESession.class);
+    private static final String CONDITION = Type.getInternalName(Condition.class);
+    private static final String TEST_DESCRIPTOR = "(L" + SESSION + ";)Z";
+    private static final String BLOCK_TEST_DESCRIPTOR = "(IL" + SESSION + ";)Z";
+
+    private static final int THIS = 0;
+    private static final int SESSION_SLOT = 2;
+    private static final int VALUE_SLOT = 3;
+    private static final int NUMBER_SLOT = 4;
+
+    // HotSpot does not compile methods with more bytecode than this (-XX:HugeMethodLimit)
+    private static final int MAX_BLOCK_BYTES = 8000;
+    private static final int MAX_BLOCK_SLOTS = 32;
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    /**
+     * Returns a generated equivalent of the condition, or the condition itself when
+     * generation fails or there is nothing to gain
+     */
+    public Condition generate(Condition condition) {
+        return generate(List.of(condition)).get(0);
+    }
+
+    /**
+     * Generates equivalents for a batch of conditions, position for position; conditions
+     * sharing a block share one compiled method
+     */
+    public List<Condition> generate(List<Condition> conditions) {
+        List<Condition> generated = new ArrayList<>(conditions);
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < conditions.size(); i++) {
+            if (conditions.get(i) != MatchAll.INSTANCE) {
+                positions.add(i);
+            }
+        }
+        for (int from = 0; from < positions.size(); from += MAX_BLOCK_SLOTS) {
+            generateBlock(conditions, positions.subList(from, Math.min(from + MAX_BLOCK_SLOTS, positions.size())), generated);
+        }
+        return generated;
+    }
+
+    private void generateBlock(List<Condition> conditions, List<Integer> positions, List<Condition> generated) {
+        List<Condition> block = positions.stream().map(conditions::get).toList();
+        try {
+            Generation generation = new Generation();
+            byte[] bytecode = generation.emit(block);
+            if (bytecode.length > MAX_BLOCK_BYTES && block.size() > 1) {
+                split(conditions, positions, generated);
+                return;
+            }
+            ConditionBlock instance = (ConditionBlock) lookup.defineHiddenClass(bytecode, true).lookupClass()
+                    .getConstructor(Object[].class)
+                    .newInstance((Object) generation.constants.toArray());
+            for (int slot = 0; slot < block.size(); slot++) {
+                generated.set(positions.get(slot), new GeneratedCondition(instance, slot, block.get(slot)));
+            }
+        } catch (Throwable e) {
+            if (block.size() > 1) {
+                split(conditions, positions, generated);
+            } else {
+                log.warn("Falling back to interpreted evaluation for {}: {}", block.get(0), e.toString());
+            }
+        }
+    }
+
+    private void split(List<Condition> conditions, List<Integer> positions, List<Condition> generated) {
+        int half = positions.size() / 2;
+        generateBlock(conditions, positions.subList(0, half), generated);
+        generateBlock(conditions, positions.subList(half, positions.size()), generated);
+    }
+
+    /**
+     * State for generating a single class: constants become final fields set by the constructor
+     */
+    private static final class Generation {
+
+        private final List<Object> constants = new ArrayList<>();
+        private final List<String> constantDescriptors = new ArrayList<>();
+        private MethodVisitor mv;
+
+        byte[] emit(List<Condition> conditions) {
+            ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
+                @Override
+                protected String getCommonSuperClass(String type1, String type2) {
+                    // Locals are always re-read after a merge, so Object is a sound common type
+                    return "java/lang/Object";
+                }
+            };
+            cw.visit(V17, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, CLASS_NAME, null, BASE_CLASS, null);
+
+            mv = cw.visitMethod(ACC_PUBLIC, "test", BLOCK_TEST_DESCRIPTOR, null, null);
+            mv.visitCode();
+            Label onFalse = new Label();
+            Label[] cases = new Label[conditions.size()];
+            for (int slot = 0; slot < cases.length; slot++) {
+                cases[slot] = new Label();
+            }
+            mv.visitVarInsn(ILOAD, 1);
+            mv.visitTableSwitchInsn(0, cases.length - 1, onFalse, cases);
+            for (int slot = 0; slot < cases.length; slot++) {
+                mv.visitLabel(cases[slot]);
+                branch(conditions.get(slot), onFalse);
+                mv.visitInsn(ICONST_1);
+                mv.visitInsn(IRETURN);
+            }
+            mv.visitLabel(onFalse);
+            mv.visitInsn(ICONST_0);
+            mv.visitInsn(IRETURN);
+            mv.visitMaxs(0, 0);
+            mv.visitEnd();
+
+            emitConstructor(cw);
+            cw.visitEnd();
+            return cw.toByteArray();
+        }
+
+        /**
+         * Emits code that falls through when the condition holds and jumps to onFalse otherwise
+         */
+        private void branch(Condition condition, Label onFalse) {
+            if (condition == MatchAll.INSTANCE) {
+                return;
+            }
+            if (condition instanceof AllOf allOf) {
+                for (Condition child : allOf.getConditions()) {
+                    branch(child, onFalse);
+                }
+            } else if (condition instanceof AnyOf anyOf) {
+                List<Condition> children = anyOf.getConditions();
+                Label onTrue = new Label();
+                for (int i = 0; i < children.size() - 1; i++) {
+                    Label next = new Label();
+                    branch(children.get(i), next);
+                    mv.visitJumpInsn(GOTO, onTrue);
+                    mv.visitLabel(next);
+                }
+                branch(children.get(children.size() - 1), onFalse);
+                mv.visitLabel(onTrue);
+            } else if (condition instanceof Not not) {
+                Label innerFalse = new Label();
+                branch(not.getCondition(), innerFalse);
+                mv.visitJumpInsn(GOTO, onFalse);
+                mv.visitLabel(innerFalse);
+            } else if (condition instanceof EqualsPredicate equals && equals.getAttribute().isField()) {
+                equalsField(equals, onFalse);
+            } else if (condition instanceof InPredicate in && isText(in.getAttribute())) {
+                loadField(in.getAttribute(), onFalse);
+                int constant = constant(in.getValues(), Set.class);
+                mv.visitVarInsn(ALOAD, THIS);
+                mv.visitFieldInsn(GETFIELD, CLASS_NAME, "c" + constant, constantDescriptors.get(constant));
+                mv.visitVarInsn(ALOAD, VALUE_SLOT);
+                mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Set", "contains", "(Ljava/lang/Object;)Z", true);
+                mv.visitJumpInsn(IFEQ, onFalse);
+            } else if (condition instanceof RangePredicate range && isNumber(range.getAttribute())) {
+                rangeField(range, onFalse);
+            } else if (condition instanceof ContainsPredicate contains && isText(contains.getAttribute())) {
+                loadField(contains.getAttribute(), onFalse);
+                mv.visitVarInsn(ALOAD, VALUE_SLOT);
+                mv.visitLdcInsn(contains.getSubstring());
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "contains", "(Ljava/lang/CharSequence;)Z", false);
+                mv.visitJumpInsn(IFEQ, onFalse);
+            } else {
+                interpreted(condition, onFalse);
+            }
+        }
+
+        private void equalsField(EqualsPredicate equals, Label onFalse) {
+            SessionAttribute attribute = equals.getAttribute();
+            if (isText(attribute) && equals.getValue() instanceof String) {
+                // "literal".equals(actual) is null-safe
+                mv.visitLdcInsn(equals.getValue());
+                mv.visitVarInsn(ALOAD, SESSION_SLOT);
+                invokeGetter(attribute);
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/String", "equals", "(Ljava/lang/Object;)Z", false);
+                mv.visitJumpInsn(IFEQ, onFalse);
+            } else if (isNumber(attribute) && equals.getValue() instanceof Double value) {
+                loadNumber(attribute, onFalse);
+                mv.visitLdcInsn(value);
+                mv.visitInsn(DCMPL);
+                mv.visitJumpInsn(IFNE, onFalse);
+            } else {
+                interpreted(equals, onFalse);
+            }
+        }
+
+        private void rangeField(RangePredicate range, Label onFalse) {
+            loadNumber(range.getAttribute(), onFalse);
+            mv.visitVarInsn(DSTORE, NUMBER_SLOT);
+
+            // NaN fails both bounds: dcmpl yields -1 and dcmpg yields 1 for unordered operands
+            mv.visitVarInsn(DLOAD, NUMBER_SLOT);
+            mv.visitLdcInsn(range.getLower());
+            mv.visitInsn(DCMPL);
+            mv.visitJumpInsn(range.isLowerInclusive() ? IFLT : IFLE, onFalse);
+
+            mv.visitVarInsn(DLOAD, NUMBER_SLOT);
+            mv.visitLdcInsn(range.getUpper());
+            mv.visitInsn(DCMPG);
+            mv.visitJumpInsn(range.isUpperInclusive() ? IFGT : IFGE, onFalse);
+        }
+
+        private void interpreted(Condition condition, Label onFalse) {
+            int constant = constant(condition, Condition.class);
+            mv.visitVarInsn(ALOAD, THIS);
+            mv.visitFieldInsn(GETFIELD, CLASS_NAME, "c" + constant, constantDescriptors.get(constant));
+            mv.visitVarInsn(ALOAD, SESSION_SLOT);
+            mv.visitMethodInsn(INVOKEINTERFACE, CONDITION, "test", TEST_DESCRIPTOR, true);
+            mv.visitJumpInsn(IFEQ, onFalse);
+        }
+
+        /**
+         * Reads a field into VALUE_SLOT, jumping to onFalse when it is null
+         */
+        private void loadField(SessionAttribute attribute, Label onFalse) {
+            mv.visitVarInsn(ALOAD, SESSION_SLOT);
+            invokeGetter(attribute);
+            mv.visitVarInsn(ASTORE, VALUE_SLOT);
+            mv.visitVarInsn(ALOAD, VALUE_SLOT);
+            mv.visitJumpInsn(IFNULL, onFalse);
+        }
+
+        /**
+         * Leaves a numeric field on the stack as a double, jumping to onFalse when it is null
+         */
+        private void loadNumber(SessionAttribute attribute, Label onFalse) {
+            loadField(attribute, onFalse);
+            mv.visitVarInsn(ALOAD, VALUE_SLOT);
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number", "doubleValue", "()D", false);
+        }
+
+        private void invokeGetter(SessionAttribute attribute) {
+            mv.visitMethodInsn(INVOKEVIRTUAL, SESSION, attribute.getGetterName(),
+                    "()" + Type.getDescriptor(attribute.getJavaType()), false);
+        }
+
+        private int constant(Object value, Class<?> type) {
+            constants.add(value);
+            constantDescriptors.add(Type.getDescriptor(type));
+            return constants.size() - 1;
+        }
+
+        private void emitConstructor(ClassWriter cw) {
+            for (int i = 0; i < constants.size(); i++) {
+                cw.visitField(ACC_PRIVATE | ACC_FINAL, "c" + i, constantDescriptors.get(i), null, null).visitEnd();
+            }
+
+            MethodVisitor ctor = cw.visitMethod(ACC_PUBLIC, "<init>", "([Ljava/lang/Object;)V", null, null);
+            ctor.visitCode();
+            ctor.visitVarInsn(ALOAD, THIS);
+            ctor.visitMethodInsn(INVOKESPECIAL, BASE_CLASS, "<init>", "()V", false);
+            for (int i = 0; i < constants.size(); i++) {
+                ctor.visitVarInsn(ALOAD, THIS);
+                ctor.visitVarInsn(ALOAD, 1);
+                ctor.visitLdcInsn(i);
+                ctor.visitInsn(AALOAD);
+                ctor.visitTypeInsn(CHECKCAST, Type.getType(constantDescriptors.get(i)).getInternalName());
+                ctor.visitFieldInsn(PUTFIELD, CLASS_NAME, "c" + i, constantDescriptors.get(i));
+            }
+            ctor.visitInsn(RETURN);
+            ctor.visitMaxs(0, 0);
+            ctor.visitEnd();
+        }
+
+        private static boolean isText(SessionAttribute attribute) {
+            return attribute.getKind() == SessionAttribute.Kind.STRING;
+        }
+
+        private static boolean isNumber(SessionAttribute attribute) {
+            return attribute.getKind() == SessionAttribute.Kind.NUMBER;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.cisco.ise.ai.engine.codegen;
+
+import com.cisco.ise.ai.engine.condition.Condition;
+import com.cisco.ise.ai.ise.model.ISESession;
+
+/**
+ * A condition evaluated by generated code: one slot of a {@link ConditionBlock}
+ */
+public final class GeneratedCondition implements Condition {
+
+    private final ConditionBlock block;
+    private final int slot;
+    private final Condition source;
+
+    GeneratedCondition(ConditionBlock block, int slot, Condition source) {
+        this.block = block;
+        this.slot = slot;
+        this.source = source;
+    }
+
+    @Override
+    public boolean test(ISESession session) {
+        return block.test(slot, session);
+    }
+
+    /**
+     * The interpreted condition this code was generated from
+     */
+    public Condition getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return "generated" + source;
+    }
+}
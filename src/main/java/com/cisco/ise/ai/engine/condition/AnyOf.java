@@ -0,0 +1,39 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.ise.model.ISESession;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Disjunction of conditions, short-circuiting on the first hit
+ */
+public final class AnyOf implements Condition {
+
+    private final Condition[] conditions;
+
+    public AnyOf(List<Condition> conditions) {
+        this.conditions = conditions.toArray(new Condition[0]);
+    }
+
+    @Override
+    public boolean test(ISESession session) {
+        for (Condition condition : conditions) {
+            if (condition.test(session)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<Condition> getConditions() {
+        return List.of(conditions);
+    }
+
+    @Override
+    public String toString() {
+        return List.of(conditions).stream()
+                .map(Object::toString)
+                .collect(Collectors.joining(" OR ", "(", ")"));
+    }
+}
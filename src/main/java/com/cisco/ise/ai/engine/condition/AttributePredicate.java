@@ -0,0 +1,31 @@
+package com.cisco.ise.ai.engine.condition;
+
+/**
+ * Base class for leaf predicates over a single session attribute
+ */
+public abstract class AttributePredicate implements Condition {
+
+    protected final SessionAttribute attribute;
+
+    protected AttributePredicate(SessionAttribute attribute) {
+        this.attribute = attribute;
+    }
+
+    public SessionAttribute getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * Normalizes a literal or attribute value so that numbers compare by value
+     * and every other scalar compares by its text form
+     */
+    static Object normalize(Object value) {
+        if (value == null || value instanceof String || value instanceof Double) {
+            return value;
+        }
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        return value.toString();
+    }
+}
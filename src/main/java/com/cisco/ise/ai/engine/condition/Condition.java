@@ -0,0 +1,13 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.ise.model.ISESession;
+
+/**
+ * Compiled policy condition evaluated against a live session.
+ *
+ * Implementations are immutable and safe to share between threads.
+ */
+public interface Condition {
+
+    boolean test(ISESession session);
+}
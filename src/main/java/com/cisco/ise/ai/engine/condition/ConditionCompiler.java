@@ -0,0 +1,238 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.engine.PolicyCompilationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles the JSON stored in {@code Policy.conditions} into a {@link Condition} tree.
+ *
+ * A condition document is an object whose entries are AND-ed together. Each entry is either
+ * a combinator ({@code allOf}, {@code anyOf}, {@code not}) or a session attribute mapped to:
+ * <ul>
+ *   <li>a scalar - equality, e.g. {@code "deviceType": "Laptop"}</li>
+ *   <li>an array - set membership, e.g. {@code "location": ["HQ", "Branch"]}</li>
+ *   <li>an operator object, e.g. {@code "riskScore": {"operator": ">", "value": 7.0}} with
+ *       operators {@code = != in not_in > >= < <= between contains in_subnet not_in_subnet}</li>
+ *   <li>a shorthand operator object, e.g. {@code "riskScore": {"gt": 0.8, "lte": 1.0}} with
+ *       keys {@code eq ne in nin gt gte lt lte contains subnet}</li>
+ * </ul>
+ * Subnet operators take CIDR prefixes (IPv4 or IPv6) in {@code values}, or a single prefix in
+ * {@code value}, e.g. {@code "nasIpAddress": {"subnet": ["10.20.0.0/16", "2001:db8::/32"]}}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionCompiler {
+
+    private static final Map<String, String> SHORTHAND_OPERATORS = Map.of(
+            "eq", "=",
+            "ne", "!=",
+            "in", "in",
+            "nin", "not_in",
+            "gt", ">",
+            "gte", ">=",
+            "lt", "<",
+            "lte", "<=",
+            "contains", "contains",
+            "subnet", "in_subnet");
+
+    private final ObjectMapper objectMapper;
+
+    public Condition compile(String conditionsJson) {
+        if (conditionsJson == null || conditionsJson.isBlank()) {
+            return MatchAll.INSTANCE;
+        }
+        try {
+            return compile(objectMapper.readTree(conditionsJson));
+        } catch (JsonProcessingException e) {
+            throw new PolicyCompilationException("Conditions are not valid JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    public Condition compile(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return MatchAll.INSTANCE;
+        }
+        if (!node.isObject()) {
+            throw new PolicyCompilationException("Conditions must be a JSON object");
+        }
+
+        List<Condition> conjuncts = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            conjuncts.add(compileEntry(field.getKey(), field.getValue()));
+        }
+        return conjunction(conjuncts);
+    }
+
+    private Condition compileEntry(String key, JsonNode value) {
+        switch (key) {
+            case "allOf":
+                return conjunction(compileList(key, value));
+            case "anyOf":
+                List<Condition> disjuncts = compileList(key, value);
+                return disjuncts.size() == 1 ? disjuncts.get(0) : new AnyOf(disjuncts);
+            case "not":
+                return new Not(compile(value));
+            default:
+                return compileAttribute(SessionAttribute.named(key), value);
+        }
+    }
+
+    private List<Condition> compileList(String key, JsonNode value) {
+        if (!value.isArray() || value.isEmpty()) {
+            throw new PolicyCompilationException("'" + key + "' must be a non-empty array of conditions");
+        }
+        List<Condition> conditions = new ArrayList<>();
+        value.forEach(element -> conditions.add(compile(element)));
+        return conditions;
+    }
+
+    private Condition compileAttribute(SessionAttribute attribute, JsonNode value) {
+        if (value.isArray()) {
+            return new InPredicate(attribute, literals(attribute, value));
+        }
+        if (!value.isObject()) {
+            return new EqualsPredicate(attribute, literal(attribute, value));
+        }
+
+        if (!value.has("operator")) {
+            return compileShorthand(attribute, value);
+        }
+
+        String operator = value.path("operator").asText("");
+        switch (operator) {
+            case "=":
+            case "==":
+            case "equals":
+                return new EqualsPredicate(attribute, literal(attribute, operand(attribute, value, "value")));
+            case "!=":
+            case "not_equals":
+                return new Not(new EqualsPredicate(attribute, literal(attribute, operand(attribute, value, "value"))));
+            case "in":
+                return new InPredicate(attribute, literals(attribute, operand(attribute, value, "values")));
+            case "not_in":
+                return new Not(new InPredicate(attribute, literals(attribute, operand(attribute, value, "values"))));
+            case ">":
+                return new RangePredicate(attribute, number(attribute, value, "value"), false, Double.POSITIVE_INFINITY, true);
+            case ">=":
+                return new RangePredicate(attribute, number(attribute, value, "value"), true, Double.POSITIVE_INFINITY, true);
+            case "<":
+                return new RangePredicate(attribute, Double.NEGATIVE_INFINITY, true, number(attribute, value, "value"), false);
+            case "<=":
+                return new RangePredicate(attribute, Double.NEGATIVE_INFINITY, true, number(attribute, value, "value"), true);
+            case "between":
+                return new RangePredicate(attribute, number(attribute, value, "min"), true, number(attribute, value, "max"), true);
+            case "contains":
+                return new ContainsPredicate(attribute, operand(attribute, value, "value").asText());
+            case "in_subnet":
+                return new SubnetPredicate(attribute, prefixes(attribute, value));
+            case "not_in_subnet":
+                return new Not(new SubnetPredicate(attribute, prefixes(attribute, value)));
+            default:
+                throw new PolicyCompilationException("Unsupported operator '" + operator + "' for attribute " + attribute);
+        }
+    }
+
+    private Condition compileShorthand(SessionAttribute attribute, JsonNode value) {
+        List<Condition> conjuncts = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = value.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String operator = SHORTHAND_OPERATORS.get(field.getKey());
+            if (operator == null) {
+                throw new PolicyCompilationException("Unsupported operator '" + field.getKey() + "' for attribute " + attribute);
+            }
+            String operandName = "in".equals(operator) || "not_in".equals(operator) || "in_subnet".equals(operator)
+                    ? "values" : "value";
+            ObjectNode expanded = objectMapper.createObjectNode()
+                    .put("operator", operator)
+                    .set(operandName, field.getValue());
+            conjuncts.add(compileAttribute(attribute, expanded));
+        }
+        return conjunction(conjuncts);
+    }
+
+    private JsonNode operand(SessionAttribute attribute, JsonNode value, String name) {
+        JsonNode operand = value.get(name);
+        if (operand == null || operand.isNull()) {
+            throw new PolicyCompilationException("Missing '" + name + "' for attribute " + attribute);
+        }
+        return operand;
+    }
+
+    private double number(SessionAttribute attribute, JsonNode value, String name) {
+        JsonNode operand = operand(attribute, value, name);
+        if (!operand.isNumber()) {
+            throw new PolicyCompilationException("'" + name + "' must be numeric for attribute " + attribute);
+        }
+        return operand.doubleValue();
+    }
+
+    private List<IpPrefix> prefixes(SessionAttribute attribute, JsonNode value) {
+        if (attribute.getKind() == SessionAttribute.Kind.NUMBER) {
+            throw new PolicyCompilationException("Subnet operators need an address attribute, not " + attribute);
+        }
+        JsonNode operand = value.has("values") ? value.get("values") : operand(attribute, value, "value");
+        List<JsonNode> elements = new ArrayList<>();
+        if (operand.isArray()) {
+            operand.forEach(elements::add);
+        } else {
+            elements.add(operand);
+        }
+        if (elements.isEmpty()) {
+            throw new PolicyCompilationException("Expected at least one subnet for attribute " + attribute);
+        }
+        List<IpPrefix> prefixes = new ArrayList<>();
+        for (JsonNode element : elements) {
+            IpPrefix prefix = element.isTextual() ? IpPrefix.parse(element.asText()) : null;
+            if (prefix == null) {
+                throw new PolicyCompilationException("Invalid subnet " + element + " for attribute " + attribute);
+            }
+            prefixes.add(prefix);
+        }
+        return prefixes;
+    }
+
+    private List<Object> literals(SessionAttribute attribute, JsonNode values) {
+        if (!values.isArray() || values.isEmpty()) {
+            throw new PolicyCompilationException("Expected a non-empty array of values for attribute " + attribute);
+        }
+        List<Object> literals = new ArrayList<>();
+        values.forEach(element -> literals.add(literal(attribute, element)));
+        return literals;
+    }
+
+    private Object literal(SessionAttribute attribute, JsonNode value) {
+        if (value.isNull() || value.isContainerNode()) {
+            throw new PolicyCompilationException("Expected a scalar value for attribute " + attribute);
+        }
+        if (attribute.getKind() == SessionAttribute.Kind.STRING) {
+            return value.asText();
+        }
+        if (value.isNumber()) {
+            return value.doubleValue();
+        }
+        if (attribute.getKind() == SessionAttribute.Kind.NUMBER) {
+            throw new PolicyCompilationException("Expected a numeric value for attribute " + attribute);
+        }
+        return value.asText();
+    }
+
+    private static Condition conjunction(List<Condition> conditions) {
+        if (conditions.isEmpty()) {
+            return MatchAll.INSTANCE;
+        }
+        return conditions.size() == 1 ? conditions.get(0) : new AllOf(conditions);
+    }
+}
@@ -0,0 +1,31 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.ise.model.ISESession;
+
+/**
+ * Attribute text contains a literal substring
+ */
+public final class ContainsPredicate extends AttributePredicate {
+
+    private final String substring;
+
+    public ContainsPredicate(SessionAttribute attribute, String substring) {
+        super(attribute);
+        this.substring = substring;
+    }
+
+    @Override
+    public boolean test(ISESession session) {
+        Object actual = attribute.valueOf(session);
+        return actual != null && actual.toString().contains(substring);
+    }
+
+    public String getSubstring() {
+        return substring;
+    }
+
+    @Override
+    public String toString() {
+        return attribute + " CONTAINS '" + substring + "'";
+    }
+}
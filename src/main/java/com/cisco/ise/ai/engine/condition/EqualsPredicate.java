@@ -0,0 +1,31 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.ise.model.ISESession;
+
+/**
+ * Attribute equals a literal value
+ */
+public final class EqualsPredicate extends AttributePredicate {
+
+    private final Object value;
+
+    public EqualsPredicate(SessionAttribute attribute, Object value) {
+        super(attribute);
+        this.value = normalize(value);
+    }
+
+    @Override
+    public boolean test(ISESession session) {
+        Object actual = attribute.valueOf(session);
+        return actual != null && value.equals(normalize(actual));
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return attribute + " == " + value;
+    }
+}
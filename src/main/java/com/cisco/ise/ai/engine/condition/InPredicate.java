@@ -0,0 +1,37 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.ise.model.ISESession;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Attribute is a member of a literal value set
+ */
+public final class InPredicate extends AttributePredicate {
+
+    private final Set<Object> values;
+
+    public InPredicate(SessionAttribute attribute, Collection<?> values) {
+        super(attribute);
+        this.values = values.stream()
+                .map(AttributePredicate::normalize)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public boolean test(ISESession session) {
+        Object actual = attribute.valueOf(session);
+        return actual != null && values.contains(normalize(actual));
+    }
+
+    public Set<Object> getValues() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return attribute + " IN " + values;
+    }
+}
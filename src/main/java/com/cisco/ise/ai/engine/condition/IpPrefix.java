@@ -0,0 +1,105 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.ise.model.IpAddress;
+
+/**
+ * CIDR prefix in the 128-bit address space of {@link IpAddress}.
+ *
+ * IPv4 prefixes are held as their IPv4-mapped form, so {@code 10.0.0.0/8} has length 104.
+ * Host bits below the prefix length are cleared.
+ */
+public final class IpPrefix implements Comparable<IpPrefix> {
+
+    private static final int IPV4_MAPPED_LENGTH = 96;
+
+    private final long high;
+    private final long low;
+    private final int length;
+
+    public IpPrefix(IpAddress address, int length) {
+        if (length < 0 || length > 128) {
+            throw new IllegalArgumentException("Prefix length must be between 0 and 128: " + length);
+        }
+        this.high = address.getHigh() & highMask(length);
+        this.low = address.getLow() & lowMask(length);
+        this.length = length;
+    }
+
+    /**
+     * Parses {@code address/length} or a bare address (a host prefix); returns null when invalid
+     */
+    public static IpPrefix parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        int slash = text.indexOf('/');
+        IpAddress address = IpAddress.parse(slash >= 0 ? text.substring(0, slash).trim() : text.trim());
+        if (address == null) {
+            return null;
+        }
+        boolean ipv4 = text.indexOf(':') < 0;
+        int maxLength = ipv4 ? 32 : 128;
+        int length = maxLength;
+        if (slash >= 0) {
+            String bits = text.substring(slash + 1).trim();
+            if (bits.isEmpty() || bits.length() > 3 || !bits.chars().allMatch(Character::isDigit)) {
+                return null;
+            }
+            length = Integer.parseInt(bits);
+            if (length > maxLength) {
+                return null;
+            }
+        }
+        return new IpPrefix(address, ipv4 ? IPV4_MAPPED_LENGTH + length : length);
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    public boolean contains(IpAddress address) {
+        return (address.getHigh() & highMask(length)) == high && (address.getLow() & lowMask(length)) == low;
+    }
+
+    static long highMask(int length) {
+        return length >= 64 ? -1L : length == 0 ? 0L : -1L << (64 - length);
+    }
+
+    static long lowMask(int length) {
+        return length <= 64 ? 0L : length == 128 ? -1L : -1L << (128 - length);
+    }
+
+    @Override
+    public int compareTo(IpPrefix other) {
+        int compare = Long.compareUnsigned(high, other.high);
+        if (compare == 0) {
+            compare = Long.compareUnsigned(low, other.low);
+        }
+        return compare != 0 ? compare : Integer.compare(length, other.length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof IpPrefix other && high == other.high && low == other.low && length == other.length;
+    }
+
+    @Override
+    public int hashCode() {
+        return (Long.hashCode(high) * 31 + Long.hashCode(low)) * 31 + length;
+    }
+
+    @Override
+    public String toString() {
+        IpAddress network = new IpAddress(high, low);
+        boolean ipv4 = length >= IPV4_MAPPED_LENGTH && network.isIpv4();
+        return network + "/" + (ipv4 ? length - IPV4_MAPPED_LENGTH : length);
+    }
+}
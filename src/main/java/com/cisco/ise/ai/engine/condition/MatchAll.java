@@ -0,0 +1,24 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.ise.model.ISESession;
+
+/**
+ * Condition for policies without conditions; matches every session
+ */
+public final class MatchAll implements Condition {
+
+    public static final MatchAll INSTANCE = new MatchAll();
+
+    private MatchAll() {
+    }
+
+    @Override
+    public boolean test(ISESession session) {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "true";
+    }
+}
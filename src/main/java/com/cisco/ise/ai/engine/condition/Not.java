@@ -0,0 +1,29 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.ise.model.ISESession;
+
+/**
+ * Negation of a condition
+ */
+public final class Not implements Condition {
+
+    private final Condition condition;
+
+    public Not(Condition condition) {
+        this.condition = condition;
+    }
+
+    @Override
+    public boolean test(ISESession session) {
+        return !condition.test(session);
+    }
+
+    public Condition getCondition() {
+        return condition;
+    }
+
+    @Override
+    public String toString() {
+        return "NOT " + condition;
+    }
+}
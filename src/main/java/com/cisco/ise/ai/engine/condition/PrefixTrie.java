@@ -0,0 +1,152 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.ise.model.IpAddress;
+
+/**
+ * Path-compressed binary radix trie over {@link IpPrefix} keys.
+ *
+ * Each node stores the full prefix it stands for and branches on the next bit, so chains of
+ * single-child nodes collapse into one edge. A lookup visits at most one node per distinct
+ * prefix length along the address's path, bounded by the 128-bit address width rather than
+ * the number of prefixes stored. Not thread-safe for writes; build once, then share for reads.
+ *
+ * @param <V> value associated with each prefix
+ */
+public final class PrefixTrie<V> {
+
+    private Node<V> root;
+    private int size;
+
+    /**
+     * Associates a value with a prefix, replacing any previous value for the same prefix
+     */
+    public void put(IpPrefix prefix, V value) {
+        root = insert(root, prefix.getHigh(), prefix.getLow(), prefix.getLength(), value);
+    }
+
+    /**
+     * Value of the longest stored prefix containing the address, or null if none does
+     */
+    public V longestMatch(IpAddress address) {
+        Node<V> match = null;
+        long high = address.getHigh();
+        long low = address.getLow();
+        for (Node<V> node = root; node != null; node = node.child(bit(high, low, node.length))) {
+            if (!covers(node, high, low)) {
+                break;
+            }
+            if (node.terminal) {
+                match = node;
+            }
+            if (node.length == 128) {
+                break;
+            }
+        }
+        return match != null ? match.value : null;
+    }
+
+    /**
+     * Whether any stored prefix contains the address; stops at the first covering prefix
+     */
+    public boolean contains(IpAddress address) {
+        long high = address.getHigh();
+        long low = address.getLow();
+        for (Node<V> node = root; node != null; node = node.child(bit(high, low, node.length))) {
+            if (!covers(node, high, low)) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+            if (node.length == 128) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private Node<V> insert(Node<V> node, long high, long low, int length, V value) {
+        if (node == null) {
+            size++;
+            return new Node<>(high, low, length, true, value);
+        }
+        int common = Math.min(commonLength(node.high, node.low, high, low), Math.min(node.length, length));
+        if (common == node.length) {
+            if (length == node.length) {
+                if (!node.terminal) {
+                    size++;
+                }
+                node.terminal = true;
+                node.value = value;
+                return node;
+            }
+            // The node's prefix covers the new one; descend on the next bit
+            node.setChild(bit(high, low, node.length), insert(node.child(bit(high, low, node.length)), high, low, length, value));
+            return node;
+        }
+        Node<V> parent;
+        if (common == length) {
+            // The new prefix covers the node
+            size++;
+            parent = new Node<>(high, low, length, true, value);
+        } else {
+            // The prefixes diverge below both; branch at the first differing bit
+            size++;
+            parent = new Node<>(high & IpPrefix.highMask(common), low & IpPrefix.lowMask(common), common, false, null);
+            parent.setChild(bit(high, low, common), new Node<>(high, low, length, true, value));
+        }
+        parent.setChild(bit(node.high, node.low, common), node);
+        return parent;
+    }
+
+    private static boolean covers(Node<?> node, long high, long low) {
+        return (high & IpPrefix.highMask(node.length)) == node.high && (low & IpPrefix.lowMask(node.length)) == node.low;
+    }
+
+    private static int commonLength(long high1, long low1, long high2, long low2) {
+        long difference = high1 ^ high2;
+        if (difference != 0) {
+            return Long.numberOfLeadingZeros(difference);
+        }
+        return 64 + Long.numberOfLeadingZeros(low1 ^ low2);
+    }
+
+    private static int bit(long high, long low, int index) {
+        return (int) (index < 64 ? high >>> (63 - index) : low >>> (127 - index)) & 1;
+    }
+
+    private static final class Node<V> {
+
+        private final long high;
+        private final long low;
+        private final int length;
+        private boolean terminal;
+        private V value;
+        private Node<V> zero;
+        private Node<V> one;
+
+        Node(long high, long low, int length, boolean terminal, V value) {
+            this.high = high;
+            this.low = low;
+            this.length = length;
+            this.terminal = terminal;
+            this.value = value;
+        }
+
+        Node<V> child(int bit) {
+            return bit == 0 ? zero : one;
+        }
+
+        void setChild(int bit, Node<V> child) {
+            if (bit == 0) {
+                zero = child;
+            } else {
+                one = child;
+            }
+        }
+    }
+}
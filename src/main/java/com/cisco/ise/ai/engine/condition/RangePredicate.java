@@ -0,0 +1,55 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.ise.model.ISESession;
+
+/**
+ * Numeric attribute within an optionally bounded interval
+ */
+public final class RangePredicate extends AttributePredicate {
+
+    private final double lower;
+    private final boolean lowerInclusive;
+    private final double upper;
+    private final boolean upperInclusive;
+
+    public RangePredicate(SessionAttribute attribute, double lower, boolean lowerInclusive,
+                          double upper, boolean upperInclusive) {
+        super(attribute);
+        this.lower = lower;
+        this.lowerInclusive = lowerInclusive;
+        this.upper = upper;
+        this.upperInclusive = upperInclusive;
+    }
+
+    @Override
+    public boolean test(ISESession session) {
+        if (!(attribute.valueOf(session) instanceof Number number)) {
+            return false;
+        }
+        double actual = number.doubleValue();
+        boolean aboveLower = lowerInclusive ? actual >= lower : actual > lower;
+        boolean belowUpper = upperInclusive ? actual <= upper : actual < upper;
+        return aboveLower && belowUpper;
+    }
+
+    public double getLower() {
+        return lower;
+    }
+
+    public boolean isLowerInclusive() {
+        return lowerInclusive;
+    }
+
+    public double getUpper() {
+        return upper;
+    }
+
+    public boolean isUpperInclusive() {
+        return upperInclusive;
+    }
+
+    @Override
+    public String toString() {
+        return attribute + " IN " + (lowerInclusive ? "[" : "(") + lower + ", " + upper + (upperInclusive ? "]" : ")");
+    }
+}
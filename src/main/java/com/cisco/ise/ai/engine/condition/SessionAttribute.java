@@ -0,0 +1,141 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.ise.model.ISESession;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Resolves a named attribute of an {@link ISESession} for condition evaluation.
+ *
+ * Well-known session fields are bound to their getters when the condition is compiled;
+ * any other name is looked up in {@link ISESession#getAttributes()}.
+ */
+public final class SessionAttribute {
+
+    public enum Kind {
+        STRING,
+        NUMBER,
+        CUSTOM
+    }
+
+    private static final Map<String, SessionAttribute> FIELDS = new LinkedHashMap<>();
+
+    public static final SessionAttribute USER_NAME = field("userName", Kind.STRING, String.class, ISESession::getUserName);
+    public static final SessionAttribute MAC_ADDRESS = field("macAddress", Kind.STRING, String.class, ISESession::getMacAddress);
+    public static final SessionAttribute IP_ADDRESS = field("ipAddress", Kind.STRING, String.class, ISESession::getIpAddress);
+    public static final SessionAttribute NAS_IP_ADDRESS = field("nasIpAddress", Kind.STRING, String.class, ISESession::getNasIpAddress);
+    public static final SessionAttribute NAS_PORT_ID = field("nasPortId", Kind.STRING, String.class, ISESession::getNasPortId);
+    public static final SessionAttribute CALLING_STATION_ID = field("callingStationId", Kind.STRING, String.class, ISESession::getCallingStationId);
+    public static final SessionAttribute CALLED_STATION_ID = field("calledStationId", Kind.STRING, String.class, ISESession::getCalledStationId);
+    public static final SessionAttribute SESSION_STATE = field("sessionState", Kind.STRING, String.class, ISESession::getSessionState);
+    public static final SessionAttribute AUTHENTICATION_METHOD = field("authenticationMethod", Kind.STRING, String.class, ISESession::getAuthenticationMethod);
+    public static final SessionAttribute AUTHENTICATION_STATUS = field("authenticationStatus", Kind.STRING, String.class, ISESession::getAuthenticationStatus);
+    public static final SessionAttribute AUTHORIZATION_PROFILE = field("authorizationProfile", Kind.STRING, String.class, ISESession::getAuthorizationProfile);
+    public static final SessionAttribute SECURITY_GROUP = field("securityGroup", Kind.STRING, String.class, ISESession::getSecurityGroup);
+    public static final SessionAttribute VLAN_ID = field("vlanId", Kind.STRING, String.class, ISESession::getVlanId);
+    public static final SessionAttribute DEVICE_TYPE = field("deviceType", Kind.STRING, String.class, ISESession::getDeviceType);
+    public static final SessionAttribute OPERATING_SYSTEM = field("operatingSystem", Kind.STRING, String.class, ISESession::getOperatingSystem);
+    public static final SessionAttribute POSTURE_STATUS = field("postureStatus", Kind.STRING, String.class, ISESession::getPostureStatus);
+    public static final SessionAttribute LOCATION = field("location", Kind.STRING, String.class, ISESession::getLocation);
+    public static final SessionAttribute SSID = field("ssid", Kind.STRING, String.class, ISESession::getSsid);
+    public static final SessionAttribute THREAT_LEVEL = field("threatLevel", Kind.STRING, String.class, ISESession::getThreatLevel);
+    public static final SessionAttribute RISK_SCORE = field("riskScore", Kind.NUMBER, Double.class, ISESession::getRiskScore);
+    public static final SessionAttribute SESSION_DURATION = field("sessionDuration", Kind.NUMBER, Long.class, ISESession::getSessionDuration);
+
+    private final String name;
+    private final Kind kind;
+    private final Class<?> javaType;
+    private final Function<ISESession, Object> accessor;
+
+    private SessionAttribute(String name, Kind kind, Class<?> javaType, Function<ISESession, Object> accessor) {
+        this.name = name;
+        this.kind = kind;
+        this.javaType = javaType;
+        this.accessor = accessor;
+    }
+
+    private static SessionAttribute field(String name, Kind kind, Class<?> javaType, Function<ISESession, Object> accessor) {
+        SessionAttribute attribute = new SessionAttribute(name, kind, javaType, accessor);
+        FIELDS.put(name, attribute);
+        return attribute;
+    }
+
+    /**
+     * Returns the attribute for a condition key, falling back to the session attribute map
+     */
+    public static SessionAttribute named(String name) {
+        SessionAttribute field = FIELDS.get(name);
+        if (field != null) {
+            return field;
+        }
+        return new SessionAttribute(name, Kind.CUSTOM, Object.class, session -> {
+            Map<String, Object> attributes = session.getAttributes();
+            return attributes != null ? attributes.get(name) : null;
+        });
+    }
+
+    /**
+     * Well-known session fields by condition key
+     */
+    public static Map<String, SessionAttribute> fields() {
+        return Collections.unmodifiableMap(FIELDS);
+    }
+
+    public Object valueOf(ISESession session) {
+        return accessor.apply(session);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Declared type of the session field (Object for custom attributes)
+     */
+    public Class<?> getJavaType() {
+        return javaType;
+    }
+
+    public boolean isField() {
+        return kind != Kind.CUSTOM;
+    }
+
+    /**
+     * Name of the {@link ISESession} getter backing a well-known field
+     */
+    public String getGetterName() {
+        if (!isField()) {
+            throw new IllegalStateException("Custom attribute " + name + " has no getter");
+        }
+        return "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SessionAttribute other)) {
+            return false;
+        }
+        return name.equals(other.name) && kind == other.kind;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, kind);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
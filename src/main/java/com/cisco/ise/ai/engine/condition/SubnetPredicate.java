@@ -0,0 +1,67 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.cisco.ise.ai.ise.model.IpAddress;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Attribute holds an IP address inside one of a set of CIDR prefixes.
+ *
+ * Prefixes are loaded into a {@link PrefixTrie} at compile time. The session's
+ * {@code ipAddress} and {@code nasIpAddress} are read through their cached parsed form, so
+ * evaluation does no string parsing for them; other attributes are parsed per test.
+ */
+public final class SubnetPredicate extends AttributePredicate {
+
+    private final SortedSet<IpPrefix> prefixes;
+    private final PrefixTrie<IpPrefix> trie = new PrefixTrie<>();
+    private final Function<ISESession, IpAddress> address;
+
+    public SubnetPredicate(SessionAttribute attribute, Collection<IpPrefix> prefixes) {
+        super(attribute);
+        this.prefixes = Collections.unmodifiableSortedSet(new TreeSet<>(prefixes));
+        this.prefixes.forEach(prefix -> trie.put(prefix, prefix));
+        this.address = addressOf(attribute);
+    }
+
+    @Override
+    public boolean test(ISESession session) {
+        IpAddress actual = address.apply(session);
+        return actual != null && trie.contains(actual);
+    }
+
+    /**
+     * Most specific prefix containing the session's address, or null
+     */
+    public IpPrefix longestMatch(ISESession session) {
+        IpAddress actual = address.apply(session);
+        return actual != null ? trie.longestMatch(actual) : null;
+    }
+
+    public SortedSet<IpPrefix> getPrefixes() {
+        return prefixes;
+    }
+
+    private static Function<ISESession, IpAddress> addressOf(SessionAttribute attribute) {
+        if (attribute == SessionAttribute.IP_ADDRESS) {
+            return ISESession::ipAddressValue;
+        }
+        if (attribute == SessionAttribute.NAS_IP_ADDRESS) {
+            return ISESession::nasIpAddressValue;
+        }
+        return session -> {
+            Object value = attribute.valueOf(session);
+            return value != null ? IpAddress.parse(value.toString()) : null;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return attribute + " IN SUBNET " + prefixes;
+    }
+}
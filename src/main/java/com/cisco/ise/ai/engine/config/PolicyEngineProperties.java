@@ -0,0 +1,75 @@
+package com.cisco.ise.ai.engine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the policy decision engine
+ */
+@Configuration
+@ConfigurationProperties(prefix = "policy.engine")
+@Data
+public class PolicyEngineProperties {
+
+    private Codegen codegen = new Codegen();
+    private Planning planning = new Planning();
+    private Analysis analysis = new Analysis();
+    private Documents documents = new Documents();
+
+    @Data
+    public static class Codegen {
+
+        /**
+         * Compile active policy conditions to bytecode instead of interpreting them (default: false).
+         * Pays off for policy sets of up to a few hundred; beyond that the generated code outgrows
+         * the CPU's instruction cache and the interpreted trees are as fast or faster.
+         */
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class Planning {
+
+        /**
+         * Re-order each policy's top-level conditions, and choose its index anchor, from
+         * selectivity observed on sampled decisions (default: true). Not applied to generated code.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Milliseconds between re-plans
+         */
+        private long intervalMs = 30_000;
+
+        /**
+         * One in this many decisions is profiled
+         */
+        private int sampleRate = 16;
+
+        /**
+         * Observations needed before a measured pass rate or value frequency replaces the prior
+         */
+        private long minSamples = 200;
+    }
+
+    @Data
+    public static class Analysis {
+
+        /**
+         * Re-analyze the active set after every change and leave policies that can never
+         * match out of the index (default: false). Pruned policies stay ACTIVE.
+         */
+        private boolean pruneDeadPolicies = false;
+    }
+
+    @Data
+    public static class Documents {
+
+        /**
+         * Parsed policy conditions and actions kept, one per policy version, before the least
+         * recently used are evicted (default: 10000)
+         */
+        private long maximumSize = 10_000;
+    }
+}
@@ -0,0 +1,44 @@
+package com.cisco.ise.ai.engine.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for policy simulation jobs
+ */
+@Configuration
+@ConfigurationProperties(prefix = "policy.simulation")
+@Data
+public class PolicySimulationProperties {
+
+    /**
+     * Accept simulation jobs (default: true)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Jobs replaying at the same time; further jobs wait in the queue (default: 5)
+     */
+    private int maxConcurrentSimulations = 5;
+
+    /**
+     * Worker threads shared by all running jobs, 0 for one per available processor (default: 0)
+     */
+    private int parallelism = 0;
+
+    /**
+     * Sessions replayed by one fork-join leaf task (default: 4096)
+     */
+    private int partitionSize = 4096;
+
+    /**
+     * Finished jobs kept for reporting before the oldest are discarded (default: 100)
+     */
+    private int retainedJobs = 100;
+
+    /**
+     * Directory uploaded sessions are spooled to until their job finishes (default: data/policy-simulations)
+     */
+    private String directory = "data/policy-simulations";
+}
@@ -0,0 +1,64 @@
+package com.cisco.ise.ai.engine.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static analysis of a priority-ordered policy set: policies that can never match, and
+ * groups of policies that can be merged without changing any session's actions
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolicyAnalysis {
+
+    // Snapshot analyzed (null when a supplied policy list was analyzed)
+    private Long snapshotEpoch;
+    private int analyzedPolicies;
+
+    private List<DeadPolicy> deadPolicies;
+    private List<MergeGroup> mergeGroups;
+
+    // Analysis statistics
+    private int bddNodes;
+    private long analysisTimeMillis;
+    private LocalDateTime analyzedAt;
+
+    public enum DeadReason {
+        SHADOWED,        // every matching session is decided by higher-priority policies
+        UNSATISFIABLE    // no session can satisfy the conditions
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class DeadPolicy {
+        private String policyId;
+        private String policyName;
+        private int priority;
+        private DeadReason reason;
+
+        // Higher-priority policies covering this one (up to ten) and whether any has different actions
+        private List<String> shadowedBy;
+        private boolean conflicting;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class MergeGroup {
+        // In evaluation order; the merged policy takes the first one's priority
+        private List<String> policyIds;
+        private int priority;
+        private Map<String, Object> actions;
+    }
+}
@@ -0,0 +1,34 @@
+package com.cisco.ise.ai.engine.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Result of evaluating a session against the ACTIVE policy set
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolicyDecision {
+
+    private String sessionId;
+    private boolean matched;
+
+    // Matching policy (null when no policy matched)
+    private String policyId;
+    private String policyName;
+    private Integer priority;
+    private Map<String, Object> actions;
+
+    // Evaluation statistics
+    private long snapshotEpoch;
+    private int policiesEvaluated;
+    private long evaluationTimeNanos;
+    private LocalDateTime decidedAt;
+}
@@ -0,0 +1,32 @@
+package com.cisco.ise.ai.engine.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sessions re-evaluated after a policy change and those whose decision changed
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolicyImpact {
+
+    private long snapshotEpoch;
+    private Set<String> changedPolicyIds;
+
+    // Whether every active session had to be re-evaluated (reload or unindexable policy)
+    private boolean fullScan;
+    private int activeSessions;
+    private int reevaluatedSessions;
+    private List<String> changedSessionIds;
+
+    private long analysisTimeNanos;
+    private LocalDateTime analyzedAt;
+}
@@ -0,0 +1,52 @@
+package com.cisco.ise.ai.engine.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Current evaluation plan of an ACTIVE policy: the index anchor it is probed under and
+ * the order its top-level conditions are evaluated in
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolicyPlan {
+
+    private String policyId;
+    private String policyName;
+    private long snapshotEpoch;
+
+    // INTERPRETED, ADAPTIVE or GENERATED
+    private String evaluator;
+
+    // Index anchor (null when the policy is probed for every session)
+    private String anchorAttribute;
+    private Set<Object> anchorValues;
+    private Double anchorFrequency;
+    private boolean anchorPreferred;
+
+    // Top-level conditions in evaluation order (AND or OR; empty unless adaptive)
+    private String combinator;
+    private List<Step> steps;
+
+    private LocalDateTime replannedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Step {
+        private String condition;
+        private double cost;
+        private long samples;
+        private Double passRate;
+        private double rank;
+    }
+}
@@ -0,0 +1,180 @@
+package com.cisco.ise.ai.engine.plan;
+
+import com.cisco.ise.ai.engine.condition.AllOf;
+import com.cisco.ise.ai.engine.condition.AnyOf;
+import com.cisco.ise.ai.engine.condition.Condition;
+import com.cisco.ise.ai.ise.model.ISESession;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Top-level conjunction or disjunction whose evaluation order is re-planned from observed selectivity.
+ *
+ * Every child is side-effect free, so any order gives the same result; only the work done
+ * to reach it changes. {@link #test} runs the current order without bookkeeping; sampled
+ * decisions go through {@link #profile}, which also counts how often each child is evaluated
+ * and how often it passes. {@link #replan} folds the counts into smoothed pass rates and
+ * orders children by expected cost to decide: cost / P(miss) for AND, cost / P(hit) for OR.
+ * Until a child has enough samples its pass rate is assumed to be one half, so the initial
+ * order is cheapest first.
+ */
+public final class AdaptiveCondition implements Condition {
+
+    private static final double PRIOR_PASS_RATE = 0.5;
+    private static final double SMOOTHING = 0.5;
+    private static final double MIN_PROBABILITY = 1e-3;
+
+    private final Condition source;
+    private final Condition[] conditions;
+    private final boolean conjunction;
+    private final double[] costs;
+    private final LongAdder[] evaluated;
+    private final LongAdder[] passed;
+
+    // Planner state, written only by the thread calling replan
+    private final double[] passRates;
+    private final long[] samples;
+
+    private volatile int[] order;
+
+    private AdaptiveCondition(Condition source, List<Condition> conditions, boolean conjunction) {
+        this.source = source;
+        this.conditions = conditions.toArray(new Condition[0]);
+        this.conjunction = conjunction;
+        this.costs = conditions.stream().mapToDouble(ConditionCost::estimate).toArray();
+        this.evaluated = new LongAdder[this.conditions.length];
+        this.passed = new LongAdder[this.conditions.length];
+        for (int i = 0; i < this.conditions.length; i++) {
+            evaluated[i] = new LongAdder();
+            passed[i] = new LongAdder();
+        }
+        this.passRates = new double[this.conditions.length];
+        Arrays.fill(passRates, PRIOR_PASS_RATE);
+        this.samples = new long[this.conditions.length];
+        this.order = rank(0L);
+    }
+
+    /**
+     * Wraps an AND or OR of two or more children; any other condition is returned unchanged
+     */
+    public static Condition of(Condition condition) {
+        if (condition instanceof AllOf allOf && allOf.getConditions().size() > 1) {
+            return new AdaptiveCondition(condition, allOf.getConditions(), true);
+        }
+        if (condition instanceof AnyOf anyOf && anyOf.getConditions().size() > 1) {
+            return new AdaptiveCondition(condition, anyOf.getConditions(), false);
+        }
+        return condition;
+    }
+
+    @Override
+    public boolean test(ISESession session) {
+        for (int index : order) {
+            if (conditions[index].test(session) != conjunction) {
+                return !conjunction;
+            }
+        }
+        return conjunction;
+    }
+
+    /**
+     * Evaluates like {@link #test} while recording per-child statistics
+     */
+    public boolean profile(ISESession session) {
+        for (int index : order) {
+            evaluated[index].increment();
+            boolean result = conditions[index].test(session);
+            if (result) {
+                passed[index].increment();
+            }
+            if (result != conjunction) {
+                return !conjunction;
+            }
+        }
+        return conjunction;
+    }
+
+    /**
+     * Folds the counts recorded since the last call into the pass rates and re-orders the
+     * children. Children with fewer than {@code minSamples} observations keep the prior.
+     * Returns true when the order changed.
+     */
+    public synchronized boolean replan(long minSamples) {
+        for (int i = 0; i < conditions.length; i++) {
+            long window = evaluated[i].sumThenReset();
+            long hits = passed[i].sumThenReset();
+            if (window == 0) {
+                continue;
+            }
+            double observed = (double) hits / window;
+            passRates[i] = samples[i] == 0 ? observed : SMOOTHING * passRates[i] + (1 - SMOOTHING) * observed;
+            samples[i] += window;
+        }
+        int[] next = rank(minSamples);
+        if (Arrays.equals(next, order)) {
+            return false;
+        }
+        order = next;
+        return true;
+    }
+
+    /**
+     * Children in their current evaluation order with the statistics behind it
+     */
+    public synchronized List<Step> getPlan(long minSamples) {
+        List<Step> steps = new ArrayList<>(conditions.length);
+        for (int index : order) {
+            steps.add(new Step(conditions[index], costs[index], samples[index],
+                    samples[index] > 0 ? passRates[index] : null, rankOf(index, minSamples)));
+        }
+        return steps;
+    }
+
+    public boolean isConjunction() {
+        return conjunction;
+    }
+
+    /**
+     * The condition tree this evaluator was built from
+     */
+    public Condition getSource() {
+        return source;
+    }
+
+    private int[] rank(long minSamples) {
+        return IntStream.range(0, conditions.length).boxed()
+                .sorted(Comparator.comparingDouble((Integer index) -> rankOf(index, minSamples))
+                        .thenComparingInt(Integer::intValue))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private double rankOf(int index, long minSamples) {
+        double passRate = samples[index] >= minSamples && samples[index] > 0 ? passRates[index] : PRIOR_PASS_RATE;
+        double decisive = conjunction ? 1 - passRate : passRate;
+        return costs[index] / Math.max(decisive, MIN_PROBABILITY);
+    }
+
+    @Override
+    public String toString() {
+        return "adaptive" + source;
+    }
+
+    /**
+     * One child of the plan; passRate is null until the child has been sampled
+     */
+    @Value
+    public static class Step {
+        Condition condition;
+        double cost;
+        long samples;
+        Double passRate;
+        double rank;
+    }
+}
@@ -0,0 +1,102 @@
+package com.cisco.ise.ai.engine.plan;
+
+import com.cisco.ise.ai.engine.PolicyIndex;
+import com.cisco.ise.ai.engine.condition.SessionAttribute;
+import com.cisco.ise.ai.ise.model.ISESession;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Value frequencies of the indexed session attributes, from sampled decisions.
+ *
+ * Samples accumulate in striped counters and are folded into exponentially smoothed
+ * counts each time the planner rolls the window. Each attribute tracks at most
+ * {@value #MAX_VALUES} distinct values; further values are not counted.
+ */
+@Component
+public class AttributeStatistics {
+
+    private static final int MAX_VALUES = 4_096;
+    private static final double SMOOTHING = 0.5;
+    private static final double MIN_RETAINED = 0.5;
+
+    private final Map<SessionAttribute, Map<Object, LongAdder>> window = new HashMap<>();
+    private final LongAdder windowSessions = new LongAdder();
+
+    private volatile Map<SessionAttribute, Map<Object, Double>> smoothed = Map.of();
+    private volatile double smoothedSessions;
+
+    public AttributeStatistics() {
+        PolicyIndex.INDEXED_ATTRIBUTES.forEach(attribute -> window.put(attribute, new ConcurrentHashMap<>()));
+    }
+
+    /**
+     * Counts the session's value of every indexed attribute
+     */
+    public void record(ISESession session) {
+        windowSessions.increment();
+        for (Map.Entry<SessionAttribute, Map<Object, LongAdder>> entry : window.entrySet()) {
+            Object value = entry.getKey().valueOf(session);
+            if (value == null) {
+                continue;
+            }
+            Map<Object, LongAdder> counts = entry.getValue();
+            LongAdder count = counts.get(value);
+            if (count == null) {
+                if (counts.size() >= MAX_VALUES) {
+                    continue;
+                }
+                count = counts.computeIfAbsent(value, key -> new LongAdder());
+            }
+            count.increment();
+        }
+    }
+
+    /**
+     * Folds the current window into the smoothed counts and starts a new window
+     */
+    public synchronized void roll() {
+        Map<SessionAttribute, Map<Object, Double>> next = new HashMap<>();
+        for (Map.Entry<SessionAttribute, Map<Object, LongAdder>> entry : window.entrySet()) {
+            Map<Object, Double> previous = smoothed.getOrDefault(entry.getKey(), Map.of());
+            Map<Object, Double> counts = new HashMap<>();
+            previous.forEach((value, count) -> counts.put(value, SMOOTHING * count));
+            entry.getValue().forEach((value, count) ->
+                    counts.merge(value, (1 - SMOOTHING) * count.sumThenReset(), Double::sum));
+            counts.values().removeIf(count -> count < MIN_RETAINED);
+            entry.getValue().values().removeIf(count -> count.sum() == 0);
+            next.put(entry.getKey(), counts);
+        }
+        smoothedSessions = SMOOTHING * smoothedSessions + (1 - SMOOTHING) * windowSessions.sumThenReset();
+        smoothed = next;
+    }
+
+    /**
+     * Estimated fraction of sessions having one of the values, or -1 when fewer than
+     * {@code minSamples} sessions back the estimate
+     */
+    public double frequency(SessionAttribute attribute, Collection<Object> values, long minSamples) {
+        double sessions = smoothedSessions;
+        if (sessions < Math.max(1, minSamples)) {
+            return -1;
+        }
+        Map<Object, Double> counts = smoothed.getOrDefault(attribute, Map.of());
+        double matching = 0;
+        for (Object value : values) {
+            matching += counts.getOrDefault(value, 0.0);
+        }
+        return Math.min(1.0, matching / sessions);
+    }
+
+    /**
+     * Smoothed number of sampled sessions behind the estimates
+     */
+    public double getSampledSessions() {
+        return smoothedSessions;
+    }
+}
@@ -0,0 +1,50 @@
+package com.cisco.ise.ai.engine.plan;
+
+import com.cisco.ise.ai.engine.condition.AllOf;
+import com.cisco.ise.ai.engine.condition.AnyOf;
+import com.cisco.ise.ai.engine.condition.AttributePredicate;
+import com.cisco.ise.ai.engine.condition.Condition;
+import com.cisco.ise.ai.engine.condition.ContainsPredicate;
+import com.cisco.ise.ai.engine.condition.InPredicate;
+import com.cisco.ise.ai.engine.condition.Not;
+import com.cisco.ise.ai.engine.condition.SessionAttribute;
+import com.cisco.ise.ai.engine.condition.SubnetPredicate;
+
+/**
+ * Static estimate of the relative cost of evaluating a condition.
+ *
+ * Units are roughly one getter call plus one comparison. Custom attributes pay for the
+ * attribute map lookup, substring matches for the scan, subnet matches for the
+ * trie walk, and composites for their children.
+ */
+public final class ConditionCost {
+
+    private ConditionCost() {
+    }
+
+    public static double estimate(Condition condition) {
+        if (condition instanceof AllOf allOf) {
+            return 0.5 + allOf.getConditions().stream().mapToDouble(ConditionCost::estimate).sum();
+        }
+        if (condition instanceof AnyOf anyOf) {
+            return 0.5 + anyOf.getConditions().stream().mapToDouble(ConditionCost::estimate).sum();
+        }
+        if (condition instanceof Not not) {
+            return 0.5 + estimate(not.getCondition());
+        }
+        if (condition instanceof AttributePredicate predicate) {
+            double lookup = predicate.getAttribute().getKind() == SessionAttribute.Kind.CUSTOM ? 3.0 : 0.0;
+            if (predicate instanceof ContainsPredicate) {
+                return lookup + 4.0;
+            }
+            if (predicate instanceof SubnetPredicate) {
+                return lookup + 3.0;
+            }
+            if (predicate instanceof InPredicate) {
+                return lookup + 2.0;
+            }
+            return lookup + 1.0;
+        }
+        return 1.0;
+    }
+}
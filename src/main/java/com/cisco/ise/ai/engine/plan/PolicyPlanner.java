@@ -0,0 +1,150 @@
+package com.cisco.ise.ai.engine.plan;
+
+import com.cisco.ise.ai.engine.CompiledPolicy;
+import com.cisco.ise.ai.engine.PolicyDecisionEngine;
+import com.cisco.ise.ai.engine.PolicyIndex;
+import com.cisco.ise.ai.engine.PolicySnapshot;
+import com.cisco.ise.ai.engine.condition.SessionAttribute;
+import com.cisco.ise.ai.engine.config.PolicyEngineProperties;
+import com.cisco.ise.ai.engine.model.PolicyPlan;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Periodically re-plans policy evaluation from the statistics gathered on sampled decisions.
+ *
+ * Within a policy, adaptive conditions are re-ordered so the children most likely to decide
+ * the result per unit of cost run first. Across policies, candidates must still be probed in
+ * priority order for first-match semantics, so what adapts is which index anchor each policy
+ * is filed under: the indexable conjunct whose values are observed least often, which keeps
+ * the policy out of the candidate list for as many sessions as possible.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PolicyPlanner {
+
+    private final PolicyDecisionEngine decisionEngine;
+    private final AttributeStatistics attributeStatistics;
+    private final PolicyEngineProperties properties;
+
+    private volatile LocalDateTime replannedAt;
+
+    @Scheduled(fixedDelayString = "${policy.engine.planning.interval-ms:30000}",
+            initialDelayString = "${policy.engine.planning.interval-ms:30000}")
+    public synchronized void replan() {
+        if (!properties.getPlanning().isEnabled()) {
+            return;
+        }
+        long minSamples = properties.getPlanning().getMinSamples();
+        PolicySnapshot snapshot = decisionEngine.getSnapshot();
+
+        int reordered = 0;
+        for (CompiledPolicy policy : snapshot.getPolicies()) {
+            if (policy.getEvaluator() instanceof AdaptiveCondition adaptive && adaptive.replan(minSamples)) {
+                reordered++;
+            }
+        }
+
+        attributeStatistics.roll();
+        Map<String, SessionAttribute> anchors = chooseAnchors(snapshot, minSamples);
+        int reanchored = 0;
+        if (!anchors.equals(snapshot.getAnchorPreferences())) {
+            PolicySnapshot published = decisionEngine.applyAnchorPreferences(anchors);
+            reanchored = anchors.size();
+            log.info("Re-indexed active policies at epoch {}: {} policies on a non-default anchor",
+                    published.getEpoch(), reanchored);
+        }
+        replannedAt = LocalDateTime.now();
+        log.debug("Re-planned {} policies: {} re-ordered, {} re-anchored", snapshot.size(), reordered, reanchored);
+    }
+
+    /**
+     * The current plan of an active policy
+     */
+    public Optional<PolicyPlan> describe(String policyId) {
+        PolicySnapshot snapshot = decisionEngine.getSnapshot();
+        CompiledPolicy policy = snapshot.getPolicy(policyId);
+        if (policy == null) {
+            return Optional.empty();
+        }
+        long minSamples = properties.getPlanning().getMinSamples();
+
+        PolicyPlan.PolicyPlanBuilder plan = PolicyPlan.builder()
+                .policyId(policy.getPolicyId())
+                .policyName(policy.getName())
+                .snapshotEpoch(snapshot.getEpoch())
+                .steps(List.of())
+                .replannedAt(replannedAt);
+
+        PolicyIndex.Anchor anchor = snapshot.getAnchor(policyId);
+        if (anchor != null) {
+            double frequency = attributeStatistics.frequency(anchor.getAttribute(), anchor.getValues(), minSamples);
+            plan.anchorAttribute(anchor.getAttribute().getName())
+                    .anchorValues(anchor.getValues())
+                    .anchorFrequency(frequency >= 0 ? frequency : null)
+                    .anchorPreferred(snapshot.getAnchorPreferences().containsKey(policyId));
+        }
+
+        if (policy.isGenerated()) {
+            plan.evaluator("GENERATED");
+        } else if (policy.getEvaluator() instanceof AdaptiveCondition adaptive) {
+            plan.evaluator("ADAPTIVE")
+                    .combinator(adaptive.isConjunction() ? "AND" : "OR")
+                    .steps(adaptive.getPlan(minSamples).stream()
+                            .map(step -> PolicyPlan.Step.builder()
+                                    .condition(step.getCondition().toString())
+                                    .cost(step.getCost())
+                                    .samples(step.getSamples())
+                                    .passRate(step.getPassRate())
+                                    .rank(step.getRank())
+                                    .build())
+                            .toList());
+        } else {
+            plan.evaluator("INTERPRETED");
+        }
+        return Optional.of(plan.build());
+    }
+
+    /**
+     * Preferred anchors for policies whose least frequent indexable conjunct is not the default anchor
+     */
+    private Map<String, SessionAttribute> chooseAnchors(PolicySnapshot snapshot, long minSamples) {
+        Map<String, SessionAttribute> anchors = new HashMap<>();
+        for (CompiledPolicy policy : snapshot.getPolicies()) {
+            List<PolicyIndex.Anchor> candidates = PolicyIndex.anchorCandidates(policy.getCondition());
+            if (candidates.size() < 2) {
+                continue;
+            }
+            PolicyIndex.Anchor best = null;
+            double bestFrequency = Double.MAX_VALUE;
+            for (PolicyIndex.Anchor candidate : candidates) {
+                double frequency = attributeStatistics.frequency(candidate.getAttribute(), candidate.getValues(), minSamples);
+                if (frequency >= 0 && frequency < bestFrequency) {
+                    best = candidate;
+                    bestFrequency = frequency;
+                }
+            }
+            if (best == null) {
+                continue;
+            }
+            PolicyIndex.Anchor defaultAnchor = PolicyIndex.anchorOf(policy.getCondition());
+            double defaultFrequency = attributeStatistics.frequency(defaultAnchor.getAttribute(), defaultAnchor.getValues(), minSamples);
+            // Only move off the default for a clear improvement, so estimates near a tie do not flap
+            boolean current = best.getAttribute().equals(snapshot.getAnchorPreferences().get(policy.getPolicyId()));
+            if (!best.getAttribute().equals(defaultAnchor.getAttribute())
+                    && bestFrequency < (current ? 1.0 : 0.8) * defaultFrequency) {
+                anchors.put(policy.getPolicyId(), best.getAttribute());
+            }
+        }
+        return anchors;
+    }
+}
@@ -0,0 +1,358 @@
+package com.cisco.ise.ai.engine.simulation;
+
+import com.cisco.ise.ai.engine.CompiledPolicy;
+import com.cisco.ise.ai.engine.PolicyDecisionEngine;
+import com.cisco.ise.ai.engine.PolicySnapshot;
+import com.cisco.ise.ai.engine.config.PolicySimulationProperties;
+import com.cisco.ise.ai.ise.client.ISEClient;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.repository.PolicyStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Replays recorded sessions against candidate policy sets.
+ *
+ * A job compares the live snapshot with a candidate snapshot derived from it, without
+ * publishing anything. Jobs run on a fixed pool sized by {@code policy.simulation.max-concurrent-simulations},
+ * so further submissions queue. Sessions come from an uploaded file, spooled to
+ * {@code policy.simulation.directory} until the job finishes, or from the ISE active session list.
+ * Either way they are read one chunk at a time, each chunk partitioned across a fork-join pool
+ * shared by all jobs, so a job holds at most one partition per worker thread in memory.
+ * Completed jobs record a SIMULATION execution for each candidate policy.
+ */
+@Service
+@Slf4j
+public class PolicySimulationService {
+
+    private final PolicyDecisionEngine decisionEngine;
+    private final PolicyStore policyStore;
+    private final ISEClient iseClient;
+    private final PolicySimulationProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService jobRunner;
+    private final ForkJoinPool replayPool;
+    private final Map<String, SimulationJob> jobs = new ConcurrentHashMap<>();
+
+    public PolicySimulationService(PolicyDecisionEngine decisionEngine,
+                                   PolicyStore policyStore,
+                                   ISEClient iseClient,
+                                   PolicySimulationProperties properties,
+                                   ObjectMapper objectMapper) {
+        this.decisionEngine = decisionEngine;
+        this.policyStore = policyStore;
+        this.iseClient = iseClient;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+
+        AtomicInteger runners = new AtomicInteger();
+        this.jobRunner = Executors.newFixedThreadPool(Math.max(1, properties.getMaxConcurrentSimulations()), runnable -> {
+            Thread thread = new Thread(runnable, "policy-simulation-" + runners.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.replayPool = new ForkJoinPool(properties.getParallelism() > 0
+                ? properties.getParallelism() : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Validates and compiles the candidate set, then queues a replay of the sessions ISE currently reports
+     */
+    public SimulationJob submit(SimulationRequest request) {
+        checkEnabled();
+        Candidate candidate = compile(request);
+        return queue(request, candidate, 0, () -> iseClient.getActiveSessions().toStream(chunkSize()), null);
+    }
+
+    /**
+     * Validates and compiles the candidate set, spools the uploaded sessions (newline-delimited JSON
+     * or a JSON array) to disk, then queues their replay
+     */
+    public SimulationJob submit(SimulationRequest request, InputStream sessions) throws IOException {
+        checkEnabled();
+        Candidate candidate = compile(request);
+        Path directory = Files.createDirectories(Path.of(properties.getDirectory()));
+        Path spooled = Files.createTempFile(directory, "sessions-", ".ndjson");
+        long records;
+        try (OutputStream out = Files.newOutputStream(spooled)) {
+            records = copyCountingLines(sessions, out);
+        } catch (IOException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+        return queue(request, candidate, records, () -> read(spooled), spooled);
+    }
+
+    public Optional<SimulationJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * Jobs, most recently submitted first
+     */
+    public List<SimulationJob> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(SimulationJob::getSubmittedAt).reversed())
+                .toList();
+    }
+
+    /**
+     * Requests cancellation; a running job stops at its next partition boundary
+     */
+    public Optional<SimulationJob> cancel(String jobId) {
+        SimulationJob job = jobs.get(jobId);
+        if (job != null && !job.isFinished()) {
+            job.cancel();
+        }
+        return Optional.ofNullable(job);
+    }
+
+    private Candidate compile(SimulationRequest request) {
+        List<String> candidatePolicyIds = request.getCandidatePolicyIds() != null ? request.getCandidatePolicyIds() : List.of();
+        List<String> removedPolicyIds = request.getRemovedPolicyIds() != null ? request.getRemovedPolicyIds() : List.of();
+
+        List<Policy> policies = new ArrayList<>();
+        List<CompiledPolicy> compiled = new ArrayList<>();
+        for (String policyId : candidatePolicyIds) {
+            Policy policy = policyStore.findByPolicyId(policyId).blockOptional()
+                    .orElseThrow(() -> new RuntimeException("Policy not found: " + policyId));
+            policies.add(policy);
+            compiled.add(decisionEngine.compile(policy));
+        }
+
+        PolicySnapshot live = decisionEngine.getSnapshot();
+        return new Candidate(live, live.apply(compiled, removedPolicyIds), policies, candidatePolicyIds, removedPolicyIds);
+    }
+
+    /**
+     * @param totalSessions sessions in the source, or 0 when they are counted as they are read
+     * @param spooled file deleted when the job finishes, or null
+     */
+    private SimulationJob queue(SimulationRequest request, Candidate candidate, long totalSessions,
+                                SessionSource sessions, Path spooled) {
+        String jobId = "sim-" + UUID.randomUUID().toString().substring(0, 8);
+        SimulationJob job = new SimulationJob(jobId, request.getName() != null ? request.getName() : jobId,
+                candidate.getLive().getEpoch(), totalSessions, candidate.getCandidatePolicyIds());
+        jobs.put(jobId, job);
+        jobRunner.execute(() -> run(job, sessions, spooled, candidate));
+
+        log.info("Queued simulation {} replaying {} sessions: {} candidate, {} removed policies against epoch {}",
+                jobId, spooled != null ? totalSessions : "active ISE", candidate.getPolicies().size(),
+                candidate.getRemovedPolicyIds().size(), candidate.getLive().getEpoch());
+        return job;
+    }
+
+    private void run(SimulationJob job, SessionSource sessions, Path spooled, Candidate candidate) {
+        if (job.isCancelled()) {
+            release(spooled);
+            job.finish(SimulationJob.Status.CANCELLED);
+            return;
+        }
+        job.start();
+        try {
+            job.record(replay(job, sessions, spooled == null, candidate));
+            release(spooled);
+
+            SimulationReport report = job.toReport();
+            if (!job.isCancelled()) {
+                recordExecutions(job, report, candidate.getPolicies());
+            }
+            job.complete();
+            log.info("Simulation {} {}: {} sessions, match rate {} -> {}, {} decisions changed",
+                    job.getJobId(), job.getStatus(), report.getProcessedSessions(),
+                    String.format("%.4f", report.getLiveMatchRate()), String.format("%.4f", report.getCandidateMatchRate()),
+                    report.getChangedDecisions());
+        } catch (Exception e) {
+            log.error("Simulation {} failed: {}", job.getJobId(), e.getMessage(), e);
+            release(spooled);
+            job.fail(e);
+        } finally {
+            evictFinishedJobs();
+        }
+    }
+
+    /**
+     * Reads the sessions a chunk at a time and replays each chunk across the pool before reading the next
+     */
+    private SimulationTally replay(SimulationJob job, SessionSource source, boolean counted, Candidate candidate) throws IOException {
+        int partitionSize = Math.max(1, properties.getPartitionSize());
+        ISESession[] chunk = new ISESession[chunkSize()];
+        SimulationTally tally = new SimulationTally();
+        try (Stream<ISESession> sessions = source.open()) {
+            Iterator<ISESession> iterator = sessions.iterator();
+            while (!job.isCancelled() && iterator.hasNext()) {
+                int size = 0;
+                while (size < chunk.length && iterator.hasNext()) {
+                    chunk[size++] = iterator.next();
+                }
+                if (counted) {
+                    job.read(size);
+                }
+                tally.merge(replayPool.invoke(new ReplayTask(job, chunk, 0, size,
+                        candidate.getLive().getIndex(), candidate.getCandidate().getIndex(), partitionSize)));
+            }
+        }
+        return tally;
+    }
+
+    // One partition per replay worker, so a chunk keeps the whole pool busy
+    private int chunkSize() {
+        return Math.max(1, properties.getPartitionSize()) * replayPool.getParallelism();
+    }
+
+    // A malformed session fails the job with the parser's message when it is reached
+    private Stream<ISESession> read(Path file) throws IOException {
+        MappingIterator<ISESession> sessions = objectMapper.readerFor(ISESession.class).readValues(file.toFile());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(sessions, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        sessions.close();
+                    } catch (IOException e) {
+                        log.warn("Could not close spooled simulation sessions {}: {}", file, e.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Copies the upload, counting its non-blank lines: one session each in newline-delimited JSON
+     */
+    private static long copyCountingLines(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long lines = 0;
+        boolean content = false;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+                if (b == '\n') {
+                    lines += content ? 1 : 0;
+                    content = false;
+                } else if (b > ' ') {
+                    content = true;
+                }
+            }
+            out.write(buffer, 0, read);
+        }
+        return lines + (content ? 1 : 0);
+    }
+
+    /**
+     * Deletes a spooled upload before its job is reported finished
+     */
+    private void release(Path spooled) {
+        if (spooled == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spooled);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled simulation sessions {}: {}", spooled, e.getMessage());
+        }
+    }
+
+    private void checkEnabled() {
+        if (!properties.isEnabled()) {
+            throw new IllegalStateException("Policy simulation is disabled");
+        }
+    }
+
+    private void recordExecutions(SimulationJob job, SimulationReport report, List<Policy> candidates) {
+        long elapsedMs = Duration.between(job.getStartedAt(), LocalDateTime.now()).toMillis();
+        for (Policy policy : candidates) {
+            try {
+                policyStore.saveExecution(PolicyExecution.builder()
+                        .executionId(UUID.randomUUID().toString())
+                        .policy(policy)
+                        .executionStatus(PolicyExecution.ExecutionStatus.SUCCESS)
+                        .executionType(PolicyExecution.ExecutionType.SIMULATION)
+                        .triggerReason("Simulation " + job.getName() + " (" + job.getJobId() + ")")
+                        .executionResult(summarize(report, policy.getPolicyId()))
+                        .executionTimeMs(elapsedMs)
+                        .executedBy("simulation")
+                        .build()).block();
+            } catch (Exception e) {
+                log.warn("Could not record simulation {} for policy {}: {}", job.getJobId(), policy.getPolicyId(), e.getMessage());
+            }
+        }
+    }
+
+    private String summarize(SimulationReport report, String policyId) throws JsonProcessingException {
+        SimulationReport.PolicyMatchDelta policyDelta = report.getPolicyDeltas().stream()
+                .filter(delta -> delta.getPolicyId().equals(policyId))
+                .findFirst()
+                .orElse(null);
+        return objectMapper.writeValueAsString(Map.of(
+                "jobId", report.getJobId(),
+                "sessions", report.getProcessedSessions(),
+                "liveMatchRate", report.getLiveMatchRate(),
+                "candidateMatchRate", report.getCandidateMatchRate(),
+                "changedDecisions", report.getChangedDecisions(),
+                "candidateMatches", policyDelta != null ? policyDelta.getCandidateMatches() : 0L));
+    }
+
+    private void evictFinishedJobs() {
+        List<SimulationJob> finished = jobs.values().stream()
+                .filter(SimulationJob::isFinished)
+                .sorted(Comparator.comparing(SimulationJob::getCompletedAt))
+                .toList();
+        for (int i = 0; i < finished.size() - properties.getRetainedJobs(); i++) {
+            jobs.remove(finished.get(i).getJobId());
+        }
+    }
+
+    @FunctionalInterface
+    private interface SessionSource {
+        Stream<ISESession> open() throws IOException;
+    }
+
+    /**
+     * The live snapshot a job replays against and the candidate derived from it
+     */
+    @Value
+    private static class Candidate {
+        PolicySnapshot live;
+        PolicySnapshot candidate;
+        List<Policy> policies;
+        List<String> candidatePolicyIds;
+        List<String> removedPolicyIds;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(SimulationJob::cancel);
+        jobRunner.shutdownNow();
+        replayPool.shutdownNow();
+    }
+}
@@ -0,0 +1,59 @@
+package com.cisco.ise.ai.engine.simulation;
+
+import com.cisco.ise.ai.engine.CompiledPolicy;
+import com.cisco.ise.ai.engine.PolicyIndex;
+import com.cisco.ise.ai.ise.model.ISESession;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Replays a range of sessions against the live and candidate indexes, splitting
+ * the range in half until it is no larger than the partition size
+ */
+final class ReplayTask extends RecursiveTask<SimulationTally> {
+
+    private final SimulationJob job;
+    private final ISESession[] sessions;
+    private final int from;
+    private final int to;
+    private final PolicyIndex live;
+    private final PolicyIndex candidate;
+    private final int partitionSize;
+
+    ReplayTask(SimulationJob job, ISESession[] sessions, int from, int to,
+               PolicyIndex live, PolicyIndex candidate, int partitionSize) {
+        this.job = job;
+        this.sessions = sessions;
+        this.from = from;
+        this.to = to;
+        this.live = live;
+        this.candidate = candidate;
+        this.partitionSize = partitionSize;
+    }
+
+    @Override
+    protected SimulationTally compute() {
+        if (job.isCancelled()) {
+            return new SimulationTally();
+        }
+        if (to - from > partitionSize) {
+            int middle = (from + to) >>> 1;
+            ReplayTask right = new ReplayTask(job, sessions, middle, to, live, candidate, partitionSize);
+            right.fork();
+            SimulationTally left = new ReplayTask(job, sessions, from, middle, live, candidate, partitionSize).compute();
+            return left.merge(right.join());
+        }
+
+        SimulationTally tally = new SimulationTally();
+        for (int i = from; i < to; i++) {
+            ISESession session = sessions[i];
+            tally.record(policyId(live.firstMatch(session).getPolicy()), policyId(candidate.firstMatch(session).getPolicy()));
+        }
+        job.progress(tally);
+        return tally;
+    }
+
+    private static String policyId(CompiledPolicy policy) {
+        return policy != null ? policy.getPolicyId() : null;
+    }
+}
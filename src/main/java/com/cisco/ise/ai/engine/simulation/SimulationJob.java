@@ -0,0 +1,154 @@
+package com.cisco.ise.ai.engine.simulation;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A submitted simulation: replay state updated by worker threads and read by reporting
+ */
+@Getter
+public class SimulationJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    private final String jobId;
+    private final String name;
+    private final long liveEpoch;
+    private volatile long totalSessions;
+    private final List<String> candidatePolicyIds;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancelled;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile String error;
+    @Getter(AccessLevel.NONE)
+    private volatile SimulationTally result;
+
+    @Getter(AccessLevel.NONE)
+    private final LongAdder processed = new LongAdder();
+    @Getter(AccessLevel.NONE)
+    private final LongAdder liveMatches = new LongAdder();
+    @Getter(AccessLevel.NONE)
+    private final LongAdder candidateMatches = new LongAdder();
+    @Getter(AccessLevel.NONE)
+    private final LongAdder changedDecisions = new LongAdder();
+
+    /**
+     * @param totalSessions sessions to replay, or 0 when they are counted as they are read
+     */
+    SimulationJob(String jobId, String name, long liveEpoch, long totalSessions, List<String> candidatePolicyIds) {
+        this.jobId = jobId;
+        this.name = name;
+        this.liveEpoch = liveEpoch;
+        this.totalSessions = totalSessions;
+        this.candidatePolicyIds = List.copyOf(candidatePolicyIds);
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    // Only the job's runner thread reads its sessions, so the increment needs no atomicity
+    void read(int sessions) {
+        totalSessions += sessions;
+    }
+
+    void progress(SimulationTally partition) {
+        processed.add(partition.sessions);
+        liveMatches.add(partition.liveMatches);
+        candidateMatches.add(partition.candidateMatches);
+        changedDecisions.add(partition.changedDecisions);
+    }
+
+    void record(SimulationTally tally) {
+        result = tally;
+    }
+
+    void complete() {
+        finish(cancelled ? Status.CANCELLED : Status.COMPLETED);
+    }
+
+    void fail(Throwable cause) {
+        error = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+        finish(Status.FAILED);
+    }
+
+    void finish(Status finalStatus) {
+        completedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    public SimulationReport toReport() {
+        long replayed = processed.sum();
+        long live = liveMatches.sum();
+        long candidate = candidateMatches.sum();
+        double liveRate = rate(live, replayed);
+        double candidateRate = rate(candidate, replayed);
+
+        SimulationReport.SimulationReportBuilder report = SimulationReport.builder()
+                .jobId(jobId)
+                .name(name)
+                .status(status)
+                .liveEpoch(liveEpoch)
+                .totalSessions(totalSessions)
+                .processedSessions(replayed)
+                .progress(totalSessions == 0 ? (isFinished() ? 1.0 : 0.0) : (double) replayed / totalSessions)
+                .liveMatches(live)
+                .candidateMatches(candidate)
+                .liveMatchRate(liveRate)
+                .candidateMatchRate(candidateRate)
+                .matchRateDelta(candidateRate - liveRate)
+                .changedDecisions(changedDecisions.sum())
+                .error(error)
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .completedAt(completedAt);
+
+        if (startedAt != null) {
+            long millis = Duration.between(startedAt, completedAt != null ? completedAt : LocalDateTime.now()).toMillis();
+            report.sessionsPerSecond(millis > 0 ? replayed * 1000.0 / millis : 0.0);
+        }
+        SimulationTally tally = result;
+        if (tally != null) {
+            report.policyDeltas(tally.policyMatches.entrySet().stream()
+                    .map(entry -> SimulationReport.PolicyMatchDelta.builder()
+                            .policyId(entry.getKey())
+                            .liveMatches(entry.getValue()[SimulationTally.LIVE])
+                            .candidateMatches(entry.getValue()[SimulationTally.CANDIDATE])
+                            .delta(entry.getValue()[SimulationTally.CANDIDATE] - entry.getValue()[SimulationTally.LIVE])
+                            .build())
+                    .filter(delta -> delta.getDelta() != 0 || candidatePolicyIds.contains(delta.getPolicyId()))
+                    .sorted(Comparator.comparingLong((SimulationReport.PolicyMatchDelta delta) -> Math.abs(delta.getDelta())).reversed()
+                            .thenComparing(SimulationReport.PolicyMatchDelta::getPolicyId))
+                    .toList());
+        }
+        return report.build();
+    }
+
+    private static double rate(long matches, long sessions) {
+        return sessions == 0 ? 0.0 : (double) matches / sessions;
+    }
+}
@@ -0,0 +1,54 @@
+package com.cisco.ise.ai.engine.simulation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress and results of a simulation job.
+ *
+ * Match rates are the share of replayed sessions matched by any policy; counts cover
+ * the sessions replayed so far while the job is running. Per-policy deltas are
+ * available once the job has completed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationReport {
+
+    private String jobId;
+    private String name;
+    private SimulationJob.Status status;
+    private long liveEpoch;
+    private long totalSessions;
+    private long processedSessions;
+    private double progress;
+    private long liveMatches;
+    private long candidateMatches;
+    private double liveMatchRate;
+    private double candidateMatchRate;
+    private double matchRateDelta;
+    private long changedDecisions;
+    private double sessionsPerSecond;
+    private List<PolicyMatchDelta> policyDeltas;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PolicyMatchDelta {
+        private String policyId;
+        private long liveMatches;
+        private long candidateMatches;
+        private long delta;
+    }
+}
@@ -0,0 +1,32 @@
+package com.cisco.ise.ai.engine.simulation;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A candidate policy set to replay sessions against.
+ *
+ * The candidate set is the live ACTIVE set with {@code candidatePolicyIds} added (or
+ * replacing their active versions) and {@code removedPolicyIds} taken out. Sessions are
+ * uploaded separately as a stream; without an upload the sessions currently recorded by
+ * ISE are replayed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimulationRequest {
+
+    private String name;
+
+    @Builder.Default
+    private List<String> candidatePolicyIds = new ArrayList<>();
+
+    @Builder.Default
+    private List<String> removedPolicyIds = new ArrayList<>();
+}
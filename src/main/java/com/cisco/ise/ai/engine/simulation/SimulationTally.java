@@ -0,0 +1,51 @@
+package com.cisco.ise.ai.engine.simulation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decision counts for a range of replayed sessions; tallies of disjoint ranges merge by addition
+ */
+final class SimulationTally {
+
+    static final int LIVE = 0;
+    static final int CANDIDATE = 1;
+
+    long sessions;
+    long liveMatches;
+    long candidateMatches;
+    long changedDecisions;
+
+    /**
+     * Matches per policy id: [live, candidate]
+     */
+    final Map<String, long[]> policyMatches = new HashMap<>();
+
+    void record(String livePolicyId, String candidatePolicyId) {
+        sessions++;
+        if (livePolicyId != null) {
+            liveMatches++;
+            policyMatches.computeIfAbsent(livePolicyId, id -> new long[2])[LIVE]++;
+        }
+        if (candidatePolicyId != null) {
+            candidateMatches++;
+            policyMatches.computeIfAbsent(candidatePolicyId, id -> new long[2])[CANDIDATE]++;
+        }
+        if (livePolicyId == null ? candidatePolicyId != null : !livePolicyId.equals(candidatePolicyId)) {
+            changedDecisions++;
+        }
+    }
+
+    SimulationTally merge(SimulationTally other) {
+        sessions += other.sessions;
+        liveMatches += other.liveMatches;
+        candidateMatches += other.candidateMatches;
+        changedDecisions += other.changedDecisions;
+        other.policyMatches.forEach((policyId, counts) -> {
+            long[] merged = policyMatches.computeIfAbsent(policyId, id -> new long[2]);
+            merged[LIVE] += counts[LIVE];
+            merged[CANDIDATE] += counts[CANDIDATE];
+        });
+        return this;
+    }
+}
@@ -0,0 +1,132 @@
+package com.cisco.ise.ai.ise.client;
+
+import com.cisco.ise.ai.ise.model.ISESession;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * A session as the MnT API returns it: XML with snake_case element names. Lookups by session id,
+ * user or MAC address answer with one {@code <sessionParameters>} element; the active list nests
+ * {@code <activeSession>} elements, which carry only the identifying subset.
+ */
+@Data
+@NoArgsConstructor
+@XmlRootElement(name = "sessionParameters")
+@XmlAccessorType(XmlAccessType.FIELD)
+class MnTSession {
+
+    @XmlElement(name = "audit_session_id")
+    private String auditSessionId;
+
+    @XmlElement(name = "acct_session_id")
+    private String acctSessionId;
+
+    @XmlElement(name = "user_name")
+    private String userName;
+
+    @XmlElement(name = "calling_station_id")
+    private String callingStationId;
+
+    @XmlElement(name = "framed_ip_address")
+    private String framedIpAddress;
+
+    @XmlElement(name = "nas_ip_address")
+    private String nasIpAddress;
+
+    @XmlElement(name = "nas_port_id")
+    private String nasPortId;
+
+    @XmlElement(name = "authentication_method")
+    private String authenticationMethod;
+
+    @XmlElement(name = "selected_azn_profiles")
+    private String selectedAznProfiles;
+
+    @XmlElement(name = "cts_security_group")
+    private String ctsSecurityGroup;
+
+    @XmlElement(name = "endpoint_policy")
+    private String endpointPolicy;
+
+    @XmlElement(name = "posture_status")
+    private String postureStatus;
+
+    @XmlElement(name = "acct_status_type")
+    private String acctStatusType;
+
+    @XmlElement(name = "acct_session_time")
+    private Long acctSessionTime;
+
+    @XmlElement(name = "auth_acs_timestamp")
+    private String authAcsTimestamp;
+
+    /**
+     * One entry of {@code /Session/ActiveList}
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    @NoArgsConstructor
+    @XmlRootElement(name = "activeSession")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    static class Active extends MnTSession {
+    }
+
+    /**
+     * The CoA reply, {@code <remoteCoA><results>true</results></remoteCoA>}
+     */
+    @Data
+    @NoArgsConstructor
+    @XmlRootElement(name = "remoteCoA")
+    @XmlAccessorType(XmlAccessType.FIELD)
+    static class CoAResult {
+        private boolean results;
+    }
+
+    /**
+     * MnT keys sessions by audit session id and reports the endpoint MAC as the calling station id
+     */
+    ISESession toISESession() {
+        return ISESession.builder()
+                .sessionId(auditSessionId != null ? auditSessionId : acctSessionId)
+                .userName(userName)
+                .macAddress(callingStationId)
+                .callingStationId(callingStationId)
+                .ipAddress(framedIpAddress)
+                .nasIpAddress(nasIpAddress)
+                .nasPortId(nasPortId)
+                .authenticationMethod(authenticationMethod)
+                .authorizationProfile(selectedAznProfiles)
+                .securityGroup(ctsSecurityGroup)
+                .deviceType(endpointPolicy)
+                .postureStatus(postureStatus)
+                .sessionState("Stop".equalsIgnoreCase(acctStatusType) ? "DISCONNECTED" : "ACTIVE")
+                .sessionDuration(acctSessionTime)
+                .lastUpdateTime(timestamp(authAcsTimestamp))
+                .build();
+    }
+
+    // MnT timestamps carry an offset, e.g. 2026-01-01T10:00:00.123+00:00; unparsable ones are left out
+    private static LocalDateTime timestamp(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(text.trim()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(text.trim());
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+}
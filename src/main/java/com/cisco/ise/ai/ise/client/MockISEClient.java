@@ -2,6 +2,7 @@ package com.cisco.ise.ai.ise.client;
 
 import lombok.extern.slf4j.Slf4j;
 import com.cisco.ise.ai.ise.model.*;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -12,9 +13,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Mock implementation of ISE Client for testing and development
+ * Mock implementation of ISE Client for testing and development; the default unless
+ * {@code ise.client} selects {@link WebClientISEClient}
  */
 @Component
+@ConditionalOnProperty(prefix = "ise", name = "client", havingValue = "mock", matchIfMissing = true)
 @Slf4j
 public class MockISEClient implements ISEClient {
     
@@ -0,0 +1,317 @@
+package com.cisco.ise.ai.ise.client;
+
+import com.cisco.ise.ai.config.ISEClientProperties;
+import com.cisco.ise.ai.ise.model.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * ISE client calling a live ISE node over the pooled, non-blocking {@code iseWebClient}.
+ *
+ * Policies map to network access policy sets on the ISE OpenAPI, sessions to the MnT session
+ * endpoints and CoA to MnT CoA and ERS ANC. OpenAPI and ERS speak JSON; MnT answers in XML, which is
+ * bound to {@link MnTSession} and mapped onto {@link ISESession}. Session lists are decoded as a
+ * stream, one element at a time, so a node with many active sessions never has its whole list
+ * buffered; policy-set responses are small and decoded whole.
+ *
+ * Idempotent calls are retried on connection errors, 429 and 5xx; creates are not. Every call is
+ * timed as {@code ise.client.requests}, tagged by operation and outcome.
+ */
+@Component
+@ConditionalOnProperty(prefix = "ise", name = "client", havingValue = "webclient")
+@Slf4j
+public class WebClientISEClient implements ISEClient {
+
+    static final String POLICY_SETS = "/api/v1/policy/network-access/policy-set";
+    static final String ACTIVE_SESSIONS = "/admin/API/mnt/Session/ActiveList";
+    static final String SESSION_BY_ID = "/admin/API/mnt/Session/Active/SessionID/{sessionId}/0";
+    static final String SESSIONS_BY_USER = "/admin/API/mnt/Session/UserName/{userName}";
+    static final String SESSIONS_BY_MAC = "/admin/API/mnt/Session/MACAddress/{macAddress}";
+    static final String COA_REAUTH = "/admin/API/mnt/CoA/Reauth/{node}/{macAddress}/{reauthType}";
+    static final String COA_DISCONNECT = "/admin/API/mnt/CoA/Disconnect/{node}/{macAddress}/{disconnectType}/{nasIpAddress}/{ipAddress}";
+    static final String ANC_APPLY = "/ers/config/ancendpoint/apply";
+    static final String VERSION = "/admin/API/mnt/Version";
+
+    // MnT reauth type 0 is the default reauthentication, disconnect type 0 the default disconnect
+    private static final int REAUTH_DEFAULT = 0;
+    private static final int DISCONNECT_DEFAULT = 0;
+
+    private static final ParameterizedTypeReference<Response<ISEPolicy>> POLICY =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<List<ISEPolicy>>> POLICIES =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final ISEClientProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final String mntNode;
+
+    public WebClientISEClient(@Qualifier("iseWebClient") WebClient webClient, ISEClientProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.mntNode = properties.getMntNode() != null
+                ? properties.getMntNode()
+                : UriComponentsBuilder.fromUriString(properties.getBaseUrl()).build().getHost();
+    }
+
+    @Override
+    public Mono<ISEPolicy> createPolicy(ISEPolicyRequest request) {
+        log.info("Creating ISE policy set: {}", request.getName());
+        // Not idempotent: a create that timed out may have been applied, so it is never retried
+        return timed("createPolicy", webClient.post()
+                .uri(POLICY_SETS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(POLICY)
+                .mapNotNull(Response::getResponse));
+    }
+
+    @Override
+    public Mono<ISEPolicy> updatePolicy(String policyId, ISEPolicyRequest request) {
+        log.info("Updating ISE policy set: {}", policyId);
+        return timed("updatePolicy", webClient.put()
+                .uri(POLICY_SETS + "/{id}", policyId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(POLICY)
+                .mapNotNull(Response::getResponse)
+                .retryWhen(retry()));
+    }
+
+    @Override
+    public Mono<Void> deletePolicy(String policyId) {
+        log.info("Deleting ISE policy set: {}", policyId);
+        return timed("deletePolicy", webClient.delete()
+                .uri(POLICY_SETS + "/{id}", policyId)
+                .retrieve()
+                .bodyToMono(Void.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                .retryWhen(retry()));
+    }
+
+    @Override
+    public Mono<ISEPolicy> getPolicy(String policyId) {
+        log.debug("Getting ISE policy set: {}", policyId);
+        return timed("getPolicy", webClient.get()
+                .uri(POLICY_SETS + "/{id}", policyId)
+                .retrieve()
+                .bodyToMono(POLICY)
+                .mapNotNull(Response::getResponse)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                .retryWhen(retry()));
+    }
+
+    @Override
+    public Flux<ISEPolicy> getAllPolicies() {
+        log.debug("Getting all ISE policy sets");
+        return timed("getAllPolicies", webClient.get()
+                .uri(POLICY_SETS)
+                .retrieve()
+                .bodyToMono(POLICIES)
+                .retryWhen(retry())
+                .flatMapIterable(response -> response.getResponse() != null ? response.getResponse() : List.of()));
+    }
+
+    @Override
+    public Mono<ISESession> getSession(String sessionId) {
+        log.debug("Getting ISE session: {}", sessionId);
+        return timed("getSession", webClient.get()
+                .uri(SESSION_BY_ID, sessionId)
+                .accept(MediaType.APPLICATION_XML)
+                .retrieve()
+                .bodyToMono(MnTSession.class)
+                .map(MnTSession::toISESession)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                .retryWhen(retry()));
+    }
+
+    @Override
+    public Flux<ISESession> getActiveSessions() {
+        log.debug("Getting all active ISE sessions");
+        return timed("getActiveSessions", sessions(webClient.get().uri(ACTIVE_SESSIONS), MnTSession.Active.class));
+    }
+
+    @Override
+    public Flux<ISESession> getSessionsByUser(String username) {
+        log.debug("Getting ISE sessions for user: {}", username);
+        return timed("getSessionsByUser", sessions(webClient.get().uri(SESSIONS_BY_USER, username), MnTSession.class));
+    }
+
+    @Override
+    public Flux<ISESession> getSessionsByDevice(String macAddress) {
+        log.debug("Getting ISE sessions for device: {}", macAddress);
+        return timed("getSessionsByDevice", sessions(webClient.get().uri(SESSIONS_BY_MAC, macAddress), MnTSession.class));
+    }
+
+    @Override
+    public Mono<ISECoAResponse> sendCoAReauth(String sessionId) {
+        log.info("Sending CoA Reauth for session: {}", sessionId);
+        return coa(sessionId, "REAUTH", session -> webClient.get()
+                .uri(COA_REAUTH, mntNode, session.getMacAddress(), REAUTH_DEFAULT)
+                .accept(MediaType.APPLICATION_XML)
+                .retrieve()
+                .bodyToMono(MnTSession.CoAResult.class)
+                .map(MnTSession.CoAResult::isResults));
+    }
+
+    @Override
+    public Mono<ISECoAResponse> sendCoADisconnect(String sessionId) {
+        log.info("Sending CoA Disconnect for session: {}", sessionId);
+        return coa(sessionId, "DISCONNECT", session -> webClient.get()
+                .uri(COA_DISCONNECT, mntNode, session.getMacAddress(), DISCONNECT_DEFAULT,
+                        session.getNasIpAddress(), session.getIpAddress())
+                .accept(MediaType.APPLICATION_XML)
+                .retrieve()
+                .bodyToMono(MnTSession.CoAResult.class)
+                .map(MnTSession.CoAResult::isResults));
+    }
+
+    @Override
+    public Mono<ISECoAResponse> sendCoAReauthorize(String sessionId, String newProfile) {
+        log.info("Sending CoA Reauthorize for session: {} with profile: {}", sessionId, newProfile);
+        // ISE reauthorizes an endpoint into a new profile by applying an ANC policy to its MAC address
+        return coa(sessionId, "REAUTHORIZE", session -> webClient.put()
+                .uri(ANC_APPLY)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("OperationAdditionalData", Map.of("additionalData", List.of(
+                        Map.of("name", "macAddress", "value", session.getMacAddress()),
+                        Map.of("name", "policyName", "value", newProfile)))))
+                .retrieve()
+                .toBodilessEntity()
+                .thenReturn(true));
+    }
+
+    @Override
+    public Mono<String> getSystemHealth() {
+        return timed("getSystemHealth", webClient.get()
+                .uri(VERSION)
+                .accept(MediaType.APPLICATION_XML)
+                .retrieve()
+                .toBodilessEntity()
+                .thenReturn("HEALTHY"))
+                .onErrorReturn("UNHEALTHY");
+    }
+
+    // Each matching XML element is decoded as it arrives rather than the whole body buffered
+    private Flux<ISESession> sessions(WebClient.RequestHeadersSpec<?> request, Class<? extends MnTSession> element) {
+        return request.accept(MediaType.APPLICATION_XML)
+                .retrieve()
+                .bodyToFlux(element)
+                .map(MnTSession::toISESession)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Flux.empty())
+                .retryWhen(retry());
+    }
+
+    private Mono<ISECoAResponse> coa(String sessionId, String coaType,
+                                     Function<ISESession, Mono<Boolean>> send) {
+        long start = System.nanoTime();
+        return getSession(sessionId)
+                .flatMap(session -> timed("sendCoA" + coaType, send.apply(session))
+                        .map(accepted -> coaResponse(sessionId, coaType, start, accepted ? "SUCCESS" : "FAILED",
+                                accepted ? "CoA request processed successfully" : "CoA request rejected by ISE",
+                                accepted ? null : "COA_REJECTED"))
+                        .onErrorResume(WebClientResponseException.class, e -> Mono.just(coaResponse(sessionId, coaType,
+                                start, "FAILED", e.getMessage(), "HTTP_" + e.getStatusCode().value()))))
+                .switchIfEmpty(Mono.fromSupplier(() -> coaResponse(sessionId, coaType, start, "FAILED",
+                        "Session not found", "SESSION_NOT_FOUND")));
+    }
+
+    private static ISECoAResponse coaResponse(String sessionId, String coaType, long start, String status,
+                                              String message, String errorCode) {
+        return ISECoAResponse.builder()
+                .requestId("coa-" + UUID.randomUUID())
+                .sessionId(sessionId)
+                .coaType(coaType)
+                .status(status)
+                .message(message)
+                .errorCode(errorCode)
+                .timestamp(LocalDateTime.now())
+                .processingTimeMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .build();
+    }
+
+    private Retry retry() {
+        return Retry.backoff(properties.getRetryAttempts(), Duration.ofMillis(properties.getRetryBackoffMs()))
+                .filter(WebClientISEClient::isTransient)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientRequestException) {
+            return true;
+        }
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError() || response.getStatusCode().value() == 429;
+        }
+        return false;
+    }
+
+    private <T> Mono<T> timed(String operation, Mono<T> call) {
+        return timed(operation, call.flux()).singleOrEmpty();
+    }
+
+    private <T> Flux<T> timed(String operation, Flux<T> call) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicReference<String> outcome = new AtomicReference<>("SUCCESS");
+            // Recorded before the terminal signal reaches the caller, so a blocked caller sees the sample
+            return call
+                    .doOnError(e -> outcome.set(outcome(e)))
+                    .doOnTerminate(() -> record(operation, outcome.get(), start))
+                    .doOnCancel(() -> record(operation, "CANCELLED", start));
+        });
+    }
+
+    private void record(String operation, String outcome, long start) {
+        Timer.builder("ise.client.requests")
+                .description("ISE REST calls, including retries and reading the response")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcome(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is4xxClientError() ? "CLIENT_ERROR" : "SERVER_ERROR";
+        }
+        return "ERROR";
+    }
+
+    /**
+     * The {"response": ...} envelope of ISE OpenAPI replies
+     */
+    @Data
+    @NoArgsConstructor
+    static class Response<T> {
+        private T response;
+    }
+}
@@ -1,12 +1,16 @@
 package com.cisco.ise.ai.ise.controller;
 
+import com.cisco.ise.ai.engine.model.PolicyImpact;
 import com.cisco.ise.ai.ise.model.ISESession;
 import com.cisco.ise.ai.ise.service.MockISEService;
+import com.cisco.ise.ai.model.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -163,6 +167,30 @@ public class MockISEController {
         }
     }
     
+    /**
+     * Get the stored state of a session, including sessions no longer active
+     * GET /ise/sessions/{sessionId}/stored
+     */
+    @GetMapping("/sessions/{sessionId}/stored")
+    public Mono<ResponseEntity<Session>> getStoredSession(@PathVariable String sessionId) {
+        logger.debug("💾 ISE API request for stored session: {}", sessionId);
+        
+        return mockISEService.getStoredSession(sessionId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorReturn(ResponseEntity.internalServerError().build());
+    }
+    
+    /**
+     * Get the stored sessions of a user, most recently updated first
+     * GET /ise/sessions/user/{userName}/stored
+     */
+    @GetMapping("/sessions/user/{userName}/stored")
+    public Flux<Session> getStoredSessionsByUser(@PathVariable String userName) {
+        logger.debug("💾 ISE API request for stored user sessions: {}", userName);
+        return mockISEService.getStoredSessionsByUser(userName);
+    }
+    
     /**
      * ISE Health Check endpoint
      * GET /ise/health
@@ -188,6 +216,20 @@ public class MockISEController {
         }
     }
     
+    /**
+     * Get the sessions affected by the most recent policy change
+     * GET /ise/policy-impact
+     */
+    @GetMapping("/policy-impact")
+    public ResponseEntity<PolicyImpact> getLastPolicyImpact() {
+        PolicyImpact impact = mockISEService.getLastPolicyImpact();
+        if (impact != null) {
+            return ResponseEntity.ok(impact);
+        } else {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
     /**
      * Simulate ISE CoA (Change of Authorization) - Disconnect
      * POST /ise/coa/disconnect/{sessionId}
@@ -1,9 +1,13 @@
 package com.cisco.ise.ai.ise.model;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -49,6 +53,28 @@ public class ISESession {
     private String threatLevel;
     private String aiRecommendation;
     
+    // Parsed forms of ipAddress and nasIpAddress, computed on first use
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final transient ParsedAddresses parsedAddresses = new ParsedAddresses();
+    
+    /**
+     * Parsed {@link #ipAddress}, or null when absent or not an IP address; parsed once and
+     * reused until the address changes
+     */
+    public IpAddress ipAddressValue() {
+        return parsedAddresses.ipAddress(ipAddress);
+    }
+    
+    /**
+     * Parsed {@link #nasIpAddress}, or null when absent or not an IP address; parsed once and
+     * reused until the address changes
+     */
+    public IpAddress nasIpAddressValue() {
+        return parsedAddresses.nasIpAddress(nasIpAddress);
+    }
+    
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -72,4 +98,42 @@ public class ISESession {
         private LocalDateTime lastThreatTime;
         private Map<String, Object> threatAttributes;
     }
+    
+    /**
+     * Last parsed address per field, keyed by the text it was parsed from
+     */
+    private static final class ParsedAddresses {
+        
+        private volatile Parsed ipAddress;
+        private volatile Parsed nasIpAddress;
+        
+        IpAddress ipAddress(String text) {
+            Parsed parsed = ipAddress;
+            if (parsed == null || parsed.text != text) {
+                parsed = new Parsed(text, IpAddress.parse(text));
+                ipAddress = parsed;
+            }
+            return parsed.address;
+        }
+        
+        IpAddress nasIpAddress(String text) {
+            Parsed parsed = nasIpAddress;
+            if (parsed == null || parsed.text != text) {
+                parsed = new Parsed(text, IpAddress.parse(text));
+                nasIpAddress = parsed;
+            }
+            return parsed.address;
+        }
+    }
+    
+    private static final class Parsed {
+        
+        private final String text;
+        private final IpAddress address;
+        
+        Parsed(String text, IpAddress address) {
+            this.text = text;
+            this.address = address;
+        }
+    }
 }
@@ -0,0 +1,192 @@
+package com.cisco.ise.ai.ise.model;
+
+/**
+ * IPv4 or IPv6 address as a 128-bit value.
+ *
+ * IPv4 addresses are held in their IPv4-mapped IPv6 form ({@code ::ffff:a.b.c.d}), so one
+ * address space and one prefix trie serve both families. Parsing is purely lexical and never
+ * performs a name lookup.
+ */
+public final class IpAddress {
+
+    private static final long IPV4_MAPPED_HIGH = 0L;
+    private static final long IPV4_MAPPED_LOW = 0x0000_FFFF_0000_0000L;
+
+    private final long high;
+    private final long low;
+
+    public IpAddress(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Parses dotted-quad IPv4 or RFC 4291 IPv6 text (an IPv6 zone suffix is ignored);
+     * returns null for anything else
+     */
+    public static IpAddress parse(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        int zone = text.indexOf('%');
+        String address = zone >= 0 ? text.substring(0, zone) : text;
+        if (address.indexOf(':') < 0) {
+            long ipv4 = parseIpv4(address, 0, address.length());
+            return ipv4 >= 0 ? new IpAddress(IPV4_MAPPED_HIGH, IPV4_MAPPED_LOW | ipv4) : null;
+        }
+        return parseIpv6(address);
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    public boolean isIpv4() {
+        return high == IPV4_MAPPED_HIGH && (low & 0xFFFF_FFFF_0000_0000L) == IPV4_MAPPED_LOW;
+    }
+
+    /**
+     * Bit {@code index} counting from the most significant bit of the 128-bit value
+     */
+    public int bit(int index) {
+        return (int) (index < 64 ? high >>> (63 - index) : low >>> (127 - index)) & 1;
+    }
+
+    private static long parseIpv4(String text, int from, int to) {
+        long value = 0;
+        int octets = 0;
+        int position = from;
+        while (position < to) {
+            int start = position;
+            int octet = 0;
+            while (position < to && text.charAt(position) != '.') {
+                char c = text.charAt(position);
+                if (c < '0' || c > '9' || position - start == 3) {
+                    return -1;
+                }
+                octet = octet * 10 + (c - '0');
+                position++;
+            }
+            if (position == start || octet > 255 || octets == 4) {
+                return -1;
+            }
+            value = (value << 8) | octet;
+            octets++;
+            if (position < to) {
+                position++;
+                if (position == to) {
+                    return -1;
+                }
+            }
+        }
+        return octets == 4 ? value : -1;
+    }
+
+    private static IpAddress parseIpv6(String text) {
+        int[] groups = new int[8];
+        int count = 0;
+        int compressedAt = -1;
+        int length = text.length();
+        int position = 0;
+
+        if (text.startsWith("::")) {
+            compressedAt = 0;
+            position = 2;
+        } else if (text.startsWith(":")) {
+            return null;
+        }
+        while (position < length) {
+            if (count == 8) {
+                return null;
+            }
+            int start = position;
+            while (position < length && text.charAt(position) != ':' && text.charAt(position) != '.') {
+                position++;
+            }
+            if (position < length && text.charAt(position) == '.') {
+                // Embedded IPv4 tail fills the last two groups
+                long ipv4 = parseIpv4(text, start, length);
+                if (ipv4 < 0 || count > 6) {
+                    return null;
+                }
+                groups[count++] = (int) (ipv4 >>> 16);
+                groups[count++] = (int) (ipv4 & 0xFFFF);
+                position = length;
+                break;
+            }
+            if (position - start == 0 || position - start > 4) {
+                return null;
+            }
+            int group = 0;
+            for (int i = start; i < position; i++) {
+                int digit = Character.digit(text.charAt(i), 16);
+                if (digit < 0) {
+                    return null;
+                }
+                group = (group << 4) | digit;
+            }
+            groups[count++] = group;
+            if (position < length) {
+                position++;
+                if (position < length && text.charAt(position) == ':') {
+                    if (compressedAt >= 0) {
+                        return null;
+                    }
+                    compressedAt = count;
+                    position++;
+                } else if (position == length) {
+                    return null;
+                }
+            }
+        }
+
+        if (compressedAt < 0 ? count != 8 : count == 8) {
+            return null;
+        }
+        int[] expanded = new int[8];
+        if (compressedAt < 0) {
+            expanded = groups;
+        } else {
+            System.arraycopy(groups, 0, expanded, 0, compressedAt);
+            int tail = count - compressedAt;
+            System.arraycopy(groups, compressedAt, expanded, 8 - tail, tail);
+        }
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < 4; i++) {
+            high = (high << 16) | expanded[i];
+            low = (low << 16) | expanded[i + 4];
+        }
+        return new IpAddress(high, low);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof IpAddress other && high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high) * 31 + Long.hashCode(low);
+    }
+
+    @Override
+    public String toString() {
+        if (isIpv4()) {
+            return ((low >>> 24) & 0xFF) + "." + ((low >>> 16) & 0xFF) + "." + ((low >>> 8) & 0xFF) + "." + (low & 0xFF);
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            long word = i < 4 ? high : low;
+            if (i > 0) {
+                text.append(':');
+            }
+            text.append(Long.toHexString((word >>> (48 - 16 * (i % 4))) & 0xFFFF));
+        }
+        return text.toString();
+    }
+}
@@ -1,5 +1,12 @@
 package com.cisco.ise.ai.ise.service;
 
+import com.cisco.ise.ai.engine.CompiledPolicy;
+import com.cisco.ise.ai.engine.PolicyDecisionEngine;
+import com.cisco.ise.ai.engine.PolicySnapshotChangedEvent;
+import com.cisco.ise.ai.engine.SessionAttributeIndex;
+import com.cisco.ise.ai.engine.model.PolicyDecision;
+import com.cisco.ise.ai.engine.model.PolicyImpact;
+import com.cisco.ise.ai.ise.model.ISECoAResponse;
 import com.cisco.ise.ai.ise.model.ISESession;
 import com.cisco.ise.ai.ise.client.ISEClient;
 import com.cisco.ise.ai.orchestrator.PolicyOrchestrator;
@@ -9,17 +16,33 @@ import com.cisco.ise.ai.ai.service.PolicyRecommendationService;
 import com.cisco.ise.ai.ai.model.RiskAssessment;
 import com.cisco.ise.ai.ai.model.ThreatDetection;
 import com.cisco.ise.ai.ai.model.PolicyRecommendation;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.model.Session;
+import com.cisco.ise.ai.repository.PolicyExecutionWriter;
+import com.cisco.ise.ai.repository.PolicyStore;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.Collection;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Mock ISE Service that simulates Cisco ISE behavior
@@ -42,9 +65,43 @@ public class MockISEService {
     @Autowired
     private PolicyRecommendationService policyRecommendationService;
     
+    @Autowired
+    private PolicyDecisionEngine policyDecisionEngine;
+    
+    @Autowired
+    private ISEClient iseClient;
+    
+    @Autowired
+    private PolicyExecutionWriter executionWriter;
+    
+    @Autowired
+    private SessionWriter sessionWriter;
+    
+    @Autowired
+    private PolicyStore policyStore;
+    
     // Cache for active sessions (simulating ISE session database)
     private final Map<String, ISESession> activeSessions = new ConcurrentHashMap<>();
     
+    // Reverse index from indexed attribute values to active session ids
+    private final SessionAttributeIndex sessionIndex = new SessionAttributeIndex();
+    
+    // Latest policy decision per active session, never replaced by one from an older snapshot
+    private final Map<String, PolicyDecision> sessionDecisions = new ConcurrentHashMap<>();
+    
+    // Snapshot changes not yet analyzed; the analyzer drains them together
+    private final List<PolicySnapshotChangedEvent> pendingChanges = new ArrayList<>();
+    
+    // Re-evaluation and CoA fan-out run here, off the thread that published the snapshot
+    private final ExecutorService impactAnalyzer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "policy-impact");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Outcome of the most recent policy change impact analysis
+    private volatile PolicyImpact lastPolicyImpact;
+    
     /**
      * Receives session data from simulator (simulating ISE receiving network data)
      * This is the entry point from the simulator
@@ -52,8 +109,21 @@ public class MockISEService {
     public void receiveSessionFromSimulator(ISESession session) {
         logger.info("🌐 ISE received session data from simulator: {}", session.getSessionId());
         
-        // Store session in ISE cache
+        // Store session in ISE cache; the sessions table catches up at the next write-behind flush
         activeSessions.put(session.getSessionId(), session);
+        sessionIndex.put(session);
+        sessionWriter.record(session);
+        
+        // Inline authorization decision against the compiled active policy set; a snapshot published
+        // meanwhile may have been analyzed before this session was indexed, so evaluate against it again
+        PolicyDecision decision;
+        do {
+            decision = policyDecisionEngine.evaluate(session);
+            storeDecision(session.getSessionId(), decision);
+        } while (decision.getSnapshotEpoch() < policyDecisionEngine.getSnapshot().getEpoch());
+        logger.debug("⚖️ Policy decision for {}: {} ({} policies, {} ns)", session.getSessionId(),
+                decision.isMatched() ? decision.getPolicyName() : "no match",
+                decision.getPoliciesEvaluated(), decision.getEvaluationTimeNanos());
         
         // Forward to our Intelligent Policy Service for AI analysis
         processSessionThroughPolicyService(session);
@@ -178,6 +248,8 @@ public class MockISEService {
             
             // Store updated session
             activeSessions.put(session.getSessionId(), session);
+            sessionIndex.put(session);
+            sessionWriter.record(session);
             
             // Create policy if recommendation suggests it
             if (shouldCreatePolicy(riskAssessment, threatDetection, policyRecommendation)) {
@@ -239,6 +311,176 @@ public class MockISEService {
         }
     }
     
+    /**
+     * Queues a policy change for impact analysis. Changes that arrive while an analysis is
+     * running are analyzed together in the next one.
+     */
+    @EventListener
+    public void onPolicySnapshotChanged(PolicySnapshotChangedEvent event) {
+        if (event.isReindex()) {
+            return;
+        }
+        synchronized (pendingChanges) {
+            pendingChanges.add(event);
+            if (pendingChanges.size() == 1) {
+                impactAnalyzer.execute(this::analyzePendingChanges);
+            }
+        }
+    }
+    
+    private void analyzePendingChanges() {
+        List<PolicySnapshotChangedEvent> events;
+        synchronized (pendingChanges) {
+            events = List.copyOf(pendingChanges);
+            pendingChanges.clear();
+        }
+        try {
+            analyzeImpact(events);
+        } catch (RuntimeException e) {
+            logger.error("❌ Policy change impact analysis failed: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Re-evaluates the active sessions the policy changes can affect and reauthorizes
+     * those whose decision changed. Candidates come from the reverse attribute index;
+     * only reloads and changes to unindexable policies re-evaluate every session.
+     */
+    private void analyzeImpact(List<PolicySnapshotChangedEvent> events) {
+        long start = System.nanoTime();
+        long epoch = 0;
+        Set<String> changedPolicyIds = new LinkedHashSet<>();
+        Set<String> affected = new HashSet<>();
+        for (PolicySnapshotChangedEvent event : events) {
+            epoch = Math.max(epoch, event.getCurrent().getEpoch());
+            if (event.getChangedPolicyIds() != null) {
+                changedPolicyIds.addAll(event.getChangedPolicyIds());
+            }
+            // Each change is checked against its own pair of snapshots, so no intermediate version is missed
+            if (affected != null) {
+                Set<String> sessions = sessionIndex.affectedBy(event.getPrevious(), event.getCurrent(), event.getChangedPolicyIds());
+                if (sessions != null) {
+                    affected.addAll(sessions);
+                } else {
+                    affected = null;
+                }
+            }
+        }
+        Collection<String> candidates = affected != null ? affected : List.copyOf(activeSessions.keySet());
+        
+        List<String> changed = new ArrayList<>();
+        for (String sessionId : candidates) {
+            ISESession session = activeSessions.get(sessionId);
+            if (session == null) {
+                continue;
+            }
+            PolicyDecision decision = policyDecisionEngine.evaluate(session);
+            PolicyDecision previous = storeDecision(sessionId, decision);
+            if (previous != null && outcomeChanged(previous, decision)) {
+                changed.add(sessionId);
+                reauthorize(session, decision);
+            }
+        }
+        
+        lastPolicyImpact = PolicyImpact.builder()
+                .snapshotEpoch(epoch)
+                .changedPolicyIds(changedPolicyIds)
+                .fullScan(affected == null)
+                .activeSessions(activeSessions.size())
+                .reevaluatedSessions(candidates.size())
+                .changedSessionIds(changed)
+                .analysisTimeNanos(System.nanoTime() - start)
+                .analyzedAt(LocalDateTime.now())
+                .build();
+        logger.info("🎯 Policy change impact at epoch {} ({} changes): re-evaluated {} of {} sessions, {} changed",
+                epoch, events.size(), candidates.size(), activeSessions.size(), changed.size());
+    }
+    
+    /**
+     * Stores the decision unless the session already has one from a newer snapshot. Returns the
+     * decision it replaced, or null when there was none or the stored one was kept.
+     */
+    private PolicyDecision storeDecision(String sessionId, PolicyDecision decision) {
+        PolicyDecision[] replaced = new PolicyDecision[1];
+        sessionDecisions.merge(sessionId, decision, (stored, next) -> {
+            if (next.getSnapshotEpoch() < stored.getSnapshotEpoch()) {
+                return stored;
+            }
+            replaced[0] = stored;
+            return next;
+        });
+        return replaced[0];
+    }
+    
+    private boolean outcomeChanged(PolicyDecision previous, PolicyDecision current) {
+        return !Objects.equals(previous.getPolicyId(), current.getPolicyId())
+                || !Objects.equals(previous.getActions(), current.getActions());
+    }
+    
+    /**
+     * Sends a CoA so the network device applies the session's new authorization
+     */
+    private void reauthorize(ISESession session, PolicyDecision decision) {
+        String profile = decision.isMatched()
+                ? String.valueOf(decision.getActions().getOrDefault("profile", decision.getPolicyName()))
+                : "default";
+        long start = System.nanoTime();
+        iseClient.sendCoAReauthorize(session.getSessionId(), profile)
+            .subscribe(
+                response -> {
+                    logger.info("🔁 CoA reauthorize for {} ({}): {}",
+                            session.getSessionId(), profile, response.getStatus());
+                    recordCoA(session, decision, response, null, start);
+                },
+                error -> {
+                    logger.error("❌ CoA reauthorize failed for {}: {}",
+                            session.getSessionId(), error.getMessage());
+                    recordCoA(session, decision, null, error, start);
+                }
+            );
+    }
+    
+    /**
+     * Logs the CoA against the policy that triggered it; CoAs back to the default profile have no policy to log against
+     */
+    private void recordCoA(ISESession session, PolicyDecision decision, ISECoAResponse response, Throwable error, long start) {
+        CompiledPolicy policy = decision.isMatched() ? policyDecisionEngine.getSnapshot().getPolicy(decision.getPolicyId()) : null;
+        if (policy == null || policy.getId() == null) {
+            return;
+        }
+        boolean succeeded = response != null && ISECoAResponse.CoAStatus.SUCCESS.name().equals(response.getStatus());
+        // A reference only needs id and a non-null version for Hibernate to treat it as an existing policy
+        Policy reference = Policy.builder()
+                .id(policy.getId())
+                .version(policy.getVersion())
+                .policyId(policy.getPolicyId())
+                .name(policy.getName())
+                .build();
+        executionWriter.record(PolicyExecution.builder()
+                .executionId(UUID.randomUUID().toString())
+                .policy(reference)
+                .sessionId(session.getSessionId())
+                .userName(session.getUserName())
+                .deviceMac(session.getMacAddress())
+                .executionStatus(succeeded ? PolicyExecution.ExecutionStatus.SUCCESS : PolicyExecution.ExecutionStatus.FAILED)
+                .executionType(PolicyExecution.ExecutionType.AUTOMATIC)
+                .triggerReason("Policy change at epoch " + decision.getSnapshotEpoch())
+                .riskScoreAfter(session.getRiskScore())
+                .executionTimeMs((System.nanoTime() - start) / 1_000_000)
+                .coaSent(true)
+                .coaResponse(response != null ? response.getStatus() : null)
+                .errorMessage(error != null ? error.getMessage() : null)
+                .executedBy("policy-engine")
+                .build());
+    }
+    
+    /**
+     * Gets the outcome of the most recent policy change impact analysis
+     */
+    public PolicyImpact getLastPolicyImpact() {
+        return lastPolicyImpact;
+    }
+    
     /**
      * Gets all active sessions (for UI consumption)
      */
@@ -253,6 +495,28 @@ public class MockISEService {
         return activeSessions.get(sessionId);
     }
     
+    /**
+     * Gets the latest policy decision for a session
+     */
+    public PolicyDecision getSessionDecision(String sessionId) {
+        return sessionDecisions.get(sessionId);
+    }
+    
+    /**
+     * Gets the stored state of a session, live or not; lags the live session by up to one
+     * write-behind flush interval
+     */
+    public Mono<Session> getStoredSession(String sessionId) {
+        return policyStore.findSession(sessionId);
+    }
+    
+    /**
+     * Gets the stored sessions of a user, most recently updated first
+     */
+    public Flux<Session> getStoredSessionsByUser(String userName) {
+        return policyStore.findSessionsByUserName(userName);
+    }
+    
     /**
      * Gets sessions by user
      */
@@ -275,13 +539,24 @@ public class MockISEService {
         return health;
     }
     
+    @PreDestroy
+    public void shutdown() {
+        impactAnalyzer.shutdownNow();
+    }
+    
     /**
      * Clears old sessions (cleanup)
      */
     public void cleanupOldSessions() {
         LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
-        activeSessions.entrySet().removeIf(entry -> 
-            entry.getValue().getLastUpdateTime().isBefore(cutoff));
+        activeSessions.entrySet().removeIf(entry -> {
+            boolean expired = entry.getValue().getLastUpdateTime().isBefore(cutoff);
+            if (expired) {
+                sessionIndex.remove(entry.getKey());
+            }
+            return expired;
+        });
+        sessionDecisions.keySet().retainAll(activeSessions.keySet());
         
         logger.debug("🧹 Cleaned up old sessions. Active sessions: {}", activeSessions.size());
     }
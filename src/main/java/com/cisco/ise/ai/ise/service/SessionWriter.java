@@ -0,0 +1,291 @@
+package com.cisco.ise.ai.ise.service;
+
+import com.cisco.ise.ai.config.SessionWriterProperties;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.cisco.ise.ai.model.Session;
+import com.cisco.ise.ai.repository.PolicyStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind persistence of live ISE sessions into the {@link Session} table.
+ *
+ * Recording a session only replaces its entry in a map of changed sessions keyed by session id, so
+ * any number of updates to one session between flushes become a single row write. Every
+ * {@code policy.sessions.flush-interval-ms}, or sooner once {@code max-pending} sessions have
+ * changed, a background thread drains the map and upserts it {@code batch-size} sessions per
+ * transaction. Flushes never overlap, so a session's writes land in the order they were recorded.
+ *
+ * Durability: a session's state is durable once its batch is written; a crash loses at most one
+ * flush interval of changes, and graceful shutdown writes everything pending. A batch that keeps
+ * failing is written session by session and the sessions that still fail are dropped until their
+ * next update.
+ */
+@Component
+@Slf4j
+public class SessionWriter {
+
+    private final PolicyStore policyStore;
+    private final SessionWriterProperties properties;
+    private final Map<String, Session> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushing = new ReentrantLock();
+    private final Object signal = new Object();
+    private final Timer batchTimer;
+    private final Counter recorded;
+    private final Counter coalesced;
+    private final Counter written;
+    private final Counter dropped;
+
+    private final ReadWriteLock recording = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+    private Thread flusher;
+
+    public SessionWriter(PolicyStore policyStore, SessionWriterProperties properties, MeterRegistry meterRegistry) {
+        this.policyStore = policyStore;
+        this.properties = properties;
+
+        Gauge.builder("policy.sessions.pending", pending, Map::size)
+                .description("Changed sessions waiting to be written")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("policy.sessions.batch")
+                .description("Time to upsert one batch of sessions")
+                .register(meterRegistry);
+        this.recorded = Counter.builder("policy.sessions.recorded")
+                .description("Session updates recorded for writing")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("policy.sessions.coalesced")
+                .description("Session updates folded into a later update of the same session before being written")
+                .register(meterRegistry);
+        this.written = Counter.builder("policy.sessions.written")
+                .description("Session rows written")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("policy.sessions.dropped")
+                .description("Session rows discarded because the write failed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        flusher = new Thread(this::run, "session-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Marks a session changed; its state as of this call is written at the next flush unless a
+     * later update replaces it first
+     */
+    public void record(ISESession session) {
+        if (!properties.isEnabled() || session.getSessionId() == null) {
+            return;
+        }
+        recorded.increment();
+        Session entity = toEntity(session);
+        boolean stopped;
+        // Shutdown flips running under the write lock, so an update either lands before the final
+        // flush or sees running == false and flushes it here
+        recording.readLock().lock();
+        try {
+            if (pending.put(session.getSessionId(), entity) != null) {
+                coalesced.increment();
+            }
+            stopped = !running;
+        } finally {
+            recording.readLock().unlock();
+        }
+        if (stopped) {
+            flush();
+            return;
+        }
+        if (pending.size() >= properties.getMaxPending()) {
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Writes every session changed before the call on the caller's thread, waiting for a flush
+     * already in progress; returns how many sessions were written
+     */
+    public int flush() {
+        flushing.lock();
+        try {
+            int batchSize = Math.max(1, properties.getBatchSize());
+            List<Session> batch = new ArrayList<>(batchSize);
+            int count = 0;
+            for (String sessionId : pending.keySet()) {
+                Session session = pending.remove(sessionId);
+                if (session == null) {
+                    continue;
+                }
+                batch.add(session);
+                if (batch.size() == batchSize) {
+                    count += write(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                count += write(batch);
+            }
+            return count;
+        } finally {
+            flushing.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        recording.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            recording.writeLock().unlock();
+        }
+        if (flusher != null) {
+            // Woken rather than interrupted: an interrupt during a write fails the batch
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        // Anything recorded since the last flush is written before the store goes away
+        flush();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                synchronized (signal) {
+                    if (running && pending.size() < properties.getMaxPending()) {
+                        signal.wait(Math.max(1, properties.getFlushIntervalMs()));
+                    }
+                }
+                if (!running) {
+                    // Shutdown writes what is pending
+                    return;
+                }
+            } catch (InterruptedException e) {
+                // Shutdown writes what is pending
+                return;
+            }
+            try {
+                int count = flush();
+                if (count > 0) {
+                    log.debug("Wrote {} changed sessions", count);
+                }
+            } catch (Exception e) {
+                log.error("Session flush failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private int write(List<Session> batch) {
+        for (int attempt = 1; attempt <= Math.max(1, properties.getMaxAttempts()); attempt++) {
+            try {
+                long start = System.nanoTime();
+                int count = policyStore.saveSessions(batch).block();
+                batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                written.increment(count);
+                return count;
+            } catch (Exception e) {
+                log.warn("Writing {} sessions failed (attempt {}): {}", batch.size(), attempt, e.getMessage());
+            }
+        }
+        // Isolate the sessions that cannot be written
+        int count = 0;
+        for (Session session : batch) {
+            try {
+                count += policyStore.saveSessions(List.of(session)).block();
+                written.increment();
+            } catch (Exception e) {
+                dropped.increment();
+                log.error("Dropped session {}: {}", session.getSessionId(), e.getMessage());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The stored form of a live session; ISE values outside the entity's enums are left unset
+     */
+    static Session toEntity(ISESession session) {
+        LocalDateTime lastUpdate = session.getLastUpdateTime() != null ? session.getLastUpdateTime() : LocalDateTime.now();
+        return Session.builder()
+                .sessionId(session.getSessionId())
+                .userName(session.getUserName())
+                .macAddress(session.getMacAddress())
+                .ipAddress(session.getIpAddress())
+                .nasIpAddress(session.getNasIpAddress())
+                .nasPortId(session.getNasPortId())
+                .callingStationId(session.getCallingStationId())
+                .calledStationId(session.getCalledStationId())
+                .sessionState(sessionState(session.getSessionState()))
+                .authenticationMethod(value(Session.AuthenticationMethod.class, session.getAuthenticationMethod()))
+                .authorizationProfile(session.getAuthorizationProfile())
+                .securityGroup(session.getSecurityGroup())
+                .vlanId(vlanId(session.getVlanId()))
+                .deviceType(session.getDeviceType())
+                .operatingSystem(session.getOperatingSystem())
+                .postureStatus(session.getPostureStatus())
+                .riskScore(session.getRiskScore())
+                .threatLevel(session.getThreatLevel())
+                .location(session.getLocation())
+                .ssid(session.getSsid())
+                .startTime(session.getStartTime() != null ? session.getStartTime() : lastUpdate)
+                .endTime(session.getEndTime())
+                .lastUpdate(lastUpdate)
+                .sessionDuration(session.getSessionDuration())
+                .build();
+    }
+
+    private static Session.SessionState sessionState(String state) {
+        // The simulator reports sessions that have gone away as INACTIVE
+        return "INACTIVE".equalsIgnoreCase(state) ? Session.SessionState.DISCONNECTED : value(Session.SessionState.class, state);
+    }
+
+    private static Integer vlanId(String vlan) {
+        // Accepts "120" as well as names like "VLAN-120"
+        String digits = vlan != null ? vlan.replaceAll("\\D", "") : "";
+        try {
+            return digits.isEmpty() ? null : Integer.valueOf(digits);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static <E extends Enum<E>> E value(Class<E> type, String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT).replace('-', '_').replace(' ', '_'));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.cisco.ise.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Execution statistics of one policy over the retained rollup window, with the most recent buckets
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExecutionRollup {
+
+    private String policyId;
+    private int bucketMinutes;
+
+    // Start of the oldest retained bucket; executions before it are not included
+    private LocalDateTime since;
+
+    // True while executions stored before startup are still being folded in
+    private boolean rebuilding;
+
+    private Stats total;
+
+    // Most recent first, empty buckets omitted
+    private List<Stats> buckets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Stats {
+        // Null for the window total
+        private LocalDateTime bucketStart;
+
+        private long executions;
+        private Map<PolicyExecution.ExecutionStatus, Long> byStatus;
+        private Map<PolicyExecution.ExecutionType, Long> byType;
+        private double successRate;
+
+        // Latency percentiles are histogram bucket bounds, within 25% of the exact value
+        private long timedExecutions;
+        private Long p50ExecutionTimeMs;
+        private Long p95ExecutionTimeMs;
+        private Long p99ExecutionTimeMs;
+        private Long maxExecutionTimeMs;
+
+        // Over executions recording both risk scores
+        private long riskScored;
+        private Double riskScoreBeforeAvg;
+        private Double riskScoreAfterAvg;
+        private Double riskScoreDeltaAvg;
+    }
+}
@@ -0,0 +1,25 @@
+package com.cisco.ise.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    private List<T> items;
+
+    /**
+     * Cursor to pass back for the next page; null on the last page
+     */
+    private String nextCursor;
+}
@@ -1,5 +1,6 @@
 package com.cisco.ise.ai.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,18 +10,24 @@ import lombok.Builder;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Core Policy entity representing network access policies
  */
 @Entity
-@Table(name = "policies")
+@Table(name = "policies", indexes = {
+        @Index(name = "idx_policies_status_priority", columnList = "status, priority"),
+        @Index(name = "idx_policies_priority_id", columnList = "priority, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Policy {
     
+    private static final int BINARY_LENGTH = 1 << 20;
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -52,6 +59,15 @@ public class Policy {
     @Column(columnDefinition = "TEXT")
     private String actions;
     
+    // Canonical binary (Smile) forms of valid conditions and actions; cleared when the JSON changes
+    @JsonIgnore
+    @Column(name = "conditions_binary", length = BINARY_LENGTH)
+    private byte[] conditionsBinary;
+    
+    @JsonIgnore
+    @Column(name = "actions_binary", length = BINARY_LENGTH)
+    private byte[] actionsBinary;
+    
     // Risk score associated with this policy
     @Column(name = "risk_score")
     private Double riskScore;
@@ -83,25 +99,57 @@ public class Policy {
     @Column(name = "approved_at")
     private LocalDateTime approvedAt;
     
+    // Latest revision of the versioned fields; history is in policy_revisions
+    private Long revision;
+    
     // Version for optimistic locking
     @Version
     private Long version;
     
-    // Relationships
+    // Relationships; executions are read through the paginated history, never with the policy
+    @JsonIgnore
     @OneToMany(mappedBy = "policy", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<PolicyExecution> executions;
     
+    public void setConditions(String conditions) {
+        if (!Objects.equals(this.conditions, conditions)) {
+            this.conditionsBinary = null;
+        }
+        this.conditions = conditions;
+    }
+    
+    public void setActions(String actions) {
+        if (!Objects.equals(this.actions, actions)) {
+            this.actionsBinary = null;
+        }
+        this.actions = actions;
+    }
+    
+    /**
+     * Fills in the binary forms the JSON is missing; called by the stores before every write
+     */
+    public void encodeDocuments() {
+        if (conditionsBinary == null) {
+            conditionsBinary = PolicyDocumentCodec.encode(conditions);
+        }
+        if (actionsBinary == null) {
+            actionsBinary = PolicyDocumentCodec.encode(actions);
+        }
+    }
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         if (status == null) {
             status = PolicyStatus.DRAFT;
         }
+        encodeDocuments();
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        encodeDocuments();
     }
     
     public enum PolicyType {
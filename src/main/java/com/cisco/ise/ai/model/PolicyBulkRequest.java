@@ -0,0 +1,39 @@
+package com.cisco.ise.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Policies to change in one bulk operation.
+ *
+ * Each item names a policy and, optionally, the version the caller last read; an item whose
+ * policy has moved past that version is reported as a conflict and left unchanged. Bulk updates
+ * carry the new name, description, conditions, actions and priority in {@code policy}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolicyBulkRequest {
+
+    @Builder.Default
+    private List<Item> items = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private String policyId;
+
+        // Expected optimistic lock version; null applies the change to whatever version is stored
+        private Long version;
+
+        private Policy policy;
+    }
+}
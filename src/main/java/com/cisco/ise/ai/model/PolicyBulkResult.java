@@ -0,0 +1,48 @@
+package com.cisco.ise.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk policy operation, with one item per requested policy in request order.
+ * Every applied item was committed in the same transaction.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolicyBulkResult {
+
+    private String operation;
+    private int succeeded;
+    private int failed;
+    private long elapsedMs;
+
+    private List<Item> items;
+
+    public enum Outcome {
+        APPLIED,
+        NOT_FOUND,
+        CONFLICT,    // the stored version is not the one the caller expected, or it changed mid-operation
+        INVALID      // the item is incomplete, duplicated, or its policy does not compile
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private String policyId;
+        private Outcome outcome;
+
+        // Status and version after the operation; null unless applied
+        private Policy.PolicyStatus status;
+        private Long version;
+
+        private String error;
+    }
+}
@@ -0,0 +1,64 @@
+package com.cisco.ise.ai.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Converts policy conditions and actions between their JSON text and the canonical binary form
+ * stored next to it.
+ *
+ * The binary form is the parsed document re-encoded as Smile: whitespace and formatting are gone,
+ * repeated keys keep their last value, and numbers are stored as numbers. Only text that parses to
+ * a JSON object has one, so a stored binary form is always a valid document.
+ */
+public final class PolicyDocumentCodec {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final SmileMapper SMILE = new SmileMapper();
+
+    private PolicyDocumentCodec() {
+    }
+
+    /**
+     * The canonical binary form of {@code json}, or null when it is blank or not a JSON object
+     */
+    public static byte[] encode(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = JSON.readTree(json);
+            return node != null && node.isObject() ? SMILE.writeValueAsBytes(node) : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The binary form of a document built in memory
+     */
+    public static byte[] encode(JsonNode document) {
+        try {
+            return SMILE.writeValueAsBytes(document);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Unwritable policy document", e);
+        }
+    }
+
+    /**
+     * The document held by a binary form written by {@link #encode}
+     */
+    public static JsonNode decode(byte[] binary) {
+        try {
+            return SMILE.readTree(binary);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable binary policy document", e);
+        }
+    }
+}
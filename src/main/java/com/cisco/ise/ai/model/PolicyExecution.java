@@ -9,18 +9,30 @@ import lombok.Builder;
 import java.time.LocalDateTime;
 
 /**
- * Policy execution tracking entity
+ * Policy execution tracking entity.
+ *
+ * Every history query filters on one column and reads newest first, so each index leads with the
+ * filter column and ends with the sort key; on PostgreSQL the table is partitioned by day on
+ * {@code executed_at} (see {@code schema-postgresql.sql}).
  */
 @Entity
-@Table(name = "policy_executions")
+@Table(name = "policy_executions", indexes = {
+        @Index(name = "idx_policy_executions_policy_time", columnList = "policy_id, executed_at, id"),
+        @Index(name = "idx_policy_executions_session_time", columnList = "session_id, executed_at, id"),
+        @Index(name = "idx_policy_executions_user_time", columnList = "user_name, executed_at"),
+        @Index(name = "idx_policy_executions_status_time", columnList = "execution_status, executed_at"),
+        @Index(name = "idx_policy_executions_executed_at", columnList = "executed_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class PolicyExecution {
     
+    // Pooled sequence ids keep JDBC insert batching available; IDENTITY would disable it
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "policy_execution_seq")
+    @SequenceGenerator(name = "policy_execution_seq", sequenceName = "policy_execution_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "execution_id", unique = true, nullable = false)
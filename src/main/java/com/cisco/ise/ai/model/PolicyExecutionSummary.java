@@ -0,0 +1,63 @@
+package com.cisco.ise.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An execution as shown in history listings: its outcome without the execution result, ISE and CoA
+ * responses, and its policy by id and name only.
+ *
+ * Read by projection queries that select only these columns; the field order is the constructor
+ * order those queries use.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolicyExecutionSummary {
+
+    private Long id;
+    private String executionId;
+    private String policyId;
+    private String policyName;
+    private String sessionId;
+    private String userName;
+    private String deviceMac;
+    private PolicyExecution.ExecutionStatus executionStatus;
+    private PolicyExecution.ExecutionType executionType;
+    private String triggerReason;
+    private String errorMessage;
+    private Double riskScoreBefore;
+    private Double riskScoreAfter;
+    private Long executionTimeMs;
+    private Boolean coaSent;
+    private LocalDateTime executedAt;
+    private String executedBy;
+
+    public static PolicyExecutionSummary of(PolicyExecution execution) {
+        Policy policy = execution.getPolicy();
+        return PolicyExecutionSummary.builder()
+                .id(execution.getId())
+                .executionId(execution.getExecutionId())
+                .policyId(policy != null ? policy.getPolicyId() : null)
+                .policyName(policy != null ? policy.getName() : null)
+                .sessionId(execution.getSessionId())
+                .userName(execution.getUserName())
+                .deviceMac(execution.getDeviceMac())
+                .executionStatus(execution.getExecutionStatus())
+                .executionType(execution.getExecutionType())
+                .triggerReason(execution.getTriggerReason())
+                .errorMessage(execution.getErrorMessage())
+                .riskScoreBefore(execution.getRiskScoreBefore())
+                .riskScoreAfter(execution.getRiskScoreAfter())
+                .executionTimeMs(execution.getExecutionTimeMs())
+                .coaSent(execution.getCoaSent())
+                .executedAt(execution.getExecutedAt())
+                .executedBy(execution.getExecutedBy())
+                .build();
+    }
+}
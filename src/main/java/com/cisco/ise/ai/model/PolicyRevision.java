@@ -0,0 +1,58 @@
+package com.cisco.ise.ai.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One revision of a policy's versioned fields: a full snapshot, or a delta against the revision
+ * before it. Snapshots are written periodically, so rebuilding a revision reads its nearest
+ * snapshot and the bounded run of deltas after it.
+ */
+@Entity
+@Table(name = "policy_revisions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_policy_revisions_policy_revision", columnNames = {"policy_id", "revision"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolicyRevision {
+    
+    private static final int CONTENT_LENGTH = 1 << 20;
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "policy_id", nullable = false)
+    private String policyId;
+    
+    @Column(nullable = false)
+    private Long revision;
+    
+    // Full versioned fields when true, otherwise a JSON merge patch against the previous revision
+    @Column(nullable = false)
+    private boolean snapshot;
+    
+    // Smile-encoded snapshot or patch
+    @JsonIgnore
+    @Column(nullable = false, length = CONTENT_LENGTH)
+    private byte[] content;
+    
+    @Column(name = "changed_by")
+    private String changedBy;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Size of the stored content, reported in place of it
+    public int getContentBytes() {
+        return content != null ? content.length : 0;
+    }
+}
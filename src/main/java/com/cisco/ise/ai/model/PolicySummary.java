@@ -0,0 +1,32 @@
+package com.cisco.ise.ai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A policy as shown in listings, without its conditions and actions.
+ *
+ * Read by projection queries that select only these columns; the field order is the constructor
+ * order those queries use.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolicySummary {
+
+    private Long id;
+    private String policyId;
+    private String name;
+    private Policy.PolicyType type;
+    private Policy.PolicyStatus status;
+    private Integer priority;
+    private Double riskScore;
+    private Policy.PolicySource source;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
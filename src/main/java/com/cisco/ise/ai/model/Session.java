@@ -9,18 +9,26 @@ import lombok.Builder;
 import java.time.LocalDateTime;
 
 /**
- * Network session entity representing user/device network sessions
+ * Network session entity representing user/device network sessions.
+ *
+ * Rows are written behind the live ISE session cache by {@code SessionWriter}, one row per session
+ * id holding its latest state.
  */
 @Entity
-@Table(name = "sessions")
+@Table(name = "sessions", indexes = {
+        @Index(name = "idx_sessions_user_name", columnList = "user_name"),
+        @Index(name = "idx_sessions_state_update", columnList = "session_state, last_update")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Session {
     
+    // Pooled sequence ids keep JDBC insert batching available; IDENTITY would disable it
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "session_seq")
+    @SequenceGenerator(name = "session_seq", sequenceName = "session_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "session_id", unique = true, nullable = false)
@@ -108,10 +116,13 @@ public class Session {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // lastUpdate is when ISE last saw the session, so it is only defaulted; the audit fields record the writes
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
-        lastUpdate = LocalDateTime.now();
+        if (lastUpdate == null) {
+            lastUpdate = createdAt;
+        }
         if (sessionState == null) {
             sessionState = SessionState.STARTED;
         }
@@ -120,7 +131,9 @@ public class Session {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
-        lastUpdate = LocalDateTime.now();
+        if (lastUpdate == null) {
+            lastUpdate = updatedAt;
+        }
     }
     
     public enum SessionState {
@@ -0,0 +1,339 @@
+package com.cisco.ise.ai.orchestrator;
+
+import com.cisco.ise.ai.config.ExecutionRollupProperties;
+import com.cisco.ise.ai.model.ExecutionRollup;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.repository.PolicyExecutionsSavedEvent;
+import com.cisco.ise.ai.repository.PolicyStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+/**
+ * Per-policy execution statistics, kept up to date as executions are written.
+ *
+ * Each policy has a ring of {@code policy.executions.rollups.retained-buckets} time buckets of
+ * {@code bucket-minutes} each, holding counts by status and type, a latency histogram and risk
+ * score sums. Executions are folded in when the store reports them committed, so reading a
+ * rollup costs the same however much history the policy has. Executions older than the oldest
+ * bucket are not rolled up. At startup the stored executions of the window are folded in on a
+ * background thread; until that finishes a rollup is marked {@code rebuilding}.
+ */
+@Component
+@Slf4j
+public class ExecutionRollups {
+
+    // Geometric latency bins, each at most 25% wider than the one before, up to two minutes
+    private static final long[] LATENCY_BOUNDS = LongStream.iterate(1, bound -> Math.max(bound + 1, Math.round(bound * 1.25)))
+            .takeWhile(bound -> bound <= 120_000)
+            .toArray();
+
+    private static final PolicyExecution.ExecutionStatus[] STATUSES = PolicyExecution.ExecutionStatus.values();
+    private static final PolicyExecution.ExecutionType[] TYPES = PolicyExecution.ExecutionType.values();
+
+    private final PolicyStore policyStore;
+    private final ExecutionRollupProperties properties;
+
+    private final Map<String, PolicyRollup> rollups = new ConcurrentHashMap<>();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile boolean rebuilding;
+
+    public ExecutionRollups(PolicyStore policyStore, ExecutionRollupProperties properties) {
+        this.policyStore = policyStore;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!properties.isEnabled() || !properties.isRebuildOnStartup()) {
+            return;
+        }
+        rebuilding = true;
+        Thread thread = new Thread(this::rebuild, "execution-rollups");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @EventListener
+    public void onExecutionsSaved(PolicyExecutionsSavedEvent event) {
+        if (properties.isEnabled()) {
+            event.getExecutions().forEach(this::record);
+        }
+    }
+
+    /**
+     * Folds in the stored executions of the window that were written before this instance
+     * started listening; later ones arrive through {@link PolicyExecutionsSavedEvent}
+     */
+    public void rebuild() {
+        rebuilding = true;
+        long started = System.currentTimeMillis();
+        try {
+            Long folded = policyStore.findExecutionsSince(bucketStart(currentBucket() - retainedBuckets() + 1))
+                    .filter(execution -> execution.getCreatedAt() == null || execution.getCreatedAt().isBefore(startedAt))
+                    .doOnNext(this::record)
+                    .count()
+                    .block();
+            log.info("Rebuilt execution rollups from {} stored executions in {} ms",
+                    folded, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Could not rebuild execution rollups: {}", e.getMessage(), e);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    public void record(PolicyExecution execution) {
+        if (execution.getPolicy() == null || execution.getPolicy().getPolicyId() == null
+                || execution.getExecutedAt() == null) {
+            return;
+        }
+        long index = bucketIndex(execution.getExecutedAt());
+        if (index <= currentBucket() - retainedBuckets()) {
+            return;
+        }
+        Bucket bucket = rollups.computeIfAbsent(execution.getPolicy().getPolicyId(), policyId -> new PolicyRollup(retainedBuckets()))
+                .bucket(index);
+        if (bucket != null) {
+            bucket.record(execution);
+        }
+    }
+
+    /**
+     * The policy's totals over the window and its most recent {@code buckets} non-empty buckets
+     */
+    public ExecutionRollup get(String policyId, int buckets) {
+        long current = currentBucket();
+        int retained = retainedBuckets();
+        PolicyRollup rollup = rollups.get(policyId);
+
+        Tally total = new Tally(null);
+        List<ExecutionRollup.Stats> recent = new ArrayList<>();
+        if (rollup != null) {
+            for (long index = current; index > current - retained; index--) {
+                Bucket bucket = rollup.existing(index);
+                if (bucket == null) {
+                    continue;
+                }
+                Tally tally = new Tally(bucketStart(index)).add(bucket);
+                if (tally.executions == 0) {
+                    continue;
+                }
+                total.add(bucket);
+                if (recent.size() < buckets) {
+                    recent.add(tally.toStats());
+                }
+            }
+        }
+        return ExecutionRollup.builder()
+                .policyId(policyId)
+                .bucketMinutes(bucketMinutes())
+                .since(bucketStart(current - retained + 1))
+                .rebuilding(rebuilding)
+                .total(total.toStats())
+                .buckets(recent)
+                .build();
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding;
+    }
+
+    private long currentBucket() {
+        return bucketIndex(LocalDateTime.now());
+    }
+
+    private long bucketIndex(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60L * bucketMinutes());
+    }
+
+    private LocalDateTime bucketStart(long index) {
+        return LocalDateTime.ofEpochSecond(index * 60L * bucketMinutes(), 0, ZoneOffset.UTC);
+    }
+
+    private int bucketMinutes() {
+        return Math.max(1, properties.getBucketMinutes());
+    }
+
+    private int retainedBuckets() {
+        return Math.max(1, properties.getRetainedBuckets());
+    }
+
+    private static int latencyBin(long executionTimeMs) {
+        int bin = Arrays.binarySearch(LATENCY_BOUNDS, executionTimeMs);
+        return bin >= 0 ? bin : -bin - 1;
+    }
+
+    /**
+     * Ring of buckets for one policy; a slot holds whichever of its buckets is newest
+     */
+    private static final class PolicyRollup {
+
+        private final AtomicReferenceArray<Bucket> ring;
+
+        PolicyRollup(int size) {
+            this.ring = new AtomicReferenceArray<>(size);
+        }
+
+        Bucket bucket(long index) {
+            int slot = Math.floorMod(index, ring.length());
+            while (true) {
+                Bucket current = ring.get(slot);
+                if (current != null && current.index >= index) {
+                    return current.index == index ? current : null;
+                }
+                Bucket fresh = new Bucket(index);
+                if (ring.compareAndSet(slot, current, fresh)) {
+                    return fresh;
+                }
+            }
+        }
+
+        Bucket existing(long index) {
+            Bucket bucket = ring.get(Math.floorMod(index, ring.length()));
+            return bucket != null && bucket.index == index ? bucket : null;
+        }
+    }
+
+    private static final class Bucket {
+
+        private final long index;
+        private final AtomicLongArray byStatus = new AtomicLongArray(STATUSES.length);
+        private final AtomicLongArray byType = new AtomicLongArray(TYPES.length);
+        private final AtomicLongArray latency = new AtomicLongArray(LATENCY_BOUNDS.length + 1);
+        private final LongAccumulator maxLatency = new LongAccumulator(Math::max, Long.MIN_VALUE);
+        private final LongAdder riskScored = new LongAdder();
+        private final DoubleAdder riskBefore = new DoubleAdder();
+        private final DoubleAdder riskAfter = new DoubleAdder();
+
+        Bucket(long index) {
+            this.index = index;
+        }
+
+        void record(PolicyExecution execution) {
+            PolicyExecution.ExecutionStatus status = execution.getExecutionStatus() != null
+                    ? execution.getExecutionStatus() : PolicyExecution.ExecutionStatus.PENDING;
+            byStatus.incrementAndGet(status.ordinal());
+            if (execution.getExecutionType() != null) {
+                byType.incrementAndGet(execution.getExecutionType().ordinal());
+            }
+            if (execution.getExecutionTimeMs() != null) {
+                latency.incrementAndGet(latencyBin(execution.getExecutionTimeMs()));
+                maxLatency.accumulate(execution.getExecutionTimeMs());
+            }
+            if (execution.getRiskScoreBefore() != null && execution.getRiskScoreAfter() != null) {
+                riskBefore.add(execution.getRiskScoreBefore());
+                riskAfter.add(execution.getRiskScoreAfter());
+                riskScored.increment();
+            }
+        }
+    }
+
+    /**
+     * Plain sums over one or more buckets, turned into the published statistics
+     */
+    private static final class Tally {
+
+        private final LocalDateTime bucketStart;
+        private final long[] byStatus = new long[STATUSES.length];
+        private final long[] byType = new long[TYPES.length];
+        private final long[] latency = new long[LATENCY_BOUNDS.length + 1];
+        private long executions;
+        private long timed;
+        private long maxLatency = Long.MIN_VALUE;
+        private long riskScored;
+        private double riskBefore;
+        private double riskAfter;
+
+        Tally(LocalDateTime bucketStart) {
+            this.bucketStart = bucketStart;
+        }
+
+        Tally add(Bucket bucket) {
+            for (int i = 0; i < byStatus.length; i++) {
+                long count = bucket.byStatus.get(i);
+                byStatus[i] += count;
+                executions += count;
+            }
+            for (int i = 0; i < byType.length; i++) {
+                byType[i] += bucket.byType.get(i);
+            }
+            for (int i = 0; i < latency.length; i++) {
+                long count = bucket.latency.get(i);
+                latency[i] += count;
+                timed += count;
+            }
+            maxLatency = Math.max(maxLatency, bucket.maxLatency.get());
+            riskScored += bucket.riskScored.sum();
+            riskBefore += bucket.riskBefore.sum();
+            riskAfter += bucket.riskAfter.sum();
+            return this;
+        }
+
+        ExecutionRollup.Stats toStats() {
+            Map<PolicyExecution.ExecutionStatus, Long> statuses = new EnumMap<>(PolicyExecution.ExecutionStatus.class);
+            for (int i = 0; i < byStatus.length; i++) {
+                if (byStatus[i] > 0) {
+                    statuses.put(STATUSES[i], byStatus[i]);
+                }
+            }
+            Map<PolicyExecution.ExecutionType, Long> types = new EnumMap<>(PolicyExecution.ExecutionType.class);
+            for (int i = 0; i < byType.length; i++) {
+                if (byType[i] > 0) {
+                    types.put(TYPES[i], byType[i]);
+                }
+            }
+            long succeeded = byStatus[PolicyExecution.ExecutionStatus.SUCCESS.ordinal()];
+            return ExecutionRollup.Stats.builder()
+                    .bucketStart(bucketStart)
+                    .executions(executions)
+                    .byStatus(statuses)
+                    .byType(types)
+                    .successRate(executions > 0 ? (double) succeeded / executions : 0.0)
+                    .timedExecutions(timed)
+                    .p50ExecutionTimeMs(percentile(0.50))
+                    .p95ExecutionTimeMs(percentile(0.95))
+                    .p99ExecutionTimeMs(percentile(0.99))
+                    .maxExecutionTimeMs(timed > 0 ? maxLatency : null)
+                    .riskScored(riskScored)
+                    .riskScoreBeforeAvg(riskScored > 0 ? riskBefore / riskScored : null)
+                    .riskScoreAfterAvg(riskScored > 0 ? riskAfter / riskScored : null)
+                    .riskScoreDeltaAvg(riskScored > 0 ? (riskAfter - riskBefore) / riskScored : null)
+                    .build();
+        }
+
+        /**
+         * Upper bound of the bin holding the quantile, capped at the largest latency seen
+         */
+        private Long percentile(double quantile) {
+            if (timed == 0) {
+                return null;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * timed));
+            long seen = 0;
+            for (int i = 0; i < latency.length; i++) {
+                seen += latency[i];
+                if (seen >= rank) {
+                    return i < LATENCY_BOUNDS.length ? Math.min(LATENCY_BOUNDS[i], maxLatency) : maxLatency;
+                }
+            }
+            return maxLatency;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.cisco.ise.ai.orchestrator;
+
+import com.cisco.ise.ai.config.PolicyCacheProperties;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.repository.PolicyStore;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read-through cache of policies by policyId and by status.
+ *
+ * Concurrent misses for the same key share one store read. The orchestrator invalidates a policy's
+ * entries once its write has committed, so an entry loaded before the write is discarded and any
+ * read that starts after the write returns loads the new state. Entries also expire after
+ * {@code policy.cache.ttl-ms}. Hits, misses and evictions are published as {@code cache.*} metrics
+ * tagged {@code cache=policies} and {@code cache=policies-by-status}.
+ */
+@Component
+@Slf4j
+public class PolicyCache {
+
+    private final PolicyStore policyStore;
+    private final PolicyCacheProperties properties;
+
+    private final AsyncCache<String, Policy> byPolicyId;
+    private final AsyncCache<Policy.PolicyStatus, List<Policy>> byStatus;
+
+    public PolicyCache(PolicyStore policyStore, PolicyCacheProperties properties, MeterRegistry meterRegistry) {
+        this.policyStore = policyStore;
+        this.properties = properties;
+        Duration ttl = Duration.ofMillis(properties.getTtlMs());
+        this.byPolicyId = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.byStatus = Caffeine.newBuilder()
+                .maximumSize(Policy.PolicyStatus.values().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, byPolicyId, "policies");
+        CaffeineCacheMetrics.monitor(meterRegistry, byStatus, "policies-by-status");
+    }
+
+    /**
+     * The policy, or empty if it does not exist; missing policies are not cached
+     */
+    public Mono<Policy> get(String policyId) {
+        if (!properties.isEnabled()) {
+            return policyStore.findByPolicyId(policyId);
+        }
+        // A subscriber cancelling must not cancel a load other readers are waiting on
+        return Mono.defer(() -> Mono.fromFuture(
+                byPolicyId.get(policyId, (key, executor) -> policyStore.findByPolicyId(key).toFuture()), true));
+    }
+
+    /**
+     * Policies with the given status
+     */
+    public Flux<Policy> getByStatus(Policy.PolicyStatus status) {
+        if (!properties.isEnabled()) {
+            return policyStore.findByStatus(status);
+        }
+        return Mono.defer(() -> Mono.fromFuture(
+                        byStatus.get(status, (key, executor) -> policyStore.findByStatus(key).collectList().toFuture()), true))
+                .flatMapIterable(policies -> policies);
+    }
+
+    /**
+     * Drops the entries a committed write to the policy may have changed: the policy itself and
+     * the status lists it left and joined
+     */
+    public void invalidate(Policy policy, Policy.PolicyStatus previousStatus) {
+        byPolicyId.synchronous().invalidate(policy.getPolicyId());
+        if (previousStatus != null) {
+            byStatus.synchronous().invalidate(previousStatus);
+        }
+        if (policy.getStatus() != null) {
+            byStatus.synchronous().invalidate(policy.getStatus());
+        }
+        log.debug("Invalidated cached policy {} ({} -> {})", policy.getPolicyId(), previousStatus, policy.getStatus());
+    }
+
+    public void invalidateAll() {
+        byPolicyId.synchronous().invalidateAll();
+        byStatus.synchronous().invalidateAll();
+    }
+}
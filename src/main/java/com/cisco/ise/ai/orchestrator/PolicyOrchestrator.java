@@ -2,39 +2,85 @@ package com.cisco.ise.ai.orchestrator;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.cisco.ise.ai.engine.CompiledPolicy;
+import com.cisco.ise.ai.engine.DecisionStreamEvaluator;
+import com.cisco.ise.ai.engine.PolicyDecisionEngine;
+import com.cisco.ise.ai.engine.PolicySnapshot;
+import com.cisco.ise.ai.engine.analysis.PolicyAnalysisService;
+import com.cisco.ise.ai.engine.model.PolicyAnalysis;
+import com.cisco.ise.ai.engine.model.PolicyDecision;
+import com.cisco.ise.ai.engine.model.PolicyPlan;
+import com.cisco.ise.ai.engine.plan.PolicyPlanner;
 import com.cisco.ise.ai.ise.client.ISEClient;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.cisco.ise.ai.model.ExecutionRollup;
+import com.cisco.ise.ai.model.KeysetPage;
 import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyBulkRequest;
+import com.cisco.ise.ai.model.PolicyBulkResult;
 import com.cisco.ise.ai.model.PolicyExecution;
-import com.cisco.ise.ai.repository.PolicyRepository;
-import com.cisco.ise.ai.repository.PolicyExecutionRepository;
+import com.cisco.ise.ai.model.PolicyExecutionSummary;
+import com.cisco.ise.ai.model.PolicyRevision;
+import com.cisco.ise.ai.model.PolicySummary;
+import com.cisco.ise.ai.repository.Keyset;
+import com.cisco.ise.ai.repository.PolicyRevisions;
+import com.cisco.ise.ai.repository.PolicyStore;
+import com.cisco.ise.ai.repository.archive.ExecutionArchive;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
- * Main Policy Orchestrator service
+ * Main Policy Orchestrator service.
+ *
+ * Persistence goes through the reactive {@link PolicyStore}; each write is one transaction, and
+ * the decision engine only sees a change after it has been saved. Reads by policyId and status are
+ * served from the {@link PolicyCache}, which every lifecycle write invalidates once it has committed.
+ * Bulk operations change many policies in one transaction and publish them as one snapshot.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PolicyOrchestrator {
     
+    private static final int MAX_PAGE_SIZE = 1000;
+    
+    private static final int MAX_BULK_SIZE = 10_000;
+    
     private final ISEClient iseClient;
-    private final PolicyRepository policyRepository;
-    private final PolicyExecutionRepository executionRepository;
+    private final PolicyStore policyStore;
+    private final PolicyCache policyCache;
+    private final ExecutionRollups executionRollups;
+    private final ExecutionArchive executionArchive;
+    private final PolicyDecisionEngine decisionEngine;
+    private final DecisionStreamEvaluator decisionStreamEvaluator;
+    private final PolicyPlanner policyPlanner;
+    private final PolicyAnalysisService policyAnalysisService;
     
     /**
      * Create a new policy
      */
-    @Transactional
     public Mono<Policy> createPolicy(Policy policy) {
         log.info("Creating new policy: {}", policy.getName());
         
-        return Mono.fromCallable(() -> {
+        return Mono.defer(() -> {
             policy.setPolicyId(UUID.randomUUID().toString());
             // Only set source to MANUAL if not already set
             if (policy.getSource() == null) {
@@ -42,99 +88,593 @@ public class PolicyOrchestrator {
             }
             policy.setStatus(Policy.PolicyStatus.DRAFT);
             
-            return policyRepository.save(policy);
+            return policyStore.create(policy)
+                    .doOnNext(saved -> policyCache.invalidate(saved, null));
         });
     }
     
     /**
      * Update an existing policy
      */
-    @Transactional
     public Mono<Policy> updatePolicy(String policyId, Policy updatedPolicy) {
         log.info("Updating policy: {}", policyId);
         
-        return Mono.fromCallable(() -> {
-            Policy existingPolicy = policyRepository.findByPolicyId(policyId)
-                    .orElseThrow(() -> new RuntimeException("Policy not found: " + policyId));
-            
-            existingPolicy.setName(updatedPolicy.getName());
-            existingPolicy.setDescription(updatedPolicy.getDescription());
-            existingPolicy.setConditions(updatedPolicy.getConditions());
-            existingPolicy.setActions(updatedPolicy.getActions());
-            existingPolicy.setPriority(updatedPolicy.getPriority());
-            existingPolicy.setUpdatedBy("admin");
-            
-            return policyRepository.save(existingPolicy);
+        return Mono.defer(() -> {
+            AtomicReference<CompiledPolicy> compiled = new AtomicReference<>();
+            AtomicReference<Policy.PolicyStatus> previous = new AtomicReference<>();
+            return policyStore.update(policyId, existingPolicy -> {
+                        previous.set(existingPolicy.getStatus());
+                        existingPolicy.setName(updatedPolicy.getName());
+                        existingPolicy.setDescription(updatedPolicy.getDescription());
+                        existingPolicy.setConditions(updatedPolicy.getConditions());
+                        existingPolicy.setActions(updatedPolicy.getActions());
+                        existingPolicy.setPriority(updatedPolicy.getPriority());
+                        existingPolicy.setUpdatedBy("admin");
+                        
+                        // Active policies must stay compilable; recompile before persisting the change
+                        if (existingPolicy.getStatus() == Policy.PolicyStatus.ACTIVE) {
+                            compiled.set(decisionEngine.compile(existingPolicy));
+                        }
+                    })
+                    .switchIfEmpty(Mono.error(() -> new RuntimeException("Policy not found: " + policyId)))
+                    .doOnNext(saved -> {
+                        policyCache.invalidate(saved, previous.get());
+                        if (compiled.get() != null) {
+                            decisionEngine.publish(compiled.get());
+                        }
+                    });
         });
     }
     
     /**
      * Activate a policy
      */
-    @Transactional
     public Mono<Policy> activatePolicy(String policyId) {
         log.info("Activating policy: {}", policyId);
         
-        return Mono.fromCallable(() -> {
-            Policy policy = policyRepository.findByPolicyId(policyId)
-                    .orElseThrow(() -> new RuntimeException("Policy not found: " + policyId));
-            
-            policy.setStatus(Policy.PolicyStatus.ACTIVE);
-            return policyRepository.save(policy);
+        return Mono.defer(() -> {
+            AtomicReference<CompiledPolicy> compiled = new AtomicReference<>();
+            AtomicReference<Policy.PolicyStatus> previous = new AtomicReference<>();
+            return policyStore.update(policyId, policy -> {
+                        previous.set(policy.getStatus());
+                        // Compile at activation time so invalid conditions never reach the active set
+                        compiled.set(decisionEngine.compile(policy));
+                        policy.setStatus(Policy.PolicyStatus.ACTIVE);
+                    })
+                    .switchIfEmpty(Mono.error(() -> new RuntimeException("Policy not found: " + policyId)))
+                    .doOnNext(saved -> {
+                        policyCache.invalidate(saved, previous.get());
+                        decisionEngine.publish(compiled.get());
+                    });
         });
     }
     
     /**
      * Deactivate a policy
      */
-    @Transactional
     public Mono<Policy> deactivatePolicy(String policyId) {
         log.info("Deactivating policy: {}", policyId);
         
-        return Mono.fromCallable(() -> {
-            Policy policy = policyRepository.findByPolicyId(policyId)
-                    .orElseThrow(() -> new RuntimeException("Policy not found: " + policyId));
+        return Mono.defer(() -> {
+            AtomicReference<Policy.PolicyStatus> previous = new AtomicReference<>();
+            return policyStore.update(policyId, policy -> {
+                        previous.set(policy.getStatus());
+                        policy.setStatus(Policy.PolicyStatus.INACTIVE);
+                    })
+                    .switchIfEmpty(Mono.error(() -> new RuntimeException("Policy not found: " + policyId)))
+                    .doOnNext(saved -> {
+                        policyCache.invalidate(saved, previous.get());
+                        decisionEngine.remove(policyId);
+                    });
+        });
+    }
+    
+    /**
+     * Roll a policy's versioned fields back to an earlier revision, by default the one before the
+     * current. The rollback is itself a new revision and is recorded as a ROLLBACK execution; an
+     * active policy is recompiled and republished with the restored conditions.
+     */
+    public Mono<Policy> rollbackPolicy(String policyId, Long revision) {
+        log.info("Rolling back policy {} to revision {}", policyId, revision != null ? revision : "before current");
+        
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return policyStore.findByPolicyId(policyId)
+                    .switchIfEmpty(Mono.error(() -> new RuntimeException("Policy not found: " + policyId)))
+                    .flatMap(current -> {
+                        long from = current.getRevision() != null ? current.getRevision() : 0L;
+                        long to = revision != null ? revision : from - 1;
+                        if (to < 1 || to >= from) {
+                            return Mono.error(new IllegalArgumentException(
+                                    "Policy " + policyId + " at revision " + from + " has no earlier revision " + to));
+                        }
+                        return getPolicyVersion(policyId, to)
+                                .flatMap(restored -> restore(current, restored))
+                                .flatMap(saved -> recordRollback(saved, from, to, null, started).thenReturn(saved))
+                                .onErrorResume(e -> recordRollback(current, from, to, e, started).then(Mono.error(e)));
+                    });
+        });
+    }
+    
+    /**
+     * Create policies as drafts in one transaction; incomplete policies are reported and skipped
+     */
+    public Mono<PolicyBulkResult> createPolicies(List<Policy> policies) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            List<Policy> requested = policies != null ? policies : List.of();
+            checkBulkSize(requested.size());
+            log.info("Creating {} policies", requested.size());
             
-            policy.setStatus(Policy.PolicyStatus.INACTIVE);
-            return policyRepository.save(policy);
+            List<PolicyBulkResult.Item> results = new ArrayList<>(requested.size());
+            List<Policy> valid = new ArrayList<>();
+            for (Policy policy : requested) {
+                String missing = policy == null ? "policy" : policy.getName() == null ? "name"
+                        : policy.getType() == null ? "type" : policy.getPriority() == null ? "priority" : null;
+                if (missing != null) {
+                    results.add(failed(null, PolicyBulkResult.Outcome.INVALID, "Missing " + missing));
+                    continue;
+                }
+                policy.setPolicyId(UUID.randomUUID().toString());
+                if (policy.getSource() == null) {
+                    policy.setSource(Policy.PolicySource.MANUAL);
+                }
+                policy.setStatus(Policy.PolicyStatus.DRAFT);
+                valid.add(policy);
+                results.add(null);
+            }
+            
+            return policyStore.createAll(valid).map(saved -> {
+                int next = 0;
+                for (Policy policy : saved) {
+                    policyCache.invalidate(policy, null);
+                    while (results.get(next) != null) {
+                        next++;
+                    }
+                    results.set(next, applied(policy));
+                }
+                return bulkResult("create", results, started);
+            });
         });
     }
     
     /**
-     * Get all policies
+     * Update policies in one transaction; active policies are recompiled and republished together
+     */
+    public Mono<PolicyBulkResult> updatePolicies(PolicyBulkRequest request) {
+        return bulkChange("update", request, policyStore::updateAll, (policy, item) -> {
+            Policy updated = item.getPolicy();
+            if (updated == null) {
+                throw new IllegalArgumentException("Missing policy");
+            }
+            // Compiled from a copy, so a policy that fails to compile is left untouched
+            CompiledPolicy compiled = policy.getStatus() == Policy.PolicyStatus.ACTIVE
+                    ? decisionEngine.compile(Policy.builder()
+                            .id(policy.getId())
+                            .version(policy.getVersion())
+                            .policyId(policy.getPolicyId())
+                            .name(updated.getName())
+                            .priority(updated.getPriority())
+                            .conditions(updated.getConditions())
+                            .actions(updated.getActions())
+                            .build())
+                    : null;
+            policy.setName(updated.getName());
+            policy.setDescription(updated.getDescription());
+            policy.setConditions(updated.getConditions());
+            policy.setActions(updated.getActions());
+            policy.setPriority(updated.getPriority());
+            policy.setUpdatedBy("admin");
+            return compiled;
+        });
+    }
+    
+    /**
+     * Activate policies with one set-based status update; policies that fail to compile are reported and left unchanged
+     */
+    public Mono<PolicyBulkResult> activatePolicies(PolicyBulkRequest request) {
+        return bulkChange("activate", request,
+                (policyIds, filter) -> policyStore.updateStatus(policyIds, filter, Policy.PolicyStatus.ACTIVE),
+                (policy, item) -> decisionEngine.compile(policy));
+    }
+    
+    /**
+     * Deactivate policies with one set-based status update
+     */
+    public Mono<PolicyBulkResult> deactivatePolicies(PolicyBulkRequest request) {
+        return bulkChange("deactivate", request,
+                (policyIds, filter) -> policyStore.updateStatus(policyIds, filter, Policy.PolicyStatus.INACTIVE),
+                (policy, item) -> null);
+    }
+    
+    /**
+     * Stream all policies, ordered by priority
      */
     public Flux<Policy> getAllPolicies() {
-        return Flux.fromIterable(policyRepository.findAll());
+        return policyStore.findAll();
+    }
+    
+    /**
+     * Get a page of policies ordered by priority; pass the previous page's cursor for the next one
+     */
+    public Mono<KeysetPage<PolicySummary>> getPolicyPage(String cursor, int limit) {
+        return Mono.defer(() -> {
+            Keyset.PolicyKey after = hasCursor(cursor) ? Keyset.PolicyKey.decode(cursor) : null;
+            int size = pageSize(limit);
+            return page(policyStore.findPolicySummaries(after, size + 1), size,
+                    policy -> Keyset.PolicyKey.of(policy).encode());
+        });
     }
     
     /**
      * Get policy by ID
      */
     public Mono<Policy> getPolicyById(String policyId) {
-        return Mono.fromCallable(() -> 
-            policyRepository.findByPolicyId(policyId)
-                .orElseThrow(() -> new RuntimeException("Policy not found: " + policyId))
-        );
+        return policyCache.get(policyId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Policy not found: " + policyId)));
     }
     
     /**
-     * Get policy execution history
+     * Get the revisions of a policy's versioned fields, most recent first
+     */
+    public Flux<PolicyRevision> getPolicyVersions(String policyId) {
+        return policyStore.findRevisions(policyId);
+    }
+    
+    /**
+     * Rebuild a policy's versioned fields as they were at a revision, from its nearest snapshot
+     */
+    public Mono<Policy> getPolicyVersion(String policyId, long revision) {
+        return policyStore.findRevisionChain(policyId, revision)
+                .collectList()
+                .filter(chain -> !chain.isEmpty() && chain.get(chain.size() - 1).getRevision() == revision)
+                .map(PolicyRevisions::rebuild)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Policy version not found: " + policyId + " revision " + revision)));
+    }
+    
+    /**
+     * Stream policy execution history, most recent first, including archived executions
      */
     public Flux<PolicyExecution> getPolicyExecutionHistory(String policyId) {
-        return Flux.fromIterable(executionRepository.findByPolicyPolicyIdOrderByExecutedAtDesc(policyId));
+        return ExecutionArchive.merge(policyStore.findExecutionsByPolicyId(policyId),
+                withPolicies(executionArchive.findByPolicyId(policyId, null)));
+    }
+    
+    /**
+     * Get a page of policy execution summaries, most recent first, including archived executions
+     */
+    public Mono<KeysetPage<PolicyExecutionSummary>> getPolicyExecutionPage(String policyId, String cursor, int limit) {
+        return Mono.defer(() -> {
+            Keyset.ExecutionKey after = hasCursor(cursor) ? Keyset.ExecutionKey.decode(cursor) : null;
+            int size = pageSize(limit);
+            return page(ExecutionArchive.merge(policyStore.findExecutionSummariesByPolicyId(policyId, after, size + 1),
+                            withPolicyNames(executionArchive.findSummariesByPolicyId(policyId, after)),
+                            Keyset.ExecutionKey::of).take(size + 1), size,
+                    execution -> Keyset.ExecutionKey.of(execution).encode());
+        });
     }
     
     /**
-     * Get session execution history
+     * Get precomputed execution statistics for a policy and its most recent time buckets
+     */
+    public Mono<ExecutionRollup> getPolicyExecutionRollup(String policyId, int buckets) {
+        return getPolicyById(policyId)
+                .map(policy -> executionRollups.get(policy.getPolicyId(), Math.max(0, buckets)));
+    }
+    
+    /**
+     * Stream session execution history, most recent first, including archived executions
      */
     public Flux<PolicyExecution> getSessionExecutionHistory(String sessionId) {
-        return Flux.fromIterable(executionRepository.findBySessionIdOrderByExecutedAtDesc(sessionId));
+        return ExecutionArchive.merge(policyStore.findExecutionsBySessionId(sessionId),
+                withPolicies(executionArchive.findBySessionId(sessionId, null)));
+    }
+    
+    /**
+     * Get a page of session execution summaries, most recent first, including archived executions
+     */
+    public Mono<KeysetPage<PolicyExecutionSummary>> getSessionExecutionPage(String sessionId, String cursor, int limit) {
+        return Mono.defer(() -> {
+            Keyset.ExecutionKey after = hasCursor(cursor) ? Keyset.ExecutionKey.decode(cursor) : null;
+            int size = pageSize(limit);
+            return page(ExecutionArchive.merge(policyStore.findExecutionSummariesBySessionId(sessionId, after, size + 1),
+                            withPolicyNames(executionArchive.findSummariesBySessionId(sessionId, after)),
+                            Keyset.ExecutionKey::of).take(size + 1), size,
+                    execution -> Keyset.ExecutionKey.of(execution).encode());
+        });
+    }
+    
+    /**
+     * Get one execution with its full result, ISE response and policy, from the table or the archive
+     */
+    public Mono<PolicyExecution> getExecution(String executionId) {
+        return policyStore.findExecutionByExecutionId(executionId)
+                .switchIfEmpty(Mono.defer(() -> withPolicies(executionArchive.findByExecutionId(executionId).flux()).next()))
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Execution not found: " + executionId)));
     }
     
     /**
      * Get policies by status
      */
     public Flux<Policy> getPoliciesByStatus(Policy.PolicyStatus status) {
-        return Flux.fromIterable(policyRepository.findByStatus(status));
+        return policyCache.getByStatus(status);
+    }
+    
+    /**
+     * Evaluate a session against the active policies
+     */
+    public Mono<PolicyDecision> evaluateSession(ISESession session) {
+        return Mono.fromCallable(() -> decisionEngine.evaluate(session));
+    }
+    
+    /**
+     * Evaluate a newline-delimited JSON stream of sessions, writing one decision per line
+     */
+    public long evaluateSessionStream(InputStream sessions, OutputStream decisions) throws IOException {
+        long count = decisionStreamEvaluator.evaluate(sessions, decisions);
+        log.info("Evaluated {} sessions from stream", count);
+        return count;
+    }
+    
+    /**
+     * Describe the active policy snapshot used for decisions
+     */
+    public Mono<Map<String, Object>> getPolicySnapshotInfo() {
+        return Mono.fromCallable(() -> {
+            PolicySnapshot snapshot = decisionEngine.getSnapshot();
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("epoch", snapshot.getEpoch());
+            info.put("activePolicies", snapshot.size());
+            info.put("unindexedPolicies", snapshot.getIndex().getUnanchoredCount());
+            info.put("generatedPolicies", snapshot.getPolicies().stream().filter(CompiledPolicy::isGenerated).count());
+            info.put("reanchoredPolicies", snapshot.getAnchorPreferences().size());
+            info.put("prunedPolicies", snapshot.getPrunedPolicyIds().size());
+            info.put("createdAt", snapshot.getCreatedAt());
+            return info;
+        });
+    }
+
+    /**
+     * Find active policies that can never match and groups that can be merged
+     */
+    public Mono<PolicyAnalysis> getPolicyAnalysis() {
+        return Mono.fromCallable(policyAnalysisService::analyzeActive);
+    }
+
+    /**
+     * Leave active policies that can never match out of the decision index
+     */
+    public Mono<PolicyAnalysis> pruneDeadPolicies() {
+        return Mono.fromCallable(policyAnalysisService::pruneActive);
+    }
+
+    /**
+     * Describe the current evaluation plan of an active policy
+     */
+    public Mono<PolicyPlan> getPolicyPlan(String policyId) {
+        return Mono.fromCallable(() -> policyPlanner.describe(policyId)
+                .orElseThrow(() -> new RuntimeException("Policy is not active: " + policyId)));
+    }
+
+    /**
+     * Writes restored versioned fields over the current ones, unless the policy changed since it was read
+     */
+    private Mono<Policy> restore(Policy current, Policy restored) {
+        AtomicReference<CompiledPolicy> compiled = new AtomicReference<>();
+        AtomicReference<Policy.PolicyStatus> previous = new AtomicReference<>();
+        return policyStore.update(current.getPolicyId(), policy -> {
+                    if (!Objects.equals(policy.getRevision(), current.getRevision())) {
+                        throw new OptimisticLockingFailureException("Policy " + current.getPolicyId() + " changed during rollback");
+                    }
+                    previous.set(policy.getStatus());
+                    PolicyRevisions.restore(policy, PolicyRevisions.document(restored));
+                    policy.setUpdatedBy("rollback");
+                    if (policy.getStatus() == Policy.PolicyStatus.ACTIVE) {
+                        compiled.set(decisionEngine.compile(policy));
+                    }
+                })
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Policy not found: " + current.getPolicyId())))
+                .doOnNext(saved -> {
+                    policyCache.invalidate(saved, previous.get());
+                    if (compiled.get() != null) {
+                        decisionEngine.publish(compiled.get());
+                    }
+                });
+    }
+    
+    /**
+     * Records a rollback attempt as an execution of the policy; failing to record it does not fail the rollback
+     */
+    private Mono<Void> recordRollback(Policy policy, long from, long to, Throwable error, long started) {
+        String message = error == null ? null : error.getMessage() != null ? error.getMessage() : error.toString();
+        return policyStore.saveExecution(PolicyExecution.builder()
+                        .executionId(UUID.randomUUID().toString())
+                        .policy(policy)
+                        .executionStatus(error == null
+                                ? PolicyExecution.ExecutionStatus.ROLLBACK_SUCCESS : PolicyExecution.ExecutionStatus.ROLLBACK_FAILED)
+                        .executionType(PolicyExecution.ExecutionType.ROLLBACK)
+                        .triggerReason("Rollback from revision " + from + " to revision " + to)
+                        .executionResult(error == null
+                                ? "{\"fromRevision\": " + from + ", \"toRevision\": " + to + ", \"revision\": " + policy.getRevision() + "}"
+                                : null)
+                        .errorMessage(message != null && message.length() > 255 ? message.substring(0, 255) : message)
+                        .executionTimeMs((System.nanoTime() - started) / 1_000_000)
+                        .executedBy("rollback")
+                        .build())
+                .doOnError(e -> log.warn("Could not record rollback of policy {}: {}", policy.getPolicyId(), e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+    
+    /**
+     * Offers every requested policy to the change within one store transaction, then invalidates the
+     * cache and publishes the affected active policies as a single snapshot transition
+     */
+    private Mono<PolicyBulkResult> bulkChange(String operation, PolicyBulkRequest request,
+                                              BiFunction<Collection<String>, Predicate<Policy>, Mono<List<Policy>>> store,
+                                              BulkChange change) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            List<PolicyBulkRequest.Item> items = request != null && request.getItems() != null ? request.getItems() : List.of();
+            checkBulkSize(items.size());
+            log.info("Bulk {} of {} policies", operation, items.size());
+            
+            List<PolicyBulkResult.Item> results = new ArrayList<>(items.size());
+            Map<String, Integer> positions = new HashMap<>();
+            for (PolicyBulkRequest.Item item : items) {
+                String policyId = item != null ? item.getPolicyId() : null;
+                if (policyId == null) {
+                    results.add(failed(null, PolicyBulkResult.Outcome.INVALID, "Missing policyId"));
+                } else if (positions.putIfAbsent(policyId, results.size()) != null) {
+                    results.add(failed(policyId, PolicyBulkResult.Outcome.INVALID, "Duplicate policyId"));
+                } else {
+                    results.add(null);
+                }
+            }
+            
+            Map<String, Policy.PolicyStatus> previous = new HashMap<>();
+            Map<String, CompiledPolicy> compiled = new HashMap<>();
+            return store.apply(positions.keySet(), policy -> {
+                        int position = positions.get(policy.getPolicyId());
+                        PolicyBulkRequest.Item item = items.get(position);
+                        if (item.getVersion() != null && !Objects.equals(item.getVersion(), policy.getVersion())) {
+                            results.set(position, failed(policy.getPolicyId(), PolicyBulkResult.Outcome.CONFLICT,
+                                    "Expected version " + item.getVersion() + " but found " + policy.getVersion()));
+                            return false;
+                        }
+                        Policy.PolicyStatus status = policy.getStatus();
+                        try {
+                            CompiledPolicy next = change.apply(policy, item);
+                            if (next != null) {
+                                compiled.put(policy.getPolicyId(), next);
+                            }
+                        } catch (RuntimeException e) {
+                            results.set(position, failed(policy.getPolicyId(), PolicyBulkResult.Outcome.INVALID, e.getMessage()));
+                            return false;
+                        }
+                        previous.put(policy.getPolicyId(), status);
+                        return true;
+                    })
+                    .map(saved -> {
+                        List<CompiledPolicy> upserts = new ArrayList<>();
+                        List<String> removals = new ArrayList<>();
+                        for (Policy policy : saved) {
+                            Policy.PolicyStatus status = previous.get(policy.getPolicyId());
+                            policyCache.invalidate(policy, status);
+                            CompiledPolicy next = compiled.get(policy.getPolicyId());
+                            if (next != null) {
+                                upserts.add(next);
+                            } else if (status == Policy.PolicyStatus.ACTIVE && policy.getStatus() != Policy.PolicyStatus.ACTIVE) {
+                                removals.add(policy.getPolicyId());
+                            }
+                            results.set(positions.get(policy.getPolicyId()), applied(policy));
+                        }
+                        if (!upserts.isEmpty() || !removals.isEmpty()) {
+                            decisionEngine.apply(upserts, removals);
+                        }
+                        positions.forEach((policyId, position) -> {
+                            // Accepted but not saved means the store found it modified concurrently
+                            if (results.get(position) == null) {
+                                results.set(position, previous.containsKey(policyId)
+                                        ? failed(policyId, PolicyBulkResult.Outcome.CONFLICT, "Policy was modified concurrently")
+                                        : failed(policyId, PolicyBulkResult.Outcome.NOT_FOUND, "Policy not found"));
+                            }
+                        });
+                        return bulkResult(operation, results, started);
+                    });
+        });
+    }
+    
+    /**
+     * A bulk change to one loaded policy; must throw before modifying a policy it cannot change
+     */
+    @FunctionalInterface
+    private interface BulkChange {
+        /**
+         * Returns the policy's compiled form when it must be published to the active set
+         */
+        CompiledPolicy apply(Policy policy, PolicyBulkRequest.Item item);
+    }
+    
+    private static PolicyBulkResult bulkResult(String operation, List<PolicyBulkResult.Item> results, long started) {
+        int succeeded = (int) results.stream().filter(item -> item.getOutcome() == PolicyBulkResult.Outcome.APPLIED).count();
+        PolicyBulkResult result = PolicyBulkResult.builder()
+                .operation(operation)
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .elapsedMs((System.nanoTime() - started) / 1_000_000)
+                .items(results)
+                .build();
+        log.info("Bulk {}: {} applied, {} failed in {} ms", operation, result.getSucceeded(), result.getFailed(), result.getElapsedMs());
+        return result;
+    }
+    
+    private static PolicyBulkResult.Item applied(Policy policy) {
+        return PolicyBulkResult.Item.builder()
+                .policyId(policy.getPolicyId())
+                .outcome(PolicyBulkResult.Outcome.APPLIED)
+                .status(policy.getStatus())
+                .version(policy.getVersion())
+                .build();
+    }
+    
+    private static PolicyBulkResult.Item failed(String policyId, PolicyBulkResult.Outcome outcome, String error) {
+        return PolicyBulkResult.Item.builder()
+                .policyId(policyId)
+                .outcome(outcome)
+                .error(error)
+                .build();
+    }
+    
+    private static void checkBulkSize(int size) {
+        if (size > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " policies per bulk operation, got " + size);
+        }
+    }
+
+    /**
+     * Archived executions carry only their policy's ids; the cached policy replaces them when it still exists
+     */
+    private Flux<PolicyExecution> withPolicies(Flux<PolicyExecution> archived) {
+        return archived.concatMap(execution -> policyCache.get(execution.getPolicy().getPolicyId())
+                .map(policy -> {
+                    execution.setPolicy(policy);
+                    return execution;
+                })
+                .defaultIfEmpty(execution));
+    }
+
+    /**
+     * Archived summaries carry no policy name; the cached policy supplies it when it still exists
+     */
+    private Flux<PolicyExecutionSummary> withPolicyNames(Flux<PolicyExecutionSummary> archived) {
+        return archived.concatMap(summary -> policyCache.get(summary.getPolicyId())
+                .map(policy -> {
+                    summary.setPolicyName(policy.getName());
+                    return summary;
+                })
+                .defaultIfEmpty(summary));
+    }
+
+    /**
+     * Rows are fetched one past the page size; the extra row only signals that another page follows
+     */
+    private static <T> Mono<KeysetPage<T>> page(Flux<T> rows, int size, Function<T, String> cursorOf) {
+        return rows.collectList().map(items -> {
+            boolean more = items.size() > size;
+            List<T> page = more ? items.subList(0, size) : items;
+            return KeysetPage.<T>builder()
+                    .items(page)
+                    .nextCursor(more ? cursorOf.apply(page.get(size - 1)) : null)
+                    .build();
+        });
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static boolean hasCursor(String cursor) {
+        return cursor != null && !cursor.isBlank();
     }
 }
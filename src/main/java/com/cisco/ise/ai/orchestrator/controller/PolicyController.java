@@ -2,17 +2,34 @@ package com.cisco.ise.ai.orchestrator.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.cisco.ise.ai.engine.model.PolicyAnalysis;
+import com.cisco.ise.ai.engine.model.PolicyDecision;
+import com.cisco.ise.ai.engine.model.PolicyPlan;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.cisco.ise.ai.model.ExecutionRollup;
+import com.cisco.ise.ai.model.KeysetPage;
 import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyBulkRequest;
+import com.cisco.ise.ai.model.PolicyBulkResult;
 import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.model.PolicyExecutionSummary;
+import com.cisco.ise.ai.model.PolicyRevision;
+import com.cisco.ise.ai.model.PolicySummary;
 import com.cisco.ise.ai.orchestrator.PolicyOrchestrator;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -65,11 +82,24 @@ public class PolicyController {
     }
     
     /**
-     * Get all policies
+     * Get a page of policy summaries ordered by priority; follow {@code nextCursor} for the next page
      */
     @GetMapping
-    public Flux<Policy> getAllPolicies() {
-        log.info("Getting all policies");
+    public Mono<ResponseEntity<KeysetPage<PolicySummary>>> getAllPolicies(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "100") int limit) {
+        log.info("Getting policies after cursor: {}", cursor);
+        
+        return policyOrchestrator.getPolicyPage(cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest().build());
+    }
+    
+    /**
+     * Stream all policies as newline-delimited JSON, ordered by priority
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Policy> streamAllPolicies() {
+        log.info("Streaming all policies");
         return policyOrchestrator.getAllPolicies();
     }
     
@@ -98,23 +128,153 @@ public class PolicyController {
     }
     
     /**
-     * Get policy execution history for a policy
+     * Roll a policy back to an earlier revision, by default the one before the current
+     */
+    @PostMapping("/{policyId}/rollback")
+    public Mono<ResponseEntity<Policy>> rollbackPolicy(@PathVariable String policyId,
+                                                       @RequestParam(required = false) Long revision) {
+        log.info("Rolling back policy: {}", policyId);
+        
+        return policyOrchestrator.rollbackPolicy(policyId, revision)
+                .map(rolledBackPolicy -> ResponseEntity.ok(rolledBackPolicy))
+                .onErrorReturn(OptimisticLockingFailureException.class, ResponseEntity.status(HttpStatus.CONFLICT).build())
+                .onErrorReturn(ResponseEntity.badRequest().build());
+    }
+    
+    /**
+     * Get the revision history of a policy, most recent first
+     */
+    @GetMapping("/{policyId}/versions")
+    public Flux<PolicyRevision> getPolicyVersions(@PathVariable String policyId) {
+        log.debug("Getting versions of policy: {}", policyId);
+        return policyOrchestrator.getPolicyVersions(policyId);
+    }
+    
+    /**
+     * Get a policy's versioned fields as they were at a revision
+     */
+    @GetMapping("/{policyId}/versions/{revision}")
+    public Mono<ResponseEntity<Policy>> getPolicyVersion(@PathVariable String policyId, @PathVariable long revision) {
+        return policyOrchestrator.getPolicyVersion(policyId, revision)
+                .map(version -> ResponseEntity.ok(version))
+                .onErrorReturn(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Create policies as drafts in one transaction, with a result per policy
+     */
+    @PostMapping("/bulk")
+    public Mono<ResponseEntity<PolicyBulkResult>> createPolicies(@RequestBody List<Policy> policies) {
+        log.info("Creating {} policies", policies.size());
+        
+        return bulk(policyOrchestrator.createPolicies(policies));
+    }
+    
+    /**
+     * Update policies in one transaction, with a result per policy
+     */
+    @PutMapping("/bulk")
+    public Mono<ResponseEntity<PolicyBulkResult>> updatePolicies(@RequestBody PolicyBulkRequest request) {
+        log.info("Bulk updating policies");
+        
+        return bulk(policyOrchestrator.updatePolicies(request));
+    }
+    
+    /**
+     * Activate policies in one transaction, with a result per policy
+     */
+    @PostMapping("/bulk/activate")
+    public Mono<ResponseEntity<PolicyBulkResult>> activatePolicies(@RequestBody PolicyBulkRequest request) {
+        log.info("Bulk activating policies");
+        
+        return bulk(policyOrchestrator.activatePolicies(request));
+    }
+    
+    /**
+     * Deactivate policies in one transaction, with a result per policy
+     */
+    @PostMapping("/bulk/deactivate")
+    public Mono<ResponseEntity<PolicyBulkResult>> deactivatePolicies(@RequestBody PolicyBulkRequest request) {
+        log.info("Bulk deactivating policies");
+        
+        return bulk(policyOrchestrator.deactivatePolicies(request));
+    }
+    
+    /**
+     * Get a page of execution summaries for a policy, most recent first
      */
     @GetMapping("/{policyId}/executions")
-    public Flux<PolicyExecution> getPolicyExecutionHistory(@PathVariable String policyId) {
+    public Mono<ResponseEntity<KeysetPage<PolicyExecutionSummary>>> getPolicyExecutionHistory(
+            @PathVariable String policyId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
         log.debug("Getting execution history for policy: {}", policyId);
+        
+        return policyOrchestrator.getPolicyExecutionPage(policyId, cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest().build());
+    }
+    
+    /**
+     * Stream the full execution history for a policy as newline-delimited JSON, most recent first
+     */
+    @GetMapping(value = "/{policyId}/executions/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PolicyExecution> streamPolicyExecutionHistory(@PathVariable String policyId) {
+        log.debug("Streaming execution history for policy: {}", policyId);
         return policyOrchestrator.getPolicyExecutionHistory(policyId);
     }
     
     /**
-     * Get session execution history
+     * Get execution counts, latency percentiles and risk score deltas for a policy, with its
+     * most recent time buckets
+     */
+    @GetMapping("/{policyId}/executions/rollup")
+    public Mono<ResponseEntity<ExecutionRollup>> getPolicyExecutionRollup(
+            @PathVariable String policyId,
+            @RequestParam(defaultValue = "24") int buckets) {
+        log.debug("Getting execution rollup for policy: {}", policyId);
+        
+        return policyOrchestrator.getPolicyExecutionRollup(policyId, buckets)
+                .map(rollup -> ResponseEntity.ok(rollup))
+                .onErrorReturn(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Get a page of execution summaries for a session, most recent first
      */
     @GetMapping("/sessions/{sessionId}/executions")
-    public Flux<PolicyExecution> getSessionExecutionHistory(@PathVariable String sessionId) {
+    public Mono<ResponseEntity<KeysetPage<PolicyExecutionSummary>>> getSessionExecutionHistory(
+            @PathVariable String sessionId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
         log.debug("Getting execution history for session: {}", sessionId);
+        
+        return policyOrchestrator.getSessionExecutionPage(sessionId, cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest().build());
+    }
+    
+    /**
+     * Stream the full execution history for a session as newline-delimited JSON, most recent first
+     */
+    @GetMapping(value = "/sessions/{sessionId}/executions/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PolicyExecution> streamSessionExecutionHistory(@PathVariable String sessionId) {
+        log.debug("Streaming execution history for session: {}", sessionId);
         return policyOrchestrator.getSessionExecutionHistory(sessionId);
     }
     
+    /**
+     * Get one execution with its full result, ISE response and policy
+     */
+    @GetMapping("/executions/{executionId}")
+    public Mono<ResponseEntity<PolicyExecution>> getExecution(@PathVariable String executionId) {
+        log.debug("Getting execution: {}", executionId);
+        
+        return policyOrchestrator.getExecution(executionId)
+                .map(execution -> ResponseEntity.ok(execution))
+                .onErrorReturn(ResponseEntity.notFound().build());
+    }
+    
     /**
      * Get policies by status
      */
@@ -124,6 +284,64 @@ public class PolicyController {
         return policyOrchestrator.getPoliciesByStatus(status);
     }
     
+    /**
+     * Evaluate a session against the active policies
+     */
+    @PostMapping("/evaluate")
+    public Mono<ResponseEntity<PolicyDecision>> evaluateSession(@RequestBody ISESession session) {
+        log.debug("Evaluating session: {}", session.getSessionId());
+        
+        return policyOrchestrator.evaluateSession(session)
+                .map(decision -> ResponseEntity.ok(decision));
+    }
+    
+    /**
+     * Evaluate a newline-delimited JSON stream of sessions, streaming decisions back as they are made
+     */
+    @PostMapping(value = "/evaluate/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void evaluateSessionBatch(InputStream sessions, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        policyOrchestrator.evaluateSessionStream(sessions, response.getOutputStream());
+    }
+    
+    /**
+     * Get the active policy snapshot used for decisions
+     */
+    @GetMapping("/snapshot")
+    public Mono<ResponseEntity<Map<String, Object>>> getPolicySnapshot() {
+        return policyOrchestrator.getPolicySnapshotInfo()
+                .map(info -> ResponseEntity.ok(info));
+    }
+    
+    /**
+     * Find active policies that can never match and policies that can be merged
+     */
+    @GetMapping("/analysis")
+    public Mono<ResponseEntity<PolicyAnalysis>> getPolicyAnalysis() {
+        return policyOrchestrator.getPolicyAnalysis()
+                .map(analysis -> ResponseEntity.ok(analysis));
+    }
+    
+    /**
+     * Leave active policies that can never match out of the decision index
+     */
+    @PostMapping("/analysis/prune")
+    public Mono<ResponseEntity<PolicyAnalysis>> pruneDeadPolicies() {
+        log.info("Pruning dead policies from the active snapshot");
+        return policyOrchestrator.pruneDeadPolicies()
+                .map(analysis -> ResponseEntity.ok(analysis));
+    }
+    
+    /**
+     * Get the current evaluation plan of an active policy
+     */
+    @GetMapping("/{policyId}/plan")
+    public Mono<ResponseEntity<PolicyPlan>> getPolicyPlan(@PathVariable String policyId) {
+        return policyOrchestrator.getPolicyPlan(policyId)
+                .map(plan -> ResponseEntity.ok(plan))
+                .onErrorReturn(ResponseEntity.notFound().build());
+    }
+    
     /**
      * Health check endpoint
      */
@@ -135,4 +353,14 @@ public class PolicyController {
                 "timestamp", java.time.LocalDateTime.now().toString()
         )));
     }
+    
+    /**
+     * A concurrent write to any of the policies rolls the whole operation back
+     */
+    private static Mono<ResponseEntity<PolicyBulkResult>> bulk(Mono<PolicyBulkResult> result) {
+        return result
+                .map(bulkResult -> ResponseEntity.ok(bulkResult))
+                .onErrorReturn(OptimisticLockingFailureException.class, ResponseEntity.status(HttpStatus.CONFLICT).build())
+                .onErrorReturn(ResponseEntity.badRequest().build());
+    }
 }
@@ -0,0 +1,80 @@
+package com.cisco.ise.ai.orchestrator.controller;
+
+import com.cisco.ise.ai.orchestrator.imports.PolicyImportJob;
+import com.cisco.ise.ai.orchestrator.imports.PolicyImportReport;
+import com.cisco.ise.ai.orchestrator.imports.PolicyImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+
+/**
+ * REST Controller for streaming policy imports
+ */
+@RestController
+@RequestMapping("/policies/imports")
+@RequiredArgsConstructor
+@Slf4j
+public class PolicyImportController {
+
+    private static final String TEXT_CSV = "text/csv";
+
+    private final PolicyImportService importService;
+
+    /**
+     * Submit a JSON array, newline-delimited JSON or CSV body of policies for import as drafts
+     */
+    @PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV})
+    public Mono<ResponseEntity<PolicyImportReport>> submitImport(@RequestParam(required = false) String name,
+                                                                 @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                 InputStream policies) {
+        PolicyImportJob.Format format = MediaType.parseMediaType(TEXT_CSV).includes(contentType)
+                ? PolicyImportJob.Format.CSV : PolicyImportJob.Format.JSON;
+        log.info("Submitting {} policy import: {}", format, name);
+
+        return Mono.fromCallable(() -> importService.submit(name, format, policies).toReport())
+                .map(report -> ResponseEntity.status(HttpStatus.ACCEPTED).body(report))
+                .onErrorResume(e -> {
+                    log.warn("Rejected policy import {}: {}", name, e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                });
+    }
+
+    /**
+     * Get all import jobs, most recent first
+     */
+    @GetMapping
+    public Flux<PolicyImportReport> getImports() {
+        return Flux.fromIterable(importService.getJobs())
+                .map(PolicyImportJob::toReport);
+    }
+
+    /**
+     * Get progress and results of an import job
+     */
+    @GetMapping("/{jobId}")
+    public Mono<ResponseEntity<PolicyImportReport>> getImport(@PathVariable String jobId) {
+        return Mono.justOrEmpty(importService.getJob(jobId))
+                .map(job -> ResponseEntity.ok(job.toReport()))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Cancel a queued or running import job; batches already committed are kept
+     */
+    @DeleteMapping("/{jobId}")
+    public Mono<ResponseEntity<PolicyImportReport>> cancelImport(@PathVariable String jobId) {
+        log.info("Cancelling policy import: {}", jobId);
+
+        return Mono.justOrEmpty(importService.cancel(jobId))
+                .map(job -> ResponseEntity.ok(job.toReport()))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
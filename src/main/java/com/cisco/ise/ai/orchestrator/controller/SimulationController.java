@@ -0,0 +1,98 @@
+package com.cisco.ise.ai.orchestrator.controller;
+
+import com.cisco.ise.ai.engine.simulation.PolicySimulationService;
+import com.cisco.ise.ai.engine.simulation.SimulationJob;
+import com.cisco.ise.ai.engine.simulation.SimulationReport;
+import com.cisco.ise.ai.engine.simulation.SimulationRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * REST Controller for policy simulation jobs
+ */
+@RestController
+@RequestMapping("/policies/simulations")
+@RequiredArgsConstructor
+@Slf4j
+public class SimulationController {
+    
+    private final PolicySimulationService simulationService;
+    
+    /**
+     * Submit a simulation replaying the sessions ISE currently reports against a candidate policy set
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<SimulationReport>> submitSimulation(@RequestBody SimulationRequest request) {
+        log.info("Submitting simulation: {}", request.getName());
+        
+        return Mono.fromCallable(() -> simulationService.submit(request).toReport())
+                .map(report -> ResponseEntity.status(HttpStatus.ACCEPTED).body(report))
+                .onErrorResume(e -> {
+                    log.warn("Rejected simulation {}: {}", request.getName(), e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                });
+    }
+    
+    /**
+     * Submit a simulation replaying an uploaded newline-delimited JSON stream of sessions against a candidate policy set
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<SimulationReport>> submitSessionReplay(@RequestParam(required = false) String name,
+                                                                      @RequestParam(required = false) List<String> candidatePolicyIds,
+                                                                      @RequestParam(required = false) List<String> removedPolicyIds,
+                                                                      InputStream sessions) {
+        SimulationRequest request = SimulationRequest.builder()
+                .name(name)
+                .candidatePolicyIds(candidatePolicyIds != null ? candidatePolicyIds : List.of())
+                .removedPolicyIds(removedPolicyIds != null ? removedPolicyIds : List.of())
+                .build();
+        log.info("Submitting simulation of uploaded sessions: {}", name);
+        
+        return Mono.fromCallable(() -> simulationService.submit(request, sessions).toReport())
+                .map(report -> ResponseEntity.status(HttpStatus.ACCEPTED).body(report))
+                .onErrorResume(e -> {
+                    log.warn("Rejected simulation {}: {}", name, e.getMessage());
+                    return Mono.just(ResponseEntity.badRequest().build());
+                });
+    }
+    
+    /**
+     * Get all simulation jobs, most recent first
+     */
+    @GetMapping
+    public Flux<SimulationReport> getSimulations() {
+        return Flux.fromIterable(simulationService.getJobs())
+                .map(SimulationJob::toReport);
+    }
+    
+    /**
+     * Get progress and results of a simulation job
+     */
+    @GetMapping("/{jobId}")
+    public Mono<ResponseEntity<SimulationReport>> getSimulation(@PathVariable String jobId) {
+        return Mono.justOrEmpty(simulationService.getJob(jobId))
+                .map(job -> ResponseEntity.ok(job.toReport()))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Cancel a queued or running simulation job
+     */
+    @DeleteMapping("/{jobId}")
+    public Mono<ResponseEntity<SimulationReport>> cancelSimulation(@PathVariable String jobId) {
+        log.info("Cancelling simulation: {}", jobId);
+        
+        return Mono.justOrEmpty(simulationService.cancel(jobId))
+                .map(job -> ResponseEntity.ok(job.toReport()))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,145 @@
+package com.cisco.ise.ai.orchestrator.imports;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A submitted import: progress updated by the importing and validating threads and read by reporting
+ */
+@Getter
+public class PolicyImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    public enum Format {
+        JSON,   // an array of policies, or one policy object after another (NDJSON)
+        CSV     // a header row naming the policy fields, then one policy per row
+    }
+
+    private final String jobId;
+    private final String name;
+    private final Format format;
+    private final long totalBytes;
+    private final int maxReportedErrors;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancelled;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile String error;
+    @Getter(AccessLevel.NONE)
+    private volatile long readBytes;
+
+    @Getter(AccessLevel.NONE)
+    private final LongAdder readRecords = new LongAdder();
+    @Getter(AccessLevel.NONE)
+    private final LongAdder importedPolicies = new LongAdder();
+    @Getter(AccessLevel.NONE)
+    private final LongAdder rejectedRecords = new LongAdder();
+    @Getter(AccessLevel.NONE)
+    private final LongAdder committedBatches = new LongAdder();
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger reportedErrors = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    private final Queue<PolicyImportReport.RecordError> errors = new ConcurrentLinkedQueue<>();
+
+    PolicyImportJob(String jobId, String name, Format format, long totalBytes, int maxReportedErrors) {
+        this.jobId = jobId;
+        this.name = name;
+        this.format = format;
+        this.totalBytes = totalBytes;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void read(long bytes) {
+        readRecords.increment();
+        readBytes = bytes;
+    }
+
+    void reject(long record, String reason) {
+        rejectedRecords.increment();
+        if (reportedErrors.getAndIncrement() < maxReportedErrors) {
+            errors.add(PolicyImportReport.RecordError.builder()
+                    .record(record)
+                    .error(reason)
+                    .build());
+        }
+    }
+
+    void commit(int policies) {
+        importedPolicies.add(policies);
+        committedBatches.increment();
+    }
+
+    void complete() {
+        finish(cancelled ? Status.CANCELLED : Status.COMPLETED);
+    }
+
+    void fail(Throwable cause) {
+        error = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+        finish(Status.FAILED);
+    }
+
+    void finish(Status finalStatus) {
+        completedAt = LocalDateTime.now();
+        status = finalStatus;
+    }
+
+    public PolicyImportReport toReport() {
+        long records = readRecords.sum();
+        long bytes = status == Status.COMPLETED ? totalBytes : readBytes;
+        PolicyImportReport.PolicyImportReportBuilder report = PolicyImportReport.builder()
+                .jobId(jobId)
+                .name(name)
+                .format(format)
+                .status(status)
+                .totalBytes(totalBytes)
+                .readBytes(bytes)
+                .progress(totalBytes == 0 ? 1.0 : Math.min(1.0, (double) bytes / totalBytes))
+                .readRecords(records)
+                .importedPolicies(importedPolicies.sum())
+                .rejectedRecords(rejectedRecords.sum())
+                .committedBatches(committedBatches.sum())
+                .errors(errors.stream()
+                        .sorted(Comparator.comparingLong(PolicyImportReport.RecordError::getRecord))
+                        .toList())
+                .error(error)
+                .submittedAt(submittedAt)
+                .startedAt(startedAt)
+                .completedAt(completedAt);
+
+        if (startedAt != null) {
+            long millis = Duration.between(startedAt, completedAt != null ? completedAt : LocalDateTime.now()).toMillis();
+            report.recordsPerSecond(millis > 0 ? records * 1000.0 / millis : 0.0);
+        }
+        return report.build();
+    }
+}
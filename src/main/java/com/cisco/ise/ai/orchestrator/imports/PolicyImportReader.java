@@ -0,0 +1,189 @@
+package com.cisco.ise.ai.orchestrator.imports;
+
+import com.cisco.ise.ai.model.Policy;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.Value;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Reads policy records one at a time from a JSON or CSV stream.
+ *
+ * Only the record being read is held in memory. JSON input is either an array of policy objects
+ * or a sequence of them; CSV input starts with a header row naming the fields of each column.
+ * Conditions and actions may be given as JSON text or, in JSON input, as nested objects.
+ */
+final class PolicyImportReader implements Closeable {
+
+    private static final CsvMapper CSV = CsvMapper.builder()
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .build();
+
+    private final CountingInputStream input;
+    private final MappingIterator<JsonNode> records;
+    private final ObjectMapper objectMapper;
+    private long recordNumber;
+
+    private PolicyImportReader(CountingInputStream input, MappingIterator<JsonNode> records, ObjectMapper objectMapper) {
+        this.input = input;
+        this.records = records;
+        this.objectMapper = objectMapper;
+    }
+
+    static PolicyImportReader open(InputStream in, PolicyImportJob.Format format, ObjectMapper objectMapper) throws IOException {
+        CountingInputStream input = new CountingInputStream(in);
+        MappingIterator<JsonNode> records = format == PolicyImportJob.Format.CSV
+                ? CSV.readerFor(JsonNode.class).with(CsvSchema.emptySchema().withHeader()).readValues(input)
+                : objectMapper.readerFor(JsonNode.class).readValues(input);
+        return new PolicyImportReader(input, records, objectMapper);
+    }
+
+    /**
+     * The next record, or null at the end of the input
+     *
+     * @throws JsonProcessingException when the input is malformed; nothing after it can be read
+     */
+    Record next() throws IOException {
+        if (!records.hasNextValue()) {
+            return null;
+        }
+        JsonNode fields = records.nextValue();
+        return new Record(++recordNumber, fields);
+    }
+
+    long getRecordNumber() {
+        return recordNumber;
+    }
+
+    long getBytesRead() {
+        return input.count;
+    }
+
+    /**
+     * A draft policy from the fields of a record
+     *
+     * @throws IllegalArgumentException when a field is missing or has the wrong type
+     */
+    Policy toPolicy(Record record) throws JsonProcessingException {
+        JsonNode fields = record.getFields();
+        if (!fields.isObject()) {
+            throw new IllegalArgumentException("Record is not an object");
+        }
+        String name = text(fields, "name");
+        String type = text(fields, "type");
+        String priority = text(fields, "priority");
+        String missing = name == null ? "name" : type == null ? "type" : priority == null ? "priority" : null;
+        if (missing != null) {
+            throw new IllegalArgumentException("Missing " + missing);
+        }
+
+        return Policy.builder()
+                .name(name)
+                .description(text(fields, "description"))
+                .type(type(type))
+                .priority(number(priority, "priority", Integer::valueOf))
+                .conditions(document(fields, "conditions"))
+                .actions(document(fields, "actions"))
+                .riskScore(number(text(fields, "riskScore"), "riskScore", Double::valueOf))
+                .aiConfidence(number(text(fields, "aiConfidence"), "aiConfidence", Double::valueOf))
+                .createdBy(text(fields, "createdBy"))
+                .build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        records.close();
+        input.close();
+    }
+
+    private String document(JsonNode fields, String field) throws JsonProcessingException {
+        JsonNode value = fields.get(field);
+        if (value != null && value.isContainerNode()) {
+            return objectMapper.writeValueAsString(value);
+        }
+        return text(fields, field);
+    }
+
+    private static String text(JsonNode fields, String field) {
+        JsonNode value = fields.get(field);
+        if (value == null || value.isNull() || value.isContainerNode()) {
+            return null;
+        }
+        String text = value.asText();
+        return text.isBlank() ? null : text.trim();
+    }
+
+    private static Policy.PolicyType type(String type) {
+        try {
+            return Policy.PolicyType.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown type: " + type);
+        }
+    }
+
+    private static <N> N number(String text, String field, Function<String, N> parse) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return parse.apply(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + text);
+        }
+    }
+
+    @Value
+    static class Record {
+        long number;
+        JsonNode fields;
+    }
+
+    /**
+     * Counts the bytes read for progress reporting
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = in.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = in.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
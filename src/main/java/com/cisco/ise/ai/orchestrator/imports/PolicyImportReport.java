@@ -0,0 +1,49 @@
+package com.cisco.ise.ai.orchestrator.imports;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress and results of a policy import job.
+ *
+ * Progress is the share of the input read so far. Imported policies were committed as drafts;
+ * rejected records were skipped, and the first of them are listed with their reason.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolicyImportReport {
+
+    private String jobId;
+    private String name;
+    private PolicyImportJob.Format format;
+    private PolicyImportJob.Status status;
+    private long totalBytes;
+    private long readBytes;
+    private double progress;
+    private long readRecords;
+    private long importedPolicies;
+    private long rejectedRecords;
+    private long committedBatches;
+    private double recordsPerSecond;
+    private List<RecordError> errors;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RecordError {
+        private long record;   // 1-based position of the record in the input
+        private String error;
+    }
+}
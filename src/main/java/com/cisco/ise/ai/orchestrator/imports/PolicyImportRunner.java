@@ -0,0 +1,43 @@
+package com.cisco.ise.ai.orchestrator.imports;
+
+import com.cisco.ise.ai.config.PolicyImportProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Imports the files named by {@code policy.import.files} at startup, one after another, logging
+ * progress until each finishes; e.g. {@code java -jar app.jar --policy.import.files=rules.csv}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PolicyImportRunner implements ApplicationRunner {
+
+    private final PolicyImportService importService;
+    private final PolicyImportProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        for (String file : properties.getFiles()) {
+            PolicyImportJob job = importService.submit(Path.of(file));
+            while (!job.isFinished()) {
+                Thread.sleep(Math.max(1, properties.getProgressIntervalMs()));
+                PolicyImportReport report = job.toReport();
+                log.info("Importing {}: {}% read, {} imported, {} rejected",
+                        file, Math.round(report.getProgress() * 100), report.getImportedPolicies(), report.getRejectedRecords());
+            }
+
+            PolicyImportReport report = job.toReport();
+            report.getErrors().forEach(error -> log.warn("Import of {} rejected record {}: {}",
+                    file, error.getRecord(), error.getError()));
+            log.info("Imported {}: {} with {} of {} records imported{}", file, report.getStatus(),
+                    report.getImportedPolicies(), report.getReadRecords(),
+                    report.getError() != null ? " (" + report.getError() + ")" : "");
+        }
+    }
+}
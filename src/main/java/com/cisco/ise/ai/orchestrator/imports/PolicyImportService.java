@@ -0,0 +1,279 @@
+package com.cisco.ise.ai.orchestrator.imports;
+
+import com.cisco.ise.ai.config.PolicyImportProperties;
+import com.cisco.ise.ai.engine.PolicyCompilationException;
+import com.cisco.ise.ai.engine.PolicyDecisionEngine;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.orchestrator.PolicyCache;
+import com.cisco.ise.ai.repository.PolicyStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports large policy sets from JSON or CSV files as IMPORTED draft policies.
+ *
+ * A job streams its file one record at a time, so memory use is bounded by
+ * {@code policy.import.batch-size} whatever the size of the file. Each batch is mapped,
+ * validated and compiled in parallel on a pool shared by all jobs, then its valid policies are
+ * committed in one transaction; invalid records are skipped and reported. Uploaded files are
+ * spooled to {@code policy.import.directory} and deleted when their job finishes. Cancelling or
+ * failing a job leaves the batches already committed in place.
+ */
+@Service
+@Slf4j
+public class PolicyImportService {
+
+    private final PolicyStore policyStore;
+    private final PolicyCache policyCache;
+    private final PolicyDecisionEngine decisionEngine;
+    private final PolicyImportProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final ExecutorService jobRunner;
+    private final ForkJoinPool validationPool;
+    private final Map<String, PolicyImportJob> jobs = new ConcurrentHashMap<>();
+
+    public PolicyImportService(PolicyStore policyStore,
+                               PolicyCache policyCache,
+                               PolicyDecisionEngine decisionEngine,
+                               PolicyImportProperties properties,
+                               ObjectMapper objectMapper) {
+        this.policyStore = policyStore;
+        this.policyCache = policyCache;
+        this.decisionEngine = decisionEngine;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+
+        AtomicInteger runners = new AtomicInteger();
+        this.jobRunner = Executors.newFixedThreadPool(Math.max(1, properties.getMaxConcurrentImports()), runnable -> {
+            Thread thread = new Thread(runnable, "policy-import-" + runners.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.validationPool = new ForkJoinPool(properties.getParallelism() > 0
+                ? properties.getParallelism() : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Spools an uploaded stream to disk, then queues its import
+     */
+    public PolicyImportJob submit(String name, PolicyImportJob.Format format, InputStream input) throws IOException {
+        checkEnabled();
+        Path directory = Files.createDirectories(Path.of(properties.getDirectory()));
+        Path spooled = Files.createTempFile(directory, "import-", "." + format.name().toLowerCase(Locale.ROOT));
+        try {
+            Files.copy(input, spooled, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+        return queue(name, format, spooled, true);
+    }
+
+    /**
+     * Queues the import of a file the service can read; CSV when its name ends in .csv, JSON otherwise
+     */
+    public PolicyImportJob submit(Path file) throws IOException {
+        checkEnabled();
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Not a file: " + file);
+        }
+        PolicyImportJob.Format format = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv")
+                ? PolicyImportJob.Format.CSV : PolicyImportJob.Format.JSON;
+        return queue(file.getFileName().toString(), format, file, false);
+    }
+
+    public Optional<PolicyImportJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * Jobs, most recently submitted first
+     */
+    public List<PolicyImportJob> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(PolicyImportJob::getSubmittedAt).reversed())
+                .toList();
+    }
+
+    /**
+     * Requests cancellation; a running job stops at its next batch boundary
+     */
+    public Optional<PolicyImportJob> cancel(String jobId) {
+        PolicyImportJob job = jobs.get(jobId);
+        if (job != null && !job.isFinished()) {
+            job.cancel();
+        }
+        return Optional.ofNullable(job);
+    }
+
+    private PolicyImportJob queue(String name, PolicyImportJob.Format format, Path file, boolean spooled) throws IOException {
+        String jobId = "import-" + UUID.randomUUID().toString().substring(0, 8);
+        PolicyImportJob job = new PolicyImportJob(jobId, name != null ? name : jobId, format,
+                Files.size(file), properties.getMaxReportedErrors());
+        jobs.put(jobId, job);
+        jobRunner.execute(() -> run(job, file, spooled));
+
+        log.info("Queued policy import {} of {} bytes of {}", jobId, job.getTotalBytes(), format);
+        return job;
+    }
+
+    private void run(PolicyImportJob job, Path file, boolean spooled) {
+        try {
+            if (job.isCancelled()) {
+                release(file, spooled);
+                job.finish(PolicyImportJob.Status.CANCELLED);
+                return;
+            }
+            job.start();
+            importFile(job, file);
+            release(file, spooled);
+            job.complete();
+
+            PolicyImportReport report = job.toReport();
+            log.info("Policy import {} {}: {} records, {} imported, {} rejected at {} records/s",
+                    job.getJobId(), job.getStatus(), report.getReadRecords(), report.getImportedPolicies(),
+                    report.getRejectedRecords(), Math.round(report.getRecordsPerSecond()));
+        } catch (Exception e) {
+            log.error("Policy import {} failed: {}", job.getJobId(), e.getMessage(), e);
+            release(file, spooled);
+            job.fail(e);
+        } finally {
+            evictFinishedJobs();
+        }
+    }
+
+    private void importFile(PolicyImportJob job, Path file) throws IOException {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        try (PolicyImportReader reader = PolicyImportReader.open(Files.newInputStream(file), job.getFormat(), objectMapper)) {
+            List<PolicyImportReader.Record> batch = new ArrayList<>(batchSize);
+            while (!job.isCancelled()) {
+                PolicyImportReader.Record record;
+                try {
+                    record = reader.next();
+                } catch (JsonProcessingException e) {
+                    // Nothing after a malformed record can be read; what came before it is still imported
+                    importBatch(job, reader, batch);
+                    throw new IllegalArgumentException("Record " + (reader.getRecordNumber() + 1) +
+                            " is malformed: " + e.getOriginalMessage(), e);
+                }
+                if (record == null) {
+                    break;
+                }
+                batch.add(record);
+                job.read(reader.getBytesRead());
+                if (batch.size() == batchSize) {
+                    importBatch(job, reader, batch);
+                    batch.clear();
+                }
+            }
+            if (!job.isCancelled()) {
+                importBatch(job, reader, batch);
+            }
+        }
+    }
+
+    /**
+     * Deletes a spooled upload before its job is reported finished
+     */
+    private void release(Path file, boolean spooled) {
+        if (!spooled) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled import {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Validates and compiles a batch in parallel, then commits its valid policies in one transaction
+     */
+    private void importBatch(PolicyImportJob job, PolicyImportReader reader, List<PolicyImportReader.Record> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Policy> valid = validationPool.submit(() -> batch.parallelStream()
+                .map(record -> validate(job, reader, record))
+                .filter(Objects::nonNull)
+                .toList()).join();
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<Policy> saved = policyStore.createAll(valid).block();
+        saved.forEach(policy -> policyCache.invalidate(policy, null));
+        job.commit(saved.size());
+        log.debug("Policy import {} committed {} policies through record {}",
+                job.getJobId(), saved.size(), batch.get(batch.size() - 1).getNumber());
+    }
+
+    private Policy validate(PolicyImportJob job, PolicyImportReader reader, PolicyImportReader.Record record) {
+        try {
+            Policy policy = reader.toPolicy(record);
+            policy.setPolicyId(UUID.randomUUID().toString());
+            policy.setSource(Policy.PolicySource.IMPORTED);
+            policy.setStatus(Policy.PolicyStatus.DRAFT);
+            if (policy.getCreatedBy() == null) {
+                policy.setCreatedBy("import");
+            }
+            decisionEngine.compile(policy, false);
+            // Encoded here so the serial write does not have to
+            policy.encodeDocuments();
+            return policy;
+        } catch (PolicyCompilationException e) {
+            // Reported without the generated policy id, which means nothing to the importer
+            job.reject(record.getNumber(), e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return null;
+        } catch (Exception e) {
+            job.reject(record.getNumber(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void checkEnabled() {
+        if (!properties.isEnabled()) {
+            throw new IllegalStateException("Policy import is disabled");
+        }
+    }
+
+    private void evictFinishedJobs() {
+        List<PolicyImportJob> finished = jobs.values().stream()
+                .filter(PolicyImportJob::isFinished)
+                .sorted(Comparator.comparing(PolicyImportJob::getCompletedAt))
+                .toList();
+        for (int i = 0; i < finished.size() - properties.getRetainedJobs(); i++) {
+            jobs.remove(finished.get(i).getJobId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(PolicyImportJob::cancel);
+        jobRunner.shutdownNow();
+        validationPool.shutdownNow();
+    }
+}
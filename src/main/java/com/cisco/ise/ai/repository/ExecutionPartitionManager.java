@@ -0,0 +1,140 @@
+package com.cisco.ise.ai.repository;
+
+import com.cisco.ise.ai.config.ExecutionRetentionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps {@code policy_executions} within its retention window.
+ *
+ * On PostgreSQL the table is range-partitioned by day (see {@code schema-postgresql.sql}): each run
+ * creates the partitions for the next {@code partitions-ahead} days and drops every partition that
+ * lies entirely before the window, so expiring a day of history is a catalog change rather than
+ * millions of row deletes. Rows that landed in the default partition, and tables that are not
+ * partitioned at all such as the in-memory H2 database, fall back to deleting expired rows in
+ * bounded batches.
+ */
+@Component
+@Profile("!r2dbc")
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutionPartitionManager {
+
+    static final String TABLE = "policy_executions";
+    static final String DEFAULT_PARTITION = TABLE + "_default";
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern DAILY_PARTITION = Pattern.compile(TABLE + "_p(\\d{8})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ExecutionRetentionProperties properties;
+
+    private volatile Boolean partitioned;
+
+    @Scheduled(fixedDelayString = "${policy.executions.retention.interval-ms:3600000}")
+    public void maintain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            maintain(LocalDate.now());
+        } catch (DataAccessException e) {
+            log.warn("Execution history maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Prepares partitions from {@code today} onward and removes history from before the retention window
+     */
+    public synchronized void maintain(LocalDate today) {
+        LocalDate cutoff = today.minusDays(properties.getRetentionDays());
+        if (!isPartitioned()) {
+            long deleted = deleteBefore(TABLE, cutoff);
+            if (deleted > 0) {
+                log.info("Deleted {} execution records from before {}; {} is not partitioned", deleted, cutoff, TABLE);
+            }
+            return;
+        }
+
+        int created = 0;
+        for (int day = 0; day <= properties.getPartitionsAhead(); day++) {
+            created += createPartition(today.plusDays(day)) ? 1 : 0;
+        }
+        int dropped = 0;
+        for (String partition : partitions()) {
+            Matcher matcher = DAILY_PARTITION.matcher(partition);
+            if (matcher.matches() && !LocalDate.parse(matcher.group(1), SUFFIX).plusDays(1).isAfter(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                dropped++;
+            }
+        }
+        long deleted = deleteBefore(DEFAULT_PARTITION, cutoff);
+        log.info("Maintained {} partitions: {} created, {} dropped before {}, {} rows expired from the default partition",
+                TABLE, created, dropped, cutoff, deleted);
+    }
+
+    /**
+     * Whether {@code policy_executions} is a partitioned PostgreSQL table; checked once
+     */
+    public boolean isPartitioned() {
+        if (partitioned == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            partitioned = "PostgreSQL".equals(product) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table t JOIN pg_class c ON c.oid = t.partrelid " +
+                            "WHERE c.relname = ?)", Boolean.class, TABLE));
+        }
+        return partitioned;
+    }
+
+    /**
+     * Names of the partitions currently attached to {@code policy_executions}
+     */
+    public List<String> partitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.relname = ? ORDER BY c.relname", String.class, TABLE);
+    }
+
+    private boolean createPartition(LocalDate day) {
+        String partition = TABLE + "_p" + SUFFIX.format(day);
+        if (partitions().contains(partition)) {
+            return false;
+        }
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + TABLE +
+                    " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+            return true;
+        } catch (DataAccessException e) {
+            // Rows for this day already sit in the default partition; they stay there until they expire
+            log.warn("Could not create partition {}: {}", partition, e.getMessage());
+            return false;
+        }
+    }
+
+    private long deleteBefore(String table, LocalDate cutoff) {
+        int batchSize = Math.max(1, properties.getDeleteBatchSize());
+        Timestamp before = Timestamp.valueOf(cutoff.atStartOfDay());
+        long deleted = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN (SELECT id FROM " + table +
+                    " WHERE executed_at < ? FETCH FIRST " + batchSize + " ROWS ONLY)", before);
+            deleted += batch;
+        } while (batch == batchSize);
+        return deleted;
+    }
+}
@@ -0,0 +1,320 @@
+package com.cisco.ise.ai.repository;
+
+import com.cisco.ise.ai.config.RepositorySchedulerProperties;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.model.PolicyExecutionSummary;
+import com.cisco.ise.ai.model.PolicyRevision;
+import com.cisco.ise.ai.model.PolicySummary;
+import com.cisco.ise.ai.model.Session;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * {@link PolicyStore} over the blocking JPA repositories, run on the {@link RepositoryScheduler}.
+ *
+ * Full listings are streamed as consecutive keyset pages of {@code policy.repository.stream-fetch-size}
+ * rows, each read in its own short query, so a slow consumer holds neither a repository thread
+ * nor a connection while it works through the stream. Bulk operations load their policies in IN lists
+ * of {@value #IN_LIST_SIZE} ids; field changes are flushed as batched versioned updates, while status
+ * changes are single versioned UPDATE statements over the same lists. Sessions are upserted the same
+ * way: stored rows are loaded by IN list and merged, new ones inserted, both as JDBC batches.
+ */
+@Component
+@Profile("!r2dbc")
+@RequiredArgsConstructor
+public class JpaPolicyStore implements PolicyStore {
+
+    private static final int IN_LIST_SIZE = 1000;
+
+    private final PolicyRepository policyRepository;
+    private final PolicyExecutionRepository executionRepository;
+    private final PolicyRevisionRepository revisionRepository;
+    private final SessionRepository sessionRepository;
+    private final PolicyRevisions policyRevisions;
+    private final RepositoryScheduler repositoryScheduler;
+    private final RepositorySchedulerProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Mono<Policy> create(Policy policy) {
+        return repositoryScheduler.inTransaction(() -> {
+            List<PolicyRevision> revisions = policyRevisions.revise(policy, null);
+            Policy saved = policyRepository.save(policy);
+            revisionRepository.saveAll(revisions);
+            return saved;
+        });
+    }
+
+    @Override
+    public Mono<Policy> update(String policyId, Consumer<Policy> change) {
+        return repositoryScheduler.inTransaction(() -> policyRepository.findByPolicyId(policyId)
+                .map(policy -> {
+                    ObjectNode previous = PolicyRevisions.document(policy);
+                    change.accept(policy);
+                    List<PolicyRevision> revisions = policyRevisions.revise(policy, previous);
+                    Policy saved = policyRepository.save(policy);
+                    revisionRepository.saveAll(revisions);
+                    return saved;
+                })
+                .orElse(null));
+    }
+
+    @Override
+    public Mono<List<Policy>> createAll(List<Policy> policies) {
+        return repositoryScheduler.inTransaction(() -> {
+            List<PolicyRevision> revisions = new ArrayList<>(policies.size());
+            policies.forEach(policy -> revisions.addAll(policyRevisions.revise(policy, null)));
+            List<Policy> saved = policyRepository.saveAll(policies);
+            revisionRepository.saveAll(revisions);
+            return saved;
+        });
+    }
+
+    @Override
+    public Mono<List<Policy>> updateAll(Collection<String> policyIds, Predicate<Policy> change) {
+        // Changed only once everything is loaded, so no query in between auto-flushes a partial batch
+        return repositoryScheduler.inTransaction(() -> {
+            List<Policy> changed = new ArrayList<>();
+            List<PolicyRevision> revisions = new ArrayList<>();
+            for (Policy policy : load(policyIds)) {
+                ObjectNode previous = PolicyRevisions.document(policy);
+                if (change.test(policy)) {
+                    revisions.addAll(policyRevisions.revise(policy, previous));
+                    changed.add(policy);
+                }
+            }
+            List<Policy> saved = policyRepository.saveAll(changed);
+            revisionRepository.saveAll(revisions);
+            return saved;
+        });
+    }
+
+    @Override
+    public Mono<List<Policy>> updateStatus(Collection<String> policyIds, Predicate<Policy> filter, Policy.PolicyStatus status) {
+        return repositoryScheduler.inTransaction(() -> {
+            List<Policy> accepted = load(policyIds).stream().filter(filter).toList();
+            // Stored columns keep microseconds, so the timestamp read back matches the one written
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            Map<Long, List<Long>> idsByVersion = accepted.stream().collect(Collectors.groupingBy(
+                    policy -> policy.getVersion() != null ? policy.getVersion() : 0L,
+                    Collectors.mapping(Policy::getId, Collectors.toList())));
+            Set<Long> conflicts = new HashSet<>();
+            idsByVersion.forEach((version, ids) -> {
+                for (int from = 0; from < ids.size(); from += IN_LIST_SIZE) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + IN_LIST_SIZE, ids.size()));
+                    if (policyRepository.updateStatus(chunk, version, status, now) != chunk.size()) {
+                        Set<Long> updated = new HashSet<>(policyRepository.findIdsUpdatedTo(chunk, version + 1, now));
+                        chunk.stream().filter(id -> !updated.contains(id)).forEach(conflicts::add);
+                    }
+                }
+            });
+            // The update cleared the persistence context, so the loaded copies can be brought up to date
+            List<Policy> applied = accepted.stream().filter(policy -> !conflicts.contains(policy.getId())).toList();
+            for (Policy policy : applied) {
+                policy.setStatus(status);
+                policy.setVersion((policy.getVersion() != null ? policy.getVersion() : 0L) + 1);
+                policy.setUpdatedAt(now);
+            }
+            return applied;
+        });
+    }
+
+    @Override
+    public Mono<Policy> findByPolicyId(String policyId) {
+        return repositoryScheduler.mono(() -> policyRepository.findByPolicyId(policyId).orElse(null));
+    }
+
+    @Override
+    public Flux<Policy> findAll() {
+        return chunked(this::findPolicies, Keyset.PolicyKey::of);
+    }
+
+    @Override
+    public Flux<Policy> findPolicies(Keyset.PolicyKey after, int limit) {
+        return repositoryScheduler.flux(() -> after == null
+                ? policyRepository.findFirstPage(Limit.of(limit))
+                : policyRepository.findPageAfter(after.getPriority(), after.getId(), Limit.of(limit)));
+    }
+
+    @Override
+    public Flux<PolicySummary> findPolicySummaries(Keyset.PolicyKey after, int limit) {
+        return repositoryScheduler.flux(() -> after == null
+                ? policyRepository.findFirstSummaryPage(Limit.of(limit))
+                : policyRepository.findSummaryPageAfter(after.getPriority(), after.getId(), Limit.of(limit)));
+    }
+
+    @Override
+    public Flux<PolicyRevision> findRevisions(String policyId) {
+        return repositoryScheduler.flux(() -> revisionRepository.findByPolicyIdOrderByRevisionDesc(policyId));
+    }
+
+    @Override
+    public Flux<PolicyRevision> findRevisionChain(String policyId, long revision) {
+        return repositoryScheduler.flux(() -> revisionRepository.findChain(policyId, revision));
+    }
+
+    @Override
+    public Flux<Policy> findByStatus(Policy.PolicyStatus status) {
+        return repositoryScheduler.flux(() -> policyRepository.findByStatus(status));
+    }
+
+    @Override
+    public Flux<Policy> findByStatusOrderByPriorityAsc(Policy.PolicyStatus status) {
+        return repositoryScheduler.flux(() -> policyRepository.findByStatusOrderByPriorityAsc(status));
+    }
+
+    @Override
+    public Mono<PolicyExecution> saveExecution(PolicyExecution execution) {
+        return repositoryScheduler.inTransaction(() -> executionRepository.save(execution))
+                .doOnNext(saved -> eventPublisher.publishEvent(new PolicyExecutionsSavedEvent(List.of(saved))));
+    }
+
+    @Override
+    public Mono<List<PolicyExecution>> saveExecutions(List<PolicyExecution> executions) {
+        // Sequence ids are allocated in pools, so Hibernate sends the inserts as JDBC batches
+        return repositoryScheduler.inTransaction(() -> executionRepository.saveAll(executions))
+                .doOnNext(saved -> eventPublisher.publishEvent(new PolicyExecutionsSavedEvent(saved)));
+    }
+
+    @Override
+    public Flux<PolicyExecution> findExecutionsSince(LocalDateTime since) {
+        return this.<PolicyExecution, Keyset.ExecutionKey>chunked((after, limit) -> repositoryScheduler.flux(() -> after == null
+                ? executionRepository.findFirstPageSince(since, Limit.of(limit))
+                : executionRepository.findPageSinceBefore(since, after.getExecutedAt(), after.getId(), Limit.of(limit))),
+                Keyset.ExecutionKey::of);
+    }
+
+    @Override
+    public Flux<PolicyExecution> findExecutionsBefore(LocalDateTime before, int limit) {
+        return repositoryScheduler.flux(() -> executionRepository.findOldestBefore(before, Limit.of(limit)));
+    }
+
+    @Override
+    public Mono<Long> deleteExecutions(Collection<Long> ids) {
+        return repositoryScheduler.inTransaction(() -> {
+            List<Long> list = new ArrayList<>(ids);
+            long deleted = 0;
+            for (int from = 0; from < list.size(); from += IN_LIST_SIZE) {
+                deleted += executionRepository.deleteByIdIn(list.subList(from, Math.min(from + IN_LIST_SIZE, list.size())));
+            }
+            return deleted;
+        });
+    }
+
+    @Override
+    public Flux<PolicyExecution> findExecutionsByPolicyId(String policyId) {
+        return this.<PolicyExecution, Keyset.ExecutionKey>chunked((after, limit) -> findExecutionsByPolicyId(policyId, after, limit),
+                Keyset.ExecutionKey::of);
+    }
+
+    @Override
+    public Flux<PolicyExecution> findExecutionsByPolicyId(String policyId, Keyset.ExecutionKey after, int limit) {
+        return repositoryScheduler.flux(() -> after == null
+                ? executionRepository.findFirstPageByPolicyId(policyId, Limit.of(limit))
+                : executionRepository.findPageByPolicyIdBefore(policyId, after.getExecutedAt(), after.getId(), Limit.of(limit)));
+    }
+
+    @Override
+    public Flux<PolicyExecutionSummary> findExecutionSummariesByPolicyId(String policyId, Keyset.ExecutionKey after, int limit) {
+        return repositoryScheduler.flux(() -> after == null
+                ? executionRepository.findFirstSummaryPageByPolicyId(policyId, Limit.of(limit))
+                : executionRepository.findSummaryPageByPolicyIdBefore(policyId, after.getExecutedAt(), after.getId(), Limit.of(limit)));
+    }
+
+    @Override
+    public Flux<PolicyExecution> findExecutionsBySessionId(String sessionId) {
+        return this.<PolicyExecution, Keyset.ExecutionKey>chunked((after, limit) -> findExecutionsBySessionId(sessionId, after, limit),
+                Keyset.ExecutionKey::of);
+    }
+
+    @Override
+    public Flux<PolicyExecution> findExecutionsBySessionId(String sessionId, Keyset.ExecutionKey after, int limit) {
+        return repositoryScheduler.flux(() -> after == null
+                ? executionRepository.findFirstPageBySessionId(sessionId, Limit.of(limit))
+                : executionRepository.findPageBySessionIdBefore(sessionId, after.getExecutedAt(), after.getId(), Limit.of(limit)));
+    }
+
+    @Override
+    public Flux<PolicyExecutionSummary> findExecutionSummariesBySessionId(String sessionId, Keyset.ExecutionKey after, int limit) {
+        return repositoryScheduler.flux(() -> after == null
+                ? executionRepository.findFirstSummaryPageBySessionId(sessionId, Limit.of(limit))
+                : executionRepository.findSummaryPageBySessionIdBefore(sessionId, after.getExecutedAt(), after.getId(), Limit.of(limit)));
+    }
+
+    @Override
+    public Mono<PolicyExecution> findExecutionByExecutionId(String executionId) {
+        return repositoryScheduler.mono(() -> executionRepository.findWithPolicyByExecutionId(executionId).orElse(null));
+    }
+
+    @Override
+    public Mono<Integer> saveSessions(Collection<Session> sessions) {
+        return repositoryScheduler.inTransaction(() -> {
+            List<String> ids = sessions.stream().map(Session::getSessionId).toList();
+            Map<String, Session> stored = new HashMap<>(ids.size());
+            for (int from = 0; from < ids.size(); from += IN_LIST_SIZE) {
+                sessionRepository.findBySessionIdIn(ids.subList(from, Math.min(from + IN_LIST_SIZE, ids.size())))
+                        .forEach(session -> stored.put(session.getSessionId(), session));
+            }
+            // Stored rows are merged into the copies just loaded, so only changed columns are updated
+            for (Session session : sessions) {
+                Session existing = stored.get(session.getSessionId());
+                session.setId(existing != null ? existing.getId() : null);
+                session.setCreatedAt(existing != null ? existing.getCreatedAt() : null);
+            }
+            return sessionRepository.saveAll(sessions).size();
+        });
+    }
+
+    @Override
+    public Mono<Session> findSession(String sessionId) {
+        return repositoryScheduler.mono(() -> sessionRepository.findBySessionId(sessionId).orElse(null));
+    }
+
+    @Override
+    public Flux<Session> findSessionsByUserName(String userName) {
+        return repositoryScheduler.flux(() -> sessionRepository.findByUserNameOrderByLastUpdateDesc(userName));
+    }
+
+    private List<Policy> load(Collection<String> policyIds) {
+        List<String> ids = new ArrayList<>(policyIds);
+        List<Policy> loaded = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += IN_LIST_SIZE) {
+            loaded.addAll(policyRepository.findByPolicyIdIn(ids.subList(from, Math.min(from + IN_LIST_SIZE, ids.size()))));
+        }
+        return loaded;
+    }
+
+    /**
+     * Reads pages on demand, at most one page ahead of the consumer
+     */
+    private <T, K> Flux<T> chunked(BiFunction<K, Integer, Flux<T>> page, Function<T, K> position) {
+        int size = Math.max(1, properties.getStreamFetchSize());
+        return page.apply(null, size).collectList()
+                .expand(rows -> rows.size() < size
+                        ? Mono.empty()
+                        : page.apply(position.apply(rows.get(rows.size() - 1)), size).collectList())
+                .concatMapIterable(rows -> rows, 1);
+    }
+}
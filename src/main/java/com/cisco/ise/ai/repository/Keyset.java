@@ -0,0 +1,102 @@
+package com.cisco.ise.ai.repository;
+
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.model.PolicyExecutionSummary;
+import com.cisco.ise.ai.model.PolicySummary;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset (seek) positions for paging through ordered listings.
+ *
+ * A page starts strictly after the last row of the previous page, so every page is a range scan
+ * on the sort key no matter how deep the client has paged. Positions are handed to clients as
+ * opaque, URL-safe cursors.
+ */
+public final class Keyset {
+
+    private Keyset() {
+    }
+
+    /**
+     * Position in policies ordered by priority, then id
+     */
+    @Value
+    public static class PolicyKey {
+        int priority;
+        long id;
+
+        public static PolicyKey of(Policy policy) {
+            return new PolicyKey(policy.getPriority(), policy.getId());
+        }
+
+        public static PolicyKey of(PolicySummary policy) {
+            return new PolicyKey(policy.getPriority(), policy.getId());
+        }
+
+        public static PolicyKey decode(String cursor) {
+            String[] parts = split(cursor);
+            try {
+                return new PolicyKey(Integer.parseInt(parts[0]), Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+        }
+
+        public String encode() {
+            return join(priority, id);
+        }
+    }
+
+    /**
+     * Position in executions ordered most recent first: executedAt descending, then id descending
+     */
+    @Value
+    public static class ExecutionKey {
+        LocalDateTime executedAt;
+        long id;
+
+        public static ExecutionKey of(PolicyExecution execution) {
+            return new ExecutionKey(execution.getExecutedAt(), execution.getId());
+        }
+
+        public static ExecutionKey of(PolicyExecutionSummary execution) {
+            return new ExecutionKey(execution.getExecutedAt(), execution.getId());
+        }
+
+        public static ExecutionKey decode(String cursor) {
+            String[] parts = split(cursor);
+            try {
+                return new ExecutionKey(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+            }
+        }
+
+        public String encode() {
+            return join(executedAt, id);
+        }
+    }
+
+    private static String join(Object sortKey, long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sortKey + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] split(String cursor) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return parts;
+    }
+}
@@ -1,9 +1,17 @@
 package com.cisco.ise.ai.repository;
 
 import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.model.PolicyExecutionSummary;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +24,10 @@ public interface PolicyExecutionRepository extends JpaRepository<PolicyExecution
     // Find by execution ID
     Optional<PolicyExecution> findByExecutionId(String executionId);
     
+    // Detail view: the execution and its policy in one query
+    @EntityGraph(attributePaths = "policy")
+    Optional<PolicyExecution> findWithPolicyByExecutionId(String executionId);
+    
     // Find by session ID
     List<PolicyExecution> findBySessionIdOrderByExecutedAtDesc(String sessionId);
     
@@ -27,4 +39,73 @@ public interface PolicyExecutionRepository extends JpaRepository<PolicyExecution
     
     // Find by execution status
     List<PolicyExecution> findByExecutionStatusOrderByExecutedAtDesc(PolicyExecution.ExecutionStatus status);
+    
+    // Keyset pages, most recent first; the policy is fetched in the same query
+    @Query("SELECT e FROM PolicyExecution e JOIN FETCH e.policy p WHERE p.policyId = :policyId " +
+            "ORDER BY e.executedAt DESC, e.id DESC")
+    List<PolicyExecution> findFirstPageByPolicyId(@Param("policyId") String policyId, Limit limit);
+    
+    @Query("SELECT e FROM PolicyExecution e JOIN FETCH e.policy p WHERE p.policyId = :policyId " +
+            "AND (e.executedAt < :executedAt OR (e.executedAt = :executedAt AND e.id < :id)) " +
+            "ORDER BY e.executedAt DESC, e.id DESC")
+    List<PolicyExecution> findPageByPolicyIdBefore(@Param("policyId") String policyId,
+                                                   @Param("executedAt") LocalDateTime executedAt,
+                                                   @Param("id") long id, Limit limit);
+    
+    @Query("SELECT e FROM PolicyExecution e JOIN FETCH e.policy WHERE e.sessionId = :sessionId " +
+            "ORDER BY e.executedAt DESC, e.id DESC")
+    List<PolicyExecution> findFirstPageBySessionId(@Param("sessionId") String sessionId, Limit limit);
+    
+    @Query("SELECT e FROM PolicyExecution e JOIN FETCH e.policy WHERE e.sessionId = :sessionId " +
+            "AND (e.executedAt < :executedAt OR (e.executedAt = :executedAt AND e.id < :id)) " +
+            "ORDER BY e.executedAt DESC, e.id DESC")
+    List<PolicyExecution> findPageBySessionIdBefore(@Param("sessionId") String sessionId,
+                                                    @Param("executedAt") LocalDateTime executedAt,
+                                                    @Param("id") long id, Limit limit);
+    
+    // Keyset pages as summaries, reading only the listed columns and the policy's id and name
+    String SUMMARY = "SELECT new com.cisco.ise.ai.model.PolicyExecutionSummary(e.id, e.executionId, p.policyId, p.name, " +
+            "e.sessionId, e.userName, e.deviceMac, e.executionStatus, e.executionType, e.triggerReason, e.errorMessage, " +
+            "e.riskScoreBefore, e.riskScoreAfter, e.executionTimeMs, e.coaSent, e.executedAt, e.executedBy) " +
+            "FROM PolicyExecution e JOIN e.policy p ";
+    
+    @Query(SUMMARY + "WHERE p.policyId = :policyId ORDER BY e.executedAt DESC, e.id DESC")
+    List<PolicyExecutionSummary> findFirstSummaryPageByPolicyId(@Param("policyId") String policyId, Limit limit);
+    
+    @Query(SUMMARY + "WHERE p.policyId = :policyId " +
+            "AND (e.executedAt < :executedAt OR (e.executedAt = :executedAt AND e.id < :id)) " +
+            "ORDER BY e.executedAt DESC, e.id DESC")
+    List<PolicyExecutionSummary> findSummaryPageByPolicyIdBefore(@Param("policyId") String policyId,
+                                                                 @Param("executedAt") LocalDateTime executedAt,
+                                                                 @Param("id") long id, Limit limit);
+    
+    @Query(SUMMARY + "WHERE e.sessionId = :sessionId ORDER BY e.executedAt DESC, e.id DESC")
+    List<PolicyExecutionSummary> findFirstSummaryPageBySessionId(@Param("sessionId") String sessionId, Limit limit);
+    
+    @Query(SUMMARY + "WHERE e.sessionId = :sessionId " +
+            "AND (e.executedAt < :executedAt OR (e.executedAt = :executedAt AND e.id < :id)) " +
+            "ORDER BY e.executedAt DESC, e.id DESC")
+    List<PolicyExecutionSummary> findSummaryPageBySessionIdBefore(@Param("sessionId") String sessionId,
+                                                                  @Param("executedAt") LocalDateTime executedAt,
+                                                                  @Param("id") long id, Limit limit);
+    
+    @Query("SELECT e FROM PolicyExecution e JOIN FETCH e.policy WHERE e.executedAt >= :since " +
+            "ORDER BY e.executedAt DESC, e.id DESC")
+    List<PolicyExecution> findFirstPageSince(@Param("since") LocalDateTime since, Limit limit);
+    
+    @Query("SELECT e FROM PolicyExecution e JOIN FETCH e.policy WHERE e.executedAt >= :since " +
+            "AND (e.executedAt < :executedAt OR (e.executedAt = :executedAt AND e.id < :id)) " +
+            "ORDER BY e.executedAt DESC, e.id DESC")
+    List<PolicyExecution> findPageSinceBefore(@Param("since") LocalDateTime since,
+                                              @Param("executedAt") LocalDateTime executedAt,
+                                              @Param("id") long id, Limit limit);
+    
+    // Oldest first, for moving aged history out of the table
+    @Query("SELECT e FROM PolicyExecution e JOIN FETCH e.policy WHERE e.executedAt < :before " +
+            "ORDER BY e.executedAt, e.id")
+    List<PolicyExecution> findOldestBefore(@Param("before") LocalDateTime before, Limit limit);
+    
+    @Modifying
+    @Query("DELETE FROM PolicyExecution e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,256 @@
+package com.cisco.ise.ai.repository;
+
+import com.cisco.ise.ai.config.ExecutionWriterProperties;
+import com.cisco.ise.ai.model.PolicyExecution;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind log for {@link PolicyExecution} records.
+ *
+ * Executions are buffered in a bounded queue and written by a single background thread in
+ * batches of {@code policy.executions.batch-size}, or after {@code flush-interval-ms} when
+ * traffic is light. Pooled sequence ids let each batch go out as one JDBC batch.
+ *
+ * Durability: a record is durable once its batch is written. A failed batch is retried, then
+ * written record by record so one bad row cannot sink the rest. Graceful shutdown drains the
+ * queue; a crash loses at most the buffered records. When the buffer is full the configured
+ * {@link ExecutionWriterProperties.OverflowPolicy} applies. Reads of execution history can lag
+ * writes by up to one flush interval; {@link #flush} waits for everything recorded so far.
+ */
+@Component
+@Slf4j
+public class PolicyExecutionWriter {
+
+    private final PolicyStore policyStore;
+    private final ExecutionWriterProperties properties;
+    private final BlockingQueue<PolicyExecution> queue;
+    private final Timer batchTimer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter callerWrites;
+
+    private final Object progress = new Object();
+    private long recorded;
+    private long completed;
+
+    private final ReadWriteLock enqueueing = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+    private Thread flusher;
+
+    public PolicyExecutionWriter(PolicyStore policyStore, ExecutionWriterProperties properties, MeterRegistry meterRegistry) {
+        this.policyStore = policyStore;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+
+        Gauge.builder("policy.executions.queue.depth", queue, BlockingQueue::size)
+                .description("Execution records waiting to be written")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("policy.executions.batch")
+                .description("Time to write one batch of execution records")
+                .register(meterRegistry);
+        this.written = Counter.builder("policy.executions.written")
+                .description("Execution records written")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("policy.executions.dropped")
+                .description("Execution records discarded because the buffer was full or the write failed")
+                .register(meterRegistry);
+        this.callerWrites = Counter.builder("policy.executions.caller.writes")
+                .description("Execution records written on the caller's thread because the buffer was full")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isWriteBehind()) {
+            return;
+        }
+        flusher = new Thread(this::run, "execution-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Queues an execution for writing, applying the overflow policy when the buffer is full
+     */
+    public void record(PolicyExecution execution) {
+        synchronized (progress) {
+            recorded++;
+        }
+        boolean writeOnCaller;
+        // Shutdown flips running under the write lock, so a record is either queued before its
+        // final drain or sees running == false and is written here
+        enqueueing.readLock().lock();
+        try {
+            writeOnCaller = !properties.isWriteBehind() || !running || !offer(execution);
+        } finally {
+            enqueueing.readLock().unlock();
+        }
+        if (writeOnCaller) {
+            writeNow(execution);
+        }
+    }
+
+    /**
+     * Queues an execution or applies the overflow policy; false when the caller has to write it
+     */
+    private boolean offer(PolicyExecution execution) {
+        if (queue.offer(execution)) {
+            return true;
+        }
+        switch (properties.getOverflowPolicy()) {
+            case DROP -> {
+                dropped.increment();
+                complete(1);
+                log.warn("Execution buffer full ({} records), dropped execution {}", queue.size(), execution.getExecutionId());
+                return true;
+            }
+            case BLOCK -> {
+                try {
+                    if (queue.offer(execution, properties.getOfferTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            case CALLER_RUNS -> {
+            }
+        }
+        callerWrites.increment();
+        return false;
+    }
+
+    /**
+     * Waits until every execution recorded before the call has been written or dropped;
+     * returns false on timeout
+     */
+    public boolean flush(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progress) {
+            long target = recorded;
+            while (completed < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(progress, remaining);
+            }
+            return true;
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        enqueueing.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            enqueueing.writeLock().unlock();
+        }
+        if (flusher != null) {
+            // Not interrupted: an interrupt during a write fails the batch. The flusher sees
+            // running == false within one flush interval and drains the queue itself
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        // Anything the flusher did not get to is written before the store goes away
+        List<PolicyExecution> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    private void run() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<PolicyExecution> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PolicyExecution first = queue.poll(properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    PolicyExecution next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutdown: write what is in hand, then drain
+                queue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+    }
+
+    private void write(List<PolicyExecution> batch) {
+        for (int attempt = 1; attempt <= Math.max(1, properties.getMaxAttempts()); attempt++) {
+            try {
+                long start = System.nanoTime();
+                policyStore.saveExecutions(batch).block();
+                batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                written.increment(batch.size());
+                complete(batch.size());
+                return;
+            } catch (Exception e) {
+                log.warn("Writing {} executions failed (attempt {}): {}", batch.size(), attempt, e.getMessage());
+                batch.forEach(execution -> execution.setId(null));
+            }
+        }
+        // Isolate the rows that cannot be written
+        for (PolicyExecution execution : batch) {
+            writeNow(execution);
+        }
+    }
+
+    private void writeNow(PolicyExecution execution) {
+        try {
+            policyStore.saveExecution(execution).block();
+            written.increment();
+        } catch (Exception e) {
+            dropped.increment();
+            log.error("Dropped execution {} for policy {}: {}", execution.getExecutionId(),
+                    execution.getPolicy() != null ? execution.getPolicy().getPolicyId() : null, e.getMessage());
+        } finally {
+            complete(1);
+        }
+    }
+
+    private void complete(int count) {
+        synchronized (progress) {
+            completed += count;
+            progress.notifyAll();
+        }
+    }
+}
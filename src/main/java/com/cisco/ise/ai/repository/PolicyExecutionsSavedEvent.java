@@ -0,0 +1,14 @@
+package com.cisco.ise.ai.repository;
+
+import com.cisco.ise.ai.model.PolicyExecution;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published by the {@link PolicyStore} once executions have been committed, whichever path wrote them
+ */
+@Value
+public class PolicyExecutionsSavedEvent {
+    List<PolicyExecution> executions;
+}
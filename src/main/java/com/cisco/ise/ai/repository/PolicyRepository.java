@@ -1,9 +1,16 @@
 package com.cisco.ise.ai.repository;
 
 import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicySummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +23,8 @@ public interface PolicyRepository extends JpaRepository<Policy, Long> {
     // Find by policy ID
     Optional<Policy> findByPolicyId(String policyId);
     
+    List<Policy> findByPolicyIdIn(Collection<String> policyIds);
+    
     // Find by status
     List<Policy> findByStatus(Policy.PolicyStatus status);
     
@@ -33,4 +42,34 @@ public interface PolicyRepository extends JpaRepository<Policy, Long> {
     
     // Find policies created by user
     List<Policy> findByCreatedBy(String createdBy);
-}
+    
+    // Keyset pages ordered by priority, then id
+    @Query("SELECT p FROM Policy p ORDER BY p.priority, p.id")
+    List<Policy> findFirstPage(Limit limit);
+    
+    @Query("SELECT p FROM Policy p WHERE p.priority > :priority OR (p.priority = :priority AND p.id > :id) " +
+            "ORDER BY p.priority, p.id")
+    List<Policy> findPageAfter(@Param("priority") int priority, @Param("id") long id, Limit limit);
+    
+    // The same pages as summaries, reading only the listed columns
+    @Query("SELECT new com.cisco.ise.ai.model.PolicySummary(p.id, p.policyId, p.name, p.type, p.status, p.priority, " +
+            "p.riskScore, p.source, p.updatedAt, p.version) FROM Policy p ORDER BY p.priority, p.id")
+    List<PolicySummary> findFirstSummaryPage(Limit limit);
+    
+    @Query("SELECT new com.cisco.ise.ai.model.PolicySummary(p.id, p.policyId, p.name, p.type, p.status, p.priority, " +
+            "p.riskScore, p.source, p.updatedAt, p.version) FROM Policy p " +
+            "WHERE p.priority > :priority OR (p.priority = :priority AND p.id > :id) ORDER BY p.priority, p.id")
+    List<PolicySummary> findSummaryPageAfter(@Param("priority") int priority, @Param("id") long id, Limit limit);
+    
+    // Set-based status change guarded by the optimistic lock version; returns the rows updated
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Policy p SET p.status = :status, p.version = p.version + 1, p.updatedAt = :updatedAt " +
+            "WHERE p.id IN :ids AND p.version = :version")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("version") long version,
+                     @Param("status") Policy.PolicyStatus status, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Ids a status update moved to the version and timestamp it wrote, telling them from concurrently modified ones
+    @Query("SELECT p.id FROM Policy p WHERE p.id IN :ids AND p.version = :version AND p.updatedAt = :updatedAt")
+    List<Long> findIdsUpdatedTo(@Param("ids") Collection<Long> ids, @Param("version") long version,
+                                @Param("updatedAt") LocalDateTime updatedAt);
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.cisco.ise.ai.repository;
+
+import com.cisco.ise.ai.model.PolicyRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for PolicyRevision entities
+ */
+@Repository
+public interface PolicyRevisionRepository extends JpaRepository<PolicyRevision, Long> {
+    
+    // Revision history, most recent first
+    List<PolicyRevision> findByPolicyIdOrderByRevisionDesc(String policyId);
+    
+    // The nearest snapshot at or before a revision and the deltas after it, in one indexed range read
+    @Query("SELECT r FROM PolicyRevision r WHERE r.policyId = :policyId AND r.revision <= :revision " +
+            "AND r.revision >= (SELECT MAX(s.revision) FROM PolicyRevision s WHERE s.policyId = :policyId " +
+            "AND s.revision <= :revision AND s.snapshot = true) ORDER BY r.revision")
+    List<PolicyRevision> findChain(@Param("policyId") String policyId, @Param("revision") long revision);
+}
@@ -0,0 +1,209 @@
+package com.cisco.ise.ai.repository;
+
+import com.cisco.ise.ai.config.PolicyVersionProperties;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyDocumentCodec;
+import com.cisco.ise.ai.model.PolicyRevision;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes and rebuilds the revisions of a policy's versioned fields: name, description, type,
+ * priority, risk score, AI confidence, conditions and actions. Status and audit fields are not
+ * versioned, so lifecycle changes add no revision.
+ *
+ * Every {@code policy.versions.snapshot-interval}th revision is a full snapshot and the ones between
+ * are JSON merge patches (RFC 7386) against the revision before, falling back to a snapshot when a
+ * patch would be no smaller or cannot express the change. Conditions and actions that are JSON
+ * objects are versioned as documents and come back as compact JSON; anything else is kept as text.
+ * The stores call {@link #revise} in the same transaction as the write it records.
+ */
+@Component
+@RequiredArgsConstructor
+public class PolicyRevisions {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final PolicyVersionProperties properties;
+
+    /**
+     * The versioned fields of a policy as a document
+     */
+    public static ObjectNode document(Policy policy) {
+        ObjectNode document = NODES.objectNode();
+        put(document, "name", policy.getName());
+        put(document, "description", policy.getDescription());
+        put(document, "type", policy.getType() != null ? policy.getType().name() : null);
+        if (policy.getPriority() != null) {
+            document.put("priority", policy.getPriority());
+        }
+        if (policy.getRiskScore() != null) {
+            document.put("riskScore", policy.getRiskScore());
+        }
+        if (policy.getAiConfidence() != null) {
+            document.put("aiConfidence", policy.getAiConfidence());
+        }
+        putDocument(document, "conditions", policy.getConditions(), policy.getConditionsBinary());
+        putDocument(document, "actions", policy.getActions(), policy.getActionsBinary());
+        return document;
+    }
+
+    /**
+     * The revisions recording the policy's versioned fields as they are now, given what they were
+     * before the change ({@code null} for a new policy); empty when nothing versioned changed.
+     * Advances the policy's revision, so call it before the policy is written. A policy stored
+     * before versioning first gets a snapshot of its previous fields.
+     */
+    public List<PolicyRevision> revise(Policy policy, ObjectNode previous) {
+        ObjectNode current = document(policy);
+        List<PolicyRevision> revisions = new ArrayList<>(2);
+        long revision = policy.getRevision() != null ? policy.getRevision() : 0L;
+        if (previous != null && revision == 0) {
+            revisions.add(revision(policy, ++revision, true, PolicyDocumentCodec.encode(previous)));
+        }
+        if (previous != null && previous.equals(current)) {
+            policy.setRevision(revision);
+            return revisions;
+        }
+
+        long next = revision + 1;
+        byte[] snapshot = PolicyDocumentCodec.encode(current);
+        if (previous == null || (next - 1) % Math.max(1, properties.getSnapshotInterval()) == 0) {
+            revisions.add(revision(policy, next, true, snapshot));
+        } else {
+            JsonNode patch = diff(previous, current);
+            byte[] delta = PolicyDocumentCodec.encode(patch);
+            boolean usable = delta.length < snapshot.length && apply(previous, patch).equals(current);
+            revisions.add(revision(policy, next, !usable, usable ? delta : snapshot));
+        }
+        policy.setRevision(next);
+        return revisions;
+    }
+
+    /**
+     * Rebuilds the versioned fields at the last revision of a chain that starts at a snapshot
+     *
+     * @return a policy holding only its id, revision and versioned fields
+     */
+    public static Policy rebuild(List<PolicyRevision> chain) {
+        if (chain.isEmpty() || !chain.get(0).isSnapshot()) {
+            throw new IllegalArgumentException("A revision chain starts at a snapshot");
+        }
+        JsonNode document = null;
+        for (PolicyRevision revision : chain) {
+            JsonNode content = PolicyDocumentCodec.decode(revision.getContent());
+            document = revision.isSnapshot() ? content : apply(document, content);
+        }
+        PolicyRevision last = chain.get(chain.size() - 1);
+        Policy policy = Policy.builder()
+                .policyId(last.getPolicyId())
+                .revision(last.getRevision())
+                .build();
+        restore(policy, document);
+        return policy;
+    }
+
+    /**
+     * Sets the versioned fields of a policy from a document
+     */
+    public static void restore(Policy policy, JsonNode document) {
+        policy.setName(text(document.get("name")));
+        policy.setDescription(text(document.get("description")));
+        String type = text(document.get("type"));
+        policy.setType(type != null ? Policy.PolicyType.valueOf(type) : null);
+        policy.setPriority(document.hasNonNull("priority") ? document.get("priority").intValue() : null);
+        policy.setRiskScore(document.hasNonNull("riskScore") ? document.get("riskScore").doubleValue() : null);
+        policy.setAiConfidence(document.hasNonNull("aiConfidence") ? document.get("aiConfidence").doubleValue() : null);
+        policy.setConditions(text(document.get("conditions")));
+        policy.setActions(text(document.get("actions")));
+    }
+
+    /**
+     * A merge patch turning {@code from} into {@code to}; removed fields are patched to null
+     */
+    static JsonNode diff(JsonNode from, JsonNode to) {
+        if (from == null || !from.isObject() || !to.isObject()) {
+            return to;
+        }
+        ObjectNode patch = NODES.objectNode();
+        from.fieldNames().forEachRemaining(field -> {
+            if (!to.has(field)) {
+                patch.putNull(field);
+            }
+        });
+        Iterator<Map.Entry<String, JsonNode>> fields = to.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode before = from.get(field.getKey());
+            if (before == null) {
+                patch.set(field.getKey(), field.getValue());
+            } else if (!before.equals(field.getValue())) {
+                patch.set(field.getKey(), diff(before, field.getValue()));
+            }
+        }
+        return patch;
+    }
+
+    /**
+     * Applies a merge patch, leaving {@code target} unchanged
+     */
+    static JsonNode apply(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+        ObjectNode result = target != null && target.isObject() ? ((ObjectNode) target).deepCopy() : NODES.objectNode();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getValue().isNull()) {
+                result.remove(field.getKey());
+            } else {
+                result.set(field.getKey(), apply(result.get(field.getKey()), field.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private static PolicyRevision revision(Policy policy, long revision, boolean snapshot, byte[] content) {
+        return PolicyRevision.builder()
+                .policyId(policy.getPolicyId())
+                .revision(revision)
+                .snapshot(snapshot)
+                .content(content)
+                .changedBy(policy.getUpdatedBy() != null ? policy.getUpdatedBy() : policy.getCreatedBy())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static void putDocument(ObjectNode document, String field, String json, byte[] binary) {
+        // Not encoded onto the policy, which would mark an unchanged entity dirty
+        byte[] encoded = binary != null ? binary : PolicyDocumentCodec.encode(json);
+        if (encoded != null) {
+            document.set(field, PolicyDocumentCodec.decode(encoded));
+        } else {
+            put(document, field, json);
+        }
+    }
+
+    private static void put(ObjectNode document, String field, String value) {
+        if (value != null) {
+            document.put(field, value);
+        }
+    }
+
+    private static String text(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        return value.isContainerNode() ? value.toString() : value.asText();
+    }
+}
@@ -0,0 +1,170 @@
+package com.cisco.ise.ai.repository;
+
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.model.PolicyExecutionSummary;
+import com.cisco.ise.ai.model.PolicyRevision;
+import com.cisco.ise.ai.model.PolicySummary;
+import com.cisco.ise.ai.model.Session;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Reactive persistence for policies, their executions and ISE sessions.
+ *
+ * The default implementation runs the JPA repositories on the {@link RepositoryScheduler};
+ * the {@code r2dbc} profile switches to a non-blocking R2DBC implementation.
+ */
+public interface PolicyStore {
+
+    /**
+     * Inserts a new policy with its first revision
+     */
+    Mono<Policy> create(Policy policy);
+
+    /**
+     * Loads a policy, applies the change and saves it in one transaction, adding a revision if a
+     * versioned field changed; empty if the policy does not exist. An exception thrown by the change
+     * aborts the update.
+     */
+    Mono<Policy> update(String policyId, Consumer<Policy> change);
+
+    /**
+     * Inserts new policies with their first revisions in one transaction
+     */
+    Mono<List<Policy>> createAll(List<Policy> policies);
+
+    /**
+     * Loads the policies, offers each to the change and saves the ones it accepts, all in one
+     * transaction; ids that do not exist are skipped. The change must return false before modifying
+     * a policy it rejects. Revisions are added like {@link #update}. If any accepted policy was modified
+     * concurrently, every change is rolled back with an {@link org.springframework.dao.OptimisticLockingFailureException}.
+     */
+    Mono<List<Policy>> updateAll(Collection<String> policyIds, Predicate<Policy> change);
+
+    /**
+     * Moves the policies the filter accepts to a new status in one transaction, with one set-based
+     * update per stored version rather than one per policy; ids that do not exist are skipped and the
+     * filter must not modify the policies. Policies modified concurrently keep their stored state and
+     * are left out of the result while the rest are still applied.
+     */
+    Mono<List<Policy>> updateStatus(Collection<String> policyIds, Predicate<Policy> filter, Policy.PolicyStatus status);
+
+    Mono<Policy> findByPolicyId(String policyId);
+
+    /**
+     * Every policy ordered by priority, then id, streamed without holding the whole set in memory
+     */
+    Flux<Policy> findAll();
+
+    /**
+     * Up to {@code limit} policies ordered by priority, then id, starting after {@code after}
+     * (null for the first page)
+     */
+    Flux<Policy> findPolicies(Keyset.PolicyKey after, int limit);
+
+    /**
+     * The same pages as {@link #findPolicies} as summaries, without reading conditions or actions
+     */
+    Flux<PolicySummary> findPolicySummaries(Keyset.PolicyKey after, int limit);
+
+    /**
+     * Revisions of a policy's versioned fields, most recent first
+     */
+    Flux<PolicyRevision> findRevisions(String policyId);
+
+    /**
+     * What rebuilding one revision of a policy reads: its nearest snapshot and the deltas after it up
+     * to the revision, oldest first; at most {@code policy.versions.snapshot-interval} revisions
+     */
+    Flux<PolicyRevision> findRevisionChain(String policyId, long revision);
+
+    Flux<Policy> findByStatus(Policy.PolicyStatus status);
+
+    Flux<Policy> findByStatusOrderByPriorityAsc(Policy.PolicyStatus status);
+
+    /**
+     * Inserts an execution and, once it is committed, publishes a {@link PolicyExecutionsSavedEvent}
+     */
+    Mono<PolicyExecution> saveExecution(PolicyExecution execution);
+
+    /**
+     * Inserts a batch of executions in one transaction and, once it is committed, publishes a
+     * {@link PolicyExecutionsSavedEvent}
+     */
+    Mono<List<PolicyExecution>> saveExecutions(List<PolicyExecution> executions);
+
+    /**
+     * Executions at or after {@code since}, most recent first, streamed without holding them in memory
+     */
+    Flux<PolicyExecution> findExecutionsSince(LocalDateTime since);
+
+    /**
+     * Up to {@code limit} executions from before {@code before}, oldest first
+     */
+    Flux<PolicyExecution> findExecutionsBefore(LocalDateTime before, int limit);
+
+    /**
+     * Deletes the executions with the given ids in one transaction and returns how many were deleted
+     */
+    Mono<Long> deleteExecutions(Collection<Long> ids);
+
+    /**
+     * Executions of a policy, most recent first, streamed without holding the history in memory
+     */
+    Flux<PolicyExecution> findExecutionsByPolicyId(String policyId);
+
+    /**
+     * Up to {@code limit} executions of a policy, most recent first, starting after {@code after}
+     * (null for the first page)
+     */
+    Flux<PolicyExecution> findExecutionsByPolicyId(String policyId, Keyset.ExecutionKey after, int limit);
+
+    /**
+     * The same pages as {@link #findExecutionsByPolicyId(String, Keyset.ExecutionKey, int)} as summaries,
+     * without reading the text columns or loading the policy
+     */
+    Flux<PolicyExecutionSummary> findExecutionSummariesByPolicyId(String policyId, Keyset.ExecutionKey after, int limit);
+
+    /**
+     * Executions for a session, most recent first, streamed without holding the history in memory
+     */
+    Flux<PolicyExecution> findExecutionsBySessionId(String sessionId);
+
+    /**
+     * Up to {@code limit} executions for a session, most recent first, starting after {@code after}
+     * (null for the first page)
+     */
+    Flux<PolicyExecution> findExecutionsBySessionId(String sessionId, Keyset.ExecutionKey after, int limit);
+
+    /**
+     * The same pages as {@link #findExecutionsBySessionId(String, Keyset.ExecutionKey, int)} as summaries,
+     * without reading the text columns or loading the policies
+     */
+    Flux<PolicyExecutionSummary> findExecutionSummariesBySessionId(String sessionId, Keyset.ExecutionKey after, int limit);
+
+    /**
+     * One execution with every column and its policy, read together
+     */
+    Mono<PolicyExecution> findExecutionByExecutionId(String executionId);
+
+    /**
+     * Writes the latest state of each session in one transaction, inserting sessions not stored yet
+     * and updating the rest in place by session id; the session ids must be distinct. Returns how
+     * many sessions were written.
+     */
+    Mono<Integer> saveSessions(Collection<Session> sessions);
+
+    Mono<Session> findSession(String sessionId);
+
+    /**
+     * Stored sessions of a user, most recently updated first
+     */
+    Flux<Session> findSessionsByUserName(String userName);
+}
@@ -0,0 +1,771 @@
+package com.cisco.ise.ai.repository;
+
+import com.cisco.ise.ai.config.RepositorySchedulerProperties;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.model.PolicyExecutionSummary;
+import com.cisco.ise.ai.model.PolicyRevision;
+import com.cisco.ise.ai.model.PolicySummary;
+import com.cisco.ise.ai.model.Session;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking {@link PolicyStore} over R2DBC, selected by the {@code r2dbc} profile.
+ *
+ * Maps the same {@code policies}, {@code policy_revisions}, {@code policy_executions} and
+ * {@code sessions} tables as the JPA entities, including the entities' audit defaults and the policy's optimistic lock version,
+ * and writes revisions in the same transaction as the policy change they record. Sessions are
+ * upserted with one MERGE per session inside a single transaction. Full listings
+ * are read from a cursor, {@code policy.repository.stream-fetch-size} rows per round trip, as the
+ * subscriber requests them.
+ */
+@Component
+@Profile("r2dbc")
+@DependsOnDatabaseInitialization
+@RequiredArgsConstructor
+public class R2dbcPolicyStore implements PolicyStore {
+
+    private static final List<String> POLICY_COLUMNS = List.of(
+            "id", "policy_id", "name", "description", "type", "status", "priority", "conditions", "actions",
+            "conditions_binary", "actions_binary", "risk_score", "ai_confidence", "source", "created_by", "created_at", "updated_by", "updated_at",
+            "approved_by", "approved_at", "revision", "version");
+
+    private static final List<String> EXECUTION_COLUMNS = List.of(
+            "id", "execution_id", "session_id", "user_name", "device_mac", "execution_status", "execution_type",
+            "trigger_reason", "execution_result", "error_message", "risk_score_before", "risk_score_after",
+            "ai_confidence", "execution_time_ms", "ise_response", "coa_sent", "coa_response", "executed_at",
+            "executed_by", "created_at");
+
+    private static final List<String> SESSION_COLUMNS = List.of(
+            "session_id", "user_name", "mac_address", "ip_address", "nas_ip_address", "nas_port_id", "calling_station_id",
+            "called_station_id", "session_state", "authentication_method", "authorization_profile", "security_group",
+            "vlan_id", "device_type", "operating_system", "posture_status", "risk_score", "anomaly_score", "threat_level",
+            "location", "ssid", "start_time", "end_time", "last_update", "session_duration");
+
+    private static final String SELECT_POLICIES = "SELECT " + select("p", "", POLICY_COLUMNS) + " FROM policies p";
+
+    private static final String SELECT_EXECUTIONS = "SELECT " + select("e", "", EXECUTION_COLUMNS) + ", " +
+            select("p", "p_", POLICY_COLUMNS) + " FROM policy_executions e JOIN policies p ON p.id = e.policy_id";
+
+    private static final List<String> POLICY_SUMMARY_COLUMNS = List.of(
+            "id", "policy_id", "name", "type", "status", "priority", "risk_score", "source", "updated_at", "version");
+
+    private static final List<String> EXECUTION_SUMMARY_COLUMNS = List.of(
+            "id", "execution_id", "session_id", "user_name", "device_mac", "execution_status", "execution_type",
+            "trigger_reason", "error_message", "risk_score_before", "risk_score_after", "execution_time_ms", "coa_sent",
+            "executed_at", "executed_by");
+
+    private static final String SELECT_POLICY_SUMMARIES = "SELECT " + select("p", "", POLICY_SUMMARY_COLUMNS) +
+            " FROM policies p";
+
+    private static final String SELECT_EXECUTION_SUMMARIES = "SELECT " + select("e", "", EXECUTION_SUMMARY_COLUMNS) +
+            ", p.policy_id AS p_policy_id, p.name AS p_name FROM policy_executions e JOIN policies p ON p.id = e.policy_id";
+
+    private static final String INSERT_REVISION = "INSERT INTO policy_revisions " +
+            "(policy_id, revision, snapshot, content, changed_by, created_at) " +
+            "VALUES (:policyId, :revision, :snapshot, :content, :changedBy, :createdAt)";
+
+    private static final String SELECT_REVISIONS = "SELECT id, policy_id, revision, snapshot, content, changed_by, created_at " +
+            "FROM policy_revisions r WHERE r.policy_id = :policyId";
+
+    private static final String REVISION_CHAIN = " AND r.revision <= :revision AND r.revision >= " +
+            "(SELECT MAX(s.revision) FROM policy_revisions s WHERE s.policy_id = :policyId " +
+            "AND s.revision <= :revision AND s.snapshot = TRUE) ORDER BY r.revision";
+
+    private static final String SELECT_SESSIONS = "SELECT id, " + String.join(", ", SESSION_COLUMNS) +
+            ", created_at, updated_at FROM sessions";
+
+    // Standard MERGE, which both H2 and PostgreSQL 15+ accept
+    private static final String MERGE_SESSION = "MERGE INTO sessions t USING (SELECT CAST(:session_id AS VARCHAR(255)) AS session_id) s " +
+            "ON t.session_id = s.session_id WHEN MATCHED THEN UPDATE SET " +
+            SESSION_COLUMNS.subList(1, SESSION_COLUMNS.size()).stream().map(column -> column + " = :" + column).collect(Collectors.joining(", ")) +
+            ", updated_at = :now WHEN NOT MATCHED THEN INSERT (" + String.join(", ", SESSION_COLUMNS) + ", created_at) VALUES (" +
+            SESSION_COLUMNS.stream().map(column -> ":" + column).collect(Collectors.joining(", ")) + ", :now)";
+
+    private static final int IN_LIST_SIZE = 1000;
+
+    private static final String POLICY_ORDER = " ORDER BY p.priority, p.id";
+
+    private static final String POLICY_AFTER = " WHERE (p.priority > :priority OR (p.priority = :priority AND p.id > :id))";
+
+    private static final String EXECUTION_ORDER = " ORDER BY e.executed_at DESC, e.id DESC";
+
+    private static final String EXECUTION_BEFORE =
+            " AND (e.executed_at < :executedAt OR (e.executed_at = :executedAt AND e.id < :id))";
+
+    private static final String INSERT_POLICY = "INSERT INTO policies (" +
+            String.join(", ", POLICY_COLUMNS.subList(1, POLICY_COLUMNS.size())) + ") VALUES (" +
+            POLICY_COLUMNS.subList(1, POLICY_COLUMNS.size()).stream().map(column -> ":" + column).collect(Collectors.joining(", ")) + ")";
+
+    private static final String UPDATE_POLICY = "UPDATE policies SET " +
+            POLICY_COLUMNS.subList(1, POLICY_COLUMNS.size() - 1).stream().map(column -> column + " = :" + column).collect(Collectors.joining(", ")) +
+            ", version = :next_version WHERE id = :id AND version = :version";
+
+    private static final String UPDATE_STATUS = "UPDATE policies SET status = :status, version = version + 1, " +
+            "updated_at = :updatedAt WHERE id IN (:ids) AND version = :version";
+
+    private static final String SELECT_UPDATED_IDS = "SELECT id FROM policies WHERE id IN (:ids) " +
+            "AND version = :version AND updated_at = :updatedAt";
+
+    private static final String INSERT_EXECUTION = "INSERT INTO policy_executions (policy_id, " +
+            String.join(", ", EXECUTION_COLUMNS.subList(1, EXECUTION_COLUMNS.size())) + ") VALUES (:policy_id, " +
+            EXECUTION_COLUMNS.subList(1, EXECUTION_COLUMNS.size()).stream().map(column -> ":" + column).collect(Collectors.joining(", ")) + ")";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final PolicyRevisions policyRevisions;
+    private final RepositorySchedulerProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Mono<Policy> create(Policy policy) {
+        return insert(policy)
+                .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Policy> insert(Policy policy) {
+        return Mono.defer(() -> {
+            List<PolicyRevision> revisions = policyRevisions.revise(policy, null);
+            policy.setCreatedAt(LocalDateTime.now());
+            if (policy.getStatus() == null) {
+                policy.setStatus(Policy.PolicyStatus.DRAFT);
+            }
+            policy.setVersion(0L);
+            DatabaseClient.GenericExecuteSpec insert = bindPolicy(databaseClient.sql(INSERT_POLICY)
+                    .filter((statement, next) -> next.execute(statement.returnGeneratedValues("id"))), policy)
+                    .bind("version", policy.getVersion());
+            return insert.map(row -> row.get("id", Long.class))
+                    .one()
+                    .map(id -> {
+                        policy.setId(id);
+                        return policy;
+                    })
+                    .flatMap(saved -> insertRevisions(revisions).thenReturn(saved));
+        });
+    }
+
+    @Override
+    public Mono<Policy> update(String policyId, Consumer<Policy> change) {
+        return findByPolicyId(policyId)
+                .flatMap(policy -> {
+                    ObjectNode previous = PolicyRevisions.document(policy);
+                    change.accept(policy);
+                    policy.setUpdatedAt(LocalDateTime.now());
+                    List<PolicyRevision> revisions = policyRevisions.revise(policy, previous);
+                    return updateVersioned(policy).flatMap(saved -> insertRevisions(revisions).thenReturn(saved));
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<List<Policy>> createAll(List<Policy> policies) {
+        return Flux.fromIterable(policies)
+                .concatMap(this::insert)
+                .collectList()
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<List<Policy>> updateAll(Collection<String> policyIds, Predicate<Policy> change) {
+        LocalDateTime now = LocalDateTime.now();
+        return load(policyIds)
+                .concatMap(policy -> {
+                    ObjectNode previous = PolicyRevisions.document(policy);
+                    if (!change.test(policy)) {
+                        return Mono.empty();
+                    }
+                    policy.setUpdatedAt(now);
+                    List<PolicyRevision> revisions = policyRevisions.revise(policy, previous);
+                    return updateVersioned(policy).flatMap(saved -> insertRevisions(revisions).thenReturn(saved));
+                })
+                .collectList()
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<List<Policy>> updateStatus(Collection<String> policyIds, Predicate<Policy> filter, Policy.PolicyStatus status) {
+        // Stored columns keep microseconds, so the timestamp read back matches the one written
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        return load(policyIds)
+                .filter(filter)
+                .collectList()
+                .flatMap(accepted -> {
+                    Map<Long, List<Long>> idsByVersion = accepted.stream().collect(Collectors.groupingBy(
+                            policy -> policy.getVersion() != null ? policy.getVersion() : 0L,
+                            Collectors.mapping(Policy::getId, Collectors.toList())));
+                    return Flux.fromIterable(idsByVersion.entrySet())
+                            .concatMap(entry -> Flux.fromIterable(entry.getValue())
+                                    .buffer(IN_LIST_SIZE)
+                                    .concatMap(ids -> updateStatus(ids, entry.getKey(), status, now)))
+                            .collect(Collectors.toSet())
+                            .map(conflicts -> {
+                                List<Policy> applied = accepted.stream()
+                                        .filter(policy -> !conflicts.contains(policy.getId()))
+                                        .toList();
+                                for (Policy policy : applied) {
+                                    policy.setStatus(status);
+                                    policy.setVersion((policy.getVersion() != null ? policy.getVersion() : 0L) + 1);
+                                    policy.setUpdatedAt(now);
+                                }
+                                return applied;
+                            });
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Policy> findByPolicyId(String policyId) {
+        return databaseClient.sql(SELECT_POLICIES + " WHERE p.policy_id = :policyId")
+                .bind("policyId", policyId)
+                .map(row -> mapPolicy(row, ""))
+                .one();
+    }
+
+    @Override
+    public Flux<Policy> findAll() {
+        return streamed(databaseClient.sql(SELECT_POLICIES + POLICY_ORDER))
+                .map(row -> mapPolicy(row, ""))
+                .all();
+    }
+
+    @Override
+    public Flux<Policy> findPolicies(Keyset.PolicyKey after, int limit) {
+        DatabaseClient.GenericExecuteSpec select = databaseClient.sql(SELECT_POLICIES +
+                (after != null ? POLICY_AFTER : "") + POLICY_ORDER + " LIMIT :limit");
+        if (after != null) {
+            select = select.bind("priority", after.getPriority()).bind("id", after.getId());
+        }
+        return select.bind("limit", limit)
+                .map(row -> mapPolicy(row, ""))
+                .all();
+    }
+
+    @Override
+    public Flux<PolicySummary> findPolicySummaries(Keyset.PolicyKey after, int limit) {
+        DatabaseClient.GenericExecuteSpec select = databaseClient.sql(SELECT_POLICY_SUMMARIES +
+                (after != null ? POLICY_AFTER : "") + POLICY_ORDER + " LIMIT :limit");
+        if (after != null) {
+            select = select.bind("priority", after.getPriority()).bind("id", after.getId());
+        }
+        return select.bind("limit", limit)
+                .map(R2dbcPolicyStore::mapPolicySummary)
+                .all();
+    }
+
+    @Override
+    public Flux<PolicyRevision> findRevisions(String policyId) {
+        return databaseClient.sql(SELECT_REVISIONS + " ORDER BY r.revision DESC")
+                .bind("policyId", policyId)
+                .map(R2dbcPolicyStore::mapRevision)
+                .all();
+    }
+
+    @Override
+    public Flux<PolicyRevision> findRevisionChain(String policyId, long revision) {
+        return databaseClient.sql(SELECT_REVISIONS + REVISION_CHAIN)
+                .bind("policyId", policyId)
+                .bind("revision", revision)
+                .map(R2dbcPolicyStore::mapRevision)
+                .all();
+    }
+
+    @Override
+    public Flux<Policy> findByStatus(Policy.PolicyStatus status) {
+        return databaseClient.sql(SELECT_POLICIES + " WHERE p.status = :status")
+                .bind("status", status.name())
+                .map(row -> mapPolicy(row, ""))
+                .all();
+    }
+
+    @Override
+    public Flux<Policy> findByStatusOrderByPriorityAsc(Policy.PolicyStatus status) {
+        return databaseClient.sql(SELECT_POLICIES + " WHERE p.status = :status ORDER BY p.priority")
+                .bind("status", status.name())
+                .map(row -> mapPolicy(row, ""))
+                .all();
+    }
+
+    @Override
+    public Mono<PolicyExecution> saveExecution(PolicyExecution execution) {
+        return insertExecution(execution)
+                .doOnNext(saved -> eventPublisher.publishEvent(new PolicyExecutionsSavedEvent(List.of(saved))));
+    }
+
+    @Override
+    public Mono<List<PolicyExecution>> saveExecutions(List<PolicyExecution> executions) {
+        return Flux.fromIterable(executions)
+                .concatMap(this::insertExecution)
+                .collectList()
+                .as(transactionalOperator::transactional)
+                .doOnNext(saved -> eventPublisher.publishEvent(new PolicyExecutionsSavedEvent(saved)));
+    }
+
+    @Override
+    public Flux<PolicyExecution> findExecutionsSince(LocalDateTime since) {
+        return streamed(databaseClient.sql(SELECT_EXECUTIONS + " WHERE e.executed_at >= :since" + EXECUTION_ORDER))
+                .bind("since", since)
+                .map(this::mapExecution)
+                .all();
+    }
+
+    @Override
+    public Flux<PolicyExecution> findExecutionsBefore(LocalDateTime before, int limit) {
+        return databaseClient.sql(SELECT_EXECUTIONS + " WHERE e.executed_at < :before ORDER BY e.executed_at, e.id LIMIT :limit")
+                .bind("before", before)
+                .bind("limit", limit)
+                .map(this::mapExecution)
+                .all();
+    }
+
+    @Override
+    public Mono<Long> deleteExecutions(Collection<Long> ids) {
+        return Flux.fromIterable(ids)
+                .buffer(IN_LIST_SIZE)
+                .concatMap(chunk -> databaseClient.sql("DELETE FROM policy_executions WHERE id IN (:ids)")
+                        .bind("ids", chunk)
+                        .fetch()
+                        .rowsUpdated())
+                .reduce(0L, Long::sum)
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Flux<PolicyExecution> findExecutionsByPolicyId(String policyId) {
+        return streamed(databaseClient.sql(SELECT_EXECUTIONS + " WHERE p.policy_id = :policyId" + EXECUTION_ORDER))
+                .bind("policyId", policyId)
+                .map(this::mapExecution)
+                .all();
+    }
+
+    @Override
+    public Flux<PolicyExecution> findExecutionsByPolicyId(String policyId, Keyset.ExecutionKey after, int limit) {
+        return executionPage(databaseClient.sql(SELECT_EXECUTIONS + " WHERE p.policy_id = :policyId" +
+                (after != null ? EXECUTION_BEFORE : "") + EXECUTION_ORDER + " LIMIT :limit")
+                .bind("policyId", policyId), after, limit, this::mapExecution);
+    }
+
+    @Override
+    public Flux<PolicyExecutionSummary> findExecutionSummariesByPolicyId(String policyId, Keyset.ExecutionKey after, int limit) {
+        return executionPage(databaseClient.sql(SELECT_EXECUTION_SUMMARIES + " WHERE p.policy_id = :policyId" +
+                (after != null ? EXECUTION_BEFORE : "") + EXECUTION_ORDER + " LIMIT :limit")
+                .bind("policyId", policyId), after, limit, R2dbcPolicyStore::mapExecutionSummary);
+    }
+
+    @Override
+    public Flux<PolicyExecution> findExecutionsBySessionId(String sessionId) {
+        return streamed(databaseClient.sql(SELECT_EXECUTIONS + " WHERE e.session_id = :sessionId" + EXECUTION_ORDER))
+                .bind("sessionId", sessionId)
+                .map(this::mapExecution)
+                .all();
+    }
+
+    @Override
+    public Flux<PolicyExecution> findExecutionsBySessionId(String sessionId, Keyset.ExecutionKey after, int limit) {
+        return executionPage(databaseClient.sql(SELECT_EXECUTIONS + " WHERE e.session_id = :sessionId" +
+                (after != null ? EXECUTION_BEFORE : "") + EXECUTION_ORDER + " LIMIT :limit")
+                .bind("sessionId", sessionId), after, limit, this::mapExecution);
+    }
+
+    @Override
+    public Flux<PolicyExecutionSummary> findExecutionSummariesBySessionId(String sessionId, Keyset.ExecutionKey after, int limit) {
+        return executionPage(databaseClient.sql(SELECT_EXECUTION_SUMMARIES + " WHERE e.session_id = :sessionId" +
+                (after != null ? EXECUTION_BEFORE : "") + EXECUTION_ORDER + " LIMIT :limit")
+                .bind("sessionId", sessionId), after, limit, R2dbcPolicyStore::mapExecutionSummary);
+    }
+
+    @Override
+    public Mono<PolicyExecution> findExecutionByExecutionId(String executionId) {
+        return databaseClient.sql(SELECT_EXECUTIONS + " WHERE e.execution_id = :executionId")
+                .bind("executionId", executionId)
+                .map(this::mapExecution)
+                .one();
+    }
+
+    private Mono<PolicyExecution> insertExecution(PolicyExecution execution) {
+        return Mono.defer(() -> {
+            if (execution.getPolicy() == null || execution.getPolicy().getId() == null) {
+                return Mono.error(new IllegalArgumentException("Execution must reference a saved policy"));
+            }
+            execution.setCreatedAt(LocalDateTime.now());
+            if (execution.getExecutedAt() == null) {
+                execution.setExecutedAt(execution.getCreatedAt());
+            }
+            if (execution.getExecutionStatus() == null) {
+                execution.setExecutionStatus(PolicyExecution.ExecutionStatus.PENDING);
+            }
+            DatabaseClient.GenericExecuteSpec insert = databaseClient.sql(INSERT_EXECUTION)
+                    .filter((statement, next) -> next.execute(statement.returnGeneratedValues("id")))
+                    .bind("policy_id", execution.getPolicy().getId());
+            insert = bind(insert, "execution_id", execution.getExecutionId(), String.class);
+            insert = bind(insert, "session_id", execution.getSessionId(), String.class);
+            insert = bind(insert, "user_name", execution.getUserName(), String.class);
+            insert = bind(insert, "device_mac", execution.getDeviceMac(), String.class);
+            insert = bind(insert, "execution_status", execution.getExecutionStatus().name(), String.class);
+            insert = bind(insert, "execution_type", name(execution.getExecutionType()), String.class);
+            insert = bind(insert, "trigger_reason", execution.getTriggerReason(), String.class);
+            insert = bind(insert, "execution_result", execution.getExecutionResult(), String.class);
+            insert = bind(insert, "error_message", execution.getErrorMessage(), String.class);
+            insert = bind(insert, "risk_score_before", execution.getRiskScoreBefore(), Double.class);
+            insert = bind(insert, "risk_score_after", execution.getRiskScoreAfter(), Double.class);
+            insert = bind(insert, "ai_confidence", execution.getAiConfidence(), Double.class);
+            insert = bind(insert, "execution_time_ms", execution.getExecutionTimeMs(), Long.class);
+            insert = bind(insert, "ise_response", execution.getIseResponse(), String.class);
+            insert = bind(insert, "coa_sent", execution.getCoaSent(), Boolean.class);
+            insert = bind(insert, "coa_response", execution.getCoaResponse(), String.class);
+            insert = bind(insert, "executed_at", execution.getExecutedAt(), LocalDateTime.class);
+            insert = bind(insert, "executed_by", execution.getExecutedBy(), String.class);
+            insert = bind(insert, "created_at", execution.getCreatedAt(), LocalDateTime.class);
+            return insert.map(row -> row.get("id", Long.class))
+                    .one()
+                    .map(id -> {
+                        execution.setId(id);
+                        return execution;
+                    });
+        });
+    }
+
+    private <T> Flux<T> executionPage(DatabaseClient.GenericExecuteSpec select, Keyset.ExecutionKey after, int limit,
+                                      Function<Readable, T> mapper) {
+        if (after != null) {
+            select = select.bind("executedAt", after.getExecutedAt()).bind("id", after.getId());
+        }
+        return select.bind("limit", limit)
+                .map(mapper)
+                .all();
+    }
+
+    /**
+     * Reads every policy before the caller sends its first update on the same connection
+     */
+    private Flux<Policy> load(Collection<String> policyIds) {
+        return Flux.fromIterable(policyIds)
+                .buffer(IN_LIST_SIZE)
+                .concatMap(ids -> databaseClient.sql(SELECT_POLICIES + " WHERE p.policy_id IN (:policyIds)")
+                        .bind("policyIds", ids)
+                        .map(row -> mapPolicy(row, ""))
+                        .all())
+                .collectList()
+                .flatMapIterable(policies -> policies);
+    }
+
+    @Override
+    public Mono<Integer> saveSessions(Collection<Session> sessions) {
+        return Flux.fromIterable(sessions)
+                .concatMap(this::mergeSession)
+                .count()
+                .map(Long::intValue)
+                .as(transactionalOperator::transactional);
+    }
+
+    @Override
+    public Mono<Session> findSession(String sessionId) {
+        return databaseClient.sql(SELECT_SESSIONS + " WHERE session_id = :sessionId")
+                .bind("sessionId", sessionId)
+                .map(R2dbcPolicyStore::mapSession)
+                .one();
+    }
+
+    @Override
+    public Flux<Session> findSessionsByUserName(String userName) {
+        return databaseClient.sql(SELECT_SESSIONS + " WHERE user_name = :userName ORDER BY last_update DESC")
+                .bind("userName", userName)
+                .map(R2dbcPolicyStore::mapSession)
+                .all();
+    }
+
+    private Mono<Long> mergeSession(Session session) {
+        return Mono.defer(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (session.getSessionState() == null) {
+                session.setSessionState(Session.SessionState.STARTED);
+            }
+            if (session.getLastUpdate() == null) {
+                session.setLastUpdate(now);
+            }
+            DatabaseClient.GenericExecuteSpec merge = databaseClient.sql(MERGE_SESSION).bind("now", now);
+            merge = bind(merge, "session_id", session.getSessionId(), String.class);
+            merge = bind(merge, "user_name", session.getUserName(), String.class);
+            merge = bind(merge, "mac_address", session.getMacAddress(), String.class);
+            merge = bind(merge, "ip_address", session.getIpAddress(), String.class);
+            merge = bind(merge, "nas_ip_address", session.getNasIpAddress(), String.class);
+            merge = bind(merge, "nas_port_id", session.getNasPortId(), String.class);
+            merge = bind(merge, "calling_station_id", session.getCallingStationId(), String.class);
+            merge = bind(merge, "called_station_id", session.getCalledStationId(), String.class);
+            merge = bind(merge, "session_state", session.getSessionState().name(), String.class);
+            merge = bind(merge, "authentication_method", name(session.getAuthenticationMethod()), String.class);
+            merge = bind(merge, "authorization_profile", session.getAuthorizationProfile(), String.class);
+            merge = bind(merge, "security_group", session.getSecurityGroup(), String.class);
+            merge = bind(merge, "vlan_id", session.getVlanId(), Integer.class);
+            merge = bind(merge, "device_type", session.getDeviceType(), String.class);
+            merge = bind(merge, "operating_system", session.getOperatingSystem(), String.class);
+            merge = bind(merge, "posture_status", session.getPostureStatus(), String.class);
+            merge = bind(merge, "risk_score", session.getRiskScore(), Double.class);
+            merge = bind(merge, "anomaly_score", session.getAnomalyScore(), Double.class);
+            merge = bind(merge, "threat_level", session.getThreatLevel(), String.class);
+            merge = bind(merge, "location", session.getLocation(), String.class);
+            merge = bind(merge, "ssid", session.getSsid(), String.class);
+            merge = bind(merge, "start_time", session.getStartTime(), LocalDateTime.class);
+            merge = bind(merge, "end_time", session.getEndTime(), LocalDateTime.class);
+            merge = bind(merge, "last_update", session.getLastUpdate(), LocalDateTime.class);
+            merge = bind(merge, "session_duration", session.getSessionDuration(), Long.class);
+            return merge.fetch().rowsUpdated();
+        });
+    }
+
+    private DatabaseClient.GenericExecuteSpec streamed(DatabaseClient.GenericExecuteSpec select) {
+        int fetchSize = Math.max(1, properties.getStreamFetchSize());
+        return select.filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)));
+    }
+
+    // Emits the ids left unchanged because they were modified concurrently
+    private Flux<Long> updateStatus(List<Long> ids, long version, Policy.PolicyStatus status, LocalDateTime now) {
+        return databaseClient.sql(UPDATE_STATUS)
+                .bind("status", status.name())
+                .bind("updatedAt", now)
+                .bind("ids", ids)
+                .bind("version", version)
+                .fetch()
+                .rowsUpdated()
+                .flatMapMany(updated -> updated == ids.size()
+                        ? Flux.empty()
+                        : databaseClient.sql(SELECT_UPDATED_IDS)
+                                .bind("ids", ids)
+                                .bind("version", version + 1)
+                                .bind("updatedAt", now)
+                                .map(row -> row.get("id", Long.class))
+                                .all()
+                                .collect(Collectors.toSet())
+                                .flatMapMany(moved -> Flux.fromIterable(ids).filter(id -> !moved.contains(id))));
+    }
+
+    private Mono<Void> insertRevisions(List<PolicyRevision> revisions) {
+        return Flux.fromIterable(revisions)
+                .concatMap(revision -> bind(databaseClient.sql(INSERT_REVISION)
+                        .bind("policyId", revision.getPolicyId())
+                        .bind("revision", revision.getRevision())
+                        .bind("snapshot", revision.isSnapshot())
+                        .bind("content", revision.getContent()), "changedBy", revision.getChangedBy(), String.class)
+                        .bind("createdAt", revision.getCreatedAt())
+                        .fetch()
+                        .rowsUpdated())
+                .then();
+    }
+
+    private Mono<Policy> updateVersioned(Policy policy) {
+        long version = policy.getVersion() != null ? policy.getVersion() : 0L;
+        return bindPolicy(databaseClient.sql(UPDATE_POLICY), policy)
+                .bind("id", policy.getId())
+                .bind("version", version)
+                .bind("next_version", version + 1)
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        return Mono.error(new OptimisticLockingFailureException(
+                                "Policy " + policy.getPolicyId() + " was modified concurrently"));
+                    }
+                    policy.setVersion(version + 1);
+                    return Mono.just(policy);
+                });
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindPolicy(DatabaseClient.GenericExecuteSpec spec, Policy policy) {
+        policy.encodeDocuments();
+        spec = bind(spec, "policy_id", policy.getPolicyId(), String.class);
+        spec = bind(spec, "name", policy.getName(), String.class);
+        spec = bind(spec, "description", policy.getDescription(), String.class);
+        spec = bind(spec, "type", name(policy.getType()), String.class);
+        spec = bind(spec, "status", name(policy.getStatus()), String.class);
+        spec = bind(spec, "priority", policy.getPriority(), Integer.class);
+        spec = bind(spec, "conditions", policy.getConditions(), String.class);
+        spec = bind(spec, "actions", policy.getActions(), String.class);
+        spec = bind(spec, "conditions_binary", policy.getConditionsBinary(), byte[].class);
+        spec = bind(spec, "actions_binary", policy.getActionsBinary(), byte[].class);
+        spec = bind(spec, "risk_score", policy.getRiskScore(), Double.class);
+        spec = bind(spec, "ai_confidence", policy.getAiConfidence(), Double.class);
+        spec = bind(spec, "source", name(policy.getSource()), String.class);
+        spec = bind(spec, "created_by", policy.getCreatedBy(), String.class);
+        spec = bind(spec, "created_at", policy.getCreatedAt(), LocalDateTime.class);
+        spec = bind(spec, "updated_by", policy.getUpdatedBy(), String.class);
+        spec = bind(spec, "updated_at", policy.getUpdatedAt(), LocalDateTime.class);
+        spec = bind(spec, "approved_by", policy.getApprovedBy(), String.class);
+        spec = bind(spec, "approved_at", policy.getApprovedAt(), LocalDateTime.class);
+        spec = bind(spec, "revision", policy.getRevision(), Long.class);
+        return spec;
+    }
+
+    private static Policy mapPolicy(Readable row, String prefix) {
+        return Policy.builder()
+                .id(row.get(prefix + "id", Long.class))
+                .policyId(row.get(prefix + "policy_id", String.class))
+                .name(row.get(prefix + "name", String.class))
+                .description(row.get(prefix + "description", String.class))
+                .type(value(Policy.PolicyType.class, row.get(prefix + "type", String.class)))
+                .status(value(Policy.PolicyStatus.class, row.get(prefix + "status", String.class)))
+                .priority(row.get(prefix + "priority", Integer.class))
+                .conditions(row.get(prefix + "conditions", String.class))
+                .actions(row.get(prefix + "actions", String.class))
+                .conditionsBinary(row.get(prefix + "conditions_binary", byte[].class))
+                .actionsBinary(row.get(prefix + "actions_binary", byte[].class))
+                .riskScore(row.get(prefix + "risk_score", Double.class))
+                .aiConfidence(row.get(prefix + "ai_confidence", Double.class))
+                .source(value(Policy.PolicySource.class, row.get(prefix + "source", String.class)))
+                .createdBy(row.get(prefix + "created_by", String.class))
+                .createdAt(row.get(prefix + "created_at", LocalDateTime.class))
+                .updatedBy(row.get(prefix + "updated_by", String.class))
+                .updatedAt(row.get(prefix + "updated_at", LocalDateTime.class))
+                .approvedBy(row.get(prefix + "approved_by", String.class))
+                .approvedAt(row.get(prefix + "approved_at", LocalDateTime.class))
+                .revision(row.get(prefix + "revision", Long.class))
+                .version(row.get(prefix + "version", Long.class))
+                .build();
+    }
+
+    private static PolicyRevision mapRevision(Readable row) {
+        return PolicyRevision.builder()
+                .id(row.get("id", Long.class))
+                .policyId(row.get("policy_id", String.class))
+                .revision(row.get("revision", Long.class))
+                .snapshot(Boolean.TRUE.equals(row.get("snapshot", Boolean.class)))
+                .content(row.get("content", byte[].class))
+                .changedBy(row.get("changed_by", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static Session mapSession(Readable row) {
+        return Session.builder()
+                .id(row.get("id", Long.class))
+                .sessionId(row.get("session_id", String.class))
+                .userName(row.get("user_name", String.class))
+                .macAddress(row.get("mac_address", String.class))
+                .ipAddress(row.get("ip_address", String.class))
+                .nasIpAddress(row.get("nas_ip_address", String.class))
+                .nasPortId(row.get("nas_port_id", String.class))
+                .callingStationId(row.get("calling_station_id", String.class))
+                .calledStationId(row.get("called_station_id", String.class))
+                .sessionState(value(Session.SessionState.class, row.get("session_state", String.class)))
+                .authenticationMethod(value(Session.AuthenticationMethod.class, row.get("authentication_method", String.class)))
+                .authorizationProfile(row.get("authorization_profile", String.class))
+                .securityGroup(row.get("security_group", String.class))
+                .vlanId(row.get("vlan_id", Integer.class))
+                .deviceType(row.get("device_type", String.class))
+                .operatingSystem(row.get("operating_system", String.class))
+                .postureStatus(row.get("posture_status", String.class))
+                .riskScore(row.get("risk_score", Double.class))
+                .anomalyScore(row.get("anomaly_score", Double.class))
+                .threatLevel(row.get("threat_level", String.class))
+                .location(row.get("location", String.class))
+                .ssid(row.get("ssid", String.class))
+                .startTime(row.get("start_time", LocalDateTime.class))
+                .endTime(row.get("end_time", LocalDateTime.class))
+                .lastUpdate(row.get("last_update", LocalDateTime.class))
+                .sessionDuration(row.get("session_duration", Long.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    private PolicyExecution mapExecution(Readable row) {
+        return PolicyExecution.builder()
+                .id(row.get("id", Long.class))
+                .executionId(row.get("execution_id", String.class))
+                .policy(mapPolicy(row, "p_"))
+                .sessionId(row.get("session_id", String.class))
+                .userName(row.get("user_name", String.class))
+                .deviceMac(row.get("device_mac", String.class))
+                .executionStatus(value(PolicyExecution.ExecutionStatus.class, row.get("execution_status", String.class)))
+                .executionType(value(PolicyExecution.ExecutionType.class, row.get("execution_type", String.class)))
+                .triggerReason(row.get("trigger_reason", String.class))
+                .executionResult(row.get("execution_result", String.class))
+                .errorMessage(row.get("error_message", String.class))
+                .riskScoreBefore(row.get("risk_score_before", Double.class))
+                .riskScoreAfter(row.get("risk_score_after", Double.class))
+                .aiConfidence(row.get("ai_confidence", Double.class))
+                .executionTimeMs(row.get("execution_time_ms", Long.class))
+                .iseResponse(row.get("ise_response", String.class))
+                .coaSent(row.get("coa_sent", Boolean.class))
+                .coaResponse(row.get("coa_response", String.class))
+                .executedAt(row.get("executed_at", LocalDateTime.class))
+                .executedBy(row.get("executed_by", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static PolicySummary mapPolicySummary(Readable row) {
+        return PolicySummary.builder()
+                .id(row.get("id", Long.class))
+                .policyId(row.get("policy_id", String.class))
+                .name(row.get("name", String.class))
+                .type(value(Policy.PolicyType.class, row.get("type", String.class)))
+                .status(value(Policy.PolicyStatus.class, row.get("status", String.class)))
+                .priority(row.get("priority", Integer.class))
+                .riskScore(row.get("risk_score", Double.class))
+                .source(value(Policy.PolicySource.class, row.get("source", String.class)))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .version(row.get("version", Long.class))
+                .build();
+    }
+
+    private static PolicyExecutionSummary mapExecutionSummary(Readable row) {
+        return PolicyExecutionSummary.builder()
+                .id(row.get("id", Long.class))
+                .executionId(row.get("execution_id", String.class))
+                .policyId(row.get("p_policy_id", String.class))
+                .policyName(row.get("p_name", String.class))
+                .sessionId(row.get("session_id", String.class))
+                .userName(row.get("user_name", String.class))
+                .deviceMac(row.get("device_mac", String.class))
+                .executionStatus(value(PolicyExecution.ExecutionStatus.class, row.get("execution_status", String.class)))
+                .executionType(value(PolicyExecution.ExecutionType.class, row.get("execution_type", String.class)))
+                .triggerReason(row.get("trigger_reason", String.class))
+                .errorMessage(row.get("error_message", String.class))
+                .riskScoreBefore(row.get("risk_score_before", Double.class))
+                .riskScoreAfter(row.get("risk_score_after", Double.class))
+                .executionTimeMs(row.get("execution_time_ms", Long.class))
+                .coaSent(row.get("coa_sent", Boolean.class))
+                .executedAt(row.get("executed_at", LocalDateTime.class))
+                .executedBy(row.get("executed_by", String.class))
+                .build();
+    }
+
+    private static String select(String alias, String prefix, List<String> columns) {
+        return columns.stream()
+                .map(column -> alias + "." + column + (prefix.isEmpty() ? "" : " AS " + prefix + column))
+                .collect(Collectors.joining(", "));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                          Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static <E extends Enum<E>> E value(Class<E> type, String name) {
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+}
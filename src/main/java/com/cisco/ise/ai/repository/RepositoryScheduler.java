@@ -0,0 +1,149 @@
+package com.cisco.ise.ai.repository;
+
+import com.cisco.ise.ai.config.RepositorySchedulerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking JPA repository calls off the calling thread.
+ *
+ * Reactive APIs subscribe to repository work on a fixed pool of {@code policy.repository.threads}
+ * threads with a queue of {@code policy.repository.queue-capacity}, so Reactor and Netty threads
+ * never block on JDBC. When the queue is full, calls fail with a {@link RejectedExecutionException}
+ * instead of piling up. Queue depth, active threads, time spent queued, time spent running and
+ * rejections are published as {@code repository.scheduler.*} meters.
+ */
+@Component
+@Profile("!r2dbc")
+@Slf4j
+public class RepositoryScheduler {
+
+    private final TimedExecutor executor;
+    private final Scheduler scheduler;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer waitTimer;
+    private final Timer executionTimer;
+    private final Counter rejections;
+
+    public RepositoryScheduler(RepositorySchedulerProperties properties,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.executor = new TimedExecutor(Math.max(1, properties.getThreads()), Math.max(1, properties.getQueueCapacity()));
+        this.scheduler = Schedulers.fromExecutorService(executor, "repository");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("repository.scheduler.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Repository calls waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("repository.scheduler.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Repository calls running")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("repository.scheduler.wait")
+                .description("Time repository calls spend queued before a thread picks them up")
+                .register(meterRegistry);
+        this.executionTimer = Timer.builder("repository.scheduler.execution")
+                .description("Time repository calls spend running")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("repository.scheduler.rejected")
+                .description("Repository calls rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Defers a blocking call to a repository thread
+     */
+    public <T> Mono<T> mono(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(scheduler);
+    }
+
+    /**
+     * Defers a blocking call that returns a collection and emits its elements
+     */
+    public <T> Flux<T> flux(Callable<? extends Iterable<T>> call) {
+        return Mono.<Iterable<T>>fromCallable(call::call).subscribeOn(scheduler).flatMapIterable(results -> results);
+    }
+
+    /**
+     * Defers a blocking call to a repository thread and runs it in one transaction there
+     */
+    public <T> Mono<T> inTransaction(Callable<T> call) {
+        return mono(() -> transactionTemplate.execute(status -> {
+            try {
+                return call.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+
+    /**
+     * Bounded pool that times each task from submission to start and from start to finish
+     */
+    private final class TimedExecutor extends ThreadPoolExecutor {
+
+        TimedExecutor(int threads, int queueCapacity) {
+            super(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                    threadFactory(), new AbortPolicy());
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            long submittedAt = System.nanoTime();
+            try {
+                super.execute(() -> {
+                    long startedAt = System.nanoTime();
+                    waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                    try {
+                        command.run();
+                    } finally {
+                        executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                rejections.increment();
+                log.warn("Rejected repository call: {} queued, {} running", getQueue().size(), getActiveCount());
+                throw e;
+            }
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "repository-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.cisco.ise.ai.repository;
+
+import com.cisco.ise.ai.model.Session;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for persisted Session entities
+ */
+@Repository
+public interface SessionRepository extends JpaRepository<Session, Long> {
+
+    // Find by session ID
+    Optional<Session> findBySessionId(String sessionId);
+
+    List<Session> findBySessionIdIn(Collection<String> sessionIds);
+
+    // Find by user name, most recently updated first
+    List<Session> findByUserNameOrderByLastUpdateDesc(String userName);
+}
@@ -0,0 +1,308 @@
+package com.cisco.ise.ai.repository.archive;
+
+import com.cisco.ise.ai.config.ExecutionArchiveProperties;
+import com.cisco.ise.ai.config.ExecutionRetentionProperties;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.model.PolicyExecutionSummary;
+import com.cisco.ise.ai.repository.Keyset;
+import com.cisco.ise.ai.repository.PolicyStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Moves aged policy executions out of {@code policy_executions} into compressed columnar files.
+ *
+ * Each run copies executions older than {@code policy.executions.archive.archive-after-days} into
+ * new {@link ExecutionArchiveFile}s of up to {@code rows-per-file} rows and deletes them from the
+ * table only once the file is safely on disk. Files are never modified; files whose newest execution
+ * falls outside {@code policy.executions.retention.retention-days} are deleted whole.
+ *
+ * History queries read the archive alongside the table and {@link #merge} the two. A row that is
+ * in both, because a run stopped between writing its file and deleting the rows, is returned once.
+ */
+@Component
+@Slf4j
+public class ExecutionArchive {
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private static final Comparator<PolicyExecution> MOST_RECENT_FIRST = Comparator
+            .comparing(PolicyExecution::getExecutedAt)
+            .thenComparing(PolicyExecution::getId)
+            .reversed();
+
+    // What history listings show; the text columns stay compressed
+    private static final Set<ExecutionArchiveFile.Column> SUMMARY_COLUMNS = EnumSet.of(
+            ExecutionArchiveFile.Column.ID, ExecutionArchiveFile.Column.EXECUTION_ID,
+            ExecutionArchiveFile.Column.POLICY_ID, ExecutionArchiveFile.Column.SESSION_ID,
+            ExecutionArchiveFile.Column.USER_NAME, ExecutionArchiveFile.Column.DEVICE_MAC,
+            ExecutionArchiveFile.Column.EXECUTION_STATUS, ExecutionArchiveFile.Column.EXECUTION_TYPE,
+            ExecutionArchiveFile.Column.TRIGGER_REASON, ExecutionArchiveFile.Column.ERROR_MESSAGE,
+            ExecutionArchiveFile.Column.RISK_SCORE_BEFORE, ExecutionArchiveFile.Column.RISK_SCORE_AFTER,
+            ExecutionArchiveFile.Column.EXECUTION_TIME_MS, ExecutionArchiveFile.Column.COA_SENT,
+            ExecutionArchiveFile.Column.EXECUTED_AT, ExecutionArchiveFile.Column.EXECUTED_BY);
+
+    private final PolicyStore policyStore;
+    private final ExecutionArchiveProperties properties;
+    private final ExecutionRetentionProperties retentionProperties;
+    private final Counter archived;
+
+    // Newest first; replaced as a whole so readers always see a complete catalog
+    private volatile List<ExecutionArchiveFile> files = List.of();
+
+    public ExecutionArchive(PolicyStore policyStore,
+                            ExecutionArchiveProperties properties,
+                            ExecutionRetentionProperties retentionProperties,
+                            MeterRegistry meterRegistry) {
+        this.policyStore = policyStore;
+        this.properties = properties;
+        this.retentionProperties = retentionProperties;
+
+        Gauge.builder("policy.executions.archive.files", this, archive -> archive.files.size())
+                .description("Execution archive files")
+                .register(meterRegistry);
+        Gauge.builder("policy.executions.archive.rows", this,
+                        archive -> archive.files.stream().mapToLong(ExecutionArchiveFile::getRowCount).sum())
+                .description("Execution records held in archive files")
+                .register(meterRegistry);
+        Gauge.builder("policy.executions.archive.bytes", this,
+                        archive -> archive.files.stream().mapToLong(ExecutionArchiveFile::getSize).sum())
+                .description("Size of the execution archive files")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.archived = Counter.builder("policy.executions.archived")
+                .description("Execution records moved from the table to archive files")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens the files already in the archive directory; leftovers of interrupted writes are removed
+     * and unreadable files are skipped
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Path directory = directory();
+        Files.createDirectories(directory);
+        List<ExecutionArchiveFile> opened = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.toList()) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(ExecutionArchiveFile.SUFFIX + ".tmp")) {
+                    Files.deleteIfExists(path);
+                } else if (name.endsWith(ExecutionArchiveFile.SUFFIX)) {
+                    try {
+                        opened.add(ExecutionArchiveFile.open(path));
+                    } catch (IOException e) {
+                        log.error("Skipping unreadable execution archive {}: {}", path, e.getMessage());
+                    }
+                }
+            }
+        }
+        add(opened);
+        if (!opened.isEmpty()) {
+            log.info("Opened {} execution archive files in {}", opened.size(), directory);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${policy.executions.archive.interval-ms:3600000}")
+    public void maintain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            archive(now.minusDays(properties.getArchiveAfterDays()));
+            if (retentionProperties.isEnabled()) {
+                expire(now.minusDays(retentionProperties.getRetentionDays()));
+            }
+        } catch (Exception e) {
+            log.warn("Execution archiving failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Moves every execution from before {@code cutoff} into new archive files and returns how many were moved
+     */
+    public synchronized long archive(LocalDateTime cutoff) throws IOException {
+        int rowsPerFile = Math.max(1, properties.getRowsPerFile());
+        long moved = 0;
+        while (true) {
+            List<PolicyExecution> executions = policyStore.findExecutionsBefore(cutoff, rowsPerFile).collectList().block();
+            if (executions == null || executions.isEmpty()) {
+                break;
+            }
+            ExecutionArchiveFile file = ExecutionArchiveFile.write(directory().resolve(fileName(executions)),
+                    executions, properties.getBlockRows());
+            add(List.of(file));
+            Long deleted = policyStore.deleteExecutions(executions.stream().map(PolicyExecution::getId).toList()).block();
+            moved += executions.size();
+            archived.increment(executions.size());
+            log.info("Archived {} executions up to {} into {} ({} bytes); {} rows deleted",
+                    executions.size(), file.getNewestExecutedAt(), file.getPath().getFileName(), file.getSize(), deleted);
+            // Stop rather than rewrite the same rows if they could not be deleted
+            if (executions.size() < rowsPerFile || deleted == null || deleted == 0) {
+                break;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Deletes the archive files holding only executions from before {@code cutoff}
+     */
+    public synchronized int expire(LocalDateTime cutoff) throws IOException {
+        List<ExecutionArchiveFile> expired = files.stream()
+                .filter(file -> file.getNewestExecutedAt().isBefore(cutoff))
+                .toList();
+        files = files.stream().filter(file -> !expired.contains(file)).toList();
+        for (ExecutionArchiveFile file : expired) {
+            // Readers still holding the mapping keep reading it; the space is freed once they finish
+            Files.deleteIfExists(file.getPath());
+        }
+        if (!expired.isEmpty()) {
+            log.info("Deleted {} execution archive files from before {}", expired.size(), cutoff);
+        }
+        return expired.size();
+    }
+
+    public List<ExecutionArchiveFile> getFiles() {
+        return files;
+    }
+
+    /**
+     * Archived executions of a policy, most recent first, starting after {@code after} (null for the newest).
+     * The policy of each execution carries only its ids.
+     */
+    public Flux<PolicyExecution> findByPolicyId(String policyId, Keyset.ExecutionKey after) {
+        return find(ExecutionArchiveFile.Column.POLICY_ID, policyId, after, null);
+    }
+
+    /**
+     * The same executions as {@link #findByPolicyId} as summaries, decoding only the summary columns.
+     * The policy name is not archived and is left null.
+     */
+    public Flux<PolicyExecutionSummary> findSummariesByPolicyId(String policyId, Keyset.ExecutionKey after) {
+        return find(ExecutionArchiveFile.Column.POLICY_ID, policyId, after, SUMMARY_COLUMNS)
+                .map(PolicyExecutionSummary::of);
+    }
+
+    /**
+     * Archived executions for a session, most recent first, starting after {@code after} (null for the newest).
+     * The policy of each execution carries only its ids.
+     */
+    public Flux<PolicyExecution> findBySessionId(String sessionId, Keyset.ExecutionKey after) {
+        return find(ExecutionArchiveFile.Column.SESSION_ID, sessionId, after, null);
+    }
+
+    /**
+     * The same executions as {@link #findBySessionId} as summaries, decoding only the summary columns.
+     * The policy name is not archived and is left null.
+     */
+    public Flux<PolicyExecutionSummary> findSummariesBySessionId(String sessionId, Keyset.ExecutionKey after) {
+        return find(ExecutionArchiveFile.Column.SESSION_ID, sessionId, after, SUMMARY_COLUMNS)
+                .map(PolicyExecutionSummary::of);
+    }
+
+    /**
+     * One archived execution by its execution id. Execution ids are not indexed, so every block is scanned.
+     */
+    public Mono<PolicyExecution> findByExecutionId(String executionId) {
+        return find(ExecutionArchiveFile.Column.EXECUTION_ID, executionId, null, null).next();
+    }
+
+    /**
+     * Interleaves table and archive rows most recent first, returning a row present in both once
+     */
+    public static Flux<PolicyExecution> merge(Flux<PolicyExecution> hot, Flux<PolicyExecution> archived) {
+        return merge(hot, archived, Keyset.ExecutionKey::of);
+    }
+
+    /**
+     * As {@link #merge(Flux, Flux)} for any view of an execution that has a history position
+     */
+    public static <T> Flux<T> merge(Flux<T> hot, Flux<T> archived, Function<T, Keyset.ExecutionKey> key) {
+        Comparator<T> mostRecentFirst = Comparator
+                .comparing((T row) -> key.apply(row).getExecutedAt())
+                .thenComparing(row -> key.apply(row).getId())
+                .reversed();
+        return Flux.mergeComparing(mostRecentFirst, hot, archived)
+                .distinctUntilChanged(row -> key.apply(row).getId());
+    }
+
+    /**
+     * Files whose time ranges do not overlap are read one after another; overlapping ones, written
+     * when late executions arrived after a run, are merged
+     */
+    private Flux<PolicyExecution> find(ExecutionArchiveFile.Column column, String value, Keyset.ExecutionKey after,
+                                       Set<ExecutionArchiveFile.Column> columns) {
+        return Flux.defer(() -> {
+            List<List<ExecutionArchiveFile>> chains = new ArrayList<>();
+            for (ExecutionArchiveFile file : files) {
+                if (after != null && file.getOldestExecutedAt().isAfter(after.getExecutedAt())) {
+                    continue;
+                }
+                chains.stream()
+                        .filter(chain -> chain.get(chain.size() - 1).isNewerThan(file))
+                        .findFirst()
+                        .orElseGet(() -> {
+                            List<ExecutionArchiveFile> chain = new ArrayList<>();
+                            chains.add(chain);
+                            return chain;
+                        })
+                        .add(file);
+            }
+            List<Flux<PolicyExecution>> sources = chains.stream()
+                    .map(chain -> Flux.concat(chain.stream().map(file -> file.find(column, value, after, columns)).toList()))
+                    .toList();
+            if (sources.isEmpty()) {
+                return Flux.<PolicyExecution>empty();
+            }
+            if (sources.size() == 1) {
+                return sources.get(0);
+            }
+            @SuppressWarnings("unchecked")
+            Flux<PolicyExecution>[] merged = sources.toArray(new Flux[0]);
+            return Flux.mergeComparing(MOST_RECENT_FIRST, merged);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private synchronized void add(List<ExecutionArchiveFile> added) {
+        List<ExecutionArchiveFile> all = new ArrayList<>(files);
+        all.addAll(added);
+        all.sort(Comparator.comparing(ExecutionArchiveFile::getNewestExecutedAt).reversed());
+        files = List.copyOf(all);
+    }
+
+    private static String fileName(List<PolicyExecution> executions) {
+        LocalDateTime newest = executions.stream().map(PolicyExecution::getExecutedAt).max(Comparator.naturalOrder()).orElseThrow();
+        return "executions-" + FILE_TIME.format(newest) + "-" + UUID.randomUUID().toString().substring(0, 8)
+                + ExecutionArchiveFile.SUFFIX;
+    }
+
+    private Path directory() {
+        return Paths.get(properties.getDirectory());
+    }
+}
@@ -0,0 +1,611 @@
+package com.cisco.ise.ai.repository.archive;
+
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.repository.Keyset;
+import reactor.core.publisher.Flux;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One immutable archive file of policy executions, stored column by column.
+ *
+ * Rows are sorted most recent first and cut into blocks of up to {@code block-rows} executions. Each
+ * column of a block is encoded on its own, ids and timestamps as deltas and text length-prefixed, and
+ * then deflated, so repetitive text such as execution results compresses against itself and a scan
+ * that filters on one column inflates only that column until a block has a match. The footer indexes
+ * every block by its time range and a bloom filter over the policy and session ids it holds.
+ *
+ * The file is read through a read-only memory mapping; only the block being read is inflated onto
+ * the heap. Layout: the blocks, the footer, the footer offset (long) and {@link #MAGIC} (int).
+ */
+public final class ExecutionArchiveFile {
+
+    static final String SUFFIX = ".pexa";
+
+    private static final int MAGIC = 0x50455841;
+    private static final int FORMAT_VERSION = 1;
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+    private static final int BLOOM_HASHES = 3;
+
+    /**
+     * Stored columns, in file order
+     */
+    enum Column {
+        ID(Kind.LONG, PolicyExecution::getId, (execution, value) -> execution.setId((Long) value)),
+        EXECUTION_ID(Kind.TEXT, PolicyExecution::getExecutionId, (execution, value) -> execution.setExecutionId((String) value)),
+        POLICY_ROW_ID(Kind.LONG, execution -> execution.getPolicy().getId(), (execution, value) -> execution.getPolicy().setId((Long) value)),
+        POLICY_ID(Kind.TEXT, execution -> execution.getPolicy().getPolicyId(), (execution, value) -> execution.getPolicy().setPolicyId((String) value)),
+        SESSION_ID(Kind.TEXT, PolicyExecution::getSessionId, (execution, value) -> execution.setSessionId((String) value)),
+        USER_NAME(Kind.TEXT, PolicyExecution::getUserName, (execution, value) -> execution.setUserName((String) value)),
+        DEVICE_MAC(Kind.TEXT, PolicyExecution::getDeviceMac, (execution, value) -> execution.setDeviceMac((String) value)),
+        EXECUTION_STATUS(Kind.TEXT, execution -> nameOf(execution.getExecutionStatus()),
+                (execution, value) -> execution.setExecutionStatus(value != null ? PolicyExecution.ExecutionStatus.valueOf((String) value) : null)),
+        EXECUTION_TYPE(Kind.TEXT, execution -> nameOf(execution.getExecutionType()),
+                (execution, value) -> execution.setExecutionType(value != null ? PolicyExecution.ExecutionType.valueOf((String) value) : null)),
+        TRIGGER_REASON(Kind.TEXT, PolicyExecution::getTriggerReason, (execution, value) -> execution.setTriggerReason((String) value)),
+        EXECUTION_RESULT(Kind.TEXT, PolicyExecution::getExecutionResult, (execution, value) -> execution.setExecutionResult((String) value)),
+        ERROR_MESSAGE(Kind.TEXT, PolicyExecution::getErrorMessage, (execution, value) -> execution.setErrorMessage((String) value)),
+        RISK_SCORE_BEFORE(Kind.DOUBLE, PolicyExecution::getRiskScoreBefore, (execution, value) -> execution.setRiskScoreBefore((Double) value)),
+        RISK_SCORE_AFTER(Kind.DOUBLE, PolicyExecution::getRiskScoreAfter, (execution, value) -> execution.setRiskScoreAfter((Double) value)),
+        AI_CONFIDENCE(Kind.DOUBLE, PolicyExecution::getAiConfidence, (execution, value) -> execution.setAiConfidence((Double) value)),
+        EXECUTION_TIME_MS(Kind.LONG, PolicyExecution::getExecutionTimeMs, (execution, value) -> execution.setExecutionTimeMs((Long) value)),
+        ISE_RESPONSE(Kind.TEXT, PolicyExecution::getIseResponse, (execution, value) -> execution.setIseResponse((String) value)),
+        COA_SENT(Kind.BOOLEAN, PolicyExecution::getCoaSent, (execution, value) -> execution.setCoaSent((Boolean) value)),
+        COA_RESPONSE(Kind.TEXT, PolicyExecution::getCoaResponse, (execution, value) -> execution.setCoaResponse((String) value)),
+        EXECUTED_AT(Kind.TIME, PolicyExecution::getExecutedAt, (execution, value) -> execution.setExecutedAt((LocalDateTime) value)),
+        EXECUTED_BY(Kind.TEXT, PolicyExecution::getExecutedBy, (execution, value) -> execution.setExecutedBy((String) value)),
+        CREATED_AT(Kind.TIME, PolicyExecution::getCreatedAt, (execution, value) -> execution.setCreatedAt((LocalDateTime) value));
+
+        private final Kind kind;
+        private final Function<PolicyExecution, Object> getter;
+        private final BiConsumer<PolicyExecution, Object> setter;
+
+        Column(Kind kind, Function<PolicyExecution, Object> getter, BiConsumer<PolicyExecution, Object> setter) {
+            this.kind = kind;
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+
+    private enum Kind {
+        LONG, TIME, TEXT, DOUBLE, BOOLEAN
+    }
+
+    private static final Column[] COLUMNS = Column.values();
+
+    private static final Comparator<PolicyExecution> MOST_RECENT_FIRST = Comparator
+            .comparing(PolicyExecution::getExecutedAt)
+            .thenComparing(PolicyExecution::getId)
+            .reversed();
+
+    private final Path path;
+    private final ByteBuffer mapping;
+    private final List<Block> blocks;
+    private final long rowCount;
+
+    private ExecutionArchiveFile(Path path, ByteBuffer mapping, List<Block> blocks, long rowCount) {
+        this.path = path;
+        this.mapping = mapping;
+        this.blocks = blocks;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Writes the executions to a new file at {@code path} and opens it. The file is written under a
+     * temporary name, synced and then renamed, so a crash never leaves a partial file behind.
+     */
+    public static ExecutionArchiveFile write(Path path, List<PolicyExecution> executions, int blockRows) throws IOException {
+        if (executions.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to archive");
+        }
+        List<PolicyExecution> rows = new ArrayList<>(executions);
+        rows.sort(MOST_RECENT_FIRST);
+        int perBlock = Math.max(1, blockRows);
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Deflater deflater = new Deflater();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            ByteArrayOutputStream footer = new ByteArrayOutputStream();
+            DataOutputStream index = new DataOutputStream(footer);
+            int blockCount = (rows.size() + perBlock - 1) / perBlock;
+            index.writeInt(FORMAT_VERSION);
+            index.writeInt(COLUMNS.length);
+            index.writeInt(blockCount);
+            index.writeLong(rows.size());
+
+            for (int from = 0; from < rows.size(); from += perBlock) {
+                List<PolicyExecution> block = rows.subList(from, Math.min(from + perBlock, rows.size()));
+                index.writeInt(block.size());
+                index.writeLong(nanos(block.get(0).getExecutedAt()));
+                index.writeLong(block.get(0).getId());
+                index.writeLong(nanos(block.get(block.size() - 1).getExecutedAt()));
+                index.writeLong(block.get(block.size() - 1).getId());
+
+                long[] bloom = bloom(block);
+                index.writeInt(bloom.length);
+                for (long word : bloom) {
+                    index.writeLong(word);
+                }
+                for (Column column : COLUMNS) {
+                    byte[] raw = encode(column, block);
+                    byte[] compressed = deflate(deflater, raw);
+                    index.writeLong(out.size());
+                    index.writeInt(compressed.length);
+                    index.writeInt(raw.length);
+                    out.write(compressed);
+                }
+            }
+            long footerOffset = out.size();
+            footer.writeTo(out);
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+            if (out.size() == Integer.MAX_VALUE) {
+                throw new IOException("Archive file too large: " + path);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        } finally {
+            deflater.end();
+        }
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        return open(path);
+    }
+
+    /**
+     * Maps an existing archive file and reads its block index
+     */
+    public static ExecutionArchiveFile open(Path path) throws IOException {
+        ByteBuffer mapping;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < TRAILER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not an execution archive: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        int size = mapping.capacity();
+        if (mapping.getInt(size - Integer.BYTES) != MAGIC) {
+            throw new IOException("Not an execution archive: " + path);
+        }
+        try {
+            int footerOffset = (int) mapping.getLong(size - TRAILER_BYTES);
+            ByteBuffer footer = mapping.slice(footerOffset, size - TRAILER_BYTES - footerOffset);
+            if (footer.getInt() != FORMAT_VERSION || footer.getInt() != COLUMNS.length) {
+                throw new IOException("Unsupported execution archive format: " + path);
+            }
+            int blockCount = footer.getInt();
+            long rowCount = footer.getLong();
+            List<Block> blocks = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                Block block = new Block(footer.getInt(), footer.getLong(), footer.getLong(), footer.getLong(), footer.getLong());
+                block.bloomWords = footer.getInt();
+                block.bloomOffset = footerOffset + footer.position();
+                footer.position(footer.position() + block.bloomWords * Long.BYTES);
+                for (int c = 0; c < COLUMNS.length; c++) {
+                    block.offsets[c] = (int) footer.getLong();
+                    block.lengths[c] = footer.getInt();
+                    block.rawLengths[c] = footer.getInt();
+                }
+                blocks.add(block);
+            }
+            return new ExecutionArchiveFile(path, mapping, blocks, rowCount);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt execution archive: " + path, e);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getSize() {
+        return mapping.capacity();
+    }
+
+    public LocalDateTime getNewestExecutedAt() {
+        return time(blocks.get(0).maxExecutedAt);
+    }
+
+    public LocalDateTime getOldestExecutedAt() {
+        return time(blocks.get(blocks.size() - 1).minExecutedAt);
+    }
+
+    /**
+     * Whether every execution in this file is more recent than every execution in {@code other}
+     */
+    boolean isNewerThan(ExecutionArchiveFile other) {
+        Block oldest = blocks.get(blocks.size() - 1);
+        Block newest = other.blocks.get(0);
+        return isBefore(newest.maxExecutedAt, newest.maxId, oldest.minExecutedAt, oldest.minId);
+    }
+
+    /**
+     * Executions whose column equals {@code value} (every execution when {@code column} is null),
+     * most recent first, starting after {@code after} (null for the newest). Blocks are inflated
+     * one at a time as the subscriber reaches them.
+     */
+    Flux<PolicyExecution> find(Column column, String value, Keyset.ExecutionKey after) {
+        return find(column, value, after, null);
+    }
+
+    /**
+     * As {@link #find(Column, String, Keyset.ExecutionKey)}, inflating and setting only {@code columns}
+     * (every column when null); the others are left null
+     */
+    Flux<PolicyExecution> find(Column column, String value, Keyset.ExecutionKey after, Set<Column> columns) {
+        return Flux.fromIterable(() -> new Rows(column, value, after, columns));
+    }
+
+    /**
+     * Walks the blocks in order, skipping those the index rules out
+     */
+    private final class Rows implements Iterator<PolicyExecution> {
+
+        private final Column column;
+        private final String value;
+        private final Set<Column> columns;
+        private final boolean bounded;
+        private final long afterExecutedAt;
+        private final long afterId;
+
+        private int nextBlock;
+        private List<PolicyExecution> current = List.of();
+        private int position;
+
+        Rows(Column column, String value, Keyset.ExecutionKey after, Set<Column> columns) {
+            this.column = column;
+            this.value = value;
+            this.columns = columns;
+            this.bounded = after != null;
+            this.afterExecutedAt = after != null ? nanos(after.getExecutedAt()) : 0;
+            this.afterId = after != null ? after.getId() : 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (position >= current.size()) {
+                if (nextBlock >= blocks.size()) {
+                    return false;
+                }
+                current = read(blocks.get(nextBlock++));
+                position = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public PolicyExecution next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.get(position++);
+        }
+
+        private List<PolicyExecution> read(Block block) {
+            if (bounded && !isBefore(block.minExecutedAt, block.minId, afterExecutedAt, afterId)) {
+                return List.of();
+            }
+            if ((column == Column.POLICY_ID || column == Column.SESSION_ID) && !mightContain(block, bloomKey(column, value))) {
+                return List.of();
+            }
+
+            Object[] executedAt = decode(block, Column.EXECUTED_AT);
+            Object[] ids = decode(block, Column.ID);
+            Object[] filter = column != null ? decode(block, column) : null;
+            List<Integer> matches = new ArrayList<>();
+            for (int row = 0; row < block.rows; row++) {
+                if (bounded && !isBefore(nanos((LocalDateTime) executedAt[row]), (Long) ids[row], afterExecutedAt, afterId)) {
+                    continue;
+                }
+                if (filter == null || value.equals(filter[row])) {
+                    matches.add(row);
+                }
+            }
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+
+            List<PolicyExecution> executions = new ArrayList<>(matches.size());
+            for (int i = 0; i < matches.size(); i++) {
+                PolicyExecution execution = new PolicyExecution();
+                execution.setPolicy(new Policy());
+                executions.add(execution);
+            }
+            for (Column stored : COLUMNS) {
+                if (columns != null && !columns.contains(stored)) {
+                    continue;
+                }
+                Object[] values = stored == Column.EXECUTED_AT ? executedAt
+                        : stored == Column.ID ? ids
+                        : stored == column ? filter
+                        : decode(block, stored);
+                for (int i = 0; i < matches.size(); i++) {
+                    stored.setter.accept(executions.get(i), values[matches.get(i)]);
+                }
+            }
+            return executions;
+        }
+    }
+
+    private Object[] decode(Block block, Column column) {
+        int c = column.ordinal();
+        byte[] raw = new byte[block.rawLengths[c]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(mapping.slice(block.offsets[c], block.lengths[c]));
+            int inflated = 0;
+            while (inflated < raw.length) {
+                int n = inflater.inflate(raw, inflated, raw.length - inflated);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                inflated += n;
+            }
+            if (inflated != raw.length) {
+                throw new IllegalStateException("Truncated " + column + " column in " + path);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt " + column + " column in " + path, e);
+        } finally {
+            inflater.end();
+        }
+
+        Decoder decoder = new Decoder(raw);
+        Object[] values = new Object[block.rows];
+        long previous = 0;
+        for (int row = 0; row < block.rows; row++) {
+            switch (column.kind) {
+                case LONG, TIME -> {
+                    long encoded = decoder.varLong();
+                    if (encoded != 0) {
+                        previous += unzigzag(encoded - 1);
+                        values[row] = column.kind == Kind.TIME ? time(previous) : previous;
+                    }
+                }
+                case TEXT -> {
+                    int length = (int) decoder.varLong();
+                    if (length != 0) {
+                        values[row] = decoder.text(length - 1);
+                    }
+                }
+                case DOUBLE -> {
+                    if (decoder.raw() != 0) {
+                        values[row] = Double.longBitsToDouble(decoder.fixedLong());
+                    }
+                }
+                case BOOLEAN -> {
+                    byte flag = decoder.raw();
+                    values[row] = flag == 0 ? null : flag == 2;
+                }
+            }
+        }
+        return values;
+    }
+
+    private static byte[] encode(Column column, List<PolicyExecution> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        long previous = 0;
+        for (PolicyExecution row : rows) {
+            Object value = column.getter.apply(row);
+            switch (column.kind) {
+                case LONG, TIME -> {
+                    if (value == null) {
+                        writeVarLong(out, 0);
+                    } else {
+                        long current = column.kind == Kind.TIME ? nanos((LocalDateTime) value) : (Long) value;
+                        writeVarLong(out, zigzag(current - previous) + 1);
+                        previous = current;
+                    }
+                }
+                case TEXT -> {
+                    if (value == null) {
+                        writeVarLong(out, 0);
+                    } else {
+                        byte[] utf8 = ((String) value).getBytes(StandardCharsets.UTF_8);
+                        writeVarLong(out, utf8.length + 1L);
+                        out.write(utf8);
+                    }
+                }
+                case DOUBLE -> {
+                    out.writeByte(value == null ? 0 : 1);
+                    if (value != null) {
+                        out.writeLong(Double.doubleToLongBits((Double) value));
+                    }
+                }
+                case BOOLEAN -> out.writeByte(value == null ? 0 : (Boolean) value ? 2 : 1);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Bloom filter over a block's policy and session ids, about ten bits per distinct id
+     */
+    private static long[] bloom(List<PolicyExecution> rows) {
+        Set<String> keys = new HashSet<>();
+        for (PolicyExecution row : rows) {
+            keys.add(bloomKey(Column.POLICY_ID, row.getPolicy().getPolicyId()));
+            if (row.getSessionId() != null) {
+                keys.add(bloomKey(Column.SESSION_ID, row.getSessionId()));
+            }
+        }
+        int bits = Integer.highestOneBit(Math.max(64, keys.size() * 10 - 1)) << 1;
+        long[] words = new long[bits / Long.SIZE];
+        for (String key : keys) {
+            long hash = hash(key);
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                int bit = bloomBit(hash, i, bits);
+                words[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return words;
+    }
+
+    private boolean mightContain(Block block, String key) {
+        int bits = block.bloomWords * Long.SIZE;
+        long hash = hash(key);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = bloomBit(hash, i, bits);
+            if ((mapping.getLong(block.bloomOffset + (bit >>> 6) * Long.BYTES) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String bloomKey(Column column, String value) {
+        return column.ordinal() + ":" + value;
+    }
+
+    private static long hash(String key) {
+        return key.hashCode() * 0x9E3779B97F4A7C15L;
+    }
+
+    private static int bloomBit(long hash, int i, int bits) {
+        int h1 = (int) (hash >>> 32);
+        int h2 = (int) hash | 1;
+        return (h1 + i * h2) & (bits - 1);
+    }
+
+    private static boolean isBefore(long executedAt, long id, long otherExecutedAt, long otherId) {
+        return executedAt < otherExecutedAt || (executedAt == otherExecutedAt && id < otherId);
+    }
+
+    private static long nanos(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    private static LocalDateTime time(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    private static String nameOf(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static final class Decoder {
+
+        private final byte[] data;
+        private int position;
+
+        Decoder(byte[] data) {
+            this.data = data;
+        }
+
+        byte raw() {
+            return data[position++];
+        }
+
+        long varLong() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        long fixedLong() {
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        String text(int length) {
+            String text = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return text;
+        }
+    }
+
+    private static final class Block {
+
+        private final int rows;
+        private final long maxExecutedAt;
+        private final long maxId;
+        private final long minExecutedAt;
+        private final long minId;
+        private final int[] offsets = new int[COLUMNS.length];
+        private final int[] lengths = new int[COLUMNS.length];
+        private final int[] rawLengths = new int[COLUMNS.length];
+        private int bloomOffset;
+        private int bloomWords;
+
+        Block(int rows, long maxExecutedAt, long maxId, long minExecutedAt, long minId) {
+            this.rows = rows;
+            this.maxExecutedAt = maxExecutedAt;
+            this.maxId = maxId;
+            this.minExecutedAt = minExecutedAt;
+            this.minId = minId;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+-- Schema for the postgres profile; mirrors the tables Hibernate generates for Policy, PolicyRevision,
+-- PolicyExecution and Session.
+-- policy_executions is range-partitioned by day on executed_at. ExecutionPartitionManager creates
+-- the daily partitions ahead of time and drops whole partitions once they leave the retention window.
+-- Partitioned tables can only enforce keys that include the partition column, so the primary key
+-- and the execution_id key carry executed_at.
+
+CREATE SEQUENCE IF NOT EXISTS policy_execution_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS session_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS policies (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    policy_id VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    type VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    priority INTEGER NOT NULL,
+    conditions TEXT,
+    actions TEXT,
+    conditions_binary BYTEA,
+    actions_binary BYTEA,
+    risk_score DOUBLE PRECISION,
+    ai_confidence DOUBLE PRECISION,
+    source VARCHAR(255),
+    created_by VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_by VARCHAR(255),
+    updated_at TIMESTAMP(6),
+    approved_by VARCHAR(255),
+    approved_at TIMESTAMP(6),
+    revision BIGINT,
+    version BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_policies_status_priority ON policies (status, priority);
+CREATE INDEX IF NOT EXISTS idx_policies_priority_id ON policies (priority, id);
+
+CREATE TABLE IF NOT EXISTS policy_revisions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    policy_id VARCHAR(255) NOT NULL,
+    revision BIGINT NOT NULL,
+    snapshot BOOLEAN NOT NULL,
+    content BYTEA NOT NULL,
+    changed_by VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_policy_revisions_policy_revision UNIQUE (policy_id, revision)
+);
+
+CREATE TABLE IF NOT EXISTS policy_executions (
+    id BIGINT NOT NULL,
+    execution_id VARCHAR(255) NOT NULL,
+    policy_id BIGINT NOT NULL REFERENCES policies (id),
+    session_id VARCHAR(255),
+    user_name VARCHAR(255),
+    device_mac VARCHAR(255),
+    execution_status VARCHAR(255) NOT NULL,
+    execution_type VARCHAR(255) NOT NULL,
+    trigger_reason VARCHAR(255),
+    execution_result TEXT,
+    error_message VARCHAR(255),
+    risk_score_before DOUBLE PRECISION,
+    risk_score_after DOUBLE PRECISION,
+    ai_confidence DOUBLE PRECISION,
+    execution_time_ms BIGINT,
+    ise_response TEXT,
+    coa_sent BOOLEAN,
+    coa_response VARCHAR(255),
+    executed_at TIMESTAMP(6) NOT NULL,
+    executed_by VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, executed_at),
+    UNIQUE (execution_id, executed_at)
+) PARTITION BY RANGE (executed_at);
+
+-- Catches rows outside every daily partition so inserts never fail
+CREATE TABLE IF NOT EXISTS policy_executions_default PARTITION OF policy_executions DEFAULT;
+
+-- Indexes on the parent are created on every partition, present and future
+CREATE INDEX IF NOT EXISTS idx_policy_executions_policy_time ON policy_executions (policy_id, executed_at, id);
+CREATE INDEX IF NOT EXISTS idx_policy_executions_session_time ON policy_executions (session_id, executed_at, id);
+CREATE INDEX IF NOT EXISTS idx_policy_executions_user_time ON policy_executions (user_name, executed_at);
+CREATE INDEX IF NOT EXISTS idx_policy_executions_status_time ON policy_executions (execution_status, executed_at);
+CREATE INDEX IF NOT EXISTS idx_policy_executions_executed_at ON policy_executions (executed_at);
+
+CREATE TABLE IF NOT EXISTS sessions (
+    id BIGINT PRIMARY KEY,
+    session_id VARCHAR(255) NOT NULL UNIQUE,
+    user_name VARCHAR(255),
+    mac_address VARCHAR(255),
+    ip_address VARCHAR(255),
+    nas_ip_address VARCHAR(255),
+    nas_port_id VARCHAR(255),
+    calling_station_id VARCHAR(255),
+    called_station_id VARCHAR(255),
+    session_state VARCHAR(255) NOT NULL,
+    authentication_method VARCHAR(255),
+    authorization_profile VARCHAR(255),
+    security_group VARCHAR(255),
+    vlan_id INTEGER,
+    device_type VARCHAR(255),
+    operating_system VARCHAR(255),
+    posture_status VARCHAR(255),
+    risk_score DOUBLE PRECISION,
+    anomaly_score DOUBLE PRECISION,
+    threat_level VARCHAR(255),
+    location VARCHAR(255),
+    ssid VARCHAR(255),
+    start_time TIMESTAMP(6) NOT NULL,
+    end_time TIMESTAMP(6),
+    last_update TIMESTAMP(6),
+    session_duration BIGINT,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_sessions_user_name ON sessions (user_name);
+CREATE INDEX IF NOT EXISTS idx_sessions_state_update ON sessions (session_state, last_update);
@@ -0,0 +1,105 @@
+-- Schema for the r2dbc profile; mirrors the tables Hibernate generates for Policy, PolicyRevision, PolicyExecution
+-- and Session
+
+CREATE TABLE IF NOT EXISTS policies (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    policy_id VARCHAR(255) NOT NULL UNIQUE,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    type VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    priority INTEGER NOT NULL,
+    conditions VARCHAR,
+    actions VARCHAR,
+    conditions_binary VARBINARY,
+    actions_binary VARBINARY,
+    risk_score DOUBLE PRECISION,
+    ai_confidence DOUBLE PRECISION,
+    source VARCHAR(255),
+    created_by VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    updated_by VARCHAR(255),
+    updated_at TIMESTAMP,
+    approved_by VARCHAR(255),
+    approved_at TIMESTAMP,
+    revision BIGINT,
+    version BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS policy_revisions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    policy_id VARCHAR(255) NOT NULL,
+    revision BIGINT NOT NULL,
+    snapshot BOOLEAN NOT NULL,
+    content VARBINARY NOT NULL,
+    changed_by VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_policy_revisions_policy_revision UNIQUE (policy_id, revision)
+);
+
+CREATE TABLE IF NOT EXISTS policy_executions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    execution_id VARCHAR(255) NOT NULL UNIQUE,
+    policy_id BIGINT NOT NULL REFERENCES policies (id),
+    session_id VARCHAR(255),
+    user_name VARCHAR(255),
+    device_mac VARCHAR(255),
+    execution_status VARCHAR(255) NOT NULL,
+    execution_type VARCHAR(255) NOT NULL,
+    trigger_reason VARCHAR(255),
+    execution_result VARCHAR,
+    error_message VARCHAR(255),
+    risk_score_before DOUBLE PRECISION,
+    risk_score_after DOUBLE PRECISION,
+    ai_confidence DOUBLE PRECISION,
+    execution_time_ms BIGINT,
+    ise_response VARCHAR,
+    coa_sent BOOLEAN,
+    coa_response VARCHAR(255),
+    executed_at TIMESTAMP NOT NULL,
+    executed_by VARCHAR(255),
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS sessions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    session_id VARCHAR(255) NOT NULL UNIQUE,
+    user_name VARCHAR(255),
+    mac_address VARCHAR(255),
+    ip_address VARCHAR(255),
+    nas_ip_address VARCHAR(255),
+    nas_port_id VARCHAR(255),
+    calling_station_id VARCHAR(255),
+    called_station_id VARCHAR(255),
+    session_state VARCHAR(255) NOT NULL,
+    authentication_method VARCHAR(255),
+    authorization_profile VARCHAR(255),
+    security_group VARCHAR(255),
+    vlan_id INTEGER,
+    device_type VARCHAR(255),
+    operating_system VARCHAR(255),
+    posture_status VARCHAR(255),
+    risk_score DOUBLE PRECISION,
+    anomaly_score DOUBLE PRECISION,
+    threat_level VARCHAR(255),
+    location VARCHAR(255),
+    ssid VARCHAR(255),
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP,
+    last_update TIMESTAMP,
+    session_duration BIGINT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_policies_status_priority ON policies (status, priority);
+CREATE INDEX IF NOT EXISTS idx_policies_priority_id ON policies (priority, id);
+
+CREATE INDEX IF NOT EXISTS idx_policy_executions_policy_time ON policy_executions (policy_id, executed_at, id);
+CREATE INDEX IF NOT EXISTS idx_policy_executions_session_time ON policy_executions (session_id, executed_at, id);
+CREATE INDEX IF NOT EXISTS idx_policy_executions_user_time ON policy_executions (user_name, executed_at);
+CREATE INDEX IF NOT EXISTS idx_policy_executions_status_time ON policy_executions (execution_status, executed_at);
+CREATE INDEX IF NOT EXISTS idx_policy_executions_executed_at ON policy_executions (executed_at);
+
+CREATE INDEX IF NOT EXISTS idx_sessions_user_name ON sessions (user_name);
+CREATE INDEX IF NOT EXISTS idx_sessions_state_update ON sessions (session_state, last_update);
@@ -0,0 +1,142 @@
+package com.cisco.ise.ai.engine;
+
+import com.cisco.ise.ai.engine.condition.ConditionCompiler;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decision latency of the indexed engine versus a linear first-match scan as the
+ * number of ACTIVE policies grows from 10 to 100k.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.cisco.ise.ai.engine.PolicyIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolicyIndexBenchmark {
+
+    static final String[] DEVICE_TYPES = {"Laptop", "Desktop", "Mobile", "Tablet", "Server", "IoT", "Printer", "Camera"};
+    static final String[] AUTH_METHODS = {"DOT1X", "MAB", "WEB_AUTH", "CERTIFICATE"};
+    static final String[] POSTURE = {"Compliant", "NonCompliant", "Unknown"};
+    static final int LOCATIONS = 200;
+    static final int SSIDS = 50;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int policyCount;
+
+    private PolicyIndex index;
+    private CompiledPolicy[] linear;
+    private ISESession[] sessions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = PolicyIndex.build(generatePolicies(policyCount, new Random(42)));
+        linear = index.getPolicies().toArray(new CompiledPolicy[0]);
+        sessions = generateSessions(1024, new Random(7));
+    }
+
+    @Benchmark
+    public Object indexed() {
+        return index.firstMatch(nextSession()).getPolicy();
+    }
+
+    @Benchmark
+    public Object linearScan() {
+        ISESession session = nextSession();
+        for (CompiledPolicy policy : linear) {
+            if (policy.matches(session)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private ISESession nextSession() {
+        return sessions[next++ & (sessions.length - 1)];
+    }
+
+    /**
+     * Generates a mixed rule set: mostly location/SSID scoped policies, some device-type rules
+     * with set membership, and a small share of unindexable risk-only rules
+     */
+    public static List<CompiledPolicy> generatePolicies(int count, Random random) {
+        ConditionCompiler compiler = new ConditionCompiler(new ObjectMapper());
+        List<CompiledPolicy> policies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String conditions;
+            int shape = random.nextInt(20);
+            if (shape == 0) {
+                conditions = "{\"riskScore\": {\"operator\": \">\", \"value\": " + (9.0 + random.nextDouble()) + "}}";
+            } else if (shape < 6) {
+                conditions = "{\"deviceType\": [\"" + pick(DEVICE_TYPES, random) + "\", \"" + pick(DEVICE_TYPES, random) + "\"], " +
+                        "\"postureStatus\": \"" + pick(POSTURE, random) + "\", " +
+                        "\"ssid\": \"ssid-" + random.nextInt(SSIDS) + "\"}";
+            } else {
+                conditions = "{\"location\": \"site-" + random.nextInt(LOCATIONS) + "\", " +
+                        "\"authenticationMethod\": \"" + pick(AUTH_METHODS, random) + "\", " +
+                        "\"riskScore\": {\"operator\": \"between\", \"min\": " + random.nextInt(5) + ", \"max\": 10}}";
+            }
+            policies.add(CompiledPolicy.builder()
+                    .id((long) i)
+                    .policyId("policy-" + i)
+                    .name("Policy " + i)
+                    .priority(i)
+                    .condition(compiler.compile(conditions))
+                    .actions(Map.of("action", "allow"))
+                    .build());
+        }
+        return policies;
+    }
+
+    public static ISESession[] generateSessions(int count, Random random) {
+        ISESession[] sessions = new ISESession[count];
+        for (int i = 0; i < count; i++) {
+            sessions[i] = ISESession.builder()
+                    .sessionId("session-" + i)
+                    .deviceType(pick(DEVICE_TYPES, random))
+                    .authenticationMethod(pick(AUTH_METHODS, random))
+                    .postureStatus(pick(POSTURE, random))
+                    .location("site-" + random.nextInt(LOCATIONS))
+                    .ssid("ssid-" + random.nextInt(SSIDS))
+                    .riskScore(random.nextDouble() * 10)
+                    .build();
+        }
+        return sessions;
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PolicyIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
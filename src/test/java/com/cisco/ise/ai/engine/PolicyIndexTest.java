@@ -0,0 +1,40 @@
+package com.cisco.ise.ai.engine;
+
+import com.cisco.ise.ai.ise.model.ISESession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that indexed lookups agree with a linear first-match scan
+ */
+class PolicyIndexTest {
+
+    @Test
+    @DisplayName("Policy Index - Same First Match as Linear Scan")
+    void testIndexedLookupMatchesLinearScan() {
+        List<CompiledPolicy> policies = PolicyIndexBenchmark.generatePolicies(5_000, new Random(1));
+        PolicyIndex index = PolicyIndex.build(policies);
+        ISESession[] sessions = PolicyIndexBenchmark.generateSessions(2_000, new Random(2));
+
+        long indexedEvaluations = 0;
+        for (ISESession session : sessions) {
+            PolicyIndex.Match match = index.firstMatch(session);
+            CompiledPolicy expected = policies.stream()
+                    .filter(policy -> policy.matches(session))
+                    .findFirst()
+                    .orElse(null);
+
+            assertThat(match.getPolicy()).isSameAs(expected);
+            indexedEvaluations += match.getEvaluated();
+        }
+
+        System.out.println("📊 Average candidates evaluated per session: " +
+                (indexedEvaluations / sessions.length) + " of " + policies.size());
+        assertThat(indexedEvaluations / sessions.length).isLessThan(policies.size() / 10);
+    }
+}
@@ -0,0 +1,78 @@
+package com.cisco.ise.ai.engine;
+
+import com.cisco.ise.ai.engine.condition.SessionAttribute;
+import com.cisco.ise.ai.ise.model.ISESession;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the sessions found through the reverse index cover every changed decision
+ */
+class SessionAttributeIndexTest {
+
+    @Test
+    @DisplayName("Session Index - Affected Sessions Cover Every Changed Decision")
+    void testAffectedSessionsCoverChangedDecisions() {
+        Random random = new Random(5);
+        List<CompiledPolicy> policies = PolicyIndexBenchmark.generatePolicies(500, random);
+        List<CompiledPolicy> replacements = PolicyIndexBenchmark.generatePolicies(500, new Random(6));
+        ISESession[] sessions = PolicyIndexBenchmark.generateSessions(4_096, new Random(7));
+
+        SessionAttributeIndex index = new SessionAttributeIndex();
+        for (ISESession session : sessions) {
+            index.put(session);
+        }
+        PolicySnapshot previous = PolicySnapshot.empty().replaceAll(policies);
+
+        long affectedTotal = 0;
+        int changes = 0;
+        for (int i = 0; i < 200; i++) {
+            CompiledPolicy target = policies.get(random.nextInt(policies.size()));
+            CompiledPolicy replacement = replacements.get(random.nextInt(replacements.size())).toBuilder()
+                    .id(target.getId())
+                    .policyId(target.getPolicyId())
+                    .priority(random.nextInt(policies.size()))
+                    .build();
+            PolicySnapshot current = random.nextInt(4) == 0
+                    ? previous.apply(List.of(), List.of(target.getPolicyId()))
+                    : previous.apply(List.of(replacement), List.of());
+
+            Set<String> affected = index.affectedBy(previous, current, Set.of(target.getPolicyId()));
+            if (affected == null) {
+                continue;
+            }
+            for (ISESession session : sessions) {
+                if (!Objects.equals(firstMatch(previous, session), firstMatch(current, session))) {
+                    assertThat(affected).contains(session.getSessionId());
+                }
+            }
+            affectedTotal += affected.size();
+            changes++;
+        }
+
+        System.out.println("📊 Average sessions re-evaluated per change: " +
+                (affectedTotal / changes) + " of " + sessions.length);
+        assertThat(affectedTotal / changes).isLessThan(sessions.length / 4);
+
+        // Moving a session to new attribute values moves it in the index
+        ISESession moved = sessions[0];
+        moved.setSsid("ssid-moved");
+        index.put(moved);
+        assertThat(index.sessionsMatching(new PolicyIndex.Anchor(SessionAttribute.SSID, Set.of("ssid-moved"))))
+                .containsExactly(moved.getSessionId());
+        index.remove(moved.getSessionId());
+        assertThat(index.size()).isEqualTo(sessions.length - 1);
+    }
+
+    private static String firstMatch(PolicySnapshot snapshot, ISESession session) {
+        CompiledPolicy policy = snapshot.getIndex().firstMatch(session).getPolicy();
+        return policy != null ? policy.getPolicyId() : null;
+    }
+}
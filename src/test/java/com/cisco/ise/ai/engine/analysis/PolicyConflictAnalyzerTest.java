@@ -0,0 +1,109 @@
+package com.cisco.ise.ai.engine.analysis;
+
+import com.cisco.ise.ai.engine.CompiledPolicy;
+import com.cisco.ise.ai.engine.PolicyIndexBenchmark;
+import com.cisco.ise.ai.engine.condition.ConditionCompiler;
+import com.cisco.ise.ai.engine.model.PolicyAnalysis;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies shadowing, contradiction and merge detection against brute-force evaluation
+ */
+class PolicyConflictAnalyzerTest {
+
+    private final ConditionCompiler compiler = new ConditionCompiler(new ObjectMapper());
+    private final PolicyConflictAnalyzer analyzer = new PolicyConflictAnalyzer();
+
+    @Test
+    @DisplayName("Policy Analysis - Shadowed, Contradictory and Mergeable Policies")
+    void testFindsDeadAndMergeablePolicies() {
+        List<CompiledPolicy> policies = List.of(
+                policy("corp-devices", "{\"ssid\": \"corp\", \"deviceType\": [\"Laptop\", \"Mobile\"]}", "allow"),
+                policy("risky-corp-laptops", "{\"ssid\": \"corp\", \"deviceType\": \"Laptop\", \"riskScore\": {\"gt\": 5}}", "quarantine"),
+                policy("contradiction", "{\"riskScore\": {\"gt\": 8, \"lt\": 3}}", "quarantine"),
+                policy("corp-iot", "{\"ssid\": \"corp\", \"deviceType\": \"IoT\"}", "restrict"),
+                policy("corp-laptops-and-iot", "{\"ssid\": \"corp\", \"deviceType\": [\"Laptop\", \"IoT\"]}", "restrict"),
+                policy("guest-laptops", "{\"ssid\": \"guest\", \"deviceType\": \"Laptop\"}", "guest"),
+                policy("guest-mobiles", "{\"ssid\": \"guest\", \"deviceType\": \"Mobile\"}", "guest"),
+                policy("guest-mobiles-at-hq", "{\"ssid\": \"guest\", \"deviceType\": \"Mobile\", \"location\": \"HQ\"}", "guest"),
+                policy("admins", "{\"userName\": {\"operator\": \"contains\", \"value\": \"admin\"}}", "audit"),
+                policy("low-risk", "{\"riskScore\": {\"operator\": \"between\", \"min\": 0, \"max\": 4}}", "allow"),
+                policy("not-low-risk", "{\"not\": {\"riskScore\": {\"lte\": 4}}, \"riskScore\": {\"gte\": 0}}", "allow"));
+
+        PolicyAnalysis analysis = analyzer.analyze(policies);
+        Map<String, PolicyAnalysis.DeadPolicy> dead = analysis.getDeadPolicies().stream()
+                .collect(Collectors.toMap(PolicyAnalysis.DeadPolicy::getPolicyId, policy -> policy));
+
+        assertThat(dead).containsOnlyKeys("risky-corp-laptops", "contradiction", "corp-laptops-and-iot", "guest-mobiles-at-hq");
+        assertThat(dead.get("risky-corp-laptops").getShadowedBy()).containsExactly("corp-devices");
+        assertThat(dead.get("risky-corp-laptops").isConflicting()).isTrue();
+        assertThat(dead.get("contradiction").getReason()).isEqualTo(PolicyAnalysis.DeadReason.UNSATISFIABLE);
+        assertThat(dead.get("corp-laptops-and-iot").getShadowedBy()).containsExactly("corp-devices", "corp-iot");
+        assertThat(dead.get("guest-mobiles-at-hq").getShadowedBy()).containsExactly("guest-mobiles");
+        assertThat(dead.get("guest-mobiles-at-hq").isConflicting()).isFalse();
+
+        // Low risk and the rest of the non-negative range together cover riskScore >= 0; only
+        // the overlapping audit policy stands between the allow policies
+        assertThat(analysis.getMergeGroups())
+                .extracting(PolicyAnalysis.MergeGroup::getPolicyIds)
+                .containsExactly(List.of("guest-laptops", "guest-mobiles"), List.of("low-risk", "not-low-risk"));
+    }
+
+    @Test
+    @DisplayName("Policy Analysis - Dead Policies Never Decide a Session")
+    void testDeadPoliciesNeverDecide() {
+        List<CompiledPolicy> policies = PolicyIndexBenchmark.generatePolicies(2_000, new Random(17));
+        ISESession[] sessions = PolicyIndexBenchmark.generateSessions(20_000, new Random(18));
+
+        PolicyAnalysis analysis = analyzer.analyze(policies);
+        Set<String> dead = analysis.getDeadPolicies().stream()
+                .map(PolicyAnalysis.DeadPolicy::getPolicyId)
+                .collect(Collectors.toSet());
+        System.out.println("📊 " + dead.size() + " of " + policies.size() + " generated policies are dead, " +
+                analysis.getMergeGroups().size() + " merge groups");
+        assertThat(dead).isNotEmpty();
+
+        for (ISESession session : sessions) {
+            for (CompiledPolicy policy : policies) {
+                if (policy.matches(session)) {
+                    assertThat(dead).doesNotContain(policy.getPolicyId());
+                    break;
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Policy Analysis - 50k Policies Analyzed in Seconds")
+    void testLargePolicySet() {
+        List<CompiledPolicy> policies = PolicyIndexBenchmark.generatePolicies(50_000, new Random(19));
+
+        PolicyAnalysis analysis = analyzer.analyze(policies);
+        System.out.println("📊 Analyzed " + analysis.getAnalyzedPolicies() + " policies in " +
+                analysis.getAnalysisTimeMillis() + " ms: " + analysis.getDeadPolicies().size() + " dead, " +
+                analysis.getBddNodes() + " BDD nodes");
+
+        assertThat(analysis.getAnalyzedPolicies()).isEqualTo(50_000);
+        assertThat(analysis.getAnalysisTimeMillis()).isLessThan(10_000);
+    }
+
+    private CompiledPolicy policy(String policyId, String conditions, String action) {
+        return CompiledPolicy.builder()
+                .policyId(policyId)
+                .name(policyId)
+                .condition(compiler.compile(conditions))
+                .actions(Map.of("action", action))
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.cisco.ise.ai.engine.codegen;
+
+import com.cisco.ise.ai.engine.condition.Condition;
+import com.cisco.ise.ai.engine.condition.ConditionCompiler;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that generated conditions agree with the interpreted predicate tree
+ */
+class ConditionCodeGeneratorTest {
+
+    private static final String[] DEVICE_TYPES = {"Laptop", "Mobile", "IoT", null};
+    private static final String[] LOCATIONS = {"HQ", "Branch", "Lobby", null};
+
+    private final ConditionCompiler compiler = new ConditionCompiler(new ObjectMapper());
+    private final ConditionCodeGenerator generator = new ConditionCodeGenerator();
+
+    @Test
+    @DisplayName("Code Generation - Generated Conditions Match Interpreter")
+    void testGeneratedConditionsMatchInterpreter() {
+        List<String> documents = List.of(
+                "{\"deviceType\": \"Laptop\", \"riskScore\": {\"operator\": \">\", \"value\": 7.0}}",
+                "{\"location\": [\"HQ\", \"Branch\"], \"riskScore\": {\"operator\": \"between\", \"min\": 2, \"max\": 6}}",
+                "{\"anyOf\": [{\"deviceType\": \"IoT\"}, {\"riskScore\": {\"gte\": 9}}], \"not\": {\"location\": \"Lobby\"}}",
+                "{\"deviceType\": {\"operator\": \"!=\", \"value\": \"Mobile\"}, \"userName\": {\"operator\": \"contains\", \"value\": \"admin\"}}",
+                "{\"sessionDuration\": {\"lt\": 3600}, \"riskScore\": 5.0}",
+                "{\"userType\": \"guest\", \"complianceScore\": {\"operator\": \"<\", \"value\": 6.0}, \"location\": \"Lobby\"}",
+                "{\"vlanId\": {\"operator\": \">\", \"value\": 10}, \"deviceType\": [\"Laptop\"]}");
+
+        Random random = new Random(3);
+        List<Condition> interpreted = documents.stream().map(compiler::compile).toList();
+        List<Condition> batch = generator.generate(interpreted);
+        for (int d = 0; d < documents.size(); d++) {
+            Condition single = generator.generate(interpreted.get(d));
+
+            assertThat(single).isInstanceOf(GeneratedCondition.class);
+            assertThat(batch.get(d)).isInstanceOf(GeneratedCondition.class);
+            for (int i = 0; i < 2_000; i++) {
+                ISESession session = randomSession(random);
+                boolean expected = interpreted.get(d).test(session);
+                assertThat(single.test(session)).as("%s on %s", documents.get(d), session).isEqualTo(expected);
+                assertThat(batch.get(d).test(session)).as("batched %s on %s", documents.get(d), session).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Code Generation - Large Batches Split Into Blocks")
+    void testLargeBatchesSplitIntoBlocks() {
+        List<Condition> interpreted = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            interpreted.add(compiler.compile("{\"userName\": \"user-" + i + "\", \"riskScore\": {\"lt\": " + (i % 10) + "}}"));
+        }
+        List<Condition> generated = generator.generate(interpreted);
+
+        ISESession session = ISESession.builder().userName("user-123").riskScore(1.0).build();
+        for (int i = 0; i < interpreted.size(); i++) {
+            assertThat(generated.get(i)).isInstanceOf(GeneratedCondition.class);
+            assertThat(generated.get(i).test(session)).isEqualTo(interpreted.get(i).test(session));
+        }
+        assertThat(generated.get(123).test(session)).isTrue();
+    }
+
+    private ISESession randomSession(Random random) {
+        return ISESession.builder()
+                .userName(random.nextBoolean() ? "admin-" + random.nextInt(5) : "user-" + random.nextInt(5))
+                .deviceType(DEVICE_TYPES[random.nextInt(DEVICE_TYPES.length)])
+                .location(LOCATIONS[random.nextInt(LOCATIONS.length)])
+                .vlanId(random.nextBoolean() ? String.valueOf(random.nextInt(20)) : null)
+                .riskScore(random.nextInt(10) == 0 ? null : (double) random.nextInt(11))
+                .sessionDuration(random.nextBoolean() ? (long) random.nextInt(7200) : null)
+                .attributes(random.nextBoolean()
+                        ? Map.of("userType", random.nextBoolean() ? "guest" : "employee", "complianceScore", random.nextInt(10))
+                        : null)
+                .build();
+    }
+}
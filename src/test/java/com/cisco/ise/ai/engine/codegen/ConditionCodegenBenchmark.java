@@ -0,0 +1,109 @@
+package com.cisco.ise.ai.engine.codegen;
+
+import com.cisco.ise.ai.engine.CompiledPolicy;
+import com.cisco.ise.ai.engine.PolicyIndex;
+import com.cisco.ise.ai.engine.PolicyIndexBenchmark;
+import com.cisco.ise.ai.engine.condition.Condition;
+import com.cisco.ise.ai.ise.model.ISESession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Interpreted versus generated condition evaluation over the same policy set, once through
+ * the predicate trees and once through generated blocks: as a linear first-match scan, and
+ * through the attribute index the engine uses for decisions.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.cisco.ise.ai.engine.codegen.ConditionCodegenBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionCodegenBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int policyCount;
+
+    private CompiledPolicy[] interpreted;
+    private CompiledPolicy[] generated;
+    private PolicyIndex interpretedIndex;
+    private PolicyIndex generatedIndex;
+    private ISESession[] sessions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ConditionCodeGenerator generator = new ConditionCodeGenerator();
+        List<CompiledPolicy> policies = PolicyIndexBenchmark.generatePolicies(policyCount, new Random(42));
+
+        List<Condition> evaluators = generator.generate(policies.stream().map(CompiledPolicy::getCondition).toList());
+
+        interpreted = policies.toArray(new CompiledPolicy[0]);
+        generated = new CompiledPolicy[policies.size()];
+        for (int i = 0; i < generated.length; i++) {
+            generated[i] = policies.get(i).toBuilder().evaluator(evaluators.get(i)).build();
+        }
+        interpretedIndex = PolicyIndex.build(List.of(interpreted));
+        generatedIndex = PolicyIndex.build(List.of(generated));
+        sessions = PolicyIndexBenchmark.generateSessions(1024, new Random(7));
+    }
+
+    @Benchmark
+    public Object interpreted() {
+        return firstMatch(interpreted, nextSession());
+    }
+
+    @Benchmark
+    public Object generated() {
+        return firstMatch(generated, nextSession());
+    }
+
+    @Benchmark
+    public Object indexedInterpreted() {
+        return interpretedIndex.firstMatch(nextSession()).getPolicy();
+    }
+
+    @Benchmark
+    public Object indexedGenerated() {
+        return generatedIndex.firstMatch(nextSession()).getPolicy();
+    }
+
+    private static CompiledPolicy firstMatch(CompiledPolicy[] policies, ISESession session) {
+        for (CompiledPolicy policy : policies) {
+            if (policy.matches(session)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private ISESession nextSession() {
+        return sessions[next++ & (sessions.length - 1)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ConditionCodegenBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.cisco.ise.ai.engine.condition;
+
+import com.cisco.ise.ai.engine.PolicyCompilationException;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.cisco.ise.ai.ise.model.IpAddress;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verifies address parsing, longest-prefix lookup and compiled subnet conditions
+ */
+class PrefixTrieTest {
+
+    private final ConditionCompiler compiler = new ConditionCompiler(new ObjectMapper());
+
+    @Test
+    @DisplayName("Subnet Matching - Address Parsing")
+    void testAddressParsing() {
+        assertThat(IpAddress.parse("10.1.2.3")).hasToString("10.1.2.3");
+        assertThat(IpAddress.parse("10.1.2.3").isIpv4()).isTrue();
+        assertThat(IpAddress.parse("::ffff:10.1.2.3")).isEqualTo(IpAddress.parse("10.1.2.3"));
+        assertThat(IpAddress.parse("2001:DB8::1")).hasToString("2001:db8:0:0:0:0:0:1");
+        assertThat(IpAddress.parse("fe80::1%eth0")).isEqualTo(IpAddress.parse("fe80:0:0:0:0:0:0:1"));
+        assertThat(IpAddress.parse("::")).isEqualTo(new IpAddress(0, 0));
+
+        for (String invalid : List.of("", "10.1.2", "10.1.2.256", "10.1.2.3.4", "1.2.3.", "host.example.com",
+                "2001:db8::1::2", ":1::", "1:2:3:4:5:6:7:8:9", "12345::", "2001:db8:", "1:2:3:4:5:6:7::1.2.3.4")) {
+            assertThat(IpAddress.parse(invalid)).as(invalid).isNull();
+        }
+        assertThat(IpPrefix.parse("10.1.2.3/8")).hasToString("10.0.0.0/8");
+        assertThat(IpPrefix.parse("2001:db8::/32").getLength()).isEqualTo(32);
+        assertThat(IpPrefix.parse("10.0.0.0/33")).isNull();
+    }
+
+    @Test
+    @DisplayName("Subnet Matching - Longest Prefix Agrees With a Linear Scan")
+    void testLongestPrefixMatchesLinearScan() {
+        Random random = new Random(17);
+        List<IpPrefix> prefixes = new ArrayList<>();
+        PrefixTrie<IpPrefix> trie = new PrefixTrie<>();
+        // Thousands of site subnets, nested and overlapping, across both families
+        for (int i = 0; i < 5_000; i++) {
+            IpPrefix prefix = i % 5 == 0
+                    ? new IpPrefix(new IpAddress(0x2001_0db8_0000_0000L | (random.nextLong() & 0xFFFF_FFFFL), random.nextLong()),
+                            32 + random.nextInt(33))
+                    : IpPrefix.parse("10." + random.nextInt(4) + "." + random.nextInt(256) + ".0/" + (12 + random.nextInt(17)));
+            prefixes.add(prefix);
+            trie.put(prefix, prefix);
+        }
+        assertThat(trie.size()).isEqualTo((int) prefixes.stream().distinct().count());
+
+        for (int i = 0; i < 20_000; i++) {
+            IpAddress address = i % 5 == 0
+                    ? new IpAddress(0x2001_0db8_0000_0000L | (random.nextLong() & 0x3L), random.nextLong())
+                    : IpAddress.parse("10." + random.nextInt(5) + "." + random.nextInt(256) + "." + random.nextInt(256));
+            IpPrefix expected = prefixes.stream()
+                    .filter(prefix -> prefix.contains(address))
+                    .max((a, b) -> Integer.compare(a.getLength(), b.getLength()))
+                    .orElse(null);
+            assertThat(trie.longestMatch(address)).as(address.toString()).isEqualTo(expected);
+            assertThat(trie.contains(address)).isEqualTo(expected != null);
+        }
+    }
+
+    @Test
+    @DisplayName("Subnet Matching - Compiled Conditions")
+    void testCompiledSubnetConditions() {
+        Condition nas = compiler.compile("{\"nasIpAddress\": {\"subnet\": [\"10.20.0.0/16\", \"2001:db8::/32\"]}}");
+        Condition outside = compiler.compile("{\"ipAddress\": {\"operator\": \"not_in_subnet\", \"value\": \"192.168.0.0/16\"}}");
+        Condition custom = compiler.compile("{\"clientIp\": {\"operator\": \"in_subnet\", \"values\": [\"172.16.0.0/12\"]}}");
+
+        ISESession session = ISESession.builder()
+                .nasIpAddress("10.20.30.40")
+                .ipAddress("192.168.1.10")
+                .attributes(Map.of("clientIp", "172.31.255.1"))
+                .build();
+        assertThat(nas.test(session)).isTrue();
+        assertThat(outside.test(session)).isFalse();
+        assertThat(custom.test(session)).isTrue();
+
+        // The cached parsed address follows changes to the field
+        session.setNasIpAddress("2001:db8:1::5");
+        session.setIpAddress("not-an-address");
+        assertThat(nas.test(session)).isTrue();
+        assertThat(outside.test(session)).isTrue();
+        session.setNasIpAddress("10.21.0.1");
+        assertThat(nas.test(session)).isFalse();
+
+        assertThatThrownBy(() -> compiler.compile("{\"nasIpAddress\": {\"subnet\": \"10.20.0.0/40\"}}"))
+                .isInstanceOf(PolicyCompilationException.class);
+        assertThatThrownBy(() -> compiler.compile("{\"riskScore\": {\"subnet\": \"10.0.0.0/8\"}}"))
+                .isInstanceOf(PolicyCompilationException.class);
+    }
+}
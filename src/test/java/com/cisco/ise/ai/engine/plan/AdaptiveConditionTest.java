@@ -0,0 +1,75 @@
+package com.cisco.ise.ai.engine.plan;
+
+import com.cisco.ise.ai.engine.condition.Condition;
+import com.cisco.ise.ai.engine.condition.ConditionCompiler;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that re-planned conditions run the most decisive children first without changing results
+ */
+class AdaptiveConditionTest {
+
+    private final ConditionCompiler compiler = new ConditionCompiler(new ObjectMapper());
+
+    @Test
+    @DisplayName("Adaptive Planning - Re-ordering Follows Selectivity and Preserves Results")
+    void testReorderingFollowsSelectivity() {
+        // Nearly every session is on the SSID, one in fifty is a kiosk, custom attributes cost more
+        Condition conjunction = compiler.compile(
+                "{\"userType\": \"guest\", \"ssid\": \"corp\", \"deviceType\": \"Kiosk\"}");
+        Condition disjunction = compiler.compile(
+                "{\"anyOf\": [{\"deviceType\": \"Kiosk\"}, {\"userName\": {\"operator\": \"contains\", \"value\": \"admin\"}}, {\"ssid\": \"corp\"}]}");
+
+        for (Condition source : List.of(conjunction, disjunction)) {
+            AdaptiveCondition adaptive = (AdaptiveCondition) AdaptiveCondition.of(source);
+            Random random = new Random(11);
+
+            // Before any samples the cheapest children run first
+            assertThat(adaptive.getPlan(200).get(0).getCost()).isEqualTo(1.0);
+
+            for (int i = 0; i < 20_000; i++) {
+                ISESession session = randomSession(random);
+                assertThat(adaptive.profile(session)).isEqualTo(source.test(session));
+            }
+            assertThat(adaptive.replan(200)).isTrue();
+
+            List<AdaptiveCondition.Step> plan = adaptive.getPlan(200);
+            plan.forEach(step -> System.out.println("📊 " + step));
+            String first = plan.get(0).getCondition().toString();
+            // AND: the rarely passing kiosk check; OR: the almost always passing SSID check
+            assertThat(first).isEqualTo(adaptive.isConjunction() ? "deviceType == Kiosk" : "ssid == corp");
+
+            for (int i = 0; i < 20_000; i++) {
+                ISESession session = randomSession(random);
+                assertThat(adaptive.test(session)).isEqualTo(source.test(session));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Adaptive Planning - Only Composite Conditions Are Wrapped")
+    void testOnlyCompositeConditionsAreWrapped() {
+        Condition single = compiler.compile("{\"ssid\": \"corp\"}");
+        assertThat(AdaptiveCondition.of(single)).isSameAs(single);
+        assertThat(AdaptiveCondition.of(compiler.compile("{\"ssid\": \"corp\", \"deviceType\": \"Kiosk\"}")))
+                .isInstanceOf(AdaptiveCondition.class);
+    }
+
+    private ISESession randomSession(Random random) {
+        return ISESession.builder()
+                .userName(random.nextInt(10) == 0 ? "admin-" + random.nextInt(5) : "user-" + random.nextInt(5))
+                .ssid(random.nextInt(20) == 0 ? "guest" : "corp")
+                .deviceType(random.nextInt(50) == 0 ? "Kiosk" : "Laptop")
+                .attributes(Map.of("userType", random.nextBoolean() ? "guest" : "employee"))
+                .build();
+    }
+}
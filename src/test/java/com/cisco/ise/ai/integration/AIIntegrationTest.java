@@ -7,6 +7,7 @@ import com.cisco.ise.ai.ai.service.PolicyRecommendationService;
 import com.cisco.ise.ai.ai.service.RiskAssessmentService;
 import com.cisco.ise.ai.ai.service.ThreatDetectionService;
 import com.cisco.ise.ai.ise.model.ISESession;
+import com.cisco.ise.ai.model.Policy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -17,8 +18,11 @@ import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Integration tests demonstrating AI-powered policy management capabilities
  */
@@ -284,6 +288,49 @@ public class AIIntegrationTest {
         System.out.println("✅ AI Model Information: SUCCESS\n");
     }
 
+    @Test
+    @DisplayName("AI Optimization - Shadowed and Mergeable Policies")
+    void testOptimizationRecommendationsFromAnalysis() {
+        System.out.println("\n🤖 AI DEMO: Policy Set Optimization");
+        System.out.println("=" .repeat(60));
+
+        List<Policy> policies = List.of(
+                optimizationPolicy("corp-devices", 1, "{\"ssid\": \"corp\", \"deviceType\": [\"Laptop\", \"Mobile\"]}", "allow"),
+                optimizationPolicy("risky-corp-laptops", 2, "{\"ssid\": \"corp\", \"deviceType\": \"Laptop\", \"riskScore\": {\"gt\": 7}}", "quarantine"),
+                optimizationPolicy("guest-laptops", 3, "{\"ssid\": \"guest\", \"deviceType\": \"Laptop\"}", "guest"),
+                optimizationPolicy("guest-mobiles", 4, "{\"ssid\": \"guest\", \"deviceType\": \"Mobile\"}", "guest"));
+
+        List<PolicyRecommendation> recommendations = policyRecommendationService
+                .generateOptimizationRecommendations(policies).collectList().block();
+        recommendations.forEach(rec -> System.out.println("   • " + rec.getType() + ": " + rec.getReasoning()));
+
+        assertThat(recommendations)
+                .anySatisfy(rec -> {
+                    assertThat(rec.getType()).isEqualTo(PolicyRecommendation.RecommendationType.POLICY_DEACTIVATION);
+                    assertThat(rec.getPriority()).isEqualTo(PolicyRecommendation.Priority.HIGH);
+                    assertThat(rec.getContext()).containsEntry("policyId", "risky-corp-laptops");
+                    assertThat(rec.getEvidencePoints()).singleElement().asString().contains("corp-devices");
+                })
+                .anySatisfy(rec -> {
+                    assertThat(rec.getType()).isEqualTo(PolicyRecommendation.RecommendationType.OPTIMIZATION);
+                    assertThat(rec.getContext()).containsEntry("policyIds", List.of("guest-laptops", "guest-mobiles"));
+                    assertThat(rec.getRecommendedConditions()).startsWith("{\"anyOf\":[");
+                    assertThat(rec.getRecommendedPriority()).isEqualTo(3);
+                });
+        System.out.println("✅ Policy Set Optimization: SUCCESS\n");
+    }
+
+    private Policy optimizationPolicy(String policyId, int priority, String conditions, String action) {
+        return Policy.builder()
+                .policyId(policyId)
+                .name(policyId)
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .priority(priority)
+                .conditions(conditions)
+                .actions("{\"action\": \"" + action + "\"}")
+                .build();
+    }
+
     private ISESession createTestSession() {
         return ISESession.builder()
                 .sessionId("session-test-001")
@@ -0,0 +1,143 @@
+package com.cisco.ise.ai.integration;
+
+import com.cisco.ise.ai.model.KeysetPage;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.model.PolicyExecutionSummary;
+import com.cisco.ise.ai.orchestrator.PolicyOrchestrator;
+import com.cisco.ise.ai.repository.PolicyExecutionRepository;
+import com.cisco.ise.ai.repository.PolicyExecutionWriter;
+import com.cisco.ise.ai.repository.archive.ExecutionArchive;
+import com.cisco.ise.ai.repository.archive.ExecutionArchiveFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for archiving aged execution history to columnar files
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class ExecutionArchiveIntegrationTest {
+
+    @Autowired
+    private PolicyOrchestrator policyOrchestrator;
+
+    @Autowired
+    private PolicyExecutionWriter executionWriter;
+
+    @Autowired
+    private PolicyExecutionRepository executionRepository;
+
+    @Autowired
+    private ExecutionArchive executionArchive;
+
+    @Test
+    @DisplayName("Archive - History Spans the Table and Archived Executions")
+    void testHistorySpansTableAndArchive() throws Exception {
+        System.out.println("\n🗄️ ARCHIVE DEMO: Aged Execution History");
+        System.out.println("=" .repeat(60));
+
+        Policy policy = policyOrchestrator.createPolicy(Policy.builder()
+                .name("Archived policy")
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .priority(1)
+                .conditions("{\"ssid\": \"archive-" + UUID.randomUUID() + "\"}")
+                .actions("{\"action\": \"allow\"}")
+                .build()).block();
+        String session = "archive-session-" + UUID.randomUUID();
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3_000; i++) {
+            executionWriter.record(execution(policy, i % 10 == 0 ? session : "other-" + i, now.minusDays(40).minusMinutes(i)));
+        }
+        for (int i = 0; i < 500; i++) {
+            executionWriter.record(execution(policy, i % 10 == 0 ? session : "other-" + i, now.minusMinutes(i)));
+        }
+        assertThat(executionWriter.flush(Duration.ofSeconds(60))).isTrue();
+
+        long moved = executionArchive.archive(now.minusDays(30));
+        long archivedBytes = executionArchive.getFiles().stream().mapToLong(ExecutionArchiveFile::getSize).sum();
+        System.out.println("📋 Moved " + moved + " executions into " + executionArchive.getFiles().size() +
+                " archive files, " + archivedBytes / 1024 + " KiB");
+        assertThat(moved).isGreaterThanOrEqualTo(3_000);
+        assertThat(executionRepository.findByPolicyPolicyIdOrderByExecutedAtDesc(policy.getPolicyId())).hasSize(500);
+
+        // The full history comes back newest first across the boundary, with the policy attached
+        List<PolicyExecution> history = policyOrchestrator.getPolicyExecutionHistory(policy.getPolicyId()).collectList().block();
+        assertThat(history).hasSize(3_500);
+        assertThat(history).isSortedAccordingTo((a, b) -> b.getExecutedAt().compareTo(a.getExecutedAt()));
+        assertThat(history).allSatisfy(execution -> assertThat(execution.getPolicy().getName()).isEqualTo("Archived policy"));
+        PolicyExecution archived = history.get(history.size() - 1);
+        assertThat(archived.getExecutionResult()).startsWith("{\"action\": \"allow\"");
+        assertThat(archived.getExecutionStatus()).isEqualTo(PolicyExecution.ExecutionStatus.SUCCESS);
+        assertThat(archived.getRiskScoreAfter()).isEqualTo(2.5);
+
+        // Paging crosses into the archive without skipping or repeating an execution
+        Set<String> paged = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetPage<PolicyExecutionSummary> page = policyOrchestrator.getPolicyExecutionPage(policy.getPolicyId(), cursor, 400).block();
+            page.getItems().forEach(execution -> assertThat(paged.add(execution.getExecutionId())).isTrue());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        assertThat(paged).hasSize(3_500);
+        assertThat(pages).isEqualTo(9);
+
+        List<PolicyExecutionSummary> sessionHistory = new ArrayList<>();
+        cursor = null;
+        do {
+            KeysetPage<PolicyExecutionSummary> page = policyOrchestrator.getSessionExecutionPage(session, cursor, 100).block();
+            sessionHistory.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        assertThat(sessionHistory).hasSize(350);
+        assertThat(sessionHistory).allSatisfy(summary -> assertThat(summary.getPolicyName()).isEqualTo("Archived policy"));
+
+        // The detail view reads an archived execution whole
+        PolicyExecutionSummary oldest = sessionHistory.get(sessionHistory.size() - 1);
+        PolicyExecution detail = policyOrchestrator.getExecution(oldest.getExecutionId()).block();
+        assertThat(detail.getIseResponse()).contains("Change of authorization sent for " + session);
+        assertThat(detail.getPolicy().getName()).isEqualTo("Archived policy");
+        assertThat(policyOrchestrator.getSessionExecutionHistory(session).count().block()).isEqualTo(350);
+
+        // Once the archive passes the retention window its files are deleted whole
+        assertThat(executionArchive.expire(now.minusDays(35))).isGreaterThanOrEqualTo(1);
+        assertThat(policyOrchestrator.getPolicyExecutionHistory(policy.getPolicyId()).count().block()).isEqualTo(500);
+        System.out.println("✅ Aged Execution History: SUCCESS\n");
+    }
+
+    private PolicyExecution execution(Policy policy, String sessionId, LocalDateTime executedAt) {
+        return PolicyExecution.builder()
+                .executionId(UUID.randomUUID().toString())
+                .policy(policy)
+                .sessionId(sessionId)
+                .executionStatus(PolicyExecution.ExecutionStatus.SUCCESS)
+                .executionType(PolicyExecution.ExecutionType.AUTOMATIC)
+                .triggerReason("archive")
+                .executionResult("{\"action\": \"allow\", \"attributes\": {\"ssid\": \"corp\", \"deviceType\": \"Laptop\"}, " +
+                        "\"notes\": \"applied by the policy engine after evaluating the session attributes\"}")
+                .iseResponse("<ersResponse operation=\"PUT-update\"><messages><message type=\"INFO\" code=\"200\">" +
+                        "Change of authorization sent for " + sessionId + "</message></messages></ersResponse>")
+                .riskScoreBefore(7.5)
+                .riskScoreAfter(2.5)
+                .executionTimeMs(12L)
+                .coaSent(true)
+                .executedAt(executedAt)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package com.cisco.ise.ai.integration;
+
+import com.cisco.ise.ai.model.KeysetPage;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.model.PolicyExecutionSummary;
+import com.cisco.ise.ai.model.PolicySummary;
+import com.cisco.ise.ai.orchestrator.PolicyOrchestrator;
+import com.cisco.ise.ai.repository.PolicyExecutionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the summary projections behind the list and history endpoints
+ */
+@SpringBootTest(properties = {
+        // Own database: cached contexts on the shared one keep writing with their own id ranges
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "policy.executions.archive.enabled=false",
+        "policy.executions.retention.enabled=false",
+        "policy.executions.rollups.rebuild-on-startup=false"
+})
+@ActiveProfiles("test")
+public class ExecutionProjectionIntegrationTest {
+
+    @Autowired
+    private PolicyOrchestrator policyOrchestrator;
+
+    @Autowired
+    private PolicyExecutionRepository executionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Projections - Pages Read Summaries in One Statement, Details Read Whole Executions")
+    void testPagesReadSummariesOnly() throws Exception {
+        System.out.println("\n🔎 PROJECTION DEMO: Summary Pages and Execution Details");
+        System.out.println("=" .repeat(60));
+
+        Policy policy = policyOrchestrator.createPolicy(Policy.builder()
+                .name("Projected policy")
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .priority(1)
+                .conditions("{\"ssid\": \"projection-" + UUID.randomUUID() + "\", \"notes\": \"" + "x".repeat(4_000) + "\"}")
+                .actions("{\"action\": \"allow\"}")
+                .build()).block();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<PolicyExecution> executions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            executions.add(PolicyExecution.builder()
+                    .executionId(UUID.randomUUID().toString())
+                    .policy(policy)
+                    .sessionId("projection-session-" + i % 5)
+                    .executionStatus(PolicyExecution.ExecutionStatus.SUCCESS)
+                    .executionType(PolicyExecution.ExecutionType.AUTOMATIC)
+                    .executionResult("{\"step\": " + i + ", \"notes\": \"" + "y".repeat(8_000) + "\"}")
+                    .iseResponse("<ersResponse>" + "z".repeat(8_000) + "</ersResponse>")
+                    .executedAt(now.minusSeconds(i))
+                    .build());
+        }
+        executionRepository.saveAll(executions);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // A history page is one narrow query that loads no entities
+        statistics.clear();
+        KeysetPage<PolicyExecutionSummary> page = policyOrchestrator.getPolicyExecutionPage(policy.getPolicyId(), null, 20).block();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(page.getItems()).hasSize(20);
+        assertThat(page.getItems()).allSatisfy(summary -> {
+            assertThat(summary.getPolicyId()).isEqualTo(policy.getPolicyId());
+            assertThat(summary.getPolicyName()).isEqualTo("Projected policy");
+        });
+        String json = objectMapper.writeValueAsString(page);
+        System.out.println("📋 History page of 20 serialized to " + json.length() + " bytes");
+        assertThat(json).doesNotContain("executionResult").doesNotContain("iseResponse").doesNotContain("conditions");
+        assertThat(json.length()).isLessThan(20 * 1_000);
+
+        // So is a page of policies
+        statistics.clear();
+        KeysetPage<PolicySummary> policies = policyOrchestrator.getPolicyPage(null, 100).block();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(policies.getItems()).extracting(PolicySummary::getPolicyId).contains(policy.getPolicyId());
+        assertThat(objectMapper.writeValueAsString(policies)).doesNotContain("conditions").doesNotContain("actions");
+
+        // The detail view reads the execution and its policy together
+        statistics.clear();
+        PolicyExecution detail = policyOrchestrator.getExecution(page.getItems().get(0).getExecutionId()).block();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(2);
+        assertThat(detail.getExecutionResult()).startsWith("{\"step\": 0");
+        assertThat(detail.getPolicy().getName()).isEqualTo("Projected policy");
+
+        assertThatThrownBy(() -> policyOrchestrator.getExecution("no-such-execution").block())
+                .hasMessageContaining("Execution not found");
+        System.out.println("✅ Summary Pages and Execution Details: SUCCESS\n");
+    }
+}
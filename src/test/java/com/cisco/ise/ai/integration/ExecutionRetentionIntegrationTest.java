@@ -0,0 +1,107 @@
+package com.cisco.ise.ai.integration;
+
+import com.cisco.ise.ai.config.ExecutionRetentionProperties;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.repository.ExecutionPartitionManager;
+import com.cisco.ise.ai.repository.PolicyExecutionRepository;
+import com.cisco.ise.ai.repository.PolicyRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for execution history indexes and retention on a non-partitioned table
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class ExecutionRetentionIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExecutionPartitionManager partitionManager;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private PolicyExecutionRepository executionRepository;
+
+    @Test
+    @DisplayName("Execution Storage - History Queries Use Composite Indexes")
+    void testHistoryQueriesUseCompositeIndexes() {
+        Set<String> indexes = jdbcTemplate.execute((ConnectionCallback<Set<String>>) connection -> {
+            Set<String> names = new TreeSet<>();
+            try (ResultSet rs = connection.getMetaData().getIndexInfo(null, null, "POLICY_EXECUTIONS", false, false)) {
+                while (rs.next()) {
+                    names.add(rs.getString("INDEX_NAME").toLowerCase());
+                }
+            }
+            return names;
+        });
+        assertThat(indexes).contains(
+                "idx_policy_executions_policy_time",
+                "idx_policy_executions_session_time",
+                "idx_policy_executions_user_time",
+                "idx_policy_executions_status_time",
+                "idx_policy_executions_executed_at");
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM policy_executions WHERE session_id = 's' " +
+                        "ORDER BY executed_at DESC, id DESC FETCH FIRST 100 ROWS ONLY", String.class));
+        assertThat(plan.toLowerCase()).contains("idx_policy_executions_session_time");
+        assertThat(partitionManager.isPartitioned()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Execution Storage - Expired History Is Deleted in Batches Without Partitions")
+    void testExpiredHistoryDeletedInBatches() {
+        Policy policy = policyRepository.save(Policy.builder()
+                .policyId("retention-" + UUID.randomUUID())
+                .name("Retention policy")
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .status(Policy.PolicyStatus.INACTIVE)
+                .priority(1)
+                .build());
+
+        LocalDate today = LocalDate.now();
+        List<PolicyExecution> executions = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            executions.add(PolicyExecution.builder()
+                    .executionId(UUID.randomUUID().toString())
+                    .policy(policy)
+                    .executionStatus(PolicyExecution.ExecutionStatus.SUCCESS)
+                    .executionType(PolicyExecution.ExecutionType.AUTOMATIC)
+                    // Half are from before the 30-day window, half inside it
+                    .executedAt(LocalDateTime.now().minusDays(i % 2 == 0 ? 45 : 5))
+                    .build());
+        }
+        executionRepository.saveAll(executions);
+
+        ExecutionRetentionProperties properties = new ExecutionRetentionProperties();
+        properties.setRetentionDays(30);
+        properties.setDeleteBatchSize(7);
+        new ExecutionPartitionManager(jdbcTemplate, properties).maintain(today);
+
+        List<PolicyExecution> remaining = executionRepository.findByPolicyPolicyIdOrderByExecutedAtDesc(policy.getPolicyId());
+        assertThat(remaining).hasSize(20);
+        assertThat(remaining).allMatch(execution -> !execution.getExecutedAt().isBefore(today.minusDays(30).atStartOfDay()));
+    }
+}
@@ -0,0 +1,161 @@
+package com.cisco.ise.ai.integration;
+
+import com.cisco.ise.ai.config.ExecutionRollupProperties;
+import com.cisco.ise.ai.model.ExecutionRollup;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.orchestrator.ExecutionRollups;
+import com.cisco.ise.ai.orchestrator.PolicyOrchestrator;
+import com.cisco.ise.ai.repository.PolicyExecutionWriter;
+import com.cisco.ise.ai.repository.PolicyStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Integration tests for precomputed per-policy execution rollups
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class ExecutionRollupIntegrationTest {
+
+    @Autowired
+    private PolicyOrchestrator policyOrchestrator;
+
+    @Autowired
+    private PolicyExecutionWriter executionWriter;
+
+    @Autowired
+    private ExecutionRollups executionRollups;
+
+    @Autowired
+    private ExecutionRollupProperties rollupProperties;
+
+    @Autowired
+    private PolicyStore policyStore;
+
+    @Test
+    @DisplayName("Rollups - Counts, Latency Percentiles and Risk Deltas Per Bucket")
+    void testRollupsTrackWrittenExecutions() throws Exception {
+        System.out.println("\n📈 ROLLUP DEMO: Per-Policy Execution Statistics");
+        System.out.println("=" .repeat(60));
+
+        Policy policy = policyOrchestrator.createPolicy(Policy.builder()
+                .name("Rollup policy")
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .priority(1)
+                .conditions("{\"ssid\": \"rollup-" + UUID.randomUUID() + "\"}")
+                .actions("{\"action\": \"allow\"}")
+                .build()).block();
+
+        // 5,000 executions now: one in ten failed, every fifth manual, latency 0..499 ms and a few slow outliers
+        List<Long> latencies = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5_000; i++) {
+            long latency = i % 100 == 0 ? 5_000 : i % 500;
+            latencies.add(latency);
+            executionWriter.record(execution(policy, now,
+                    i % 10 == 0 ? PolicyExecution.ExecutionStatus.FAILED : PolicyExecution.ExecutionStatus.SUCCESS,
+                    i % 5 == 0 ? PolicyExecution.ExecutionType.MANUAL : PolicyExecution.ExecutionType.AUTOMATIC,
+                    latency));
+        }
+        // Two earlier buckets back, and one outside the retained window
+        for (int i = 0; i < 10; i++) {
+            executionWriter.record(execution(policy, now.minusMinutes(2L * rollupProperties.getBucketMinutes()),
+                    PolicyExecution.ExecutionStatus.SUCCESS, PolicyExecution.ExecutionType.SCHEDULED, 10L));
+        }
+        executionWriter.record(execution(policy,
+                now.minusMinutes((long) (rollupProperties.getRetainedBuckets() + 1) * rollupProperties.getBucketMinutes()),
+                PolicyExecution.ExecutionStatus.FAILED, PolicyExecution.ExecutionType.EMERGENCY, 10L));
+        assertThat(executionWriter.flush(Duration.ofSeconds(60))).isTrue();
+
+        long started = System.nanoTime();
+        ExecutionRollup rollup = null;
+        for (int i = 0; i < 1_000; i++) {
+            rollup = policyOrchestrator.getPolicyExecutionRollup(policy.getPolicyId(), 24).block();
+        }
+        double readMicros = (System.nanoTime() - started) / 1_000.0 / 1_000;
+        System.out.println("📋 Rollup over " + rollup.getTotal().getExecutions() + " executions served in " +
+                String.format("%.1f", readMicros) + " µs, p99 " + rollup.getTotal().getP99ExecutionTimeMs() + " ms");
+
+        ExecutionRollup.Stats total = rollup.getTotal();
+        assertThat(total.getExecutions()).isEqualTo(5_010);
+        assertThat(total.getByStatus()).containsEntry(PolicyExecution.ExecutionStatus.FAILED, 500L)
+                .containsEntry(PolicyExecution.ExecutionStatus.SUCCESS, 4_510L)
+                .hasSize(2);
+        assertThat(total.getByType()).containsEntry(PolicyExecution.ExecutionType.MANUAL, 1_000L)
+                .containsEntry(PolicyExecution.ExecutionType.AUTOMATIC, 4_000L)
+                .containsEntry(PolicyExecution.ExecutionType.SCHEDULED, 10L)
+                .doesNotContainKey(PolicyExecution.ExecutionType.EMERGENCY);
+        assertThat(total.getSuccessRate()).isCloseTo(4_510 / 5_010.0, within(1e-9));
+        assertThat(total.getMaxExecutionTimeMs()).isEqualTo(5_000L);
+        assertThat(total.getRiskScored()).isEqualTo(5_010);
+        assertThat(total.getRiskScoreDeltaAvg()).isCloseTo(-5.0, within(1e-9));
+
+        assertThat(rollup.getBuckets()).hasSize(2);
+        ExecutionRollup.Stats current = rollup.getBuckets().get(0);
+        assertThat(current.getExecutions()).isEqualTo(5_000);
+        assertThat(rollup.getBuckets().get(1).getExecutions()).isEqualTo(10);
+        assertThat(rollup.getBuckets().get(1).getBucketStart()).isBefore(current.getBucketStart());
+
+        // Histogram percentiles are within one bin (25%) above the exact value
+        latencies.sort(null);
+        long p99 = latencies.get((int) Math.ceil(0.99 * latencies.size()) - 1);
+        long p50 = latencies.get((int) Math.ceil(0.50 * latencies.size()) - 1);
+        assertThat(current.getP99ExecutionTimeMs()).isBetween(p99, Math.round(p99 * 1.25));
+        assertThat(current.getP50ExecutionTimeMs()).isBetween(p50, Math.round(p50 * 1.25));
+
+        // Rebuilding from the stored history gives the same statistics
+        ExecutionRollups rebuilt = new ExecutionRollups(policyStore, rollupProperties);
+        rebuilt.rebuild();
+        ExecutionRollup fromHistory = rebuilt.get(policy.getPolicyId(), 24);
+        assertThat(fromHistory.isRebuilding()).isFalse();
+        assertThat(fromHistory.getTotal()).isEqualTo(total);
+        assertThat(fromHistory.getBuckets()).isEqualTo(rollup.getBuckets());
+        System.out.println("✅ Per-Policy Execution Statistics: SUCCESS\n");
+    }
+
+    @Test
+    @DisplayName("Rollups - Unknown Policy Is Not Found, Idle Policy Is Empty")
+    void testUnknownAndIdlePolicies() {
+        Policy idle = policyOrchestrator.createPolicy(Policy.builder()
+                .name("Idle rollup policy")
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .priority(1)
+                .build()).block();
+
+        ExecutionRollup rollup = policyOrchestrator.getPolicyExecutionRollup(idle.getPolicyId(), 24).block();
+        assertThat(rollup.getTotal().getExecutions()).isZero();
+        assertThat(rollup.getTotal().getP99ExecutionTimeMs()).isNull();
+        assertThat(rollup.getBuckets()).isEmpty();
+
+        assertThat(policyOrchestrator.getPolicyExecutionRollup("no-such-policy", 24).onErrorReturn(rollup).block())
+                .isSameAs(rollup);
+    }
+
+    private PolicyExecution execution(Policy policy, LocalDateTime executedAt, PolicyExecution.ExecutionStatus status,
+                                      PolicyExecution.ExecutionType type, long latency) {
+        return PolicyExecution.builder()
+                .executionId(UUID.randomUUID().toString())
+                .policy(policy)
+                .executionStatus(status)
+                .executionType(type)
+                .triggerReason("rollup")
+                .executionTimeMs(latency)
+                .riskScoreBefore(8.0)
+                .riskScoreAfter(3.0)
+                .executedAt(executedAt)
+                .build();
+    }
+}
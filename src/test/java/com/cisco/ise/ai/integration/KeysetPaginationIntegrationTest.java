@@ -0,0 +1,149 @@
+package com.cisco.ise.ai.integration;
+
+import com.cisco.ise.ai.model.KeysetPage;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.model.PolicyExecutionSummary;
+import com.cisco.ise.ai.model.PolicySummary;
+import com.cisco.ise.ai.orchestrator.PolicyOrchestrator;
+import com.cisco.ise.ai.repository.PolicyExecutionRepository;
+import com.cisco.ise.ai.repository.PolicyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for keyset-paginated and streamed policy and execution listings
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class KeysetPaginationIntegrationTest {
+
+    @Autowired
+    private PolicyOrchestrator policyOrchestrator;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private PolicyExecutionRepository executionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Keyset Pagination - Execution History Pages and Stream")
+    void testExecutionHistoryPagesAndStream() throws Exception {
+        System.out.println("\n📜 PAGINATION DEMO: Keyset Execution History");
+        System.out.println("=" .repeat(60));
+
+        Policy policy = policyRepository.save(Policy.builder()
+                .policyId("paged-" + UUID.randomUUID())
+                .name("Paged history policy")
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .status(Policy.PolicyStatus.INACTIVE)
+                .priority(1)
+                .build());
+        String sessionId = "paged-session-" + UUID.randomUUID();
+
+        // Executions share timestamps ten at a time, so pages must break ties on id
+        int total = 5_000;
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<PolicyExecution> executions = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            executions.add(PolicyExecution.builder()
+                    .executionId(UUID.randomUUID().toString())
+                    .policy(policy)
+                    .sessionId(sessionId)
+                    .executionStatus(PolicyExecution.ExecutionStatus.SUCCESS)
+                    .executionType(PolicyExecution.ExecutionType.AUTOMATIC)
+                    .executedAt(now.minusSeconds(i / 10))
+                    .executionResult("{\"step\": " + i + "}")
+                    .build());
+        }
+        executionRepository.saveAll(executions);
+
+        List<PolicyExecutionSummary> paged = new ArrayList<>();
+        List<Long> pageMillis = new ArrayList<>();
+        String cursor = null;
+        do {
+            long started = System.nanoTime();
+            KeysetPage<PolicyExecutionSummary> page = policyOrchestrator.getPolicyExecutionPage(policy.getPolicyId(), cursor, 250).block();
+            pageMillis.add((System.nanoTime() - started) / 1_000_000);
+            paged.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        System.out.println("📋 " + pageMillis.size() + " pages of 250: first " + pageMillis.get(0) +
+                " ms, last " + pageMillis.get(pageMillis.size() - 1) + " ms");
+
+        Comparator<PolicyExecutionSummary> mostRecentFirst = Comparator.comparing(PolicyExecutionSummary::getExecutedAt)
+                .thenComparing(PolicyExecutionSummary::getId)
+                .reversed();
+        assertThat(pageMillis).hasSize(total / 250);
+        assertThat(paged).hasSize(total);
+        assertThat(paged).extracting(PolicyExecutionSummary::getId).doesNotHaveDuplicates();
+        assertThat(paged).isSortedAccordingTo(mostRecentFirst);
+
+        // The stream reads the same rows in the same order, a chunk at a time
+        List<Long> streamed = policyOrchestrator.getSessionExecutionHistory(sessionId)
+                .map(PolicyExecution::getId)
+                .collectList()
+                .block();
+        assertThat(streamed).containsExactlyElementsOf(paged.stream().map(PolicyExecutionSummary::getId).toList());
+
+        // Pages carry the policy by id and name only, and no execution result
+        String json = objectMapper.writeValueAsString(
+                policyOrchestrator.getSessionExecutionPage(sessionId, null, 2).block());
+        assertThat(json).contains(policy.getPolicyId()).contains(policy.getName()).contains("nextCursor")
+                .doesNotContain("\"executions\"").doesNotContain("executionResult");
+
+        System.out.println("✅ Keyset Execution History: SUCCESS\n");
+    }
+
+    @Test
+    @DisplayName("Keyset Pagination - Policy Pages Follow Priority Order")
+    void testPolicyPagesFollowPriorityOrder() {
+        for (int i = 0; i < 30; i++) {
+            policyRepository.save(Policy.builder()
+                    .policyId("paged-policy-" + UUID.randomUUID())
+                    .name("Paged policy " + i)
+                    .type(Policy.PolicyType.AUTHORIZATION)
+                    .status(Policy.PolicyStatus.DRAFT)
+                    .priority(i % 4)
+                    .build());
+        }
+
+        List<PolicySummary> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<PolicySummary> page = policyOrchestrator.getPolicyPage(cursor, 7).block();
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(7);
+            paged.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<Policy> streamed = policyOrchestrator.getAllPolicies().collectList().block();
+        assertThat(paged).extracting(PolicySummary::getId)
+                .doesNotHaveDuplicates()
+                .containsExactlyElementsOf(streamed.stream().map(Policy::getId).toList());
+        assertThat(paged).isSortedAccordingTo(Comparator.comparing(PolicySummary::getPriority).thenComparing(PolicySummary::getId));
+        assertThat(paged).hasSize((int) policyRepository.count());
+
+        assertThatThrownBy(() -> policyOrchestrator.getPolicyPage("not-a-cursor", 10).block())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,193 @@
+package com.cisco.ise.ai.integration;
+
+import com.cisco.ise.ai.engine.PolicyDecisionEngine;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyBulkRequest;
+import com.cisco.ise.ai.model.PolicyBulkResult;
+import com.cisco.ise.ai.orchestrator.PolicyOrchestrator;
+import com.cisco.ise.ai.repository.PolicyStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for bulk policy lifecycle operations
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class PolicyBulkIntegrationTest {
+
+    @Autowired
+    private PolicyOrchestrator policyOrchestrator;
+
+    @Autowired
+    private PolicyStore policyStore;
+
+    @Autowired
+    private PolicyDecisionEngine decisionEngine;
+
+    @Test
+    @DisplayName("Bulk - 5,000 Policy Rollout in One Transaction")
+    void testBulkRollout() {
+        System.out.println("\n📦 BULK DEMO: 5,000 Policy Rollout");
+        System.out.println("=" .repeat(60));
+
+        String ssid = "bulk-" + UUID.randomUUID();
+        List<Policy> policies = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            policies.add(policy("Bulk policy " + i, 1_000 + i, ssid + "-" + i));
+        }
+
+        long started = System.nanoTime();
+        PolicyBulkResult created = policyOrchestrator.createPolicies(policies).block();
+        long createMs = (System.nanoTime() - started) / 1_000_000;
+        assertThat(created.getSucceeded()).isEqualTo(5_000);
+        List<String> policyIds = created.getItems().stream().map(PolicyBulkResult.Item::getPolicyId).toList();
+
+        long epochBefore = decisionEngine.getSnapshot().getEpoch();
+        started = System.nanoTime();
+        PolicyBulkResult activated = policyOrchestrator.activatePolicies(request(policyIds)).block();
+        long activateMs = (System.nanoTime() - started) / 1_000_000;
+
+        System.out.println("📋 Created 5000 policies in " + createMs + " ms, activated them in " + activateMs + " ms");
+        assertThat(activated.getSucceeded()).isEqualTo(5_000);
+        assertThat(activated.getItems()).allSatisfy(item -> {
+            assertThat(item.getStatus()).isEqualTo(Policy.PolicyStatus.ACTIVE);
+            assertThat(item.getVersion()).isEqualTo(1L);
+        });
+        assertThat(activateMs).isLessThan(10_000);
+
+        // One snapshot transition carries the whole rollout; the planner may re-anchor in between
+        assertThat(decisionEngine.getSnapshot().getEpoch() - epochBefore).isBetween(1L, 2L);
+        assertThat(activeIds()).containsAll(policyIds);
+        assertThat(policyOrchestrator.getPoliciesByStatus(Policy.PolicyStatus.ACTIVE).map(Policy::getPolicyId)
+                .collect(Collectors.toSet()).block())
+                .containsAll(policyIds);
+
+        PolicyBulkResult deactivated = policyOrchestrator.deactivatePolicies(request(policyIds)).block();
+        assertThat(deactivated.getSucceeded()).isEqualTo(5_000);
+        assertThat(activeIds()).doesNotContainAnyElementsOf(policyIds);
+        assertThat(policyOrchestrator.getPolicyById(policyIds.get(0)).block().getStatus()).isEqualTo(Policy.PolicyStatus.INACTIVE);
+        System.out.println("✅ 5,000 Policy Rollout: SUCCESS\n");
+    }
+
+    @Test
+    @DisplayName("Bulk - Per-Item Results and Optimistic Locking")
+    void testPerItemResults() {
+        String ssid = "bulk-items-" + UUID.randomUUID();
+        PolicyBulkResult created = policyOrchestrator.createPolicies(List.of(
+                policy("Valid", 10, ssid + "-a"),
+                Policy.builder().name("No type").priority(1).build(),
+                policy("Broken", 11, ssid + "-b"))).block();
+        assertThat(created.getItems()).extracting(PolicyBulkResult.Item::getOutcome).containsExactly(
+                PolicyBulkResult.Outcome.APPLIED, PolicyBulkResult.Outcome.INVALID, PolicyBulkResult.Outcome.APPLIED);
+        String valid = created.getItems().get(0).getPolicyId();
+        String broken = created.getItems().get(2).getPolicyId();
+        policyStore.update(broken, policy -> policy.setConditions("{\"ssid\": ")).block();
+        long brokenVersion = policyStore.findByPolicyId(broken).block().getVersion();
+
+        PolicyBulkResult activated = policyOrchestrator.activatePolicies(PolicyBulkRequest.builder()
+                .items(List.of(
+                        PolicyBulkRequest.Item.builder().policyId(valid).version(0L).build(),
+                        PolicyBulkRequest.Item.builder().policyId(broken).build(),
+                        PolicyBulkRequest.Item.builder().policyId("no-such-policy").build(),
+                        PolicyBulkRequest.Item.builder().policyId(valid).build()))
+                .build()).block();
+        assertThat(activated.getItems()).extracting(PolicyBulkResult.Item::getOutcome).containsExactly(
+                PolicyBulkResult.Outcome.APPLIED, PolicyBulkResult.Outcome.INVALID,
+                PolicyBulkResult.Outcome.NOT_FOUND, PolicyBulkResult.Outcome.INVALID);
+        assertThat(activated.getSucceeded()).isEqualTo(1);
+        assertThat(policyStore.findByPolicyId(broken).block().getVersion()).isEqualTo(brokenVersion);
+        assertThat(activeIds()).contains(valid).doesNotContain(broken);
+
+        // A stale version is a conflict and leaves the policy unchanged; the current version applies
+        Policy changes = policy("Renamed", 12, ssid + "-c");
+        PolicyBulkResult stale = policyOrchestrator.updatePolicies(PolicyBulkRequest.builder()
+                .items(List.of(PolicyBulkRequest.Item.builder().policyId(valid).version(0L).policy(changes).build()))
+                .build()).block();
+        assertThat(stale.getItems().get(0).getOutcome()).isEqualTo(PolicyBulkResult.Outcome.CONFLICT);
+        assertThat(policyOrchestrator.getPolicyById(valid).block().getName()).isEqualTo("Valid");
+
+        PolicyBulkResult updated = policyOrchestrator.updatePolicies(PolicyBulkRequest.builder()
+                .items(List.of(PolicyBulkRequest.Item.builder().policyId(valid).version(1L).policy(changes).build()))
+                .build()).block();
+        assertThat(updated.getItems().get(0).getOutcome()).isEqualTo(PolicyBulkResult.Outcome.APPLIED);
+        assertThat(updated.getItems().get(0).getVersion()).isEqualTo(2L);
+        assertThat(policyOrchestrator.getPolicyById(valid).block().getName()).isEqualTo("Renamed");
+        assertThat(decisionEngine.getActivePolicies())
+                .anySatisfy(policy -> {
+                    assertThat(policy.getPolicyId()).isEqualTo(valid);
+                    assertThat(policy.getName()).isEqualTo("Renamed");
+                });
+
+        policyOrchestrator.deactivatePolicies(request(List.of(valid))).block();
+    }
+
+    @Test
+    @DisplayName("Bulk - Policies Modified Mid-Activation Are Conflicts, the Rest Apply")
+    void testConcurrentModificationDuringStatusUpdate() {
+        System.out.println("\n⚔️ BULK DEMO: Concurrent Modification During Activation");
+        System.out.println("=" .repeat(60));
+
+        String ssid = "race-" + UUID.randomUUID();
+        List<Policy> policies = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            policies.add(policy("Race policy " + i, 2_000 + i, ssid + "-" + i));
+        }
+        List<String> policyIds = policyOrchestrator.createPolicies(policies).block().getItems().stream()
+                .map(PolicyBulkResult.Item::getPolicyId)
+                .toList();
+        String raced = policyIds.get(2);
+
+        // Another transaction renames one policy after the bulk update has read it
+        AtomicBoolean renamed = new AtomicBoolean();
+        List<Policy> applied = policyStore.updateStatus(policyIds, policy -> {
+            if (renamed.compareAndSet(false, true)) {
+                CompletableFuture.runAsync(() -> policyStore.update(raced, changed -> changed.setName("Renamed")).block()).join();
+            }
+            return true;
+        }, Policy.PolicyStatus.INACTIVE).block();
+
+        assertThat(applied).extracting(Policy::getPolicyId).hasSize(4).doesNotContain(raced);
+        Policy stored = policyStore.findByPolicyId(raced).block();
+        assertThat(stored.getName()).isEqualTo("Renamed");
+        assertThat(stored.getStatus()).isEqualTo(Policy.PolicyStatus.DRAFT);
+        assertThat(policyStore.findByPolicyId(policyIds.get(0)).block().getStatus()).isEqualTo(Policy.PolicyStatus.INACTIVE);
+
+        System.out.println("✅ " + applied.size() + " applied, " + raced + " reported as modified concurrently");
+    }
+
+    private Set<String> activeIds() {
+        return decisionEngine.getSnapshot().getPolicies().stream()
+                .map(policy -> policy.getPolicyId())
+                .collect(Collectors.toSet());
+    }
+
+    private static PolicyBulkRequest request(List<String> policyIds) {
+        return PolicyBulkRequest.builder()
+                .items(policyIds.stream().map(policyId -> PolicyBulkRequest.Item.builder().policyId(policyId).build()).toList())
+                .build();
+    }
+
+    private static Policy policy(String name, int priority, String ssid) {
+        return Policy.builder()
+                .name(name)
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .priority(priority)
+                .conditions("{\"ssid\": \"" + ssid + "\"}")
+                .actions("{\"action\": \"allow\"}")
+                .build();
+    }
+}
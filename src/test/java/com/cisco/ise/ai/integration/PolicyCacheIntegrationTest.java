@@ -0,0 +1,131 @@
+package com.cisco.ise.ai.integration;
+
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.orchestrator.PolicyOrchestrator;
+import com.cisco.ise.ai.repository.PolicyStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the read-through policy cache
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class PolicyCacheIntegrationTest {
+
+    @Autowired
+    private PolicyOrchestrator policyOrchestrator;
+
+    @Autowired
+    private PolicyStore policyStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Policy Cache - Repeated Reads Are Served From Memory")
+    void testRepeatedReadsServedFromMemory() {
+        System.out.println("\n🗃️ CACHE DEMO: Read-Through Policy Cache");
+        System.out.println("=" .repeat(60));
+
+        Policy created = createPolicy();
+        int reads = 2_000;
+
+        long started = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            policyStore.findByPolicyId(created.getPolicyId()).block();
+        }
+        long storeMicros = (System.nanoTime() - started) / 1_000 / reads;
+
+        double hitsBefore = hits("policies");
+        started = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            assertThat(policyOrchestrator.getPolicyById(created.getPolicyId()).block().getPolicyId())
+                    .isEqualTo(created.getPolicyId());
+        }
+        long cachedMicros = (System.nanoTime() - started) / 1_000 / reads;
+        double hits = hits("policies") - hitsBefore;
+
+        System.out.println("📋 Average read: " + storeMicros + " µs from the store, " + cachedMicros + " µs cached, " +
+                Math.round(hits) + " of " + reads + " hits");
+        assertThat(hits).isGreaterThanOrEqualTo(reads - 1);
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", "policies").functionCounter()).isNotNull();
+        System.out.println("✅ Read-Through Policy Cache: SUCCESS\n");
+    }
+
+    @Test
+    @DisplayName("Policy Cache - Lifecycle Writes Are Visible to the Next Read")
+    void testLifecycleWritesVisibleToNextRead() {
+        Policy created = createPolicy();
+        String policyId = created.getPolicyId();
+
+        // Readers keep both caches busy so every write races with in-flight loads. Each pass is
+        // resubscribed on a worker; repeating on the thread that completed a shared load would
+        // hold up every other reader waiting on it
+        AtomicLong background = new AtomicLong();
+        Disposable readers = Flux.range(0, 4)
+                .flatMap(i -> Flux.defer(() -> policyOrchestrator.getPolicyById(policyId)
+                                .thenMany(policyOrchestrator.getPoliciesByStatus(Policy.PolicyStatus.ACTIVE))
+                                .doOnComplete(background::incrementAndGet))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .repeat(), 4)
+                .subscribe();
+        try {
+            assertThat(policyOrchestrator.getPoliciesByStatus(Policy.PolicyStatus.DRAFT).map(Policy::getPolicyId).collectList().block())
+                    .contains(policyId);
+            for (int i = 0; i < 30; i++) {
+                policyOrchestrator.activatePolicy(policyId).block();
+                assertThat(policyOrchestrator.getPolicyById(policyId).block().getStatus()).isEqualTo(Policy.PolicyStatus.ACTIVE);
+                assertThat(idsWithStatus(Policy.PolicyStatus.ACTIVE)).contains(policyId);
+                assertThat(idsWithStatus(Policy.PolicyStatus.DRAFT)).doesNotContain(policyId);
+
+                policyOrchestrator.updatePolicy(policyId, Policy.builder()
+                        .name("Cached policy " + i)
+                        .priority(created.getPriority())
+                        .conditions(created.getConditions())
+                        .actions(created.getActions())
+                        .build()).block();
+                assertThat(policyOrchestrator.getPolicyById(policyId).block().getName()).isEqualTo("Cached policy " + i);
+
+                policyOrchestrator.deactivatePolicy(policyId).block();
+                assertThat(policyOrchestrator.getPolicyById(policyId).block().getStatus()).isEqualTo(Policy.PolicyStatus.INACTIVE);
+                assertThat(idsWithStatus(Policy.PolicyStatus.ACTIVE)).doesNotContain(policyId);
+                assertThat(idsWithStatus(Policy.PolicyStatus.INACTIVE)).contains(policyId);
+            }
+        } finally {
+            readers.dispose();
+        }
+        assertThat(background.get()).isPositive();
+    }
+
+    private Policy createPolicy() {
+        return policyOrchestrator.createPolicy(Policy.builder()
+                .name("Cached policy")
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .priority(3)
+                .conditions("{\"ssid\": \"cache-" + UUID.randomUUID() + "\"}")
+                .actions("{\"action\": \"allow\"}")
+                .build()).block();
+    }
+
+    private List<String> idsWithStatus(Policy.PolicyStatus status) {
+        return policyOrchestrator.getPoliciesByStatus(status).map(Policy::getPolicyId).collectList().block();
+    }
+
+    private double hits(String cache) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", "hit").functionCounter().count();
+    }
+}
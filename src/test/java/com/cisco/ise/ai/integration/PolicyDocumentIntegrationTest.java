@@ -0,0 +1,133 @@
+package com.cisco.ise.ai.integration;
+
+import com.cisco.ise.ai.engine.PolicyCompilationException;
+import com.cisco.ise.ai.engine.PolicyDecisionEngine;
+import com.cisco.ise.ai.engine.PolicyDocuments;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyDocumentCodec;
+import com.cisco.ise.ai.orchestrator.PolicyOrchestrator;
+import com.cisco.ise.ai.repository.PolicyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the stored binary form and parse-once cache of policy conditions and actions
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class PolicyDocumentIntegrationTest {
+
+    @Autowired
+    private PolicyOrchestrator policyOrchestrator;
+
+    @Autowired
+    private PolicyDecisionEngine decisionEngine;
+
+    @Autowired
+    private PolicyDocuments policyDocuments;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Policy Documents - Conditions Are Stored in Binary and Parsed Once Per Version")
+    void testParsedOncePerVersion() throws Exception {
+        System.out.println("\n🧾 DOCUMENT DEMO: Parse-Once Conditions and Actions");
+        System.out.println("=" .repeat(60));
+
+        String ssid = "documents-" + UUID.randomUUID();
+        String conditions = "{\n    \"ssid\": \"" + ssid + "\",\n    \"riskScore\": {\n        \"operator\": \">=\",\n" +
+                "        \"value\": 7.0\n    },\n    \"deviceType\": [\"Laptop\", \"Phone\"]\n}";
+        Policy policy = policyOrchestrator.createPolicy(Policy.builder()
+                .name("Documented policy")
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .priority(1)
+                .conditions(conditions)
+                .actions("{ \"action\": \"quarantine\", \"vlan\": 999 }")
+                .build()).block();
+
+        // The JSON is kept as written, with its canonical binary form next to it
+        Policy stored = policyRepository.findByPolicyId(policy.getPolicyId()).orElseThrow();
+        assertThat(stored.getConditions()).isEqualTo(conditions);
+        assertThat(stored.getConditionsBinary()).isNotNull();
+        assertThat(PolicyDocumentCodec.decode(stored.getConditionsBinary())).isEqualTo(objectMapper.readTree(conditions));
+        System.out.println("📋 Conditions: " + conditions.length() + " bytes of JSON, " +
+                stored.getConditionsBinary().length + " bytes binary");
+        assertThat(objectMapper.writeValueAsString(stored)).doesNotContain("conditionsBinary");
+
+        // Compiling and reading the same version again and again parses it once
+        Policy active = policyOrchestrator.activatePolicy(policy.getPolicyId()).block();
+        Policy cached = policyOrchestrator.getPolicyById(active.getPolicyId()).block();
+        double before = parsed("binary") + parsed("json");
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(decisionEngine.compile(cached).getActions()).containsEntry("vlan", 999);
+            assertThat(policyDocuments.get(cached).getConditions().get("ssid").asText()).isEqualTo(ssid);
+        }
+        assertThat(parsed("binary") + parsed("json") - before).isEqualTo(2);
+
+        // An edit not yet saved keeps the version but is never served the old document
+        Policy edited = policyRepository.findByPolicyId(active.getPolicyId()).orElseThrow();
+        assertThat(edited.getVersion()).isEqualTo(cached.getVersion());
+        edited.setConditions("{\"ssid\": \"edited\"}");
+        assertThat(edited.getConditionsBinary()).isNull();
+        assertThat(policyDocuments.get(edited).getConditions().get("ssid").asText()).isEqualTo("edited");
+        assertThat(policyDocuments.get(cached).getConditions().get("ssid").asText()).isEqualTo(ssid);
+
+        // Saving a change stores a new binary form and the new version is parsed once
+        Policy changed = policyOrchestrator.updatePolicy(active.getPolicyId(), Policy.builder()
+                .name(active.getName())
+                .priority(active.getPriority())
+                .conditions("{\"ssid\": \"" + ssid + "-v2\"}")
+                .actions(active.getActions())
+                .build()).block();
+        Policy restored = policyRepository.findByPolicyId(changed.getPolicyId()).orElseThrow();
+        assertThat(PolicyDocumentCodec.decode(restored.getConditionsBinary()).get("ssid").asText()).isEqualTo(ssid + "-v2");
+        assertThat(PolicyDocumentCodec.decode(restored.getActionsBinary()).get("vlan").asInt()).isEqualTo(999);
+        assertThat(policyDocuments.get(restored).getConditions().get("ssid").asText()).isEqualTo(ssid + "-v2");
+        System.out.println("✅ Parse-Once Conditions and Actions: SUCCESS\n");
+    }
+
+    @Test
+    @DisplayName("Policy Documents - Invalid JSON Has No Binary Form and Fails at Activation")
+    void testInvalidJsonHasNoBinaryForm() {
+        Policy invalid = policyOrchestrator.createPolicy(Policy.builder()
+                .name("Malformed policy")
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .priority(5)
+                .conditions("{\"ssid\": ")
+                .actions("[\"allow\"]")
+                .build()).block();
+
+        Policy stored = policyRepository.findByPolicyId(invalid.getPolicyId()).orElseThrow();
+        assertThat(stored.getConditions()).isEqualTo("{\"ssid\": ");
+        assertThat(stored.getConditionsBinary()).isNull();
+        assertThat(stored.getActionsBinary()).isNull();
+
+        assertThatThrownBy(() -> policyOrchestrator.activatePolicy(invalid.getPolicyId()).block())
+                .isInstanceOf(PolicyCompilationException.class)
+                .hasMessageContaining("Conditions are not valid JSON");
+        assertThatThrownBy(() -> policyDocuments.get(stored).getActions())
+                .isInstanceOf(PolicyCompilationException.class)
+                .hasMessageContaining("Actions are not a valid JSON object");
+    }
+
+    private double parsed(String form) {
+        return meterRegistry.get("policy.documents.parsed").tag("form", form).counter().count();
+    }
+}
@@ -0,0 +1,212 @@
+package com.cisco.ise.ai.integration;
+
+import com.cisco.ise.ai.engine.config.PolicySimulationProperties;
+import com.cisco.ise.ai.engine.simulation.PolicySimulationService;
+import com.cisco.ise.ai.engine.simulation.SimulationJob;
+import com.cisco.ise.ai.engine.simulation.SimulationReport;
+import com.cisco.ise.ai.engine.simulation.SimulationRequest;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.orchestrator.PolicyOrchestrator;
+import com.cisco.ise.ai.repository.PolicyExecutionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for policy simulation jobs
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class PolicySimulationIntegrationTest {
+
+    @Autowired
+    private PolicySimulationService simulationService;
+
+    @Autowired
+    private PolicySimulationProperties simulationProperties;
+
+    @Autowired
+    private PolicyOrchestrator policyOrchestrator;
+
+    @Autowired
+    private PolicyExecutionRepository executionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Simulation - Candidate Policy Match Rate Delta")
+    void testCandidateMatchRateDelta() throws Exception {
+        System.out.println("\n🧪 SIMULATION DEMO: Candidate Policy Replay");
+        System.out.println("=" .repeat(60));
+
+        String ssid = "simulation-" + UUID.randomUUID();
+        Policy live = policyOrchestrator.activatePolicy(policyOrchestrator.createPolicy(Policy.builder()
+                .name("Monitor simulation SSID")
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .priority(2)
+                .conditions("{\"ssid\": \"" + ssid + "\"}")
+                .actions("{\"action\": \"monitor\"}")
+                .build()).block().getPolicyId()).block();
+        Policy candidate = policyOrchestrator.createPolicy(Policy.builder()
+                .name("Quarantine laptops on simulation SSID")
+                .type(Policy.PolicyType.THREAT_RESPONSE)
+                .priority(1)
+                .conditions("{\"ssid\": \"" + ssid + "\", \"deviceType\": \"Laptop\"}")
+                .actions("{\"action\": \"quarantine\"}")
+                .build()).block();
+
+        // Half the sessions are on the SSID, half of those are laptops
+        Path sessions = sessions(ssid, 200_000);
+        SimulationJob job;
+        try (InputStream upload = Files.newInputStream(sessions)) {
+            job = simulationService.submit(SimulationRequest.builder()
+                    .name("laptop quarantine")
+                    .candidatePolicyIds(List.of(candidate.getPolicyId()))
+                    .build(), upload);
+        }
+        assertThat(job.getTotalSessions()).isEqualTo(200_000);
+        SimulationReport report = awaitCompletion(job);
+
+        System.out.println("📋 Replayed " + report.getProcessedSessions() + " sessions at " +
+                Math.round(report.getSessionsPerSecond()) + " sessions/s, " +
+                report.getChangedDecisions() + " decisions changed");
+
+        assertThat(report.getStatus()).isEqualTo(SimulationJob.Status.COMPLETED);
+        assertThat(report.getProcessedSessions()).isEqualTo(200_000);
+        assertThat(report.getProgress()).isEqualTo(1.0);
+        assertThat(spooledUploads()).isEmpty();
+        assertThat(report.getLiveMatches()).isEqualTo(100_000);
+        assertThat(report.getCandidateMatches()).isEqualTo(100_000);
+        assertThat(report.getMatchRateDelta()).isZero();
+        assertThat(report.getChangedDecisions()).isEqualTo(50_000);
+        assertThat(report.getPolicyDeltas())
+                .anySatisfy(delta -> {
+                    assertThat(delta.getPolicyId()).isEqualTo(candidate.getPolicyId());
+                    assertThat(delta.getDelta()).isEqualTo(50_000);
+                })
+                .anySatisfy(delta -> {
+                    assertThat(delta.getPolicyId()).isEqualTo(live.getPolicyId());
+                    assertThat(delta.getDelta()).isEqualTo(-50_000);
+                });
+
+        // The candidate stays a draft and its replay is recorded as a SIMULATION execution
+        assertThat(policyOrchestrator.getPolicyById(candidate.getPolicyId()).block().getStatus())
+                .isEqualTo(Policy.PolicyStatus.DRAFT);
+        assertThat(executionRepository.findByPolicyPolicyIdOrderByExecutedAtDesc(candidate.getPolicyId()))
+                .anyMatch(execution -> execution.getExecutionType() == PolicyExecution.ExecutionType.SIMULATION);
+
+        policyOrchestrator.deactivatePolicy(live.getPolicyId()).block();
+        System.out.println("✅ Candidate Policy Replay: SUCCESS\n");
+    }
+
+    @Test
+    @DisplayName("Simulation - Malformed Upload Fails The Job And Removes The Spooled File")
+    void testMalformedUploadFails() throws Exception {
+        String upload = "{\"sessionId\": \"ok-1\", \"ssid\": \"a\"}\n{\"sessionId\": \"broken\", \n";
+        SimulationJob job = simulationService.submit(SimulationRequest.builder().name("malformed").build(),
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)));
+        SimulationReport report = awaitCompletion(job);
+
+        assertThat(report.getStatus()).isEqualTo(SimulationJob.Status.FAILED);
+        assertThat(report.getError()).isNotBlank();
+        assertThat(spooledUploads()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Simulation - Concurrent Jobs Are Capped")
+    void testConcurrentJobsAreCapped() throws Exception {
+        String ssid = "simulation-" + UUID.randomUUID();
+        Path sessions = sessions(ssid, 50_000);
+        int limit = simulationProperties.getMaxConcurrentSimulations();
+
+        List<SimulationJob> jobs = new ArrayList<>();
+        for (int i = 0; i < limit * 2; i++) {
+            try (InputStream upload = Files.newInputStream(sessions)) {
+                jobs.add(simulationService.submit(SimulationRequest.builder()
+                        .name("capacity-" + i)
+                        .removedPolicyIds(List.of("no-such-policy"))
+                        .build(), upload));
+            }
+        }
+
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (jobs.stream().anyMatch(job -> !job.isFinished()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(jobs).allMatch(job -> job.getStatus() == SimulationJob.Status.COMPLETED);
+        assertThat(jobs).allMatch(job -> job.toReport().getChangedDecisions() == 0);
+
+        // Most jobs running at once, from their recorded run intervals; a job ending at the
+        // instant another starts does not overlap it
+        List<Map.Entry<LocalDateTime, Integer>> events = new ArrayList<>();
+        for (SimulationJob job : jobs) {
+            events.add(Map.entry(job.getStartedAt(), 1));
+            events.add(Map.entry(job.getCompletedAt(), -1));
+        }
+        events.sort(Map.Entry.<LocalDateTime, Integer>comparingByKey().thenComparing(Map.Entry.comparingByValue()));
+        int running = 0;
+        int maxRunning = 0;
+        for (Map.Entry<LocalDateTime, Integer> event : events) {
+            running += event.getValue();
+            maxRunning = Math.max(maxRunning, running);
+        }
+        assertThat(maxRunning).isLessThanOrEqualTo(limit);
+    }
+
+    private SimulationReport awaitCompletion(SimulationJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        return job.toReport();
+    }
+
+    // Newline-delimited JSON sessions, written to a file so the test does not hold them either
+    private Path sessions(String ssid, int count) throws IOException {
+        Path file = Files.createTempFile("simulation-sessions-", ".ndjson");
+        file.toFile().deleteOnExit();
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < count; i++) {
+                writer.write(objectMapper.writeValueAsString(ISESession.builder()
+                        .sessionId("sim-session-" + i)
+                        .ssid(i % 2 == 0 ? ssid : "other-" + ssid)
+                        .deviceType(i % 4 == 0 ? "Laptop" : "Mobile")
+                        .build()));
+                writer.write('\n');
+            }
+        }
+        return file;
+    }
+
+    private List<Path> spooledUploads() throws IOException {
+        Path directory = Path.of(simulationProperties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+}
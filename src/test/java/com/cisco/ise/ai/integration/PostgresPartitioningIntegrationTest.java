@@ -0,0 +1,104 @@
+package com.cisco.ise.ai.integration;
+
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.repository.ExecutionPartitionManager;
+import com.cisco.ise.ai.repository.PolicyExecutionRepository;
+import com.cisco.ise.ai.repository.PolicyRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for day-partitioned execution history on PostgreSQL; skipped without Docker
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "postgres"})
+@Testcontainers(disabledWithoutDocker = true)
+public class PostgresPartitioningIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private ExecutionPartitionManager partitionManager;
+
+    @Autowired
+    private PolicyRepository policyRepository;
+
+    @Autowired
+    private PolicyExecutionRepository executionRepository;
+
+    @Test
+    @DisplayName("Partitioning - Expired Days Are Dropped as Whole Partitions")
+    void testExpiredDaysDroppedAsPartitions() {
+        System.out.println("\n🗂️ PARTITIONING DEMO: Daily Execution Partitions");
+        System.out.println("=" .repeat(60));
+
+        LocalDate today = LocalDate.now();
+        LocalDate expired = today.minusDays(100);
+        assertThat(partitionManager.isPartitioned()).isTrue();
+
+        Policy policy = policyRepository.save(Policy.builder()
+                .policyId("partitioned-" + UUID.randomUUID())
+                .name("Partitioned policy")
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .status(Policy.PolicyStatus.INACTIVE)
+                .priority(1)
+                .build());
+
+        // Partitions for an old day exist as if the history had been written back then
+        partitionManager.maintain(expired);
+        executionRepository.saveAll(List.of(
+                execution(policy, expired.atTime(12, 0)),
+                execution(policy, today.atTime(0, 0).plusMinutes(1))));
+        assertThat(partitionManager.partitions()).contains(partition(expired));
+
+        partitionManager.maintain(today);
+
+        System.out.println("📋 Partitions after retention: " + partitionManager.partitions().size());
+        assertThat(partitionManager.partitions())
+                .doesNotContain(partition(expired))
+                .contains(partition(today), partition(today.plusDays(7)));
+        assertThat(executionRepository.findByPolicyPolicyIdOrderByExecutedAtDesc(policy.getPolicyId()))
+                .singleElement()
+                .satisfies(execution -> assertThat(execution.getExecutedAt().toLocalDate()).isEqualTo(today));
+        System.out.println("✅ Daily Execution Partitions: SUCCESS\n");
+    }
+
+    private static String partition(LocalDate day) {
+        return "policy_executions_p" + DateTimeFormatter.ofPattern("yyyyMMdd").format(day);
+    }
+
+    private static PolicyExecution execution(Policy policy, LocalDateTime executedAt) {
+        return PolicyExecution.builder()
+                .executionId(UUID.randomUUID().toString())
+                .policy(policy)
+                .executionStatus(PolicyExecution.ExecutionStatus.SUCCESS)
+                .executionType(PolicyExecution.ExecutionType.AUTOMATIC)
+                .executedAt(executedAt)
+                .build();
+    }
+}
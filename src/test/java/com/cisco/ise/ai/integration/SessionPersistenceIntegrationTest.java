@@ -0,0 +1,172 @@
+package com.cisco.ise.ai.integration;
+
+import com.cisco.ise.ai.config.SessionWriterProperties;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.cisco.ise.ai.ise.service.SessionWriter;
+import com.cisco.ise.ai.model.Session;
+import com.cisco.ise.ai.repository.PolicyStore;
+import com.cisco.ise.ai.repository.SessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for write-behind persistence of live ISE sessions
+ */
+@SpringBootTest(properties = {
+        // Own database: cached contexts on the shared one keep writing with their own id ranges
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+        "policy.sessions.flush-interval-ms=600000"
+})
+@ActiveProfiles("test")
+public class SessionPersistenceIntegrationTest {
+
+    @Autowired
+    private SessionWriter sessionWriter;
+
+    @Autowired
+    private PolicyStore policyStore;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Sessions - Repeated Updates Coalesce Into One Row Write")
+    void testUpdatesCoalesceIntoBatchedUpserts() {
+        System.out.println("\n💾 SESSION DEMO: Write-Coalescing Session Persistence");
+        System.out.println("=" .repeat(60));
+
+        String user = "coalesce-" + UUID.randomUUID();
+        int sessions = 1_000;
+        int updates = 10;
+        // The network simulator records sessions through the same writer, so counts are lower bounds
+        double coalescedBefore = counter("policy.sessions.coalesced");
+        double writtenBefore = counter("policy.sessions.written");
+
+        LocalDateTime started = LocalDateTime.now().withNano(0);
+        for (int update = 0; update < updates; update++) {
+            for (int i = 0; i < sessions; i++) {
+                sessionWriter.record(session(user, i, update, started));
+            }
+        }
+        assertThat(sessionWriter.getPendingCount()).isGreaterThanOrEqualTo(sessions);
+
+        long flushStarted = System.nanoTime();
+        int written = sessionWriter.flush();
+        System.out.println("📋 " + sessions * updates + " session updates written as " + written + " rows in " +
+                (System.nanoTime() - flushStarted) / 1_000_000 + " ms");
+        assertThat(written).isGreaterThanOrEqualTo(sessions);
+        assertThat(counter("policy.sessions.coalesced") - coalescedBefore).isGreaterThanOrEqualTo(sessions * (updates - 1));
+        assertThat(counter("policy.sessions.written") - writtenBefore).isGreaterThanOrEqualTo(sessions);
+        assertThat(policyStore.findSessionsByUserName(user).count().block()).isEqualTo(sessions);
+
+        // Only the latest state of each session was written
+        Session stored = policyStore.findSession(user + "-7").block();
+        assertThat(stored.getRiskScore()).isEqualTo(updates - 1.0);
+        assertThat(stored.getSessionState()).isEqualTo(Session.SessionState.ACTIVE);
+        assertThat(stored.getAuthenticationMethod()).isEqualTo(Session.AuthenticationMethod.DOT1X);
+        assertThat(stored.getVlanId()).isEqualTo(107);
+        assertThat(stored.getLastUpdate()).isEqualTo(started.plusSeconds(updates - 1));
+        assertThat(stored.getCreatedAt()).isNotNull();
+        assertThat(stored.getUpdatedAt()).isNull();
+
+        // Later updates change the stored rows in place
+        ISESession ended = session(user, 7, updates, started);
+        ended.setSessionState("INACTIVE");
+        sessionWriter.record(ended);
+        sessionWriter.record(session(user, sessions, 0, started));
+        assertThat(sessionWriter.flush()).isGreaterThanOrEqualTo(2);
+
+        Session updated = policyStore.findSession(user + "-7").block();
+        assertThat(updated.getId()).isEqualTo(stored.getId());
+        assertThat(updated.getSessionState()).isEqualTo(Session.SessionState.DISCONNECTED);
+        assertThat(updated.getRiskScore()).isEqualTo(updates);
+        assertThat(updated.getCreatedAt()).isEqualTo(stored.getCreatedAt());
+        assertThat(updated.getUpdatedAt()).isNotNull();
+
+        List<Session> byUser = policyStore.findSessionsByUserName(user).collectList().block();
+        assertThat(sessionRepository.findBySessionId(user + "-" + sessions)).isPresent();
+        assertThat(byUser).hasSize(sessions + 1);
+        assertThat(byUser.get(0).getSessionId()).isEqualTo(user + "-7");
+        System.out.println("✅ Write-Coalescing Session Persistence: SUCCESS\n");
+    }
+
+    @Test
+    @DisplayName("Sessions - Updates Racing Shutdown Are Still Written")
+    void testUpdatesRacingShutdownAreWritten() throws Exception {
+        String user = "shutdown-" + UUID.randomUUID();
+        SessionWriterProperties properties = new SessionWriterProperties();
+        properties.setFlushIntervalMs(50);
+        int rounds = 10;
+        int threads = 4;
+        int perThread = 100;
+        LocalDateTime started = LocalDateTime.now().withNano(0);
+        ExecutorService recorders = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < rounds; round++) {
+                SessionWriter writer = new SessionWriter(policyStore, properties, new SimpleMeterRegistry());
+                writer.start();
+                CountDownLatch ready = new CountDownLatch(threads);
+                List<Future<?>> running = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int first = (round * threads + t) * perThread;
+                    running.add(recorders.submit(() -> {
+                        ready.countDown();
+                        for (int i = first; i < first + perThread; i++) {
+                            writer.record(session(user, i, 0, started));
+                        }
+                    }));
+                }
+                ready.await();
+                writer.shutdown();
+                for (Future<?> recorder : running) {
+                    recorder.get(60, TimeUnit.SECONDS);
+                }
+                assertThat(writer.getPendingCount()).isZero();
+            }
+        } finally {
+            recorders.shutdownNow();
+        }
+        assertThat(policyStore.findSessionsByUserName(user).count().block()).isEqualTo((long) rounds * threads * perThread);
+    }
+
+    private static ISESession session(String user, int i, int update, LocalDateTime started) {
+        return ISESession.builder()
+                .sessionId(user + "-" + i)
+                .userName(user)
+                .macAddress(String.format("00:11:22:33:%02x:%02x", i / 256, i % 256))
+                .ipAddress("10.1." + i / 256 + "." + i % 256)
+                .sessionState("ACTIVE")
+                .authenticationMethod("DOT1X")
+                .vlanId("VLAN-" + (100 + i % 50))
+                .deviceType("Laptop")
+                .ssid("corp")
+                .riskScore((double) update)
+                .startTime(started)
+                .lastUpdateTime(started.plusSeconds(update))
+                .build();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+}
@@ -0,0 +1,342 @@
+package com.cisco.ise.ai.ise.client;
+
+import com.cisco.ise.ai.config.ISEClientProperties;
+import com.cisco.ise.ai.config.ISEWebClientConfig;
+import com.cisco.ise.ai.ise.model.ISECoAResponse;
+import com.cisco.ise.ai.ise.model.ISEPolicy;
+import com.cisco.ise.ai.ise.model.ISEPolicyRequest;
+import com.cisco.ise.ai.ise.model.ISESession;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the WebClient-based ISE client against a local stub ISE node
+ */
+public class WebClientISEClientTest {
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private ConnectionProvider connectionProvider;
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final Map<String, String> accepts = new ConcurrentHashMap<>();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverThreads = Executors.newFixedThreadPool(16);
+        server.setExecutor(serverThreads);
+        server.createContext("/", this::handle);
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void stopServer() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("ISE Client - Session Lists Stream Past The In-Memory Limit")
+    void testActiveSessionsAreDecodedAsAStream() {
+        System.out.println("\n🌐 ISE CLIENT DEMO: Streaming Session Decoding");
+        System.out.println("=" .repeat(60));
+
+        WebClientISEClient client = client(properties());
+        List<ISESession> sessions = client.getActiveSessions().collectList().block();
+
+        // The body is several times the 256 KB decode limit, which only holds for one session at a time
+        assertThat(sessions).hasSize(20_000);
+        assertThat(sessions.get(19_999).getSessionId()).isEqualTo("session-19999");
+        assertThat(sessions.get(42).getUserName()).isEqualTo("user-42");
+        assertThat(sessions.get(42).getMacAddress()).isEqualTo("00:11:22:33:44:55");
+        assertThat(sessions.get(42).getNasIpAddress()).isEqualTo("10.0.0.1");
+        assertThat(accepts.get(WebClientISEClient.ACTIVE_SESSIONS)).contains("application/xml");
+        assertThat(timerCount("getActiveSessions", "SUCCESS")).isEqualTo(1);
+        System.out.println("📋 Streamed " + sessions.size() + " sessions");
+        System.out.println("✅ Streaming Session Decoding: SUCCESS\n");
+    }
+
+    @Test
+    @DisplayName("ISE Client - Per-Host Limit Bounds Concurrency And Reuses Connections")
+    void testConnectionsArePooledPerHost() {
+        System.out.println("\n🌐 ISE CLIENT DEMO: Pooled Keep-Alive Connections");
+        System.out.println("=" .repeat(60));
+
+        ISEClientProperties properties = properties();
+        properties.getPool().setMaxConnections(2);
+        WebClientISEClient client = client(properties);
+
+        List<ISESession> sessions = Flux.range(0, 12)
+                .flatMap(i -> client.getSession("slow-" + i), 12)
+                .collectList()
+                .block();
+
+        assertThat(sessions).hasSize(12);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+        assertThat(clientPorts).hasSizeLessThanOrEqualTo(2);
+        assertThat(authorizations).allMatch(auth -> auth.equals(basicAuth("ise-admin", "ise-password")));
+        System.out.println("📋 12 calls over " + clientPorts.size() + " connections, at most " + maxInFlight.get() + " in flight");
+        System.out.println("✅ Pooled Keep-Alive Connections: SUCCESS\n");
+    }
+
+    @Test
+    @DisplayName("ISE Client - Idempotent Calls Retry Transient Failures, Creates Do Not")
+    void testRetriesOnlyIdempotentCalls() {
+        WebClientISEClient client = client(properties());
+
+        ISESession session = client.getSession("flaky").block();
+        assertThat(session.getSessionId()).isEqualTo("flaky");
+        assertThat(session.getUserName()).isEqualTo("flaky.user");
+        assertThat(session.getMacAddress()).isEqualTo("00:11:22:33:44:55");
+        assertThat(session.getIpAddress()).isEqualTo("10.0.0.5");
+        assertThat(session.getAuthorizationProfile()).isEqualTo("PermitAccess");
+        assertThat(session.getSessionState()).isEqualTo("ACTIVE");
+        assertThat(session.getSessionDuration()).isEqualTo(120L);
+        assertThat(session.getLastUpdateTime()).isEqualTo(LocalDateTime.of(2026, 1, 1, 10, 0, 0, 123_000_000));
+        assertThat(hits.get("flaky").get()).isEqualTo(3);
+        assertThat(timerCount("getSession", "SUCCESS")).isEqualTo(1);
+
+        assertThat(client.getSession("missing").blockOptional()).isEmpty();
+        assertThat(hits.get("missing").get()).isEqualTo(1);
+
+        ISEPolicyRequest request = ISEPolicyRequest.builder().name("fail").build();
+        assertThatThrownBy(() -> client.createPolicy(request).block())
+                .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+        assertThat(hits.get("create").get()).isEqualTo(1);
+        assertThat(timerCount("createPolicy", "SERVER_ERROR")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ISE Client - Policy Sets And CoA Map To ISE Endpoints")
+    void testPoliciesAndCoA() {
+        WebClientISEClient client = client(properties());
+
+        ISEPolicy created = client.createPolicy(ISEPolicyRequest.builder().name("Guest").rank(1).build()).block();
+        assertThat(created.getId()).isEqualTo("ps-1");
+        assertThat(created.getName()).isEqualTo("Guest");
+        assertThat(client.getAllPolicies().map(ISEPolicy::getName).collectList().block())
+                .containsExactly("Default", "Guest");
+
+        ISECoAResponse reauth = client.sendCoAReauth("coa").block();
+        assertThat(reauth.getStatus()).isEqualTo("SUCCESS");
+        assertThat(reauth.getCoaType()).isEqualTo("REAUTH");
+        assertThat(requests).contains("GET /admin/API/mnt/CoA/Reauth/127.0.0.1/00:11:22:33:44:55/0");
+
+        ISECoAResponse reauthorize = client.sendCoAReauthorize("coa", "Quarantine").block();
+        assertThat(reauthorize.getStatus()).isEqualTo("SUCCESS");
+        assertThat(requests).anyMatch(body -> body.contains("\"policyName\"") && body.contains("Quarantine"));
+
+        ISECoAResponse missing = client.sendCoADisconnect("missing").block();
+        assertThat(missing.getStatus()).isEqualTo("FAILED");
+        assertThat(missing.getErrorCode()).isEqualTo("SESSION_NOT_FOUND");
+
+        assertThat(client.getSystemHealth().block()).isEqualTo("HEALTHY");
+    }
+
+    private ISEClientProperties properties() {
+        ISEClientProperties properties = new ISEClientProperties();
+        properties.setClient("webclient");
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.setUsername("ise-admin");
+        properties.setPassword("ise-password");
+        properties.setTimeout(5_000);
+        properties.setRetryBackoffMs(10);
+        return properties;
+    }
+
+    private WebClientISEClient client(ISEClientProperties properties) {
+        ISEWebClientConfig config = new ISEWebClientConfig();
+        connectionProvider = config.iseConnectionProvider(properties);
+        WebClient webClient = config.iseWebClient(WebClient.builder(), properties, connectionProvider);
+        return new WebClientISEClient(webClient, properties, meterRegistry);
+    }
+
+    private long timerCount(String operation, String outcome) {
+        return meterRegistry.get("ise.client.requests").tag("operation", operation).tag("outcome", outcome).timer().count();
+    }
+
+    private static String basicAuth(String user, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((user + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Stub ISE node
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        requests.add(method + " " + path + (body.isEmpty() ? "" : " " + body));
+        authorizations.add(String.valueOf(exchange.getRequestHeaders().getFirst("Authorization")));
+        accepts.put(path, String.valueOf(exchange.getRequestHeaders().getFirst("Accept")));
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            route(exchange, method, path, body);
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, String path, String body) throws IOException {
+        String sessionPrefix = WebClientISEClient.SESSION_BY_ID.substring(0, WebClientISEClient.SESSION_BY_ID.indexOf('{'));
+        if (path.equals(WebClientISEClient.ACTIVE_SESSIONS)) {
+            streamSessions(exchange, 20_000);
+        } else if (path.startsWith(sessionPrefix)) {
+            String sessionId = path.substring(sessionPrefix.length(), path.lastIndexOf('/'));
+            int hit = hits.computeIfAbsent(sessionId, id -> new AtomicInteger()).incrementAndGet();
+            if (sessionId.startsWith("slow-")) {
+                sleep(100);
+                respondXml(exchange, 200, session(sessionId, "slow.user"));
+            } else if (sessionId.equals("flaky")) {
+                respondXml(exchange, hit < 3 ? 503 : 200, hit < 3 ? "" : session(sessionId, "flaky.user"));
+            } else if (sessionId.equals("coa")) {
+                respondXml(exchange, 200, session(sessionId, "coa.user"));
+            } else {
+                respondXml(exchange, 404, "");
+            }
+        } else if (path.equals(WebClientISEClient.POLICY_SETS) && method.equals("POST")) {
+            hits.computeIfAbsent("create", id -> new AtomicInteger()).incrementAndGet();
+            if (body.contains("\"fail\"")) {
+                respond(exchange, 503, "{}");
+            } else {
+                respond(exchange, 201, "{\"response\": {\"id\": \"ps-1\", \"name\": \"Guest\", \"rank\": 1, \"state\": \"enabled\"}}");
+            }
+        } else if (path.equals(WebClientISEClient.POLICY_SETS)) {
+            respond(exchange, 200, "{\"version\": \"1.0.0\", \"response\": [" +
+                    "{\"id\": \"ps-0\", \"name\": \"Default\", \"rank\": 0}, {\"id\": \"ps-1\", \"name\": \"Guest\", \"rank\": 1}]}");
+        } else if (path.startsWith("/admin/API/mnt/CoA/")) {
+            respondXml(exchange, 200, XML_HEADER + "<remoteCoA requestType=\"reauth\"><results>true</results></remoteCoA>");
+        } else if (path.equals(WebClientISEClient.ANC_APPLY)) {
+            respond(exchange, 204, null);
+        } else if (path.equals(WebClientISEClient.VERSION)) {
+            respondXml(exchange, 200, XML_HEADER + "<product name=\"Cisco Identity Services Engine\">" +
+                    "<version>3.3.0.430</version><type_of_node>1</type_of_node></product>");
+        } else {
+            respond(exchange, 404, "{}");
+        }
+    }
+
+    // MnT payloads: snake_case elements, typed flags and more fields than the client maps
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>";
+
+    private static String session(String sessionId, String userName) {
+        return XML_HEADER + "<sessionParameters>" +
+                "<passed xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" " +
+                "xmlns:xs=\"http://www.w3.org/2001/XMLSchema\" xsi:type=\"xs:boolean\">true</passed>" +
+                "<failed xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" " +
+                "xmlns:xs=\"http://www.w3.org/2001/XMLSchema\" xsi:type=\"xs:boolean\">false</failed>" +
+                "<user_name>" + userName + "</user_name>" +
+                "<nas_ip_address>10.0.0.1</nas_ip_address>" +
+                "<calling_station_id>00:11:22:33:44:55</calling_station_id>" +
+                "<nas_port>50112</nas_port>" +
+                "<identity_group>Profiled</identity_group>" +
+                "<network_device_name>switch-1</network_device_name>" +
+                "<acs_server>ise-node</acs_server>" +
+                "<authen_protocol>Lookup</authen_protocol>" +
+                "<framed_ip_address>10.0.0.5</framed_ip_address>" +
+                "<auth_acs_timestamp>2026-01-01T10:00:00.123+00:00</auth_acs_timestamp>" +
+                "<authentication_method>mab</authentication_method>" +
+                "<audit_session_id>" + sessionId + "</audit_session_id>" +
+                "<nas_port_id>GigabitEthernet1/0/12</nas_port_id>" +
+                "<selected_azn_profiles>PermitAccess</selected_azn_profiles>" +
+                "<endpoint_policy>Workstation</endpoint_policy>" +
+                "<acct_session_id>0000001A</acct_session_id>" +
+                "<acct_status_type>Interim-Update</acct_status_type>" +
+                "<acct_session_time>120</acct_session_time>" +
+                "<other_attr_string>:!:</other_attr_string>" +
+                "</sessionParameters>";
+    }
+
+    private static void streamSessions(HttpExchange exchange, int count) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(200, 0);
+        try (Writer writer = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)) {
+            writer.write(XML_HEADER + "<activeList noOfActiveSession=\"" + count + "\">");
+            for (int i = 0; i < count; i++) {
+                writer.write("<activeSession>" +
+                        "<user_name>user-" + i % 100 + "</user_name>" +
+                        "<calling_station_id>00:11:22:33:44:55</calling_station_id>" +
+                        "<nas_ip_address>10.0.0.1</nas_ip_address>" +
+                        "<acct_session_id>" + Integer.toHexString(i) + "</acct_session_id>" +
+                        "<audit_session_id>session-" + i + "</audit_session_id>" +
+                        "<server>ise-node</server>" +
+                        "<framed_ip_address>10.0." + i / 250 % 250 + "." + i % 250 + "</framed_ip_address>" +
+                        "<framed_ipv6_address/>" +
+                        "</activeSession>");
+            }
+            writer.write("</activeList>");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        respond(exchange, status, body, "application/json");
+    }
+
+    private static void respondXml(HttpExchange exchange, int status, String body) throws IOException {
+        respond(exchange, status, body, "application/xml");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body, String contentType) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
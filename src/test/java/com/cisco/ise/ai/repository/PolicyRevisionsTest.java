@@ -0,0 +1,131 @@
+package com.cisco.ise.ai.repository;
+
+import com.cisco.ise.ai.config.PolicyVersionProperties;
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyRevision;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that revision chains of snapshots and merge patches rebuild every revision exactly
+ */
+class PolicyRevisionsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PolicyRevisions policyRevisions = new PolicyRevisions(new PolicyVersionProperties());
+
+    @Test
+    @DisplayName("Revisions - Merge Patches Round Trip")
+    void testMergePatchRoundTrip() throws Exception {
+        JsonNode from = objectMapper.readTree("{\"a\": 1, \"b\": {\"c\": \"x\", \"d\": [1, 2]}, \"e\": true}");
+        JsonNode to = objectMapper.readTree("{\"a\": 2, \"b\": {\"c\": \"x\", \"d\": [3]}, \"f\": \"new\"}");
+
+        JsonNode patch = PolicyRevisions.diff(from, to);
+        assertThat(patch).isEqualTo(objectMapper.readTree("{\"e\": null, \"a\": 2, \"b\": {\"d\": [3]}, \"f\": \"new\"}"));
+        assertThat(PolicyRevisions.apply(from, patch)).isEqualTo(to);
+        assertThat(from.get("e").asBoolean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Revisions - Snapshots Every Interval and Deltas Between")
+    void testSnapshotScheduleAndRebuild() {
+        Policy policy = Policy.builder()
+                .policyId("revisions-test")
+                .name("Revisions")
+                .type(Policy.PolicyType.AUTHORIZATION)
+                .priority(1)
+                .conditions(conditions(0))
+                .actions("{\"action\": \"allow\", \"vlan\": 10}")
+                .createdBy("test")
+                .build();
+
+        List<PolicyRevision> revisions = new ArrayList<>(policyRevisions.revise(policy, null));
+        List<ObjectNode> documents = new ArrayList<>(List.of(PolicyRevisions.document(policy)));
+        for (int i = 1; i < 25; i++) {
+            ObjectNode previous = PolicyRevisions.document(policy);
+            policy.setConditions(conditions(i));
+            policy.setPriority(i % 5 + 1);
+            revisions.addAll(policyRevisions.revise(policy, previous));
+            documents.add(PolicyRevisions.document(policy));
+        }
+        assertThat(policy.getRevision()).isEqualTo(25L);
+        assertThat(revisions).extracting(PolicyRevision::getRevision)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 25).boxed().toList());
+        assertThat(revisions).filteredOn(PolicyRevision::isSnapshot).extracting(PolicyRevision::getRevision)
+                .containsExactly(1L, 11L, 21L);
+        assertThat(revisions).filteredOn(revision -> !revision.isSnapshot())
+                .allSatisfy(delta -> assertThat(delta.getContentBytes()).isLessThan(revisions.get(0).getContentBytes()));
+
+        // Each revision rebuilds from the snapshot at or before it and the deltas after that
+        for (int i = 0; i < revisions.size(); i++) {
+            int start = i / 10 * 10;
+            Policy rebuilt = PolicyRevisions.rebuild(revisions.subList(start, i + 1));
+            assertThat(rebuilt.getRevision()).isEqualTo(i + 1L);
+            assertThat(PolicyRevisions.document(rebuilt)).isEqualTo(documents.get(i));
+        }
+
+        // Status changes are not versioned
+        ObjectNode previous = PolicyRevisions.document(policy);
+        policy.setStatus(Policy.PolicyStatus.ACTIVE);
+        assertThat(policyRevisions.revise(policy, previous)).isEmpty();
+        assertThat(policy.getRevision()).isEqualTo(25L);
+    }
+
+    @Test
+    @DisplayName("Revisions - Changes a Merge Patch Cannot Express Are Snapshots")
+    void testNullValuesFallBackToSnapshots() {
+        Policy policy = Policy.builder()
+                .policyId("revisions-null-test")
+                .name("Nulls")
+                .priority(1)
+                .conditions("{\"ssid\": \"corp\"}")
+                .build();
+        policyRevisions.revise(policy, null);
+
+        // A merge patch would read the explicit null as a removal
+        ObjectNode previous = PolicyRevisions.document(policy);
+        policy.setConditions("{\"ssid\": \"corp\", \"vlan\": null}");
+        List<PolicyRevision> revisions = policyRevisions.revise(policy, previous);
+
+        assertThat(revisions).singleElement().satisfies(revision -> {
+            assertThat(revision.getRevision()).isEqualTo(2L);
+            assertThat(revision.isSnapshot()).isTrue();
+        });
+        assertThat(PolicyRevisions.rebuild(revisions).getConditions()).isEqualTo("{\"ssid\":\"corp\",\"vlan\":null}");
+    }
+
+    @Test
+    @DisplayName("Revisions - Policies Stored Before Versioning Get a Baseline")
+    void testLegacyPolicyGetsBaselineSnapshot() {
+        Policy policy = Policy.builder()
+                .policyId("revisions-legacy-test")
+                .name("Legacy")
+                .priority(1)
+                .conditions("{\"ssid\": \"corp\"}")
+                .build();
+        ObjectNode previous = PolicyRevisions.document(policy);
+        policy.setName("Legacy renamed");
+
+        List<PolicyRevision> revisions = policyRevisions.revise(policy, previous);
+        assertThat(revisions).extracting(PolicyRevision::getRevision).containsExactly(1L, 2L);
+        assertThat(revisions.get(0).isSnapshot()).isTrue();
+        assertThat(revisions.get(1).isSnapshot()).isFalse();
+        assertThat(PolicyRevisions.rebuild(revisions.subList(0, 1)).getName()).isEqualTo("Legacy");
+        assertThat(PolicyRevisions.rebuild(revisions).getName()).isEqualTo("Legacy renamed");
+    }
+
+    private static String conditions(int i) {
+        return "{\"ssid\": \"corp-" + i + "\", \"deviceType\": \"Laptop\", \"userGroup\": \"Employees\", " +
+                "\"riskScore\": {\"operator\": \">=\", \"value\": " + i % 10 + "}, " +
+                "\"location\": {\"operator\": \"in\", \"value\": [\"Building-A\", \"Building-B\", \"Building-C\"]}}";
+    }
+}
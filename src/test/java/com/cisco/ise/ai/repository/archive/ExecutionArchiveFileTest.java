@@ -0,0 +1,132 @@
+package com.cisco.ise.ai.repository.archive;
+
+import com.cisco.ise.ai.model.Policy;
+import com.cisco.ise.ai.model.PolicyExecution;
+import com.cisco.ise.ai.repository.Keyset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that archive files read back exactly what was written, filtered and in history order
+ */
+class ExecutionArchiveFileTest {
+
+    private static final Comparator<PolicyExecution> MOST_RECENT_FIRST = Comparator
+            .comparing(PolicyExecution::getExecutedAt)
+            .thenComparing(PolicyExecution::getId)
+            .reversed();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Archive File - Round Trip, Filters and Cursors")
+    void testRoundTrip() throws Exception {
+        List<PolicyExecution> executions = executions(10_000, new Random(11));
+        ExecutionArchiveFile file = ExecutionArchiveFile.write(directory.resolve("test" + ExecutionArchiveFile.SUFFIX),
+                executions, 512);
+
+        long text = executions.stream()
+                .mapToLong(execution -> execution.getExecutionResult().getBytes(StandardCharsets.UTF_8).length
+                        + execution.getIseResponse().getBytes(StandardCharsets.UTF_8).length)
+                .sum();
+        System.out.println("📦 Archived " + executions.size() + " executions carrying " + text / 1024 + " KiB of text into " +
+                file.getSize() / 1024 + " KiB");
+        assertThat(file.getSize()).isLessThan(text / 4);
+
+        List<PolicyExecution> expected = new ArrayList<>(executions);
+        expected.sort(MOST_RECENT_FIRST);
+        ExecutionArchiveFile reopened = ExecutionArchiveFile.open(file.getPath());
+        assertThat(reopened.getRowCount()).isEqualTo(executions.size());
+        assertThat(reopened.getNewestExecutedAt()).isEqualTo(expected.get(0).getExecutedAt());
+        assertThat(reopened.find(null, null, null).collectList().block())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expected);
+
+        // Filtered reads, and reads resuming after a cursor, see exactly the matching rows in order
+        Keyset.ExecutionKey after = Keyset.ExecutionKey.of(expected.get(expected.size() / 3));
+        assertThat(reopened.find(ExecutionArchiveFile.Column.POLICY_ID, "policy-3", after).collectList().block())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expected.stream()
+                        .filter(execution -> execution.getPolicy().getPolicyId().equals("policy-3"))
+                        .filter(execution -> MOST_RECENT_FIRST.compare(execution, expected.get(expected.size() / 3)) > 0)
+                        .toList());
+        assertThat(reopened.find(ExecutionArchiveFile.Column.SESSION_ID, "session-17", null).collectList().block())
+                .extracting(PolicyExecution::getExecutionId)
+                .containsExactlyElementsOf(expected.stream()
+                        .filter(execution -> "session-17".equals(execution.getSessionId()))
+                        .map(PolicyExecution::getExecutionId)
+                        .toList());
+        assertThat(reopened.find(ExecutionArchiveFile.Column.SESSION_ID, "no-such-session", null).collectList().block())
+                .isEmpty();
+
+        // Projected reads leave the columns they skip unset; unindexed columns are scanned
+        PolicyExecution projected = reopened.find(ExecutionArchiveFile.Column.EXECUTION_ID, "execution-42", null,
+                EnumSet.of(ExecutionArchiveFile.Column.EXECUTION_ID, ExecutionArchiveFile.Column.USER_NAME)).blockFirst();
+        assertThat(projected.getUserName()).isEqualTo(executions.get(42).getUserName());
+        assertThat(projected.getExecutionResult()).isNull();
+        assertThat(projected.getIseResponse()).isNull();
+    }
+
+    @Test
+    @DisplayName("Archive - Rows in Both Table and Archive Are Returned Once")
+    void testMergeReturnsDuplicatesOnce() {
+        List<PolicyExecution> executions = executions(1_000, new Random(12));
+        executions.sort(MOST_RECENT_FIRST);
+        List<PolicyExecution> hot = executions.subList(0, 600);
+        List<PolicyExecution> archived = executions.subList(400, 1_000);
+
+        assertThat(ExecutionArchive.merge(Flux.fromIterable(hot), Flux.fromIterable(archived)).collectList().block())
+                .containsExactlyElementsOf(executions);
+    }
+
+    private static List<PolicyExecution> executions(int count, Random random) {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        List<PolicyExecution> executions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int policy = random.nextInt(10);
+            executions.add(PolicyExecution.builder()
+                    .id(1_000L + i)
+                    .executionId("execution-" + i)
+                    .policy(Policy.builder().id((long) policy).policyId("policy-" + policy).build())
+                    .sessionId(random.nextInt(8) == 0 ? null : "session-" + random.nextInt(200))
+                    .userName("user-" + random.nextInt(50))
+                    .deviceMac(String.format("00:11:22:33:%02x:%02x", random.nextInt(256), random.nextInt(256)))
+                    .executionStatus(random.nextInt(10) == 0 ? PolicyExecution.ExecutionStatus.FAILED : PolicyExecution.ExecutionStatus.SUCCESS)
+                    .executionType(PolicyExecution.ExecutionType.values()[random.nextInt(PolicyExecution.ExecutionType.values().length)])
+                    .triggerReason("Risk score change")
+                    .executionResult("{\"action\": \"quarantine\", \"vlan\": " + random.nextInt(4096) +
+                            ", \"attributes\": {\"ssid\": \"corp\", \"deviceType\": \"Laptop\", \"posture\": \"compliant\"}, " +
+                            "\"matchedConditions\": [\"ssid\", \"deviceType\", \"riskScore\"], \"notes\": \"" +
+                            "applied by the policy engine after evaluating the session attributes\"}")
+                    .errorMessage(random.nextInt(10) == 0 ? "ISE timeout" : null)
+                    .riskScoreBefore(random.nextBoolean() ? random.nextDouble() * 10 : null)
+                    .riskScoreAfter(random.nextDouble() * 10)
+                    .aiConfidence(random.nextDouble())
+                    .executionTimeMs(random.nextInt(8) == 0 ? null : (long) random.nextInt(2_000))
+                    .iseResponse("<ersResponse operation=\"PUT-update\"><messages><message type=\"INFO\" code=\"200\">" +
+                            "Change of authorization sent for session " + random.nextInt(100_000) + "</message></messages></ersResponse>")
+                    .coaSent(random.nextInt(3) == 0 ? null : random.nextBoolean())
+                    .coaResponse("ACK")
+                    // Some executions share a timestamp, so ordering falls back to the id
+                    .executedAt(start.plusSeconds(random.nextInt(count)).plusNanos(random.nextInt(2) * 123_456_000L))
+                    .executedBy("policy-engine")
+                    .createdAt(start.plusSeconds(count + i))
+                    .build());
+        }
+        return executions;
+    }
+}